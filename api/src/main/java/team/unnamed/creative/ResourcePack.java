@@ -29,6 +29,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.MetadataPart;
 import team.unnamed.creative.metadata.filter.FilterMeta;
 import team.unnamed.creative.metadata.language.LanguageMeta;
 import team.unnamed.creative.metadata.overlays.OverlayEntry;
@@ -38,8 +39,11 @@ import team.unnamed.creative.metadata.pack.PackMeta;
 import team.unnamed.creative.metadata.sodium.SodiumMeta;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.resources.MergeStrategy;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Consumer;
 
 import static java.util.Objects.requireNonNull;
@@ -282,6 +286,55 @@ public interface ResourcePack extends ResourceContainer {
      */
     @NotNull Collection<Overlay> overlays();
 
+    /**
+     * Creates a flattened copy of this resource-pack for the given
+     * pack format.
+     *
+     * <p>The overlays declared in the {@link OverlaysMeta} that apply
+     * to the given pack format are merged into the root container of
+     * the copy, in the declared order (so later overlays override the
+     * resources of earlier ones), just like a client with that pack
+     * format would do. The copy has no overlays, and its metadata has
+     * no {@link OverlaysMeta}.</p>
+     *
+     * <p>This resource-pack is not modified, and the resources are
+     * shared with the copy.</p>
+     *
+     * @param packFormat The pack format
+     * @return The flattened resource-pack
+     * @sincePackFormat 18
+     * @sinceMinecraft 1.20.2
+     * @since 1.8.4
+     */
+    default @NotNull ResourcePack flatten(final int packFormat) {
+        final ResourcePack flattened = resourcePack();
+        flattened.icon(icon());
+
+        final List<MetadataPart> parts = new ArrayList<>(metadata().parts());
+        parts.removeIf(part -> part.type() == OverlaysMeta.class);
+        flattened.metadata(Metadata.metadata().parts(parts).build());
+
+        // merging a resource-pack also copies its overlays, so the
+        // root resources are copied through an intermediate container
+        final Overlay root = Overlay.overlay("root");
+        root.merge(this, MergeStrategy.override());
+        flattened.merge(root, MergeStrategy.override());
+
+        final OverlaysMeta overlaysMeta = overlaysMeta();
+        if (overlaysMeta != null) {
+            for (final OverlayEntry entry : overlaysMeta.entries()) {
+                if (!entry.formats().isInRange(packFormat)) {
+                    continue;
+                }
+                final Overlay overlay = overlay(entry.directory());
+                if (overlay != null) {
+                    flattened.merge(overlay, MergeStrategy.override());
+                }
+            }
+        }
+        return flattened;
+    }
+
     default @Nullable SodiumMeta sodiumMeta() {
         return metadata().meta(SodiumMeta.class);
     }
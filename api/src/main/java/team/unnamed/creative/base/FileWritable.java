@@ -0,0 +1,104 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link Writable} backed by a file in the file system,
+ * the file data is never loaded into memory, it is transferred
+ * from the file channel to the target every time it is written.
+ *
+ * <p>The file must exist and must not be modified while this
+ * instance is in use.</p>
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface FileWritable extends Writable {
+    /**
+     * Creates a new {@link FileWritable} instance for the
+     * given file {@link Path}.
+     *
+     * @param path The file path, must exist
+     * @return The file writable instance
+     * @since 1.8.4
+     */
+    static @NotNull FileWritable fileWritable(final @NotNull Path path) {
+        requireNonNull(path, "path");
+        return new FileWritableImpl(path);
+    }
+
+    /**
+     * Returns the path of the file backing this writable.
+     *
+     * @return The file path
+     * @since 1.8.4
+     */
+    @NotNull Path path();
+
+    /**
+     * Returns the current size of the file, in bytes.
+     *
+     * @return The file size
+     * @throws IOException If the file size can't be read
+     * @since 1.8.4
+     */
+    long size() throws IOException;
+
+    /**
+     * Transfers the file data in the range {@code [position, position + count)}
+     * to the given channel, using {@link java.nio.channels.FileChannel#transferTo},
+     * which may avoid copying the data to the Java heap.
+     *
+     * <p>Note that this operation <strong>won't close</strong>
+     * the given channel.</p>
+     *
+     * @param position The start position in the file
+     * @param count    The amount of bytes to transfer
+     * @param target   The target channel
+     * @throws IOException If the transfer fails
+     * @since 1.8.4
+     */
+    void transferTo(final long position, final long count, final @NotNull WritableByteChannel target) throws IOException;
+
+    /**
+     * Transfers the full file data to the given channel.
+     *
+     * @param target The target channel
+     * @throws IOException If the transfer fails
+     * @see #transferTo(long, long, WritableByteChannel)
+     * @since 1.8.4
+     */
+    default void transferTo(final @NotNull WritableByteChannel target) throws IOException {
+        transferTo(0L, size(), target);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.base;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.util.Objects.requireNonNull;
+
+final class FileWritableImpl implements FileWritable {
+    private final Path path;
+
+    FileWritableImpl(final @NotNull Path path) {
+        this.path = requireNonNull(path, "path");
+    }
+
+    @Override
+    public @NotNull Path path() {
+        return path;
+    }
+
+    @Override
+    public long size() throws IOException {
+        return Files.size(path);
+    }
+
+    @Override
+    public void transferTo(final long position, final long count, final @NotNull WritableByteChannel target) throws IOException {
+        requireNonNull(target, "target");
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long transferred = 0L;
+            while (transferred < count) {
+                final long n = channel.transferTo(position + transferred, count - transferred, target);
+                if (n <= 0) {
+                    if (position + transferred >= channel.size()) {
+                        throw new IOException("Unexpected end of file " + path + " (was it modified?)");
+                    }
+                    continue;
+                }
+                transferred += n;
+            }
+        }
+    }
+
+    @Override
+    public void write(final @NotNull OutputStream output) throws IOException {
+        requireNonNull(output, "output");
+        // do not close the created channel, it would close the given output stream
+        transferTo(Channels.newChannel(output));
+    }
+
+    @Override
+    public byte @NotNull [] toByteArray() throws IOException {
+        return Files.readAllBytes(path);
+    }
+
+    @Override
+    public String toString() {
+        return "FileWritable { path='" + path + "' }";
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final FileWritableImpl that = (FileWritableImpl) o;
+        return path.equals(that.path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+import team.unnamed.creative.ResourcePack;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Finds and removes the models and textures of a {@link ResourcePack}
+ * that are not reachable from any of its other resources ("tree shaking").
+ *
+ * <p>Items, block states, fonts, equipment and atlases act as roots,
+ * models are followed through their parents, texture variables and
+ * overrides. Since overlays may redefine or reference resources of the
+ * base pack, references are resolved across the base pack and all of
+ * its overlays, and unreachable resources are removed from all of them.</p>
+ *
+ * <p>Every resource in a kept namespace (by default, only
+ * {@code minecraft}) is always considered reachable, since it may be
+ * used by the game directly.</p>
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface ResourcePruner {
+    /**
+     * Gets the default resource pruner, which only keeps
+     * the {@code minecraft} namespace as a root.
+     *
+     * @return The default resource pruner
+     * @since 1.8.4
+     */
+    static @NotNull ResourcePruner resourcePruner() {
+        return ResourcePrunerImpl.DEFAULT;
+    }
+
+    /**
+     * Creates a new resource pruner builder.
+     *
+     * @return The created builder
+     * @since 1.8.4
+     */
+    static @NotNull Builder builder() {
+        return new ResourcePrunerImpl.BuilderImpl();
+    }
+
+    /**
+     * Computes the unreachable resources of the given resource
+     * pack, without modifying it.
+     *
+     * @param resourcePack The resource pack
+     * @return The unreachable resources
+     * @since 1.8.4
+     */
+    @NotNull Result analyze(final @NotNull ResourcePack resourcePack);
+
+    /**
+     * Computes the unreachable resources of the given resource
+     * pack and removes them from the pack and its overlays.
+     *
+     * @param resourcePack The resource pack
+     * @return The removed resources
+     * @since 1.8.4
+     */
+    @NotNull Result prune(final @NotNull ResourcePack resourcePack);
+
+    /**
+     * The result of a pruning pass.
+     *
+     * @since 1.8.4
+     */
+    @ApiStatus.NonExtendable
+    interface Result {
+        /**
+         * Gets the keys of the unreachable models.
+         *
+         * @return The unreachable model keys
+         * @since 1.8.4
+         */
+        @NotNull @Unmodifiable Set<Key> models();
+
+        /**
+         * Gets the keys of the unreachable textures.
+         *
+         * @return The unreachable texture keys
+         * @since 1.8.4
+         */
+        @NotNull @Unmodifiable Set<Key> textures();
+
+        /**
+         * Determines whether no unreachable resources were found.
+         *
+         * @return True if nothing is (or was) pruned
+         * @since 1.8.4
+         */
+        default boolean isEmpty() {
+            return models().isEmpty() && textures().isEmpty();
+        }
+    }
+
+    /**
+     * A builder for {@link ResourcePruner} instances.
+     *
+     * @since 1.8.4
+     */
+    interface Builder {
+        /**
+         * Sets the namespaces whose resources are always kept,
+         * replacing the default ({@code minecraft}).
+         *
+         * @param namespaces The kept namespaces
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder keptNamespaces(final @NotNull Collection<String> namespaces);
+
+        /**
+         * Adds a namespace whose resources are always kept.
+         *
+         * @param namespace The kept namespace
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder keepNamespace(final @NotNull String namespace);
+
+        /**
+         * Adds a model that is always kept, useful for models
+         * that are only referenced from outside the resource
+         * pack (e.g. by a plugin or mod).
+         *
+         * @param key The model key
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder keepModel(final @NotNull Key key);
+
+        /**
+         * Adds a texture that is always kept.
+         *
+         * @param key The texture key, including the {@code .png} extension
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder keepTexture(final @NotNull Key key);
+
+        /**
+         * Builds the resource pruner.
+         *
+         * @return The resource pruner
+         * @since 1.8.4
+         */
+        @NotNull ResourcePruner build();
+    }
+}
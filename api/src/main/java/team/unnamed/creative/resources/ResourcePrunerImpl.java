@@ -0,0 +1,452 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.atlas.DirectoryAtlasSource;
+import team.unnamed.creative.atlas.PalettedPermutationsAtlasSource;
+import team.unnamed.creative.atlas.SingleAtlasSource;
+import team.unnamed.creative.atlas.UnstitchAtlasSource;
+import team.unnamed.creative.blockstate.BlockState;
+import team.unnamed.creative.blockstate.MultiVariant;
+import team.unnamed.creative.blockstate.Selector;
+import team.unnamed.creative.blockstate.Variant;
+import team.unnamed.creative.equipment.Equipment;
+import team.unnamed.creative.equipment.EquipmentLayer;
+import team.unnamed.creative.font.BitMapFontProvider;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.font.FontProvider;
+import team.unnamed.creative.font.LegacyUnicodeFontProvider;
+import team.unnamed.creative.item.CompositeItemModel;
+import team.unnamed.creative.item.ConditionItemModel;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.item.ItemModel;
+import team.unnamed.creative.item.RangeDispatchItemModel;
+import team.unnamed.creative.item.ReferenceItemModel;
+import team.unnamed.creative.item.SelectItemModel;
+import team.unnamed.creative.item.SpecialItemModel;
+import team.unnamed.creative.item.special.BedSpecialRender;
+import team.unnamed.creative.item.special.ChestSpecialRender;
+import team.unnamed.creative.item.special.HeadSpecialRender;
+import team.unnamed.creative.item.special.ShulkerBoxSpecialRender;
+import team.unnamed.creative.item.special.SignSpecialRender;
+import team.unnamed.creative.item.special.SpecialRender;
+import team.unnamed.creative.model.ItemOverride;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+final class ResourcePrunerImpl implements ResourcePruner {
+    private static final Set<String> DEFAULT_KEPT_NAMESPACES = Collections.singleton(Key.MINECRAFT_NAMESPACE);
+    static final ResourcePruner DEFAULT = new ResourcePrunerImpl(
+            DEFAULT_KEPT_NAMESPACES,
+            Collections.emptySet(),
+            Collections.emptySet()
+    );
+
+    private static final String TEXTURE_EXTENSION = ".png";
+
+    private final Set<String> keptNamespaces;
+    private final Set<Key> keptModels;
+    private final Set<Key> keptTextures;
+
+    private ResourcePrunerImpl(
+            final @NotNull Set<String> keptNamespaces,
+            final @NotNull Set<Key> keptModels,
+            final @NotNull Set<Key> keptTextures
+    ) {
+        this.keptNamespaces = keptNamespaces;
+        this.keptModels = keptModels;
+        this.keptTextures = keptTextures;
+    }
+
+    @Override
+    public @NotNull Result analyze(final @NotNull ResourcePack resourcePack) {
+        requireNonNull(resourcePack, "resourcePack");
+        return new Walk(containers(resourcePack)).run();
+    }
+
+    @Override
+    public @NotNull Result prune(final @NotNull ResourcePack resourcePack) {
+        requireNonNull(resourcePack, "resourcePack");
+        final List<ResourceContainer> containers = containers(resourcePack);
+        final Result result = new Walk(containers).run();
+        for (final ResourceContainer container : containers) {
+            for (final Key key : result.models()) {
+                container.removeModel(key);
+            }
+            for (final Key key : result.textures()) {
+                container.removeTexture(key);
+            }
+        }
+        return result;
+    }
+
+    private static @NotNull List<ResourceContainer> containers(final @NotNull ResourcePack resourcePack) {
+        final Collection<Overlay> overlays = resourcePack.overlays();
+        final List<ResourceContainer> containers = new ArrayList<>(overlays.size() + 1);
+        containers.add(resourcePack);
+        containers.addAll(overlays);
+        return containers;
+    }
+
+    private static @NotNull Key textureKey(final @NotNull Key key) {
+        return Key.key(key.namespace(), key.value() + TEXTURE_EXTENSION);
+    }
+
+    private static @NotNull Key textureKey(final @NotNull Key key, final @NotNull String directory) {
+        return Key.key(key.namespace(), directory + key.value() + TEXTURE_EXTENSION);
+    }
+
+    /**
+     * A single reachability walk over a set of containers, the base
+     * resource pack and its overlays, that share the same references.
+     */
+    private final class Walk {
+        private final List<ResourceContainer> containers;
+        private final Set<Key> reachableModels = new HashSet<>();
+        private final Set<Key> reachableTextures = new HashSet<>();
+        private final Set<String> textureDirectories = new HashSet<>();
+        private final Deque<Key> pendingModels = new ArrayDeque<>();
+
+        Walk(final @NotNull List<ResourceContainer> containers) {
+            this.containers = containers;
+        }
+
+        @NotNull Result run() {
+            keptModels.forEach(this::model);
+            reachableTextures.addAll(keptTextures);
+
+            for (final ResourceContainer container : containers) {
+                for (final Model model : container.models()) {
+                    if (keptNamespaces.contains(model.key().namespace())) {
+                        model(model.key());
+                    }
+                }
+                for (final Item item : container.items()) {
+                    itemModel(item.model());
+                }
+                for (final BlockState blockState : container.blockStates()) {
+                    blockState(blockState);
+                }
+                for (final Font font : container.fonts()) {
+                    font(font);
+                }
+                for (final Equipment equipment : container.equipment()) {
+                    equipment(equipment);
+                }
+                for (final Atlas atlas : container.atlases()) {
+                    for (final AtlasSource source : atlas.sources()) {
+                        atlasSource(source);
+                    }
+                }
+            }
+
+            Key key;
+            while ((key = pendingModels.poll()) != null) {
+                for (final ResourceContainer container : containers) {
+                    final Model model = container.model(key);
+                    if (model != null) {
+                        modelReferences(model);
+                    }
+                }
+            }
+
+            final Set<Key> unreachableModels = new LinkedHashSet<>();
+            final Set<Key> unreachableTextures = new LinkedHashSet<>();
+            for (final ResourceContainer container : containers) {
+                for (final Model model : container.models()) {
+                    if (!reachableModels.contains(model.key())) {
+                        unreachableModels.add(model.key());
+                    }
+                }
+                for (final Texture texture : container.textures()) {
+                    if (!isTextureReachable(texture.key())) {
+                        unreachableTextures.add(texture.key());
+                    }
+                }
+            }
+            return new ResultImpl(unreachableModels, unreachableTextures);
+        }
+
+        private boolean isTextureReachable(final @NotNull Key key) {
+            if (keptNamespaces.contains(key.namespace()) || reachableTextures.contains(key)) {
+                return true;
+            }
+            // directory atlas sources include every texture under the given
+            // directory, for every namespace
+            final String value = key.value();
+            int index = value.lastIndexOf('/');
+            while (index > 0) {
+                if (textureDirectories.contains(value.substring(0, index))) {
+                    return true;
+                }
+                index = value.lastIndexOf('/', index - 1);
+            }
+            return false;
+        }
+
+        private void model(final @Nullable Key key) {
+            if (key != null && reachableModels.add(key)) {
+                pendingModels.add(key);
+            }
+        }
+
+        private void texture(final @Nullable Key key) {
+            if (key != null) {
+                reachableTextures.add(key);
+            }
+        }
+
+        private void modelReferences(final @NotNull Model model) {
+            model(model.parent());
+            final ModelTextures textures = model.textures();
+            for (final ModelTexture layer : textures.layers()) {
+                modelTexture(layer);
+            }
+            modelTexture(textures.particle());
+            for (final ModelTexture variable : textures.variables().values()) {
+                modelTexture(variable);
+            }
+            for (final ItemOverride override : model.overrides()) {
+                model(override.model());
+            }
+        }
+
+        private void modelTexture(final @Nullable ModelTexture texture) {
+            // references (#name) point to other variables of the same model
+            // or its parents, which are visited separately
+            if (texture != null && texture.key() != null) {
+                texture(textureKey(texture.key()));
+            }
+        }
+
+        private void itemModel(final @Nullable ItemModel itemModel) {
+            if (itemModel instanceof ReferenceItemModel) {
+                model(((ReferenceItemModel) itemModel).model());
+            } else if (itemModel instanceof CompositeItemModel) {
+                for (final ItemModel child : ((CompositeItemModel) itemModel).models()) {
+                    itemModel(child);
+                }
+            } else if (itemModel instanceof ConditionItemModel) {
+                final ConditionItemModel condition = (ConditionItemModel) itemModel;
+                itemModel(condition.onTrue());
+                itemModel(condition.onFalse());
+            } else if (itemModel instanceof SelectItemModel) {
+                final SelectItemModel select = (SelectItemModel) itemModel;
+                for (final SelectItemModel.Case selectCase : select.cases()) {
+                    itemModel(selectCase.model());
+                }
+                itemModel(select.fallback());
+            } else if (itemModel instanceof RangeDispatchItemModel) {
+                final RangeDispatchItemModel rangeDispatch = (RangeDispatchItemModel) itemModel;
+                for (final RangeDispatchItemModel.Entry entry : rangeDispatch.entries()) {
+                    itemModel(entry.model());
+                }
+                itemModel(rangeDispatch.fallback());
+            } else if (itemModel instanceof SpecialItemModel) {
+                final SpecialItemModel special = (SpecialItemModel) itemModel;
+                model(special.base());
+                specialRender(special.render());
+            }
+        }
+
+        private void specialRender(final @NotNull SpecialRender render) {
+            if (render instanceof BedSpecialRender) {
+                texture(textureKey(((BedSpecialRender) render).texture(), "entity/bed/"));
+            } else if (render instanceof ChestSpecialRender) {
+                texture(textureKey(((ChestSpecialRender) render).texture(), "entity/chest/"));
+            } else if (render instanceof ShulkerBoxSpecialRender) {
+                texture(textureKey(((ShulkerBoxSpecialRender) render).texture(), "entity/shulker/"));
+            } else if (render instanceof HeadSpecialRender) {
+                final Key texture = ((HeadSpecialRender) render).texture();
+                if (texture != null) {
+                    texture(textureKey(texture, "entity/"));
+                }
+            } else if (render instanceof SignSpecialRender) {
+                final SignSpecialRender sign = (SignSpecialRender) render;
+                final Key texture = sign.texture();
+                if (texture != null) {
+                    texture(textureKey(texture, sign.hanging() ? "entity/signs/hanging/" : "entity/signs/"));
+                }
+            }
+        }
+
+        private void blockState(final @NotNull BlockState blockState) {
+            final Collection<MultiVariant> variants = blockState.variants().values();
+            for (final MultiVariant multiVariant : variants) {
+                multiVariant(multiVariant);
+            }
+            for (final Selector selector : blockState.multipart()) {
+                multiVariant(selector.variant());
+            }
+        }
+
+        private void multiVariant(final @Nullable MultiVariant multiVariant) {
+            if (multiVariant == null) {
+                return;
+            }
+            for (final Variant variant : multiVariant.variants()) {
+                model(variant.model());
+            }
+        }
+
+        private void font(final @NotNull Font font) {
+            for (final FontProvider provider : font.providers()) {
+                if (provider instanceof BitMapFontProvider) {
+                    // bitmap files already include the extension
+                    texture(((BitMapFontProvider) provider).file());
+                } else if (provider instanceof LegacyUnicodeFontProvider) {
+                    // the template is a texture path with a placeholder
+                    // for the page, keep its whole directory
+                    final String template = ((LegacyUnicodeFontProvider) provider).template();
+                    final int index = template.lastIndexOf('/');
+                    if (index > 0) {
+                        textureDirectories.add(template.substring(template.indexOf(':') + 1, index));
+                    }
+                }
+            }
+        }
+
+        private void equipment(final @NotNull Equipment equipment) {
+            equipment.layers().forEach((type, layers) -> {
+                final String directory = "entity/equipment/" + type.name().toLowerCase(Locale.ROOT) + '/';
+                for (final EquipmentLayer layer : layers) {
+                    texture(textureKey(layer.texture(), directory));
+                }
+            });
+        }
+
+        private void atlasSource(final @NotNull AtlasSource source) {
+            if (source instanceof SingleAtlasSource) {
+                texture(textureKey(((SingleAtlasSource) source).resource()));
+            } else if (source instanceof DirectoryAtlasSource) {
+                textureDirectories.add(((DirectoryAtlasSource) source).source());
+            } else if (source instanceof PalettedPermutationsAtlasSource) {
+                final PalettedPermutationsAtlasSource paletted = (PalettedPermutationsAtlasSource) source;
+                for (final Key texture : paletted.textures()) {
+                    texture(textureKey(texture));
+                }
+                texture(textureKey(paletted.paletteKey()));
+                for (final Key palette : paletted.permutations().values()) {
+                    texture(textureKey(palette));
+                }
+            } else if (source instanceof UnstitchAtlasSource) {
+                texture(textureKey(((UnstitchAtlasSource) source).resource()));
+            }
+        }
+    }
+
+    static final class ResultImpl implements Result {
+        private final Set<Key> models;
+        private final Set<Key> textures;
+
+        ResultImpl(final @NotNull Set<Key> models, final @NotNull Set<Key> textures) {
+            this.models = Collections.unmodifiableSet(models);
+            this.textures = Collections.unmodifiableSet(textures);
+        }
+
+        @Override
+        public @NotNull Set<Key> models() {
+            return models;
+        }
+
+        @Override
+        public @NotNull Set<Key> textures() {
+            return textures;
+        }
+
+        @Override
+        public String toString() {
+            return "ResourcePruner.Result{" +
+                    "models=" + models +
+                    ", textures=" + textures +
+                    '}';
+        }
+    }
+
+    static final class BuilderImpl implements Builder {
+        private final Set<String> keptNamespaces = new HashSet<>(DEFAULT_KEPT_NAMESPACES);
+        private final Set<Key> keptModels = new HashSet<>();
+        private final Set<Key> keptTextures = new HashSet<>();
+
+        @Override
+        public @NotNull Builder keptNamespaces(final @NotNull Collection<String> namespaces) {
+            requireNonNull(namespaces, "namespaces");
+            this.keptNamespaces.clear();
+            for (final String namespace : namespaces) {
+                keepNamespace(namespace);
+            }
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder keepNamespace(final @NotNull String namespace) {
+            keptNamespaces.add(requireNonNull(namespace, "namespace"));
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder keepModel(final @NotNull Key key) {
+            keptModels.add(requireNonNull(key, "key"));
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder keepTexture(final @NotNull Key key) {
+            keptTextures.add(requireNonNull(key, "key"));
+            return this;
+        }
+
+        @Override
+        public @NotNull ResourcePruner build() {
+            return new ResourcePrunerImpl(
+                    Collections.unmodifiableSet(new HashSet<>(keptNamespaces)),
+                    Collections.unmodifiableSet(new HashSet<>(keptModels)),
+                    Collections.unmodifiableSet(new HashSet<>(keptTextures))
+            );
+        }
+    }
+}
@@ -0,0 +1,721 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lossless PNG optimizer, decodes the image into RGBA samples
+ * and re-encodes it using the smallest color type, bit depth and
+ * filter strategy, keeping only the critical chunks and the
+ * transparency chunk.
+ */
+final class PngTextureOptimizer implements TextureOptimizer {
+    static final TextureOptimizer INSTANCE = new PngTextureOptimizer();
+
+    private static final byte[] SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    // images bigger than this (4096x4096) are left as they are,
+    // Minecraft textures are at most a few thousand pixels per side
+    private static final long MAX_PIXELS = 1L << 24;
+
+    private static final int COLOR_GRAY = 0;
+    private static final int COLOR_RGB = 2;
+    private static final int COLOR_PALETTE = 3;
+    private static final int COLOR_GRAY_ALPHA = 4;
+    private static final int COLOR_RGBA = 6;
+
+    private static final int FILTER_NONE = 0;
+    private static final int FILTER_SUB = 1;
+    private static final int FILTER_UP = 2;
+    private static final int FILTER_AVERAGE = 3;
+    private static final int FILTER_PAETH = 4;
+    private static final int FILTER_ADAPTIVE = 5;
+
+    private PngTextureOptimizer() {
+    }
+
+    @Override
+    public @NotNull Texture optimize(final @NotNull Texture texture) {
+        requireNonNull(texture, "texture");
+        final byte[] original;
+        try {
+            original = texture.data().toByteArray();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read texture data of " + texture.key(), e);
+        }
+
+        final Image image = decode(original);
+        if (image == null) {
+            return texture;
+        }
+
+        final byte[] optimized = encode(image);
+        if (optimized.length >= original.length) {
+            return texture;
+        }
+        return texture.data(Writable.bytes(optimized));
+    }
+
+    //#region Decoding
+    private static @Nullable Image decode(final byte @NotNull [] data) {
+        if (data.length < SIGNATURE.length || !Arrays.equals(Arrays.copyOf(data, SIGNATURE.length), SIGNATURE)) {
+            return null;
+        }
+
+        int width = 0, height = 0, bitDepth = 0, colorType = -1;
+        byte[] palette = null;
+        byte[] transparency = null;
+        final ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length);
+
+        int offset = SIGNATURE.length;
+        boolean end = false;
+        while (!end) {
+            if (offset + 12 > data.length) {
+                return null;
+            }
+            final int length = readInt(data, offset);
+            final String type = new String(data, offset + 4, 4, StandardCharsets.US_ASCII);
+            final int start = offset + 8;
+            if (length < 0 || start + length + 4 > data.length) {
+                return null;
+            }
+            switch (type) {
+                case "IHDR":
+                    if (length != 13) {
+                        return null;
+                    }
+                    width = readInt(data, start);
+                    height = readInt(data, start + 4);
+                    bitDepth = data[start + 8] & 0xFF;
+                    colorType = data[start + 9] & 0xFF;
+                    if (data[start + 10] != 0 || data[start + 11] != 0 || data[start + 12] != 0) {
+                        // unknown compression or filter method, or interlaced
+                        return null;
+                    }
+                    break;
+                case "PLTE":
+                    palette = Arrays.copyOfRange(data, start, start + length);
+                    break;
+                case "tRNS":
+                    transparency = Arrays.copyOfRange(data, start, start + length);
+                    break;
+                case "IDAT":
+                    compressed.write(data, start, length);
+                    break;
+                case "IEND":
+                    end = true;
+                    break;
+                default:
+                    if (Character.isUpperCase(type.charAt(0))) {
+                        // unknown critical chunk, we can't safely drop it
+                        return null;
+                    }
+                    // ancillary chunk, dropped
+                    break;
+            }
+            offset = start + length + 4;
+        }
+
+        final int channels = channels(colorType);
+        if (width <= 0 || height <= 0 || channels == 0 || !isValidBitDepth(colorType, bitDepth)
+                || (long) width * height > MAX_PIXELS
+                || (colorType == COLOR_PALETTE && palette == null)) {
+            return null;
+        }
+
+        final int bitsPerPixel = channels * bitDepth;
+        final int rowLength = (int) (((long) width * bitsPerPixel + 7) / 8);
+        final int bytesPerPixel = Math.max(1, bitsPerPixel / 8);
+        final int rawLength = (rowLength + 1) * height;
+
+        // the buffer grows as data is inflated, so the header
+        // alone can't make us allocate a big buffer
+        byte[] raw = new byte[(int) Math.min(rawLength, Math.max(8192L, compressed.size() * 4L))];
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed.toByteArray());
+            int read = 0;
+            while (read < rawLength) {
+                if (read == raw.length) {
+                    raw = Arrays.copyOf(raw, (int) Math.min(rawLength, raw.length * 2L));
+                }
+                final int n = inflater.inflate(raw, read, raw.length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    return null;
+                }
+                read += n;
+            }
+        } catch (final DataFormatException e) {
+            return null;
+        } finally {
+            inflater.end();
+        }
+
+        final Image image = new Image(width, height, bitDepth == 16 ? 16 : 8);
+        final byte[] previous = new byte[rowLength];
+        final byte[] current = new byte[rowLength];
+        final int max = (1 << bitDepth) - 1;
+        for (int y = 0; y < height; y++) {
+            final int rowStart = y * (rowLength + 1);
+            System.arraycopy(raw, rowStart + 1, current, 0, rowLength);
+            if (!unfilter(raw[rowStart] & 0xFF, current, previous, bytesPerPixel)) {
+                return null;
+            }
+            for (int x = 0; x < width; x++) {
+                final int i = (y * width + x) * 4;
+                final int[] px = image.samples;
+                switch (colorType) {
+                    case COLOR_GRAY: {
+                        final int value = sample(current, x, bitDepth);
+                        final int gray = bitDepth < 8 ? value * 255 / max : value;
+                        px[i] = px[i + 1] = px[i + 2] = gray;
+                        px[i + 3] = transparency != null && transparency.length >= 2
+                                && value == readShort(transparency, 0) ? 0 : image.max;
+                        break;
+                    }
+                    case COLOR_RGB: {
+                        for (int c = 0; c < 3; c++) {
+                            px[i + c] = sample(current, x * 3 + c, bitDepth);
+                        }
+                        px[i + 3] = transparency != null && transparency.length >= 6
+                                && px[i] == readShort(transparency, 0)
+                                && px[i + 1] == readShort(transparency, 2)
+                                && px[i + 2] == readShort(transparency, 4) ? 0 : image.max;
+                        break;
+                    }
+                    case COLOR_PALETTE: {
+                        final int index = sample(current, x, bitDepth);
+                        if (index * 3 + 2 >= palette.length) {
+                            return null;
+                        }
+                        px[i] = palette[index * 3] & 0xFF;
+                        px[i + 1] = palette[index * 3 + 1] & 0xFF;
+                        px[i + 2] = palette[index * 3 + 2] & 0xFF;
+                        px[i + 3] = transparency != null && index < transparency.length ? transparency[index] & 0xFF : 255;
+                        break;
+                    }
+                    case COLOR_GRAY_ALPHA: {
+                        final int gray = sample(current, x * 2, bitDepth);
+                        px[i] = px[i + 1] = px[i + 2] = gray;
+                        px[i + 3] = sample(current, x * 2 + 1, bitDepth);
+                        break;
+                    }
+                    default: {
+                        for (int c = 0; c < 4; c++) {
+                            px[i + c] = sample(current, x * 4 + c, bitDepth);
+                        }
+                        break;
+                    }
+                }
+            }
+            System.arraycopy(current, 0, previous, 0, rowLength);
+        }
+        return image;
+    }
+
+    private static boolean unfilter(final int filter, final byte @NotNull [] row, final byte @NotNull [] previous, final int bpp) {
+        switch (filter) {
+            case FILTER_NONE:
+                return true;
+            case FILTER_SUB:
+                for (int i = bpp; i < row.length; i++) {
+                    row[i] += row[i - bpp];
+                }
+                return true;
+            case FILTER_UP:
+                for (int i = 0; i < row.length; i++) {
+                    row[i] += previous[i];
+                }
+                return true;
+            case FILTER_AVERAGE:
+                for (int i = 0; i < row.length; i++) {
+                    final int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    row[i] += (left + (previous[i] & 0xFF)) >>> 1;
+                }
+                return true;
+            case FILTER_PAETH:
+                for (int i = 0; i < row.length; i++) {
+                    final int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                    final int upLeft = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                    row[i] += paeth(left, previous[i] & 0xFF, upLeft);
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+    //#endregion
+
+    //#region Encoding
+    private static byte @NotNull [] encode(final @NotNull Image image) {
+        image.reduceDepth();
+
+        final int[] px = image.samples;
+        boolean gray = true;
+        boolean alpha = false;
+        for (int i = 0; i < px.length; i += 4) {
+            if (px[i] != px[i + 1] || px[i] != px[i + 2]) {
+                gray = false;
+            }
+            if (px[i + 3] != image.max) {
+                alpha = true;
+            }
+        }
+
+        final List<Format> formats = new ArrayList<>(2);
+        if (gray) {
+            formats.add(new Format(alpha ? COLOR_GRAY_ALPHA : COLOR_GRAY, alpha ? image.depth : grayDepth(image), null));
+        } else {
+            formats.add(new Format(alpha ? COLOR_RGBA : COLOR_RGB, image.depth, null));
+        }
+        if (image.depth == 8) {
+            final int[] palette = palette(px);
+            if (palette != null) {
+                formats.add(new Format(COLOR_PALETTE, paletteDepth(palette.length), palette));
+            }
+        }
+
+        byte[] best = null;
+        final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            for (final Format format : formats) {
+                final byte[][] rows = format.pack(image);
+                final int bpp = Math.max(1, channels(format.colorType) * format.depth / 8);
+                for (int strategy = FILTER_NONE; strategy <= FILTER_ADAPTIVE; strategy++) {
+                    final byte[] encoded = write(image, format, deflate(deflater, filter(rows, bpp, strategy)));
+                    if (best == null || encoded.length < best.length) {
+                        best = encoded;
+                    }
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+        return best;
+    }
+
+    private static byte @NotNull [] filter(final byte @NotNull [] @NotNull [] rows, final int bpp, final int strategy) {
+        final int rowLength = rows[0].length;
+        final byte[] out = new byte[(rowLength + 1) * rows.length];
+        final byte[] empty = new byte[rowLength];
+        final byte[] candidate = new byte[rowLength];
+        for (int y = 0; y < rows.length; y++) {
+            final byte[] previous = y == 0 ? empty : rows[y - 1];
+            final int offset = y * (rowLength + 1);
+            int filter = strategy;
+            if (strategy == FILTER_ADAPTIVE) {
+                // minimum sum of absolute differences heuristic
+                long bestSum = Long.MAX_VALUE;
+                for (int f = FILTER_NONE; f <= FILTER_PAETH; f++) {
+                    filterRow(f, rows[y], previous, bpp, candidate, 0);
+                    long sum = 0;
+                    for (final byte b : candidate) {
+                        sum += Math.abs((int) b);
+                    }
+                    if (sum < bestSum) {
+                        bestSum = sum;
+                        filter = f;
+                    }
+                }
+            }
+            out[offset] = (byte) filter;
+            filterRow(filter, rows[y], previous, bpp, out, offset + 1);
+        }
+        return out;
+    }
+
+    private static void filterRow(final int filter, final byte @NotNull [] row, final byte @NotNull [] previous, final int bpp, final byte @NotNull [] out, final int offset) {
+        for (int i = 0; i < row.length; i++) {
+            final int value = row[i] & 0xFF;
+            final int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+            final int up = previous[i] & 0xFF;
+            final int predictor;
+            switch (filter) {
+                case FILTER_SUB:
+                    predictor = left;
+                    break;
+                case FILTER_UP:
+                    predictor = up;
+                    break;
+                case FILTER_AVERAGE:
+                    predictor = (left + up) >>> 1;
+                    break;
+                case FILTER_PAETH:
+                    predictor = paeth(left, up, i >= bpp ? previous[i - bpp] & 0xFF : 0);
+                    break;
+                default:
+                    predictor = 0;
+                    break;
+            }
+            out[offset + i] = (byte) (value - predictor);
+        }
+    }
+
+    private static byte @NotNull [] deflate(final @NotNull Deflater deflater, final byte @NotNull [] data) {
+        deflater.reset();
+        deflater.setInput(data);
+        deflater.finish();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length / 2 + 64);
+        final byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            final int n = deflater.deflate(buffer);
+            output.write(buffer, 0, n);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte @NotNull [] write(final @NotNull Image image, final @NotNull Format format, final byte @NotNull [] compressed) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(compressed.length + 128);
+        output.write(SIGNATURE, 0, SIGNATURE.length);
+
+        final byte[] header = new byte[13];
+        writeInt(header, 0, image.width);
+        writeInt(header, 4, image.height);
+        header[8] = (byte) format.depth;
+        header[9] = (byte) format.colorType;
+        writeChunk(output, "IHDR", header);
+
+        if (format.palette != null) {
+            final int[] palette = format.palette;
+            final byte[] plte = new byte[palette.length * 3];
+            int transparent = 0;
+            for (int i = 0; i < palette.length; i++) {
+                plte[i * 3] = (byte) (palette[i] >>> 24);
+                plte[i * 3 + 1] = (byte) (palette[i] >>> 16);
+                plte[i * 3 + 2] = (byte) (palette[i] >>> 8);
+                if ((palette[i] & 0xFF) != 0xFF) {
+                    transparent = i + 1;
+                }
+            }
+            writeChunk(output, "PLTE", plte);
+            if (transparent > 0) {
+                final byte[] trns = new byte[transparent];
+                for (int i = 0; i < transparent; i++) {
+                    trns[i] = (byte) palette[i];
+                }
+                writeChunk(output, "tRNS", trns);
+            }
+        }
+
+        writeChunk(output, "IDAT", compressed);
+        writeChunk(output, "IEND", new byte[0]);
+        return output.toByteArray();
+    }
+
+    private static void writeChunk(final @NotNull ByteArrayOutputStream output, final @NotNull String type, final byte @NotNull [] data) {
+        final byte[] header = new byte[8];
+        writeInt(header, 0, data.length);
+        final byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(typeBytes, 0, header, 4, 4);
+        output.write(header, 0, 8);
+        output.write(data, 0, data.length);
+
+        final CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        final byte[] trailer = new byte[4];
+        writeInt(trailer, 0, (int) crc.getValue());
+        output.write(trailer, 0, 4);
+    }
+
+    /**
+     * Computes the palette (RGBA, packed) for the given 8-bit samples,
+     * with the non-opaque colors first, so that the transparency chunk
+     * can be as short as possible, or null if there are more than 256
+     * colors.
+     */
+    private static int @Nullable [] palette(final int @NotNull [] px) {
+        final Map<Integer, Boolean> colors = new LinkedHashMap<>();
+        for (int i = 0; i < px.length; i += 4) {
+            colors.put(rgba(px, i), Boolean.TRUE);
+            if (colors.size() > 256) {
+                return null;
+            }
+        }
+        final int[] palette = new int[colors.size()];
+        int index = 0;
+        for (final int color : colors.keySet()) {
+            if ((color & 0xFF) != 0xFF) {
+                palette[index++] = color;
+            }
+        }
+        for (final int color : colors.keySet()) {
+            if ((color & 0xFF) == 0xFF) {
+                palette[index++] = color;
+            }
+        }
+        return palette;
+    }
+
+    private static int paletteDepth(final int size) {
+        if (size <= 2) {
+            return 1;
+        } else if (size <= 4) {
+            return 2;
+        } else if (size <= 16) {
+            return 4;
+        } else {
+            return 8;
+        }
+    }
+
+    /**
+     * Determines the minimum bit depth for an opaque grayscale image,
+     * lower bit depths are scaled up by the decoder, so they can only
+     * be used if every value is a multiple of the scale.
+     */
+    private static int grayDepth(final @NotNull Image image) {
+        if (image.depth != 8) {
+            return image.depth;
+        }
+        for (int depth = 1; depth < 8; depth <<= 1) {
+            final int scale = 255 / ((1 << depth) - 1);
+            boolean fits = true;
+            for (int i = 0; i < image.samples.length && fits; i += 4) {
+                fits = image.samples[i] % scale == 0;
+            }
+            if (fits) {
+                return depth;
+            }
+        }
+        return 8;
+    }
+    //#endregion
+
+    //#region Utilities
+    private static int channels(final int colorType) {
+        switch (colorType) {
+            case COLOR_GRAY:
+            case COLOR_PALETTE:
+                return 1;
+            case COLOR_GRAY_ALPHA:
+                return 2;
+            case COLOR_RGB:
+                return 3;
+            case COLOR_RGBA:
+                return 4;
+            default:
+                return 0;
+        }
+    }
+
+    private static boolean isValidBitDepth(final int colorType, final int bitDepth) {
+        switch (colorType) {
+            case COLOR_GRAY:
+                return bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8 || bitDepth == 16;
+            case COLOR_PALETTE:
+                return bitDepth == 1 || bitDepth == 2 || bitDepth == 4 || bitDepth == 8;
+            default:
+                return bitDepth == 8 || bitDepth == 16;
+        }
+    }
+
+    private static int sample(final byte @NotNull [] row, final int index, final int bitDepth) {
+        switch (bitDepth) {
+            case 16:
+                return ((row[index * 2] & 0xFF) << 8) | (row[index * 2 + 1] & 0xFF);
+            case 8:
+                return row[index] & 0xFF;
+            default: {
+                final int bit = index * bitDepth;
+                final int shift = 8 - bitDepth - (bit & 7);
+                return ((row[bit >>> 3] & 0xFF) >>> shift) & ((1 << bitDepth) - 1);
+            }
+        }
+    }
+
+    private static int paeth(final int a, final int b, final int c) {
+        final int p = a + b - c;
+        final int pa = Math.abs(p - a);
+        final int pb = Math.abs(p - b);
+        final int pc = Math.abs(p - c);
+        if (pa <= pb && pa <= pc) {
+            return a;
+        } else if (pb <= pc) {
+            return b;
+        } else {
+            return c;
+        }
+    }
+
+    private static int rgba(final int @NotNull [] px, final int i) {
+        return (px[i] << 24) | (px[i + 1] << 16) | (px[i + 2] << 8) | px[i + 3];
+    }
+
+    private static int readInt(final byte @NotNull [] data, final int offset) {
+        return ((data[offset] & 0xFF) << 24) | ((data[offset + 1] & 0xFF) << 16)
+                | ((data[offset + 2] & 0xFF) << 8) | (data[offset + 3] & 0xFF);
+    }
+
+    private static int readShort(final byte @NotNull [] data, final int offset) {
+        return ((data[offset] & 0xFF) << 8) | (data[offset + 1] & 0xFF);
+    }
+
+    private static void writeInt(final byte @NotNull [] data, final int offset, final int value) {
+        data[offset] = (byte) (value >>> 24);
+        data[offset + 1] = (byte) (value >>> 16);
+        data[offset + 2] = (byte) (value >>> 8);
+        data[offset + 3] = (byte) value;
+    }
+    //#endregion
+
+    /**
+     * A decoded image, as RGBA samples of the given depth (8 or 16).
+     */
+    private static final class Image {
+        private final int width;
+        private final int height;
+        private final int[] samples;
+        private int depth;
+        private int max;
+
+        Image(final int width, final int height, final int depth) {
+            this.width = width;
+            this.height = height;
+            this.samples = new int[width * height * 4];
+            this.depth = depth;
+            this.max = (1 << depth) - 1;
+        }
+
+        /**
+         * Reduces 16-bit samples to 8-bit samples if every sample
+         * has the same high and low bytes, which is lossless.
+         */
+        void reduceDepth() {
+            if (depth != 16) {
+                return;
+            }
+            for (final int sample : samples) {
+                if ((sample >>> 8) != (sample & 0xFF)) {
+                    return;
+                }
+            }
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] >>>= 8;
+            }
+            depth = 8;
+            max = 0xFF;
+        }
+    }
+
+    /**
+     * An output color type and bit depth, with its palette,
+     * if it's an indexed color type.
+     */
+    private static final class Format {
+        private final int colorType;
+        private final int depth;
+        private final int @Nullable [] palette;
+
+        Format(final int colorType, final int depth, final int @Nullable [] palette) {
+            this.colorType = colorType;
+            this.depth = depth;
+            this.palette = palette;
+        }
+
+        byte @NotNull [] @NotNull [] pack(final @NotNull Image image) {
+            final int channels = channels(colorType);
+            final int rowLength = (int) (((long) image.width * channels * depth + 7) / 8);
+            final byte[][] rows = new byte[image.height][rowLength];
+
+            Map<Integer, Integer> indexes = null;
+            if (palette != null) {
+                indexes = new LinkedHashMap<>();
+                for (int i = 0; i < palette.length; i++) {
+                    indexes.put(palette[i], i);
+                }
+            }
+
+            final int[] px = image.samples;
+            final int[] values = new int[channels];
+            final int grayScale = depth < 8 ? 255 / ((1 << depth) - 1) : 1;
+            for (int y = 0; y < image.height; y++) {
+                final byte[] row = rows[y];
+                for (int x = 0; x < image.width; x++) {
+                    final int i = (y * image.width + x) * 4;
+                    switch (colorType) {
+                        case COLOR_PALETTE:
+                            values[0] = indexes.get(rgba(px, i));
+                            break;
+                        case COLOR_GRAY:
+                            values[0] = px[i] / grayScale;
+                            break;
+                        case COLOR_GRAY_ALPHA:
+                            values[0] = px[i];
+                            values[1] = px[i + 3];
+                            break;
+                        case COLOR_RGB:
+                            values[0] = px[i];
+                            values[1] = px[i + 1];
+                            values[2] = px[i + 2];
+                            break;
+                        default:
+                            System.arraycopy(px, i, values, 0, 4);
+                            break;
+                    }
+                    for (int c = 0; c < channels; c++) {
+                        put(row, x * channels + c, values[c]);
+                    }
+                }
+            }
+            return rows;
+        }
+
+        private void put(final byte @NotNull [] row, final int index, final int value) {
+            switch (depth) {
+                case 16:
+                    row[index * 2] = (byte) (value >>> 8);
+                    row[index * 2 + 1] = (byte) value;
+                    break;
+                case 8:
+                    row[index] = (byte) value;
+                    break;
+                default: {
+                    final int bit = index * depth;
+                    row[bit >>> 3] |= (byte) (value << (8 - depth - (bit & 7)));
+                    break;
+                }
+            }
+        }
+    }
+}
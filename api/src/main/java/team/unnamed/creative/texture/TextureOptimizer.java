@@ -0,0 +1,131 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.overlay.ResourceContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Optimizes the image data of {@link Texture} instances
+ * before they are written to a resource pack.
+ *
+ * <p>Optimizers never change the dimensions of the image, so
+ * frame sizes defined by animation metadata and texture metadata
+ * stay valid, and the texture metadata is kept as-is.</p>
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface TextureOptimizer {
+    /**
+     * Gets the lossless PNG texture optimizer. It strips ancillary
+     * chunks, reduces the bit depth and color type where this does
+     * not lose information (e.g. RGBA to palette or grayscale), tries
+     * every filter strategy and keeps the smallest result.
+     *
+     * <p>Textures whose data is not a non-interlaced PNG image, or
+     * that can't be made smaller, are returned unchanged.</p>
+     *
+     * @return The lossless PNG optimizer
+     * @since 1.8.4
+     */
+    static @NotNull TextureOptimizer png() {
+        return PngTextureOptimizer.INSTANCE;
+    }
+
+    /**
+     * Optimizes the given texture.
+     *
+     * @param texture The texture to optimize
+     * @return The optimized texture, or the same texture if it
+     * couldn't be optimized
+     * @throws java.io.UncheckedIOException If reading the texture data fails
+     * @since 1.8.4
+     */
+    @NotNull Texture optimize(final @NotNull Texture texture);
+
+    /**
+     * Optimizes all the textures of the given resource pack and
+     * its overlays, in parallel, using the given executor.
+     *
+     * @param resourcePack The resource pack
+     * @param executor The executor used to optimize the textures
+     * @since 1.8.4
+     */
+    default void optimize(final @NotNull ResourcePack resourcePack, final @NotNull Executor executor) {
+        requireNonNull(resourcePack, "resourcePack");
+        requireNonNull(executor, "executor");
+
+        final List<ResourceContainer> containers = new ArrayList<>();
+        containers.add(resourcePack);
+        containers.addAll(resourcePack.overlays());
+
+        final List<ResourceContainer> targets = new ArrayList<>();
+        final List<CompletableFuture<Texture>> futures = new ArrayList<>();
+        for (final ResourceContainer container : containers) {
+            for (final Texture texture : container.textures()) {
+                targets.add(container);
+                futures.add(CompletableFuture.supplyAsync(() -> optimize(texture), executor));
+            }
+        }
+
+        // containers are not thread-safe, so the results are
+        // added back from the calling thread
+        for (int i = 0; i < futures.size(); i++) {
+            final Texture optimized;
+            try {
+                optimized = futures.get(i).join();
+            } catch (final CompletionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw e;
+            }
+            targets.get(i).texture(optimized);
+        }
+    }
+
+    /**
+     * Optimizes all the textures of the given resource pack and
+     * its overlays, in parallel, using the common pool.
+     *
+     * @param resourcePack The resource pack
+     * @since 1.8.4
+     */
+    default void optimize(final @NotNull ResourcePack resourcePack) {
+        optimize(resourcePack, ForkJoinPool.commonPool());
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.overlay;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePackFlattenTest {
+    private static final Writable ROOT = Writable.stringUtf8("root");
+    private static final Writable OLD = Writable.stringUtf8("old");
+    private static final Writable NEW = Writable.stringUtf8("new");
+    private static final Writable NEWEST = Writable.stringUtf8("newest");
+
+    @Test
+    void test_flatten() {
+        final ResourcePack pack = ResourcePack.resourcePack();
+        pack.packMeta(34, "Flatten me");
+        pack.unknownFile("file.txt", ROOT);
+        pack.unknownFile("root.txt", ROOT);
+
+        final Overlay old = Overlay.overlay("old");
+        old.unknownFile("file.txt", OLD);
+        pack.overlay(old);
+
+        final Overlay recent = Overlay.overlay("new");
+        recent.unknownFile("file.txt", NEW);
+        recent.unknownFile("new.txt", NEW);
+        pack.overlay(recent);
+
+        final Overlay newest = Overlay.overlay("newest");
+        newest.unknownFile("file.txt", NEWEST);
+        pack.overlay(newest);
+
+        pack.overlaysMeta(OverlaysMeta.of(
+                OverlayEntry.of(PackFormat.format(18, 18, 22), "old"),
+                OverlayEntry.of(PackFormat.format(32, 32, 46), "new"),
+                OverlayEntry.of(PackFormat.format(46, 46, 46), "newest")
+        ));
+
+        final ResourcePack oldest = pack.flatten(15);
+        assertTrue(oldest.overlays().isEmpty());
+        assertNull(oldest.overlaysMeta());
+        assertNotNull(oldest.packMeta());
+        assertEquals(ROOT, oldest.unknownFile("file.txt"));
+        assertNull(oldest.unknownFile("new.txt"));
+
+        assertEquals(OLD, pack.flatten(18).unknownFile("file.txt"));
+
+        final ResourcePack flattened = pack.flatten(34);
+        assertEquals(NEW, flattened.unknownFile("file.txt"));
+        assertEquals(NEW, flattened.unknownFile("new.txt"));
+        assertEquals(ROOT, flattened.unknownFile("root.txt"));
+
+        // later overlays override earlier ones
+        assertEquals(NEWEST, pack.flatten(46).unknownFile("file.txt"));
+
+        // the original pack is not modified
+        assertEquals(ROOT, pack.unknownFile("file.txt"));
+        assertEquals(3, pack.overlays().size());
+        assertNotNull(pack.overlaysMeta());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.resources;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.atlas.AtlasSource;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.item.ItemModel;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.overlay.Overlay;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePrunerTest {
+    private static final Writable DATA = Writable.bytes(new byte[] { 1, 2, 3 });
+
+    private static Model model(final Key key, final Key parent, final Key texture) {
+        return Model.model()
+                .key(key)
+                .parent(parent)
+                .textures(ModelTextures.builder()
+                        .layers(ModelTexture.ofKey(texture))
+                        .build())
+                .build();
+    }
+
+    private static ResourcePack resourcePack() {
+        final ResourcePack resourcePack = ResourcePack.resourcePack();
+
+        // used: item -> sword -> sword base -> sword texture
+        resourcePack.item(Item.item(Key.key("test", "sword"), ItemModel.reference(Key.key("test", "item/sword"))));
+        resourcePack.model(model(Key.key("test", "item/sword"), Key.key("test", "item/sword_base"), Key.key("test", "item/sword")));
+        resourcePack.model(model(Key.key("test", "item/sword_base"), null, Key.key("test", "item/base")));
+        resourcePack.texture(Key.key("test", "item/sword.png"), DATA);
+        resourcePack.texture(Key.key("test", "item/base.png"), DATA);
+
+        // unused
+        resourcePack.model(model(Key.key("test", "item/unused"), null, Key.key("test", "item/unused")));
+        resourcePack.texture(Key.key("test", "item/unused.png"), DATA);
+
+        // kept because of the namespace
+        resourcePack.texture(Key.key("minecraft", "item/diamond.png"), DATA);
+
+        // kept because of the atlas directory source
+        resourcePack.atlas(Atlas.atlas(Key.key("minecraft", "blocks"), Collections.singletonList(AtlasSource.directory("particle", "particle/"))));
+        resourcePack.texture(Key.key("test", "particle/spark.png"), DATA);
+
+        // overlay: redefines the sword model to use another texture, which
+        // must be kept, and defines an unused texture
+        final Overlay overlay = Overlay.overlay("overlay_a");
+        overlay.model(model(Key.key("test", "item/sword"), null, Key.key("test", "item/sword_new")));
+        overlay.texture(Key.key("test", "item/sword_new.png"), DATA);
+        overlay.texture(Key.key("test", "item/unused.png"), DATA);
+        resourcePack.overlay(overlay);
+        return resourcePack;
+    }
+
+    @Test
+    void test_analyze() {
+        final ResourcePack resourcePack = resourcePack();
+        final ResourcePruner.Result result = ResourcePruner.resourcePruner().analyze(resourcePack);
+
+        assertEquals(Collections.singleton(Key.key("test", "item/unused")), result.models());
+        assertEquals(Collections.singleton(Key.key("test", "item/unused.png")), result.textures());
+
+        // analyze must not remove anything
+        assertNotNull(resourcePack.model(Key.key("test", "item/unused")));
+        assertNotNull(resourcePack.texture(Key.key("test", "item/unused.png")));
+    }
+
+    @Test
+    void test_prune() {
+        final ResourcePack resourcePack = resourcePack();
+        final ResourcePruner.Result result = ResourcePruner.resourcePruner().prune(resourcePack);
+
+        assertEquals(1, result.models().size());
+        assertNull(resourcePack.model(Key.key("test", "item/unused")));
+        assertNull(resourcePack.texture(Key.key("test", "item/unused.png")));
+        final Overlay overlay = resourcePack.overlay("overlay_a");
+        assertNotNull(overlay);
+        assertNull(overlay.texture(Key.key("test", "item/unused.png")));
+        assertNotNull(overlay.texture(Key.key("test", "item/sword_new.png")));
+
+        assertNotNull(resourcePack.model(Key.key("test", "item/sword_base")));
+        assertNotNull(resourcePack.texture(Key.key("test", "item/base.png")));
+        assertNotNull(resourcePack.texture(Key.key("minecraft", "item/diamond.png")));
+        assertNotNull(resourcePack.texture(Key.key("test", "particle/spark.png")));
+
+        // a second pass finds nothing else
+        assertTrue(ResourcePruner.resourcePruner().analyze(resourcePack).isEmpty());
+    }
+
+    @Test
+    void test_kept_roots() {
+        final ResourcePack resourcePack = resourcePack();
+        final ResourcePruner pruner = ResourcePruner.builder()
+                .keepModel(Key.key("test", "item/unused"))
+                .build();
+        assertTrue(pruner.analyze(resourcePack).isEmpty());
+
+        final ResourcePruner strict = ResourcePruner.builder()
+                .keptNamespaces(Collections.emptySet())
+                .build();
+        assertEquals(
+                new HashSet<>(Arrays.asList(Key.key("test", "item/unused.png"), Key.key("minecraft", "item/diamond.png"))),
+                strict.analyze(resourcePack).textures()
+        );
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.texture;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.animation.AnimationMeta;
+
+import javax.imageio.ImageIO;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TextureOptimizerTest {
+    private static final Key KEY = Key.key("test", "item/texture.png");
+
+    private static byte[] png(final BufferedImage image) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+
+    private static void assertSamePixels(final BufferedImage expected, final byte[] actualData) throws IOException {
+        final BufferedImage actual = ImageIO.read(new ByteArrayInputStream(actualData));
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        // grayscale images are decoded to a linear color space by ImageIO,
+        // so their raw samples are compared instead
+        final boolean gray = actual.getRaster().getNumBands() == 1 && actual.getColorModel().getColorSpace().getType() == ColorSpace.TYPE_GRAY;
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                final int argb = expected.getRGB(x, y);
+                if (gray) {
+                    assertEquals(argb & 0xFF, actual.getRaster().getSample(x, y, 0), "pixel at " + x + ", " + y);
+                    continue;
+                }
+                // fully transparent pixels may have any color
+                if ((argb >>> 24) == 0) {
+                    assertEquals(0, actual.getRGB(x, y) >>> 24);
+                } else {
+                    assertEquals(argb, actual.getRGB(x, y), "pixel at " + x + ", " + y);
+                }
+            }
+        }
+    }
+
+    @Test
+    void test_palette_reduction() throws IOException {
+        // 16x64 animated texture, 4 frames, using 3 colors
+        final int[] colors = { 0xFFFF0000, 0x8000FF00, 0 };
+        final Random random = new Random(0);
+        final BufferedImage image = new BufferedImage(16, 64, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, colors[random.nextInt(colors.length)]);
+            }
+        }
+
+        final byte[] original = png(image);
+        final Metadata meta = Metadata.metadata().addPart(AnimationMeta.animation().frameTime(2).build()).build();
+        final Texture texture = Texture.texture(KEY, Writable.bytes(original), meta);
+        final Texture optimized = TextureOptimizer.png().optimize(texture);
+
+        final byte[] data = optimized.data().toByteArray();
+        assertTrue(data.length < original.length);
+        assertEquals(3, data[25], "expected indexed color type");
+        assertEquals(meta, optimized.meta());
+        assertSamePixels(image, data);
+    }
+
+    @Test
+    void test_grayscale_reduction() throws IOException {
+        final BufferedImage image = new BufferedImage(32, 32, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                final int value = (x * 8 + y) & 0xFF;
+                image.setRGB(x, y, 0xFF000000 | value << 16 | value << 8 | value);
+            }
+        }
+
+        final byte[] original = png(image);
+        final byte[] data = TextureOptimizer.png().optimize(Texture.texture(KEY, Writable.bytes(original))).data().toByteArray();
+        assertTrue(data.length < original.length);
+        assertSamePixels(image, data);
+    }
+
+    @Test
+    void test_many_colors() throws IOException {
+        final BufferedImage image = new BufferedImage(64, 64, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                image.setRGB(x, y, (0x80 + x) << 24 | (x * 4) << 16 | (y * 4) << 8 | ((x ^ y) & 0xFF));
+            }
+        }
+
+        final byte[] data = TextureOptimizer.png().optimize(Texture.texture(KEY, Writable.bytes(png(image)))).data().toByteArray();
+        assertSamePixels(image, data);
+    }
+
+    @Test
+    void test_truncated_huge_png() throws IOException {
+        // 4096x4096 16-bit RGBA header, but almost no image data,
+        // the optimizer must give up without allocating the whole image
+        final Deflater deflater = new Deflater();
+        deflater.setInput(new byte[64]);
+        deflater.finish();
+        final byte[] idat = new byte[128];
+        final int idatLength = deflater.deflate(idat);
+        deflater.end();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        output.write(new byte[] { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' });
+        chunk(output, "IHDR", new byte[] { 0, 0, 0x10, 0, 0, 0, 0x10, 0, 16, 6, 0, 0, 0 }, 13);
+        chunk(output, "IDAT", idat, idatLength);
+        chunk(output, "IEND", new byte[0], 0);
+
+        final Texture texture = Texture.texture(KEY, Writable.bytes(output.toByteArray()));
+        assertSame(texture, TextureOptimizer.png().optimize(texture));
+    }
+
+    private static void chunk(final ByteArrayOutputStream output, final String type, final byte[] data, final int length) throws IOException {
+        final DataOutputStream out = new DataOutputStream(output);
+        final byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        out.writeInt(length);
+        out.write(typeBytes);
+        out.write(data, 0, length);
+        final CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        out.writeInt((int) crc.getValue());
+    }
+
+    @Test
+    void test_not_png() {
+        final Texture texture = Texture.texture(KEY, Writable.stringUtf8("not a png"));
+        assertSame(texture, TextureOptimizer.png().optimize(texture));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.FILE_SEPARATOR;
+
+/**
+ * Immutable trie of the category folders for a single pack format,
+ * keyed by path sections, e.g. {@code models -> equipment}.
+ *
+ * <p>Lookups compare the sections in place, without splitting
+ * the path, so they do not allocate.</p>
+ */
+final class CategoryTrie {
+    private static final String[] NO_SECTIONS = new String[0];
+    private static final CategoryTrie[] NO_CHILDREN = new CategoryTrie[0];
+
+    // the category whose folder ends at this node, if any
+    private final @Nullable ResourceCategory<?> category;
+
+    // length of the folder that ends at this node, e.g. 16 for "models/equipment"
+    private final int folderLength;
+
+    // child sections and nodes, at the same indexes (a few
+    // children per node, so a linear search is enough)
+    private final String[] sections;
+    private final CategoryTrie[] children;
+
+    private CategoryTrie(
+            final @Nullable ResourceCategory<?> category,
+            final int folderLength,
+            final @NotNull String[] sections,
+            final @NotNull CategoryTrie[] children
+    ) {
+        this.category = category;
+        this.folderLength = folderLength;
+        this.sections = sections;
+        this.children = children;
+    }
+
+    static @NotNull CategoryTrie compile(final @NotNull Iterable<ResourceCategory<?>> categories, final int packFormat) {
+        final Node root = new Node();
+        for (final ResourceCategory<?> category : categories) {
+            final String folder = category.folder(packFormat);
+            Node node = root;
+            for (final String section : folder.split(FILE_SEPARATOR)) {
+                node = node.children.computeIfAbsent(section, k -> new Node());
+            }
+            // last registered wins
+            node.category = category;
+            node.folderLength = folder.length();
+        }
+        return root.freeze();
+    }
+
+    /**
+     * Returns the category for this node, null if no folder ends here.
+     *
+     * @return The category
+     */
+    @Nullable ResourceCategory<?> category() {
+        return category;
+    }
+
+    /**
+     * Returns the length of the folder that ends at this node.
+     *
+     * @return The folder length
+     */
+    int folderLength() {
+        return folderLength;
+    }
+
+    /**
+     * Finds the node of the category with the longest folder starting at
+     * the given index of the path. The folder must be followed by at least
+     * one more section (the file), since the last section is never a folder.
+     *
+     * @param path The path
+     * @param start The index where the category folder starts
+     * @return The matched node, null if no category matches
+     */
+    @Nullable CategoryTrie match(final @NotNull String path, final int start) {
+        CategoryTrie node = this;
+        CategoryTrie match = null;
+        int sectionStart = start;
+        int sectionEnd;
+        while ((sectionEnd = path.indexOf(FILE_SEPARATOR, sectionStart)) != -1) {
+            node = node.child(path, sectionStart, sectionEnd);
+            if (node == null) {
+                break;
+            }
+            if (node.category != null) {
+                match = node;
+            }
+            sectionStart = sectionEnd + 1;
+        }
+        return match;
+    }
+
+    /**
+     * Finds the category whose folder is exactly the given one.
+     *
+     * @param folder The folder
+     * @return The category, null if not found
+     */
+    @Nullable ResourceCategory<?> find(final @NotNull String folder) {
+        CategoryTrie node = this;
+        int sectionStart = 0;
+        while (node != null) {
+            int sectionEnd = folder.indexOf(FILE_SEPARATOR, sectionStart);
+            if (sectionEnd == -1) {
+                node = node.child(folder, sectionStart, folder.length());
+                return node == null ? null : node.category;
+            }
+            node = node.child(folder, sectionStart, sectionEnd);
+            sectionStart = sectionEnd + 1;
+        }
+        return null;
+    }
+
+    private @Nullable CategoryTrie child(final @NotNull String path, final int start, final int end) {
+        final int length = end - start;
+        for (int i = 0; i < sections.length; i++) {
+            final String section = sections[i];
+            if (section.length() == length && path.regionMatches(start, section, 0, length)) {
+                return children[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Mutable node, only used while compiling the trie.
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private @Nullable ResourceCategory<?> category;
+        private int folderLength;
+
+        @NotNull CategoryTrie freeze() {
+            if (children.isEmpty()) {
+                return new CategoryTrie(category, folderLength, NO_SECTIONS, NO_CHILDREN);
+            }
+            final String[] sections = new String[children.size()];
+            final CategoryTrie[] frozen = new CategoryTrie[children.size()];
+            int i = 0;
+            for (final Map.Entry<String, Node> entry : children.entrySet()) {
+                sections[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new CategoryTrie(category, folderLength, sections, frozen);
+        }
+    }
+}
@@ -29,6 +29,7 @@ import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonPrimitive;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -37,6 +38,7 @@ import team.unnamed.creative.base.Vector3Float;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.math.BigDecimal;
 
 @ApiStatus.Internal
 public final class GsonUtil {
@@ -135,6 +137,62 @@ public final class GsonUtil {
         writer.endArray();
     }
 
+    /*
+     * Streaming counterparts of the methods above, they read
+     * the next value from the given reader, with the same rules
+     * as their tree-based equivalents
+     */
+    public static boolean nextBoolean(JsonReader reader, String key) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.BOOLEAN) {
+            return reader.nextBoolean();
+        } else if (token == JsonToken.STRING) {
+            return Boolean.parseBoolean(reader.nextString());
+        } else {
+            throw new IllegalStateException("Field '" + key + "' must be a boolean");
+        }
+    }
+
+    public static int nextInt(JsonReader reader, String key) throws IOException {
+        if (reader.peek() != JsonToken.NUMBER) {
+            throw new IllegalStateException("Field '" + key + "' must be an integer");
+        }
+        String value = reader.nextString();
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            // same as JsonPrimitive#getAsInt for non-int values
+            return new BigDecimal(value).intValue();
+        }
+    }
+
+    public static float nextFloat(JsonReader reader) throws IOException {
+        return (float) Double.parseDouble(reader.nextString());
+    }
+
+    /*
+     * Reads the next value as a string, it must be
+     * a primitive (string, number or boolean)
+     */
+    public static String nextString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(reader.nextBoolean());
+        }
+        return reader.nextString();
+    }
+
+    public static Vector3Float readVector3Float(JsonReader reader) throws IOException {
+        reader.beginArray();
+        float x = nextFloat(reader);
+        float y = nextFloat(reader);
+        float z = nextFloat(reader);
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+        reader.endArray();
+        return new Vector3Float(x, y, z);
+    }
+
     public static Vector3Float readVector3Float(JsonElement element) {
         JsonArray array = element.getAsJsonArray();
         return new Vector3Float(
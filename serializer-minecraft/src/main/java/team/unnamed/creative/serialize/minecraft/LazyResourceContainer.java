@@ -0,0 +1,421 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.blockstate.BlockState;
+import team.unnamed.creative.equipment.Equipment;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.resources.MergeStrategy;
+import team.unnamed.creative.serialize.minecraft.atlas.AtlasSerializer;
+import team.unnamed.creative.serialize.minecraft.blockstate.BlockStateSerializer;
+import team.unnamed.creative.serialize.minecraft.equipment.EquipmentCategory;
+import team.unnamed.creative.serialize.minecraft.font.FontSerializer;
+import team.unnamed.creative.serialize.minecraft.item.ItemSerializer;
+import team.unnamed.creative.serialize.minecraft.language.LanguageSerializer;
+import team.unnamed.creative.serialize.minecraft.model.ModelSerializer;
+import team.unnamed.creative.serialize.minecraft.sound.SoundSerializer;
+import team.unnamed.creative.sound.Sound;
+import team.unnamed.creative.sound.SoundRegistry;
+import team.unnamed.creative.texture.Texture;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ResourceContainer} that only indexes the location of its
+ * keyed resources (models, items, languages, etc.) and deserializes
+ * them on first access, memoizing the result in a delegate container.
+ *
+ * <p>Collection accessors (e.g. {@link #models()}) deserialize every
+ * pending resource of their category. Textures, sound registries and
+ * unknown files are never lazy.</p>
+ *
+ * <p>Like the eager containers, this container is not thread-safe.</p>
+ */
+abstract class LazyResourceContainer implements ResourceContainer {
+    private final ResourceContainer delegate;
+    private final Loader loader;
+
+    // pending resources, by category and key
+    private final Map<ResourceCategory<?>, Map<Key, Readable>> index = new HashMap<>();
+
+    LazyResourceContainer(final @NotNull ResourceContainer delegate, final @NotNull Loader loader) {
+        this.delegate = requireNonNull(delegate, "delegate");
+        this.loader = requireNonNull(loader, "loader");
+    }
+
+    /**
+     * Adds a resource to the index, it will be deserialized
+     * when accessed for the first time.
+     *
+     * @param category The resource category
+     * @param key The resource key
+     * @param content The resource content
+     */
+    void index(final @NotNull ResourceCategory<?> category, final @NotNull Key key, final @NotNull Readable content) {
+        index.computeIfAbsent(category, k -> new LinkedHashMap<>()).put(key, content);
+    }
+
+    private void load(final @NotNull ResourceCategory<?> category, final @NotNull Key key) {
+        requireNonNull(key, "key");
+        final Map<Key, Readable> pending = index.get(category);
+        if (pending == null) {
+            return;
+        }
+        final Readable content = pending.remove(key);
+        if (content != null) {
+            loader.load(category, key, content).addTo(delegate);
+        }
+    }
+
+    private void loadAll(final @NotNull ResourceCategory<?> category) {
+        final Map<Key, Readable> pending = index.get(category);
+        if (pending == null) {
+            return;
+        }
+        final Iterator<Map.Entry<Key, Readable>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Key, Readable> entry = iterator.next();
+            iterator.remove();
+            loader.load(category, entry.getKey(), entry.getValue()).addTo(delegate);
+        }
+    }
+
+    void loadAll() {
+        for (final ResourceCategory<?> category : index.keySet()) {
+            loadAll(category);
+        }
+    }
+
+    private boolean unindex(final @NotNull ResourceCategory<?> category, final @NotNull Key key) {
+        requireNonNull(key, "key");
+        final Map<Key, Readable> pending = index.get(category);
+        return pending != null && pending.remove(key) != null;
+    }
+
+    //#region Atlases (Keyed)
+    @Override
+    public void atlas(final @NotNull Atlas atlas) {
+        requireNonNull(atlas, "atlas");
+        unindex(AtlasSerializer.CATEGORY, atlas.key());
+        delegate.atlas(atlas);
+    }
+
+    @Override
+    public @Nullable Atlas atlas(final @NotNull Key key) {
+        load(AtlasSerializer.CATEGORY, key);
+        return delegate.atlas(key);
+    }
+
+    @Override
+    public boolean removeAtlas(final @NotNull Key key) {
+        return unindex(AtlasSerializer.CATEGORY, key) | delegate.removeAtlas(key);
+    }
+
+    @Override
+    public @NotNull Collection<Atlas> atlases() {
+        loadAll(AtlasSerializer.CATEGORY);
+        return delegate.atlases();
+    }
+    //#endregion
+
+    //#region Block States (Keyed)
+    @Override
+    public void blockState(final @NotNull BlockState state) {
+        requireNonNull(state, "state");
+        unindex(BlockStateSerializer.CATEGORY, state.key());
+        delegate.blockState(state);
+    }
+
+    @Override
+    public @Nullable BlockState blockState(final @NotNull Key key) {
+        load(BlockStateSerializer.CATEGORY, key);
+        return delegate.blockState(key);
+    }
+
+    @Override
+    public boolean removeBlockState(final @NotNull Key key) {
+        return unindex(BlockStateSerializer.CATEGORY, key) | delegate.removeBlockState(key);
+    }
+
+    @Override
+    public @NotNull Collection<BlockState> blockStates() {
+        loadAll(BlockStateSerializer.CATEGORY);
+        return delegate.blockStates();
+    }
+    //#endregion
+
+    //#region Equipment (Keyed)
+    @Override
+    public void equipment(final @NotNull Equipment equipment) {
+        requireNonNull(equipment, "equipment");
+        unindex(EquipmentCategory.INSTANCE, equipment.key());
+        delegate.equipment(equipment);
+    }
+
+    @Override
+    public @Nullable Equipment equipment(final @NotNull Key key) {
+        load(EquipmentCategory.INSTANCE, key);
+        return delegate.equipment(key);
+    }
+
+    @Override
+    public boolean removeEquipment(final @NotNull Key key) {
+        return unindex(EquipmentCategory.INSTANCE, key) | delegate.removeEquipment(key);
+    }
+
+    @Override
+    public @NotNull Collection<Equipment> equipment() {
+        loadAll(EquipmentCategory.INSTANCE);
+        return delegate.equipment();
+    }
+    //#endregion
+
+    //#region Fonts (Keyed)
+    @Override
+    public void font(final @NotNull Font font) {
+        requireNonNull(font, "font");
+        unindex(FontSerializer.CATEGORY, font.key());
+        delegate.font(font);
+    }
+
+    @Override
+    public @Nullable Font font(final @NotNull Key key) {
+        load(FontSerializer.CATEGORY, key);
+        return delegate.font(key);
+    }
+
+    @Override
+    public boolean removeFont(final @NotNull Key key) {
+        return unindex(FontSerializer.CATEGORY, key) | delegate.removeFont(key);
+    }
+
+    @Override
+    public @NotNull Collection<Font> fonts() {
+        loadAll(FontSerializer.CATEGORY);
+        return delegate.fonts();
+    }
+    //#endregion
+
+    //#region Items (Keyed)
+    @Override
+    public void item(final @NotNull Item item) {
+        requireNonNull(item, "item");
+        unindex(ItemSerializer.CATEGORY, item.key());
+        delegate.item(item);
+    }
+
+    @Override
+    public @Nullable Item item(final @NotNull Key key) {
+        load(ItemSerializer.CATEGORY, key);
+        return delegate.item(key);
+    }
+
+    @Override
+    public boolean removeItem(final @NotNull Key key) {
+        return unindex(ItemSerializer.CATEGORY, key) | delegate.removeItem(key);
+    }
+
+    @Override
+    public @NotNull Collection<Item> items() {
+        loadAll(ItemSerializer.CATEGORY);
+        return delegate.items();
+    }
+    //#endregion
+
+    //#region Languages (Keyed)
+    @Override
+    public void language(final @NotNull Language language) {
+        requireNonNull(language, "language");
+        unindex(LanguageSerializer.CATEGORY, language.key());
+        delegate.language(language);
+    }
+
+    @Override
+    public @Nullable Language language(final @NotNull Key key) {
+        load(LanguageSerializer.CATEGORY, key);
+        return delegate.language(key);
+    }
+
+    @Override
+    public boolean removeLanguage(final @NotNull Key key) {
+        return unindex(LanguageSerializer.CATEGORY, key) | delegate.removeLanguage(key);
+    }
+
+    @Override
+    public @NotNull Collection<Language> languages() {
+        loadAll(LanguageSerializer.CATEGORY);
+        return delegate.languages();
+    }
+    //#endregion
+
+    //#region Models (Keyed)
+    @Override
+    public void model(final @NotNull Model model) {
+        requireNonNull(model, "model");
+        unindex(ModelSerializer.CATEGORY, model.key());
+        delegate.model(model);
+    }
+
+    @Override
+    public @Nullable Model model(final @NotNull Key key) {
+        load(ModelSerializer.CATEGORY, key);
+        return delegate.model(key);
+    }
+
+    @Override
+    public boolean removeModel(final @NotNull Key key) {
+        return unindex(ModelSerializer.CATEGORY, key) | delegate.removeModel(key);
+    }
+
+    @Override
+    public @NotNull Collection<Model> models() {
+        loadAll(ModelSerializer.CATEGORY);
+        return delegate.models();
+    }
+    //#endregion
+
+    //#region Sound Registries (Namespaced)
+    @Override
+    public void soundRegistry(final @NotNull SoundRegistry soundRegistry) {
+        delegate.soundRegistry(soundRegistry);
+    }
+
+    @Override
+    public @Nullable SoundRegistry soundRegistry(final @NotNull String namespace) {
+        return delegate.soundRegistry(namespace);
+    }
+
+    @Override
+    public boolean removeSoundRegistry(final @NotNull String namespace) {
+        return delegate.removeSoundRegistry(namespace);
+    }
+
+    @Override
+    public @NotNull Collection<SoundRegistry> soundRegistries() {
+        return delegate.soundRegistries();
+    }
+    //#endregion
+
+    //#region Sounds (Keyed)
+    @Override
+    public void sound(final @NotNull Sound sound) {
+        requireNonNull(sound, "sound");
+        unindex(SoundSerializer.CATEGORY, sound.key());
+        delegate.sound(sound);
+    }
+
+    @Override
+    public @Nullable Sound sound(final @NotNull Key key) {
+        load(SoundSerializer.CATEGORY, key);
+        return delegate.sound(key);
+    }
+
+    @Override
+    public boolean removeSound(final @NotNull Key key) {
+        return unindex(SoundSerializer.CATEGORY, key) | delegate.removeSound(key);
+    }
+
+    @Override
+    public @NotNull Collection<Sound> sounds() {
+        loadAll(SoundSerializer.CATEGORY);
+        return delegate.sounds();
+    }
+    //#endregion
+
+    //#region Textures (Keyed)
+    @Override
+    public void texture(final @NotNull Texture texture) {
+        delegate.texture(texture);
+    }
+
+    @Override
+    public @Nullable Texture texture(final @NotNull Key key) {
+        return delegate.texture(key);
+    }
+
+    @Override
+    public boolean removeTexture(final @NotNull Key key) {
+        return delegate.removeTexture(key);
+    }
+
+    @Override
+    public @NotNull Collection<Texture> textures() {
+        return delegate.textures();
+    }
+    //#endregion
+
+    //#region Unknown Files (By absolute path)
+    @Override
+    public void unknownFile(final @NotNull String path, final @NotNull Writable data) {
+        delegate.unknownFile(path, data);
+    }
+
+    @Override
+    public @Nullable Writable unknownFile(final @NotNull String path) {
+        return delegate.unknownFile(path);
+    }
+
+    @Override
+    public boolean removeUnknownFile(final @NotNull String path) {
+        return delegate.removeUnknownFile(path);
+    }
+
+    @Override
+    public @NotNull Map<String, Writable> unknownFiles() {
+        return delegate.unknownFiles();
+    }
+    //#endregion
+
+    @Override
+    public void merge(final @NotNull ResourceContainer other, final @NotNull MergeStrategy strategy) {
+        // merging needs every resource of this container
+        loadAll();
+        delegate.merge(other, strategy);
+    }
+
+    /**
+     * Deserializes indexed resources.
+     */
+    @FunctionalInterface
+    interface Loader {
+        @NotNull ResourcePackPart load(final @NotNull ResourceCategory<?> category, final @NotNull Key key, final @NotNull Readable content);
+    }
+}
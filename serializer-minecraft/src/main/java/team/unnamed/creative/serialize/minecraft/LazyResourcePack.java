@@ -0,0 +1,82 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.overlay.Overlay;
+
+import java.util.Collection;
+
+/**
+ * A {@link ResourcePack} whose keyed resources are deserialized
+ * on first access, see {@link LazyResourceContainer}.
+ */
+final class LazyResourcePack extends LazyResourceContainer implements ResourcePack {
+    private final ResourcePack delegate;
+
+    LazyResourcePack(final @NotNull ResourcePack delegate, final @NotNull Loader loader) {
+        super(delegate, loader);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public @Nullable Writable icon() {
+        return delegate.icon();
+    }
+
+    @Override
+    public void icon(final @Nullable Writable icon) {
+        delegate.icon(icon);
+    }
+
+    @Override
+    public @NotNull Metadata metadata() {
+        return delegate.metadata();
+    }
+
+    @Override
+    public void metadata(final @NotNull Metadata metadata) {
+        delegate.metadata(metadata);
+    }
+
+    @Override
+    public void overlay(final @NotNull Overlay overlay) {
+        delegate.overlay(overlay);
+    }
+
+    @Override
+    public @Nullable Overlay overlay(final @NotNull @OverlayEntry.Directory String directory) {
+        return delegate.overlay(directory);
+    }
+
+    @Override
+    public @NotNull Collection<Overlay> overlays() {
+        return delegate.overlays();
+    }
+}
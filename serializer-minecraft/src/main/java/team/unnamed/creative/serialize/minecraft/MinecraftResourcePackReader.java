@@ -25,16 +25,20 @@ package team.unnamed.creative.serialize.minecraft;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.serialize.ResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.fs.ContentStore;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.concurrent.Executor;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
@@ -68,6 +72,82 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
     @Override
     @NotNull ResourcePack read(final @NotNull FileTreeReader tree);
 
+    /**
+     * Reads the resource pack from the given {@link FileTreeReader}
+     * and reports each element to the given {@link ResourcePackVisitor}
+     * as soon as it is deserialized, instead of collecting them into
+     * a {@link ResourcePack}.
+     *
+     * <p>Elements are always read sequentially, in the caller thread,
+     * ignoring {@link #executor()} and {@link #lazy()}. The
+     * {@link #filter()} is still applied.</p>
+     *
+     * @param tree The file tree to read from
+     * @param visitor The visitor notified for every element
+     * @since 1.8.4
+     */
+    void read(final @NotNull FileTreeReader tree, final @NotNull ResourcePackVisitor visitor);
+
+    /**
+     * Returns the {@link Executor} used to deserialize the resource
+     * pack elements in parallel.
+     *
+     * <p>{@code null} if not set in the builder, meaning that
+     * elements are deserialized sequentially, in the caller thread.</p>
+     *
+     * @return The executor used to deserialize elements
+     * @since 1.8.4
+     */
+    default @Nullable Executor executor() {
+        return null;
+    }
+
+    /**
+     * Determines whether this reader creates lazy resource packs,
+     * whose resources are deserialized on first access.
+     *
+     * @return True if this reader is lazy
+     * @since 1.8.4
+     */
+    default boolean lazy() {
+        return false;
+    }
+
+    /**
+     * Returns the {@link ContentStore} that keeps the contents of
+     * the entries read by {@link #readFromInputStream(InputStream)},
+     * and the memoized contents of the entries read by
+     * {@link #readFromZipFile(File)}.
+     *
+     * @return The content store
+     * @since 1.8.4
+     */
+    default @NotNull ContentStore contentStore() {
+        return ContentStore.memory();
+    }
+
+    /**
+     * Returns the {@link ReadFilter} that determines which
+     * files are read by this reader.
+     *
+     * @return The read filter
+     * @since 1.8.4
+     */
+    default @NotNull ReadFilter filter() {
+        return ReadFilter.all();
+    }
+
+    /**
+     * Returns the {@link ResourceCategoryRegistry} used to determine
+     * the category of the files inside the namespace folders.
+     *
+     * @return The category registry
+     * @since 1.8.4
+     */
+    default @NotNull ResourceCategoryRegistry categories() {
+        return ResourceCategoryRegistry.defaults();
+    }
+
     /**
      * Reads a {@link ResourcePack} from a ZIP file at the given
      * {@link Path path}.
@@ -89,7 +169,7 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
      * @since 1.0.0
      */
     default @NotNull ResourcePack readFromZipFile(final @NotNull File file) {
-        try (final FileTreeReader reader = FileTreeReader.zip(new ZipFile(file))) {
+        try (final FileTreeReader reader = FileTreeReader.zip(new ZipFile(file), contentStore())) {
             return read(reader);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -107,11 +187,45 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
      */
     default @NotNull ResourcePack readFromInputStream(final @NotNull InputStream stream) {
         requireNonNull(stream, "stream");
-        return read(FileTreeReader.zip(stream instanceof ZipInputStream ? (ZipInputStream) stream : new ZipInputStream(stream, StandardCharsets.UTF_8)));
+        return read(FileTreeReader.zip(stream instanceof ZipInputStream ? (ZipInputStream) stream : new ZipInputStream(stream, StandardCharsets.UTF_8), contentStore()));
+    }
+
+    /**
+     * Reads a {@link ResourcePack} from the ZIP archive in the
+     * remaining bytes of the given {@link ByteBuffer}.
+     *
+     * <p>Entries are read directly from the buffer, which is never
+     * copied, so it must not be modified while the returned resource
+     * pack (or its lazily read resources) is in use. Use
+     * {@link ByteBuffer#wrap(byte[])} to read from a byte array.</p>
+     *
+     * @param buffer The buffer
+     * @return The read resource pack
+     * @since 1.8.4
+     */
+    default @NotNull ResourcePack readFromBuffer(final @NotNull ByteBuffer buffer) {
+        requireNonNull(buffer, "buffer");
+        return read(FileTreeReader.zip(buffer));
     }
 
     default ResourcePack readFromDirectory(File directory) {
-        return read(FileTreeReader.directory(directory));
+        return readFromDirectory(directory.toPath());
+    }
+
+    /**
+     * Reads a {@link ResourcePack} from a given directory.
+     *
+     * @param directory The directory
+     * @return The read resource pack
+     * @since 1.8.4
+     */
+    default @NotNull ResourcePack readFromDirectory(final @NotNull Path directory) {
+        requireNonNull(directory, "directory");
+        try (final FileTreeReader reader = FileTreeReader.directory(directory)) {
+            return read(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
@@ -135,6 +249,120 @@ public interface MinecraftResourcePackReader extends ResourcePackReader<FileTree
         @Contract("_ -> this")
         @NotNull Builder lenient(final boolean lenient);
 
+        /**
+         * Sets the executor used to deserialize the resource pack
+         * elements (models, items, languages, etc.), optional.
+         *
+         * <p>If set, the entries of the file tree are listed first and
+         * the {@code pack.mcmeta} file is read before anything else, so
+         * the pack format is always known. Then, elements are parsed by
+         * tasks given to the executor, and added to the resource pack by
+         * the caller thread, in the order they were listed.</p>
+         *
+         * <p>This works best with random access file trees, like the
+         * ones created from a {@link ZipFile}, since their entries are
+         * only read by the tasks. Directory entries are copied to memory
+         * by the caller thread while listing them (so that a resource
+         * pack can be written back to the directory it was read from),
+         * only their parsing is done by the tasks.</p>
+         *
+         * <p>If not set or set to null, elements are read sequentially,
+         * in the caller thread.</p>
+         *
+         * @param executor The executor, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder executor(final @Nullable Executor executor);
+
+        /**
+         * Makes the reader lazy.
+         *
+         * <p>A lazy reader only indexes the keyed resources (models, items,
+         * block states, languages, fonts, atlases, equipment and sounds) by
+         * their namespace, category and key, and returns a resource pack that
+         * deserializes them when they are accessed for the first time (e.g.
+         * when {@link ResourcePack#model(net.kyori.adventure.key.Key)} is
+         * called), memoizing the result. Accessing a whole category (e.g.
+         * {@link ResourcePack#models()}) deserializes all of its resources.</p>
+         *
+         * <p>Textures, sound registries and unknown files are still read
+         * eagerly. The executor is not used by lazy readers.</p>
+         *
+         * <p>The returned resource pack keeps a reference to the content of
+         * every pending resource. When reading from a {@link ZipFile} (e.g.
+         * using {@link #readFromZipFile(File)}), the content of the pending
+         * resources is not copied when the reader is closed, it is read
+         * from the ZIP file again on first access, so the file must not be
+         * modified or deleted while the resource pack is in use. The other
+         * entries are still memoized into the {@link ContentStore}.</p>
+         *
+         * @param lazy Whether the reader should be lazy
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder lazy(final boolean lazy);
+
+        /**
+         * Sets the {@link ContentStore} used to keep the contents of the
+         * entries read from a {@link ZipInputStream} (i.e. when using
+         * {@link #readFromInputStream(InputStream)}), which can't be read
+         * again once the stream advances, and the contents memoized when
+         * a {@link ZipFile} is closed (i.e. when using
+         * {@link #readFromZipFile(File)}). Defaults to {@link ContentStore#memory()}.
+         *
+         * <p>Using a {@link ContentStore#spilling(int) spilling} store keeps
+         * the memory usage bounded when reading big resource packs. The store
+         * is not closed by the reader, it must be closed once the read resource
+         * pack is no longer used.</p>
+         *
+         * @param contentStore The content store
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder contentStore(final @NotNull ContentStore contentStore);
+
+        /**
+         * Sets the {@link ReadFilter} that determines which files are read,
+         * based on their overlay, namespace and category. Defaults to
+         * {@link ReadFilter#all()}.
+         *
+         * <p>Skipped files are never read, so partial reads (e.g. only
+         * the languages of a namespace) are much faster, especially when
+         * reading from a {@link ZipFile} or a directory.</p>
+         *
+         * @param filter The read filter
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder filter(final @NotNull ReadFilter filter);
+
+        /**
+         * Sets the {@link ResourceCategoryRegistry} used to determine the
+         * category of the files inside the namespace folders. Defaults to
+         * {@link ResourceCategoryRegistry#defaults()}.
+         *
+         * <p>Files that do not belong to any registered category are
+         * read as unknown files.</p>
+         *
+         * <p>A {@link ResourcePack} can only keep the resources of the
+         * {@link ResourceCategoryRegistry#defaults() default} categories,
+         * so, when reading to a resource pack, the files of other categories
+         * are also read as unknown files, and written back as-is. They are
+         * only deserialized when reading with a {@link ResourcePackVisitor},
+         * which receives them in {@link ResourcePackVisitor#visitPart}.</p>
+         *
+         * @param categories The category registry
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder categories(final @NotNull ResourceCategoryRegistry categories);
+
         /**
          * Builds a new {@link MinecraftResourcePackReader} instance.
          *
@@ -30,20 +30,32 @@ import org.intellij.lang.annotations.Subst;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.base.Readable;
 import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.blockstate.BlockState;
+import team.unnamed.creative.equipment.Equipment;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.lang.Language;
 import team.unnamed.creative.metadata.Metadata;
 import team.unnamed.creative.metadata.overlays.OverlayEntry;
 import team.unnamed.creative.metadata.overlays.OverlaysMeta;
 import team.unnamed.creative.metadata.pack.PackMeta;
+import team.unnamed.creative.model.Model;
 import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.serialize.minecraft.fs.ContentStore;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
 import team.unnamed.creative.serialize.minecraft.io.BinaryResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.ResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.metadata.MetadataSerializer;
 import team.unnamed.creative.serialize.minecraft.sound.SoundRegistrySerializer;
+import team.unnamed.creative.sound.Sound;
+import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
 import team.unnamed.creative.util.Keys;
 
@@ -52,10 +64,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.requireNonNull;
 import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.*;
@@ -66,50 +82,274 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             .build();
 
     private final boolean lenient;
+    private final @Nullable Executor executor;
+    private final boolean lazy;
+    private final ContentStore contentStore;
+    private final ReadFilter filter;
+    private final ResourceCategoryRegistryImpl categories;
 
     private MinecraftResourcePackReaderImpl(
-            final boolean lenient
+            final boolean lenient,
+            final @Nullable Executor executor,
+            final boolean lazy,
+            final @NotNull ContentStore contentStore,
+            final @NotNull ReadFilter filter,
+            final @NotNull ResourceCategoryRegistryImpl categories
     ) {
         this.lenient = lenient;
+        this.executor = executor;
+        this.lazy = lazy;
+        this.contentStore = contentStore;
+        this.filter = filter;
+        this.categories = categories;
+    }
+
+    @Override
+    public @Nullable Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public boolean lazy() {
+        return lazy;
+    }
+
+    @Override
+    public @NotNull ContentStore contentStore() {
+        return contentStore;
+    }
+
+    @Override
+    public @NotNull ReadFilter filter() {
+        return filter;
+    }
+
+    @Override
+    public @NotNull ResourceCategoryRegistry categories() {
+        return categories;
     }
 
     @Override
-    @SuppressWarnings("PatternValidation")
     public @NotNull ResourcePack read(final @NotNull FileTreeReader reader) {
-        ResourcePack resourcePack = ResourcePack.resourcePack();
+        final ReadOperation operation = new ReadOperation(null);
+        if (executor == null && !lazy) {
+            final EntrySource source = new EntrySource(reader, null);
+            while (reader.hasNext()) {
+                final String path = reader.next();
+                if (accepts(path)) {
+                    operation.read(path, source);
+                }
+            }
+        } else {
+            // the entries are listed first, so that pack.mcmeta is always
+            // read before the other entries and the pack format is known
+            // (so lazy resources are indexed in the right category)
+            final List<String> paths = new ArrayList<>();
+            final List<Readable> contents = new ArrayList<>();
+            while (reader.hasNext()) {
+                final String path = reader.next();
+                if (!accepts(path)) {
+                    continue;
+                }
+                final Readable content = reader.content();
+                if (path.equals(PACK_METADATA_FILE)) {
+                    operation.read(path, new EntrySource(null, content));
+                } else {
+                    paths.add(path);
+                    contents.add(content);
+                }
+            }
+            for (int i = 0; i < paths.size(); i++) {
+                operation.read(paths.get(i), new EntrySource(null, contents.get(i)));
+            }
+        }
+        return operation.finish();
+    }
+
+    @Override
+    public void read(final @NotNull FileTreeReader reader, final @NotNull ResourcePackVisitor visitor) {
+        requireNonNull(reader, "reader");
+        requireNonNull(visitor, "visitor");
+        // always sequential, elements are given to the visitor as soon as they are read
+        final ReadOperation operation = new ReadOperation(visitor);
+        final EntrySource source = new EntrySource(reader, null);
+        while (reader.hasNext()) {
+            final String path = reader.next();
+            if (accepts(path)) {
+                operation.read(path, source);
+            }
+        }
+        operation.finish();
+    }
+
+    private static void visit(final @NotNull ResourcePackVisitor visitor, final @Nullable String overlayDir, final int packFormat, final @NotNull ResourcePackPart part) {
+        if (part instanceof Model) {
+            visitor.visitModel(overlayDir, packFormat, (Model) part);
+        } else if (part instanceof Texture) {
+            visitor.visitTexture(overlayDir, packFormat, (Texture) part);
+        } else if (part instanceof Language) {
+            visitor.visitLanguage(overlayDir, packFormat, (Language) part);
+        } else if (part instanceof Item) {
+            visitor.visitItem(overlayDir, packFormat, (Item) part);
+        } else if (part instanceof BlockState) {
+            visitor.visitBlockState(overlayDir, packFormat, (BlockState) part);
+        } else if (part instanceof Font) {
+            visitor.visitFont(overlayDir, packFormat, (Font) part);
+        } else if (part instanceof Atlas) {
+            visitor.visitAtlas(overlayDir, packFormat, (Atlas) part);
+        } else if (part instanceof Equipment) {
+            visitor.visitEquipment(overlayDir, packFormat, (Equipment) part);
+        } else if (part instanceof Sound) {
+            visitor.visitSound(overlayDir, packFormat, (Sound) part);
+        } else if (part instanceof SoundRegistry) {
+            visitor.visitSoundRegistry(overlayDir, packFormat, (SoundRegistry) part);
+        } else {
+            visitor.visitPart(overlayDir, packFormat, part);
+        }
+    }
+
+    /*
+     * Determines whether the entry at the given path must be read, according
+     * to the filter. Only the path is used, so skipped entries are never read
+     */
+    private boolean accepts(final @NotNull String path) {
+        int start = 0;
+        String overlay = null;
+        if (path.startsWith(OVERLAYS_FOLDER + FILE_SEPARATOR)) {
+            final int overlayStart = OVERLAYS_FOLDER.length() + 1;
+            final int overlayEnd = path.indexOf(FILE_SEPARATOR, overlayStart);
+            if (overlayEnd == -1) {
+                // file directly inside the "overlays" folder
+                return true;
+            }
+            overlay = path.substring(overlayStart, overlayEnd);
+            start = overlayEnd + 1;
+        }
+
+        if (!path.startsWith(ASSETS_FOLDER + FILE_SEPARATOR, start)) {
+            // not inside a namespace
+            return true;
+        }
+
+        final int namespaceStart = start + ASSETS_FOLDER.length() + 1;
+        final int namespaceEnd = path.indexOf(FILE_SEPARATOR, namespaceStart);
+        if (namespaceEnd == -1) {
+            // file directly inside "assets"
+            return true;
+        }
+
+        // category folder, or file name if it is directly inside the namespace folder
+        final int categoryEnd = path.indexOf(FILE_SEPARATOR, namespaceEnd + 1);
+        final String category = categoryEnd == -1
+                ? path.substring(namespaceEnd + 1)
+                : path.substring(namespaceEnd + 1, categoryEnd);
+        return filter.test(overlay, path.substring(namespaceStart, namespaceEnd), category);
+    }
+
+    private @NotNull ResourcePackPart deserialize(
+            final @NotNull ResourceDeserializer<? extends ResourcePackPart> deserializer,
+            final @NotNull EntrySource source,
+            final @NotNull Key key
+    ) throws IOException {
+        if (deserializer instanceof BinaryResourceDeserializer) {
+            return ((BinaryResourceDeserializer<? extends ResourcePackPart>) deserializer)
+                    .deserializeBinary(source.content().asWritable(), key);
+        } else if (deserializer instanceof StreamingJsonResourceDeserializer) {
+            // read directly from the token stream, without an intermediate tree
+            try (final JsonReader jsonReader = new JsonReader(new InputStreamReader(source.stream(), StandardCharsets.UTF_8))) {
+                jsonReader.setLenient(lenient);
+                return ((StreamingJsonResourceDeserializer<? extends ResourcePackPart>) deserializer)
+                        .deserializeFromJson(jsonReader, key);
+            }
+        } else if (deserializer instanceof JsonResourceDeserializer) {
+            return ((JsonResourceDeserializer<? extends ResourcePackPart>) deserializer)
+                    .deserializeFromJson(parseJson(source.stream()), key);
+        } else {
+            return deserializer.deserialize(source.stream(), key);
+        }
+    }
+
+    private @NotNull ResourcePackPart load(final @NotNull ResourceCategory<?> category, final @NotNull Key key, final @NotNull Readable content) {
+        try {
+            return deserialize(category.deserializer(), new EntrySource(null, content), key);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to deserialize resource '" + key + "' of category '" + category.folder(-1) + "'", e);
+        }
+    }
+
+    /**
+     * The state of a single {@link #read(FileTreeReader)} call.
+     */
+    private final class ReadOperation {
+        // if set, elements are given to the visitor instead of being added
+        // to the resource pack, which only keeps the metadata and overlays
+        private final @Nullable ResourcePackVisitor visitor;
+
+        // visitors are never lazy nor parallel, these fields
+        // shadow the reader ones
+        private final boolean lazy;
+        private final @Nullable Executor executor;
+
+        private final ResourcePack resourcePack;
 
         // textures that are waiting for metadata, or metadata
         // waiting for textures (because we can't know the order
         // they come in)
         // (null key means it is root resource pack)
-        Map<@Nullable String, Map<Key, Texture>> incompleteTextures = new LinkedHashMap<>();
+        private final Map<@Nullable String, Map<Key, Texture>> incompleteTextures = new LinkedHashMap<>();
 
         // fill in with the default ones first (pack format is unknown at the start)
-        Map<String, ResourceCategory<?>> categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(-1);
-        Map<String, Integer> packFormatsByOverlayDir = new HashMap<>();
-        int packFormat = -1;
-
-        while (reader.hasNext()) {
-            String path = reader.next();
+        private CategoryTrie rootCategories = categories.trie(-1);
+        private final Map<String, Integer> packFormatsByOverlayDir = new HashMap<>();
+        private int packFormat = -1;
+
+        // resources being deserialized by the executor, in reading order
+        private final List<PendingResource> pending = new ArrayList<>();
+
+        ReadOperation(final @Nullable ResourcePackVisitor visitor) {
+            this.visitor = visitor;
+            this.lazy = visitor == null && MinecraftResourcePackReaderImpl.this.lazy;
+            this.executor = visitor == null ? MinecraftResourcePackReaderImpl.this.executor : null;
+            this.resourcePack = lazy
+                    ? new LazyResourcePack(ResourcePack.resourcePack(), MinecraftResourcePackReaderImpl.this::load)
+                    : ResourcePack.resourcePack();
+        }
 
-            // tokenize path in sections, e.g.: [ assets, minecraft, textures, ... ]
-            Queue<String> tokens = tokenize(path);
+        private void unknownFile(final @NotNull ResourceContainer container, final @Nullable String overlayDir, final @NotNull String path, final @NotNull EntrySource source) {
+            if (visitor == null) {
+                container.unknownFile(path, source.content().asWritable());
+            } else {
+                visitor.visitUnknownFile(overlayDir, path, source.content().asWritable());
+            }
+        }
 
-            if (tokens.isEmpty()) {
-                // this should never happen
-                throw new IllegalStateException("Token collection is empty!");
+        private void add(final @NotNull ResourceContainer container, final @Nullable String overlayDir, final int packFormat, final @NotNull ResourcePackPart part) {
+            if (visitor == null) {
+                part.addTo(container);
+            } else {
+                visit(visitor, overlayDir, packFormat, part);
             }
+        }
 
-            // single token means the file is on the
+        @SuppressWarnings("PatternValidation")
+        void read(final @NotNull String path, final @NotNull EntrySource source) {
+            // the path sections are scanned in place, e.g.:
+            // [overlays/<dir>/]assets/<namespace>/<category>/<path>
+            int separator = path.indexOf(FILE_SEPARATOR);
+
+            // no sections means the file is on the
             // root level (top level files) so it may be:
             // - pack.mcmeta
             // - pack.png
-            if (tokens.size() == 1) {
-                switch (tokens.poll()) {
+            if (separator == -1) {
+                switch (path) {
                     case PACK_METADATA_FILE: {
                         // found pack.mcmeta file, deserialize and add
-                        Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(reader.stream()));
+                        Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(source.stream()));
                         resourcePack.metadata(metadata);
+                        if (visitor != null) {
+                            visitor.visitMetadata(metadata);
+                        }
 
                         // get the pack format from the metadata
                         PackMeta packMeta = metadata.meta(PackMeta.class);
@@ -119,7 +359,7 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                         } else {
                             // update the pack format and categories
                             packFormat = packMeta.formats().min();
-                            categoriesByFolderThisPackFormat = ResourceCategories.buildCategoryMapByFolder(packFormat);
+                            rootCategories = categories.trie(packFormat);
                         }
 
                         // overlays info
@@ -127,17 +367,21 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                         if (overlaysMeta != null) for (OverlayEntry entry : overlaysMeta.entries()) {
                             packFormatsByOverlayDir.put(entry.directory(), entry.formats().min());
                         }
-                        continue;
+                        return;
                     }
                     case PACK_ICON_FILE: {
                         // found pack.png file, add
-                        resourcePack.icon(reader.content().asWritable());
-                        continue;
+                        if (visitor == null) {
+                            resourcePack.icon(source.content().asWritable());
+                        } else {
+                            visitor.visitIcon(source.content().asWritable());
+                        }
+                        return;
                     }
                     default: {
                         // unknown top level file
-                        resourcePack.unknownFile(path, reader.content().asWritable());
-                        continue;
+                        unknownFile(resourcePack, null, path, source);
+                        return;
                     }
                 }
             }
@@ -147,99 +391,107 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             @Subst("dir")
             @Nullable String overlayDir = null;
             int localPackFormat = packFormat;
+            CategoryTrie localCategories = rootCategories;
 
             // the file path, relative to the container
             String containerPath = path;
             ResourceContainer container = resourcePack;
 
-            // if there are two or more tokens, it means the
-            // file is inside a folder, in a Minecraft resource
-            // pack, the first folder is always "assets"
-            String folder = tokens.poll();
+            // start of the first folder in the container
+            int start = 0;
 
-            if (folder.equals(OVERLAYS_FOLDER)) {
+            if (separator == OVERLAYS_FOLDER.length() && path.startsWith(OVERLAYS_FOLDER)) {
                 // gets the overlay name, set after the
                 // "overlays" folder, e.g. "overlays/foo",
                 // or "overlays/bar"
-                overlayDir = tokens.poll();
-                if (tokens.isEmpty()) {
+                int overlayEnd = path.indexOf(FILE_SEPARATOR, separator + 1);
+                if (overlayEnd == -1) {
                     // this means that there is a file directly
                     // inside the "overlays" folder, this is illegal
-                    resourcePack.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                    unknownFile(resourcePack, null, containerPath, source);
+                    return;
                 }
+                overlayDir = path.substring(separator + 1, overlayEnd);
 
                 Overlay overlay = resourcePack.overlay(overlayDir);
                 if (overlay == null) {
                     // first occurrence, register overlay
-                    overlay = Overlay.overlay(overlayDir);
+                    overlay = lazy
+                            ? new LazyOverlay(Overlay.overlay(overlayDir), MinecraftResourcePackReaderImpl.this::load)
+                            : Overlay.overlay(overlayDir);
                     resourcePack.overlay(overlay);
                 }
 
                 container = overlay;
-                folder = tokens.poll();
-                containerPath = path.substring((OVERLAYS_FOLDER + '/' + overlayDir + '/').length());
+                start = overlayEnd + 1;
+                separator = path.indexOf(FILE_SEPARATOR, start);
+                containerPath = path.substring(start);
                 localPackFormat = packFormatsByOverlayDir.getOrDefault(overlayDir, -1);
+                localCategories = localPackFormat == packFormat ? rootCategories : categories.trie(localPackFormat);
             }
 
-            // null check to make ide happy
-            if (folder == null || !folder.equals(ASSETS_FOLDER) || tokens.isEmpty()) {
+            // if there are two or more sections, it means the
+            // file is inside a folder, in a Minecraft resource
+            // pack, the first folder is always "assets"
+            if (separator - start != ASSETS_FOLDER.length() || !path.startsWith(ASSETS_FOLDER, start)) {
                 // not assets! this is an unknown file
-                container.unknownFile(containerPath, reader.content().asWritable());
-                continue;
+                unknownFile(container, overlayDir, containerPath, source);
+                return;
             }
 
             // inside "assets", we should always have a folder
             // with any name, which is a namespace, e.g. "minecraft"
-            String namespace = tokens.poll();
+            int namespaceStart = separator + 1;
+            int namespaceEnd = path.indexOf(FILE_SEPARATOR, namespaceStart);
 
-            if (!Keys.isValidNamespace(namespace)) {
-                // invalid namespace found
-                container.unknownFile(containerPath, reader.content().asWritable());
-                continue;
-            }
-
-            if (tokens.isEmpty()) {
+            if (namespaceEnd == -1) {
                 // found a file directly inside "assets", like
                 // assets/<file>, it is not allowed
-                container.unknownFile(containerPath, reader.content().asWritable());
-                continue;
+                unknownFile(container, overlayDir, containerPath, source);
+                return;
+            }
+
+            String namespace = path.substring(namespaceStart, namespaceEnd);
+
+            if (!Keys.isValidNamespace(namespace)) {
+                // invalid namespace found
+                unknownFile(container, overlayDir, containerPath, source);
+                return;
             }
 
             // so we already have "assets/<namespace>/", most files inside
             // the namespace folder always have a "category", e.g. textures,
             // lang, font, etc. But not always! There is sounds.json file and
             // gpu_warnlist.json file
-            String categoryName = tokens.poll();
+            int categoryStart = namespaceEnd + 1;
+            int categoryEnd = path.indexOf(FILE_SEPARATOR, categoryStart);
 
-            if (tokens.isEmpty()) {
+            if (categoryEnd == -1) {
                 // this means "category" is a file
-                // (remember: last tokens are always files)
-                if (categoryName.equals(SOUNDS_FILE)) {
+                // (remember: last sections are always files)
+                if (path.length() - categoryStart == SOUNDS_FILE.length() && path.startsWith(SOUNDS_FILE, categoryStart)) {
                     // found a sound registry!
-                    container.soundRegistry(SoundRegistrySerializer.INSTANCE.readFromTree(
-                            parseJson(reader.stream()),
+                    add(container, overlayDir, localPackFormat, SoundRegistrySerializer.INSTANCE.readFromTree(
+                            parseJson(source.stream()),
                             namespace
                     ));
-                    continue;
+                    return;
                 } else {
                     // TODO: gpu_warnlist.json?
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                    unknownFile(container, overlayDir, containerPath, source);
+                    return;
                 }
             }
 
-            // so "category" is actually a category like "textures",
-            // "lang", "font", etc. next we can compute the relative
-            // path inside the category
-            String categoryPath = path(tokens);
-
-            if (categoryName.equals(TEXTURES_FOLDER)) {
+            if (categoryEnd - categoryStart == TEXTURES_FOLDER.length() && path.startsWith(TEXTURES_FOLDER, categoryStart)) {
+                // so "category" is actually the textures folder, next we
+                // can compute the relative path inside the category
+                String categoryPath = path.substring(categoryEnd + 1);
                 String keyOfMetadata = withoutExtension(categoryPath, METADATA_EXTENSION);
                 if (keyOfMetadata != null) {
                     // found metadata for texture
                     Key key = Key.key(namespace, keyOfMetadata);
-                    Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(reader.stream()));
+                    Metadata metadata = MetadataSerializer.INSTANCE.readFromTree(parseJson(source.stream()));
 
                     Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
                     Texture texture = incompleteTexturesThisContainer.remove(key);
@@ -248,11 +500,11 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                         incompleteTexturesThisContainer.put(key, Texture.texture(key, Writable.EMPTY, metadata));
                     } else {
                         // texture was found before the metadata, nice!
-                        container.texture(texture.meta(metadata));
+                        add(container, overlayDir, localPackFormat, texture.meta(metadata));
                     }
                 } else {
                     Key key = Key.key(namespace, categoryPath);
-                    Writable data = reader.content().asWritable();
+                    Writable data = source.content().asWritable();
                     Map<Key, Texture> incompleteTexturesThisContainer = incompleteTextures.computeIfAbsent(overlayDir, k -> new LinkedHashMap<>());
                     Texture waiting = incompleteTexturesThisContainer.remove(key);
 
@@ -261,7 +513,7 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                         incompleteTexturesThisContainer.put(key, Texture.texture(key, data));
                     } else {
                         // metadata was found first
-                        container.texture(Texture.texture(
+                        add(container, overlayDir, localPackFormat, Texture.texture(
                                 key,
                                 data,
                                 waiting.meta()
@@ -269,72 +521,108 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
                     }
                 }
             } else {
-                // get the resource category, if the local pack format (overlay or root) is the same as the
-                // root pack format, we can use the previously computed map, otherwise we need to compute it
-                // (we could save some time by caching the computed map, but, is it worth it?)
-                ResourceCategory<?> category = (localPackFormat == packFormat
-                        ? categoriesByFolderThisPackFormat
-                        : ResourceCategories.buildCategoryMapByFolder(localPackFormat)).get(categoryName);
-                if (category == null) {
+                // find the resource category, the trie for the local pack format (overlay
+                // or root) is compiled once and cached by the registry
+                CategoryTrie match = localCategories.match(path, categoryStart);
+                if (match == null) {
                     // unknown category
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                    unknownFile(container, overlayDir, containerPath, source);
+                    return;
+                }
+                ResourceCategory<?> category = requireNonNull(match.category(), "category");
+                if (visitor == null && !ResourceCategoryRegistryImpl.isDefault(category)) {
+                    // a resource container can't keep the resources of custom
+                    // categories, keep the file so that it is written back
+                    unknownFile(container, overlayDir, containerPath, source);
+                    return;
                 }
-                String keyValue = withoutExtension(categoryPath, category.extension(-1));
-                if (keyValue == null) {
+                String extension = category.extension(localPackFormat);
+                int keyStart = categoryStart + match.folderLength() + 1;
+                int keyEnd = path.length() - extension.length();
+                if (keyEnd < keyStart || !path.endsWith(extension)) {
                     // wrong extension
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                    unknownFile(container, overlayDir, containerPath, source);
+                    return;
                 }
+                String keyValue = path.substring(keyStart, keyEnd);
 
                 if (keyValue.startsWith("equipment/")) {
                     // skip trying to load "namespace:equipment/X.json" as a normal model
-                    container.unknownFile(containerPath, reader.content().asWritable());
-                    continue;
+                    unknownFile(container, overlayDir, containerPath, source);
+                    return;
                 }
 
                 Key key = Key.key(namespace, keyValue);
                 try {
                     ResourceDeserializer<? extends ResourcePackPart> deserializer = category.deserializer();
-                    ResourcePackPart resource;
-                    if (deserializer instanceof BinaryResourceDeserializer) {
-                        resource = ((BinaryResourceDeserializer<? extends ResourcePackPart>) deserializer)
-                                .deserializeBinary(reader.content().asWritable(), key);
-                    } else if (deserializer instanceof JsonResourceDeserializer) {
-                        resource = ((JsonResourceDeserializer<? extends ResourcePackPart>) deserializer)
-                                .deserializeFromJson(parseJson(reader.stream()), key);
+                    if (lazy) {
+                        // only index the resource, it will be deserialized on first access
+                        // (entries of ZIP files are not copied, they are read from the file again)
+                        ((LazyResourceContainer) container).index(category, key, FileTreeReader.deferred(source.content()));
+                    } else if (executor == null) {
+                        add(container, overlayDir, localPackFormat, deserialize(deserializer, source, key));
                     } else {
-                        resource = deserializer.deserialize(reader.stream(), key);
+                        // the entry is parsed by the executor, and added to
+                        // the container later, by the caller thread
+                        final ResourceContainer target = container;
+                        pending.add(new PendingResource(target, CompletableFuture.supplyAsync(() -> {
+                            try {
+                                return deserialize(deserializer, source, key);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException("Failed to deserialize resource at: '" + path + "'", e);
+                            }
+                        }, executor)));
                     }
-                    resource.addTo(container);
                 } catch (IOException e) {
                     throw new UncheckedIOException("Failed to deserialize resource at: '" + path + "'", e);
                 }
             }
         }
 
-        for (Map.Entry<String, Map<Key, Texture>> entry : incompleteTextures.entrySet()) {
-            @Subst("dir")
-            @Nullable String overlayDir = entry.getKey();
-            Map<Key, Texture> incompleteTexturesThisContainer = entry.getValue();
-            ResourceContainer container;
-
-            if (overlayDir == null) {
-                // root
-                container = resourcePack;
-            } else {
-                // from an overlay
-                container = resourcePack.overlay(overlayDir);
-                requireNonNull(container, "container"); // should never happen, but make ide happy
+        @NotNull ResourcePack finish() {
+            for (PendingResource resource : pending) {
+                ResourcePackPart part;
+                try {
+                    part = resource.part.join();
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw e;
+                }
+                part.addTo(resource.container);
             }
+            pending.clear();
+
+            for (Map.Entry<String, Map<Key, Texture>> entry : incompleteTextures.entrySet()) {
+                @Subst("dir")
+                @Nullable String overlayDir = entry.getKey();
+                Map<Key, Texture> incompleteTexturesThisContainer = entry.getValue();
+                ResourceContainer container;
+                int localPackFormat;
+
+                if (overlayDir == null) {
+                    // root
+                    container = resourcePack;
+                    localPackFormat = packFormat;
+                } else {
+                    // from an overlay
+                    container = resourcePack.overlay(overlayDir);
+                    requireNonNull(container, "container"); // should never happen, but make ide happy
+                    localPackFormat = packFormatsByOverlayDir.getOrDefault(overlayDir, -1);
+                }
 
-            for (Texture texture : incompleteTexturesThisContainer.values()) {
-                if (texture.data() != Writable.EMPTY) {
-                    container.texture(texture);
+                for (Texture texture : incompleteTexturesThisContainer.values()) {
+                    if (texture.data() != Writable.EMPTY) {
+                        add(container, overlayDir, localPackFormat, texture);
+                    }
                 }
             }
+            return resourcePack;
         }
-        return resourcePack;
     }
 
     private static @Nullable String withoutExtension(String string, String extension) {
@@ -355,8 +643,57 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
         }
     }
 
+    /**
+     * The source of an entry's data, either the current entry of
+     * a {@link FileTreeReader}, or a previously obtained {@link Readable}
+     * that can be read from any thread.
+     */
+    private static final class EntrySource {
+        private final @Nullable FileTreeReader reader;
+        private final @Nullable Readable content;
+
+        EntrySource(final @Nullable FileTreeReader reader, final @Nullable Readable content) {
+            this.reader = reader;
+            this.content = content;
+        }
+
+        @NotNull InputStream stream() {
+            if (reader != null) {
+                return reader.stream();
+            }
+            requireNonNull(content, "content");
+            try {
+                return content.open();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open entry content", e);
+            }
+        }
+
+        @NotNull Readable content() {
+            if (reader != null) {
+                return reader.content();
+            }
+            return requireNonNull(content, "content");
+        }
+    }
+
+    private static final class PendingResource {
+        private final ResourceContainer container;
+        private final CompletableFuture<? extends ResourcePackPart> part;
+
+        PendingResource(final @NotNull ResourceContainer container, final @NotNull CompletableFuture<? extends ResourcePackPart> part) {
+            this.container = container;
+            this.part = part;
+        }
+    }
+
     static final class BuilderImpl implements Builder {
         private boolean lenient = false;
+        private Executor executor;
+        private boolean lazy = false;
+        private ContentStore contentStore = ContentStore.memory();
+        private ReadFilter filter = ReadFilter.all();
+        private ResourceCategoryRegistry categories = ResourceCategoryRegistry.defaults();
 
         @Override
         public @NotNull Builder lenient(final boolean lenient) {
@@ -364,9 +701,39 @@ final class MinecraftResourcePackReaderImpl implements MinecraftResourcePackRead
             return this;
         }
 
+        @Override
+        public @NotNull Builder executor(final @Nullable Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder lazy(final boolean lazy) {
+            this.lazy = lazy;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder contentStore(final @NotNull ContentStore contentStore) {
+            this.contentStore = requireNonNull(contentStore, "contentStore");
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder filter(final @NotNull ReadFilter filter) {
+            this.filter = requireNonNull(filter, "filter");
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder categories(final @NotNull ResourceCategoryRegistry categories) {
+            this.categories = requireNonNull(categories, "categories");
+            return this;
+        }
+
         @Override
         public @NotNull MinecraftResourcePackReader build() {
-            return new MinecraftResourcePackReaderImpl(lenient);
+            return new MinecraftResourcePackReaderImpl(lenient, executor, lazy, contentStore, filter, (ResourceCategoryRegistryImpl) categories);
         }
     }
 }
@@ -25,12 +25,16 @@ package team.unnamed.creative.serialize.minecraft;
 
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
 import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.FileWritable;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.pack.PackFormat;
 import team.unnamed.creative.serialize.ResourcePackWriter;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+import team.unnamed.creative.serialize.minecraft.fs.ZipCompressionPolicy;
+import team.unnamed.creative.serialize.minecraft.fs.ZipEntryCache;
 import team.unnamed.creative.serialize.minecraft.fs.ZipEntryLifecycleHandler;
 
 import java.io.BufferedOutputStream;
@@ -43,9 +47,10 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.DigestOutputStream;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.Executor;
 import java.util.function.Consumer;
-import java.util.zip.ZipOutputStream;
+
+import static java.util.Objects.requireNonNull;
 
 public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTreeWriter> {
     /**
@@ -104,9 +109,60 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
         return ZipEntryLifecycleHandler.DEFAULT;
     }
 
+    /**
+     * Returns the {@link ZipCompressionPolicy} to be used when writing
+     * the resource pack files in the resource pack zip, it determines
+     * which files are stored and which are deflated.
+     *
+     * @return The zip compression policy
+     * @since 1.8.4
+     */
+    default @NotNull ZipCompressionPolicy zipCompressionPolicy() {
+        return ZipCompressionPolicy.DEFLATE_ALL;
+    }
+
+    /**
+     * Returns the {@link Executor} used to serialize the resource
+     * pack elements in parallel.
+     *
+     * <p>{@code null} if not set in the builder, meaning that
+     * elements are serialized sequentially, in the caller thread.</p>
+     *
+     * @return The executor used to serialize elements
+     * @since 1.8.4
+     */
+    default @Nullable Executor executor() {
+        return null;
+    }
+
+    /**
+     * Returns the {@link ZipEntryCache} used to reuse compressed
+     * entries between builds of resource pack zips.
+     *
+     * <p>{@code null} if not set in the builder, meaning that every
+     * entry is compressed on every build.</p>
+     *
+     * @return The compressed zip entry cache
+     * @since 1.8.4
+     */
+    default @Nullable ZipEntryCache zipEntryCache() {
+        return null;
+    }
+
+    /**
+     * Returns the {@link ResourceCategoryRegistry} whose categories
+     * are written by this writer.
+     *
+     * @return The category registry
+     * @since 1.8.4
+     */
+    default @NotNull ResourceCategoryRegistry categories() {
+        return ResourceCategoryRegistry.defaults();
+    }
+
     default void writeToZipFile(Path path, ResourcePack resourcePack) {
-        try (ZipOutputStream outputStream = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
-            write(FileTreeWriter.zip(outputStream, zipEntryLifecycleHandler()), resourcePack);
+        try (FileTreeWriter writer = MinecraftResourcePackWriterImpl.zipTree(this, new BufferedOutputStream(Files.newOutputStream(path)), resourcePack)) {
+            write(writer, resourcePack);
         } catch (FileNotFoundException e) {
             throw new IllegalStateException("Failed to write resource pack to zip file: File not found: " + path, e);
         } catch (IOException e) {
@@ -122,38 +178,63 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
         write(FileTreeWriter.directory(directory), resourcePack);
     }
 
+    /**
+     * Writes the given resource pack to the given directory,
+     * deleting its previous contents.
+     *
+     * @param directory The directory
+     * @param resourcePack The resource pack
+     * @since 1.8.4
+     */
+    default void writeToDirectory(final @NotNull Path directory, final @NotNull ResourcePack resourcePack) {
+        requireNonNull(directory, "directory");
+        requireNonNull(resourcePack, "resourcePack");
+        write(FileTreeWriter.directory(directory, true), resourcePack);
+    }
+
     default BuiltResourcePack build(ResourcePack resourcePack) {
-        MessageDigest digest;
-        try {
-            digest = MessageDigest.getInstance("SHA-1");
-        } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("Cannot find SHA-1 algorithm");
-        }
+        MessageDigest digest = MinecraftResourcePackWriterImpl.sha1();
         ByteArrayOutputStream output = new ByteArrayOutputStream();
 
         // write resource to zip
-        try (FileTreeWriter writer = FileTreeWriter.zip(new ZipOutputStream(new DigestOutputStream(output, digest)), zipEntryLifecycleHandler())) {
+        try (FileTreeWriter writer = MinecraftResourcePackWriterImpl.zipTree(this, new DigestOutputStream(output, digest), resourcePack)) {
             write(writer, resourcePack);
         }
 
         byte[] bytes = output.toByteArray();
-        String hash;
-
-        // stringify SHA-1 hash
-        {
-            byte[] hashBytes = digest.digest();
-            StringBuilder builder = new StringBuilder(hashBytes.length * 2);
-            for (byte b : hashBytes) {
-                int part1 = (b >> 4) & 0xF;
-                int part2 = b & 0xF;
-                builder
-                        .append(Character.forDigit(part1, 16))
-                        .append(Character.forDigit(part2, 16));
-            }
-            hash = builder.toString();
+        String hash = MinecraftResourcePackWriterImpl.toHexString(digest.digest());
+        return BuiltResourcePack.of(Writable.bytes(bytes), hash);
+    }
+
+    /**
+     * Builds the given {@link ResourcePack} to a ZIP file at the given
+     * {@link Path path}, computing its hash while it is written.
+     *
+     * <p>Unlike {@link #build(ResourcePack)}, the resource-pack ZIP is
+     * never held in memory, the {@link BuiltResourcePack#data() data}
+     * of the returned instance is a {@link FileWritable} backed by the
+     * written file, so the file must not be modified or deleted while
+     * the returned instance is in use.</p>
+     *
+     * @param path         The target ZIP file path, overwritten if it exists
+     * @param resourcePack The resource-pack to build
+     * @return The built resource-pack, backed by the written file
+     * @since 1.8.4
+     */
+    default @NotNull BuiltResourcePack buildToFile(final @NotNull Path path, final @NotNull ResourcePack resourcePack) {
+        requireNonNull(path, "path");
+        requireNonNull(resourcePack, "resourcePack");
+        MessageDigest digest = MinecraftResourcePackWriterImpl.sha1();
+
+        // write resource to zip file
+        try (FileTreeWriter writer = MinecraftResourcePackWriterImpl.zipTree(this, new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(path)), digest), resourcePack)) {
+            write(writer, resourcePack);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write resource pack to zip file: " + path, e);
         }
 
-        return BuiltResourcePack.of(Writable.bytes(bytes), hash);
+        String hash = MinecraftResourcePackWriterImpl.toHexString(digest.digest());
+        return BuiltResourcePack.of(FileWritable.fileWritable(path), hash);
     }
 
     default BuiltResourcePack build(Consumer<ResourcePack> consumer) {
@@ -181,6 +262,24 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
          */
         @NotNull Builder zipEntryLifecycleHandler(final @NotNull ZipEntryLifecycleHandler zipEntryLifecycleHandler);
 
+        /**
+         * Sets the {@link ZipCompressionPolicy} to be used when writing
+         * the resource pack files in the resource pack zip, it determines
+         * the compression method and level for each file.
+         *
+         * <p>Defaults to {@link ZipCompressionPolicy#DEFLATE_ALL}, which
+         * deflates every file. Use {@link ZipCompressionPolicy#STORE_COMPRESSED}
+         * to store the files that are already compressed (PNG textures and
+         * OGG sounds) instead of deflating them again, which is faster, but
+         * changes the bytes, and so the hash, of the built resource packs.</p>
+         *
+         * @param zipCompressionPolicy The zip compression policy
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder zipCompressionPolicy(final @NotNull ZipCompressionPolicy zipCompressionPolicy);
+
         /**
          * Sets whether the writer should use pretty printing
          * when writing JSON files.
@@ -211,6 +310,65 @@ public interface MinecraftResourcePackWriter extends ResourcePackWriter<FileTree
          */
         @NotNull Builder targetPackFormat(final int packFormat);
 
+        /**
+         * Sets the executor used to serialize the resource pack
+         * elements (models, items, languages, etc.), optional.
+         *
+         * <p>If set, elements are serialized to memory by tasks given
+         * to the executor, and then written to the file tree by the
+         * caller thread, in the same order the sequential writer uses,
+         * so the output (and its hash) is exactly the same.</p>
+         *
+         * <p>If not set or set to null, elements are serialized and
+         * written sequentially, in the caller thread.</p>
+         *
+         * @param executor The executor, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder executor(final @Nullable Executor executor);
+
+        /**
+         * Sets the {@link ZipEntryCache} used to reuse compressed
+         * entries between builds of resource pack zips, optional.
+         *
+         * <p>If set, every zip entry is hashed before compressing it,
+         * and entries whose data didn't change since a previous build
+         * are copied from the cache instead of compressed again, this
+         * speeds up rebuilding packs that change slightly, e.g. when
+         * reloading them during development.</p>
+         *
+         * <p>Note that zips written with a cache (or from resource-packs
+         * read from zip files, whose compressed entries are copied as-is)
+         * may not be byte-to-byte equal to zips written without it, but
+         * they are still always the same for the same resource-pack.</p>
+         *
+         * @param zipEntryCache The compressed zip entry cache
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder zipEntryCache(final @Nullable ZipEntryCache zipEntryCache);
+
+        /**
+         * Sets the {@link ResourceCategoryRegistry} whose categories are
+         * written. Defaults to {@link ResourceCategoryRegistry#defaults()}.
+         *
+         * <p>For every resource container, the resources given by the
+         * {@link ResourceCategory#lister() lister} of each category are
+         * serialized. Listers of custom categories must not list resources
+         * that are also kept as unknown files in the container (like the
+         * ones read by a {@link MinecraftResourcePackReader}), since they
+         * would be written twice.</p>
+         *
+         * @param categories The category registry
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder categories(final @NotNull ResourceCategoryRegistry categories);
+
         /**
          * Builds a new {@link MinecraftResourcePackWriter} instance.
          *
@@ -23,9 +23,9 @@
  */
 package team.unnamed.creative.serialize.minecraft;
 
-import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Keyed;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.base.Writable;
 import team.unnamed.creative.metadata.Metadata;
@@ -37,19 +37,34 @@ import team.unnamed.creative.overlay.Overlay;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.part.ResourcePackPart;
 import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+import team.unnamed.creative.serialize.minecraft.fs.ZipCompressionPolicy;
+import team.unnamed.creative.serialize.minecraft.fs.ZipEntryCache;
 import team.unnamed.creative.serialize.minecraft.fs.ZipEntryLifecycleHandler;
+import team.unnamed.creative.serialize.minecraft.io.BinaryResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.JsonEmitter;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
 import team.unnamed.creative.serialize.minecraft.io.ResourceSerializer;
 import team.unnamed.creative.serialize.minecraft.metadata.MetadataSerializer;
 import team.unnamed.creative.serialize.minecraft.sound.SoundRegistrySerializer;
+import team.unnamed.creative.sound.Sound;
 import team.unnamed.creative.sound.SoundRegistry;
 import team.unnamed.creative.texture.Texture;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipOutputStream;
 
 import static java.util.Objects.requireNonNull;
 import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.*;
@@ -60,17 +75,29 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             .build();
 
     private final ZipEntryLifecycleHandler zipEntryLifecycleHandler;
+    private final ZipCompressionPolicy zipCompressionPolicy;
     private final boolean prettyPrinting;
     private final int targetPackFormat;
+    private final @Nullable Executor executor;
+    private final @Nullable ZipEntryCache zipEntryCache;
+    private final ResourceCategoryRegistry categories;
 
     private MinecraftResourcePackWriterImpl(
             final @NotNull ZipEntryLifecycleHandler zipEntryLifecycleHandler,
+            final @NotNull ZipCompressionPolicy zipCompressionPolicy,
             final boolean prettyPrinting,
-            final int targetPackFormat
+            final int targetPackFormat,
+            final @Nullable Executor executor,
+            final @Nullable ZipEntryCache zipEntryCache,
+            final @NotNull ResourceCategoryRegistry categories
     ) {
         this.zipEntryLifecycleHandler = zipEntryLifecycleHandler; // trust the caller (builder)
+        this.zipCompressionPolicy = zipCompressionPolicy;
         this.prettyPrinting = prettyPrinting;
         this.targetPackFormat = targetPackFormat;
+        this.executor = executor;
+        this.zipEntryCache = zipEntryCache;
+        this.categories = categories;
     }
 
     @Override
@@ -78,17 +105,48 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
         return zipEntryLifecycleHandler;
     }
 
+    @Override
+    public @NotNull ZipCompressionPolicy zipCompressionPolicy() {
+        return zipCompressionPolicy;
+    }
+
     @Override
     public int targetPackFormat() {
         return targetPackFormat;
     }
 
+    @Override
+    public @Nullable Executor executor() {
+        return executor;
+    }
+
+    @Override
+    public @Nullable ZipEntryCache zipEntryCache() {
+        return zipEntryCache;
+    }
+
+    @Override
+    public @NotNull ResourceCategoryRegistry categories() {
+        return categories;
+    }
+
     public <T extends Keyed & ResourcePackPart> void writeFullCategory(
             final @NotNull String basePath,
             final @NotNull ResourceContainer resourceContainer,
             final @NotNull FileTreeWriter target,
             final @NotNull ResourceCategory<T> category,
             final int localTargetPackFormat
+    ) {
+        EntryQueue queue = new EntryQueue(target, null);
+        writeFullCategory(basePath, resourceContainer, queue, category, localTargetPackFormat);
+    }
+
+    private <T extends Keyed & ResourcePackPart> void writeFullCategory(
+            final @NotNull String basePath,
+            final @NotNull ResourceContainer resourceContainer,
+            final @NotNull EntryQueue target,
+            final @NotNull ResourceCategory<T> category,
+            final int localTargetPackFormat
     ) {
         for (T resource : category.lister().apply(resourceContainer)) {
             String path = basePath + category.pathOf(resource, localTargetPackFormat);
@@ -97,26 +155,25 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             if (serializer instanceof JsonResourceSerializer) {
                 // if it's a JSON serializer, we can use our own method, that will
                 // do some extra configuration
-                writeToJson(target, (JsonResourceSerializer<T>) serializer, resource, path, localTargetPackFormat);
+                target.writeToJson((JsonResourceSerializer<T>) serializer, resource, path, localTargetPackFormat);
+            } else if (serializer instanceof BinaryResourceSerializer) {
+                // binary data is written as-is, so that the tree knows where it comes from
+                target.write(path, ((BinaryResourceSerializer<T>) serializer).serializeBinary(resource, localTargetPackFormat));
             } else {
-                try (OutputStream output = target.openStream(path)) {
-                    category.serializer().serialize(resource, output, localTargetPackFormat);
-                } catch (IOException e) {
-                    throw new UncheckedIOException(e);
-                }
+                target.serialize(serializer, resource, path, localTargetPackFormat);
             }
         }
     }
 
-    private void writeWithBasePathAndTargetPackFormat(FileTreeWriter target, ResourceContainer container, String basePath, final int localTargetPackFormat) {
+    private void writeWithBasePathAndTargetPackFormat(EntryQueue target, ResourceContainer container, String basePath, final int localTargetPackFormat) {
         // write resources from most categories
-        for (ResourceCategory<?> category : ResourceCategories.categories()) {
+        for (ResourceCategory<?> category : categories.categories()) {
             writeFullCategory(basePath, container, target, category, localTargetPackFormat);
         }
 
         // write sound registries
         for (SoundRegistry soundRegistry : container.soundRegistries()) {
-            writeToJson(target, SoundRegistrySerializer.INSTANCE, soundRegistry, basePath + MinecraftResourcePackStructure.pathOf(soundRegistry), localTargetPackFormat);
+            target.writeToJson(SoundRegistrySerializer.INSTANCE, soundRegistry, basePath + MinecraftResourcePackStructure.pathOf(soundRegistry), localTargetPackFormat);
         }
 
         // write textures
@@ -128,7 +185,7 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
 
             Metadata metadata = texture.meta();
             if (!metadata.parts().isEmpty()) {
-                writeToJson(target, MetadataSerializer.INSTANCE, metadata, basePath + MinecraftResourcePackStructure.pathOfMeta(texture), localTargetPackFormat);
+                target.writeToJson(MetadataSerializer.INSTANCE, metadata, basePath + MinecraftResourcePackStructure.pathOfMeta(texture), localTargetPackFormat);
             }
         }
 
@@ -139,7 +196,9 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
     }
 
     @Override
-    public void write(final @NotNull FileTreeWriter target, final @NotNull ResourcePack resourcePack) {
+    public void write(final @NotNull FileTreeWriter tree, final @NotNull ResourcePack resourcePack) {
+        EntryQueue target = new EntryQueue(tree, executor);
+
         // write icon
         {
             Writable icon = resourcePack.icon();
@@ -159,7 +218,7 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
                 System.err.println("Resource pack format mismatch, the resource pack specifies formats "
                         + packMeta.formats() + " but the target format specified to the writer is " + targetPackFormat);
             }
-            writeToJson(target, MetadataSerializer.INSTANCE, metadata, PACK_METADATA_FILE, targetPackFormat);
+            target.writeToJson(MetadataSerializer.INSTANCE, metadata, PACK_METADATA_FILE, targetPackFormat);
         }
 
         writeWithBasePathAndTargetPackFormat(target, resourcePack, "", targetPackFormat);
@@ -181,23 +240,230 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             int overlayTargetPackFormat = packFormat == null ? -1 : packFormat.min(); // todo: consider max pack format
             writeWithBasePathAndTargetPackFormat(target, overlay, OVERLAYS_FOLDER + '/' + dir + '/', overlayTargetPackFormat);
         }
+
+        // append the entries that are still being serialized
+        target.flush();
     }
 
     private <T> void writeToJson(FileTreeWriter writer, JsonResourceSerializer<T> serializer, T object, String path, final int localTargetPackFormat) {
-        try (JsonWriter jsonWriter = new JsonWriter(writer.openWriter(path))) {
-            if (prettyPrinting) {
-                jsonWriter.setIndent("  ");
-            }
-            serializer.serializeToJson(object, jsonWriter, localTargetPackFormat);
+        try (OutputStream output = writer.openStream(path)) {
+            JsonEmitter.emit(serializer, object, localTargetPackFormat, prettyPrinting, output);
         } catch (IOException e) {
             throw new UncheckedIOException("Failed to write to " + path, e);
         }
     }
 
+    /**
+     * Queue of entries to be written to a {@link FileTreeWriter}.
+     *
+     * <p>If there is no executor, entries are serialized and written
+     * directly to the tree. Otherwise, resources are serialized to byte
+     * arrays by tasks given to the executor, and written to the tree, in
+     * the order they were queued, by the thread that queues or flushes them.
+     * This way the output is exactly the same for both modes.</p>
+     *
+     * <p>The entries waiting to be written are bounded (the same way as
+     * in {@link FileTreeWriter#parallelZip}), when there are too many, the
+     * queue waits for its head instead of keeping everything in memory.</p>
+     */
+    private final class EntryQueue {
+        // limits for the entries waiting to be written, to bound memory usage
+        private static final int MAX_PENDING_ENTRIES = 1024;
+        private static final long MAX_PENDING_BYTES = 64L * 1024L * 1024L; // 64MB
+
+        private final FileTreeWriter tree;
+        private final @Nullable Executor executor;
+        private final Queue<PendingEntry> pending = new ArrayDeque<>();
+        // serialized bytes waiting to be written, updated by the tasks
+        private final AtomicLong pendingBytes = new AtomicLong();
+
+        EntryQueue(final @NotNull FileTreeWriter tree, final @Nullable Executor executor) {
+            this.tree = tree;
+            this.executor = executor;
+        }
+
+        void write(final @NotNull String path, final @NotNull Writable data) {
+            if (executor == null) {
+                tree.write(path, data);
+            } else {
+                enqueue(path, CompletableFuture.completedFuture(data));
+            }
+        }
+
+        <T> void writeToJson(final @NotNull JsonResourceSerializer<T> serializer, final @NotNull T object, final @NotNull String path, final int localTargetPackFormat) {
+            if (executor == null) {
+                MinecraftResourcePackWriterImpl.this.writeToJson(tree, serializer, object, path, localTargetPackFormat);
+                return;
+            }
+            submit(path, output -> JsonEmitter.emit(serializer, object, localTargetPackFormat, prettyPrinting, output));
+        }
+
+        <T> void serialize(final @NotNull ResourceSerializer<T> serializer, final @NotNull T object, final @NotNull String path, final int localTargetPackFormat) {
+            if (executor == null) {
+                try (OutputStream output = tree.openStream(path)) {
+                    serializer.serialize(object, output, localTargetPackFormat);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            submit(path, output -> serializer.serialize(object, output, localTargetPackFormat));
+        }
+
+        void flush() {
+            while (!pending.isEmpty()) {
+                append(pending.poll());
+            }
+        }
+
+        private void submit(final @NotNull String path, final @NotNull Writable serialization) {
+            enqueue(path, CompletableFuture.supplyAsync(() -> {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                try {
+                    serialization.write(output);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to write to " + path, e);
+                }
+                byte[] bytes = output.toByteArray();
+                pendingBytes.addAndGet(bytes.length);
+                return (Writable) new SerializedData(bytes);
+            }, executor));
+        }
+
+        private void enqueue(final @NotNull String path, final @NotNull CompletableFuture<Writable> data) {
+            pending.add(new PendingEntry(path, data));
+
+            // append the entries that are already serialized, we must
+            // keep the order, so we stop at the first one that is not,
+            // unless there are too many entries waiting
+            PendingEntry head;
+            while ((head = pending.peek()) != null
+                    && (head.data.isDone() || pending.size() > MAX_PENDING_ENTRIES || pendingBytes.get() > MAX_PENDING_BYTES)) {
+                append(pending.poll());
+            }
+        }
+
+        private void append(final @NotNull PendingEntry entry) {
+            Writable data;
+            try {
+                data = entry.data.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw e;
+            }
+            if (data instanceof SerializedData) {
+                pendingBytes.addAndGet(-((SerializedData) data).bytes.length);
+            }
+            tree.write(entry.path, data);
+        }
+    }
+
+    /**
+     * An entry serialized to memory by a task.
+     */
+    private static final class SerializedData implements Writable {
+        private final byte[] bytes;
+
+        SerializedData(final byte @NotNull [] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public void write(final @NotNull OutputStream output) throws IOException {
+            output.write(bytes);
+        }
+    }
+
+    private static final class PendingEntry {
+        private final String path;
+        private final CompletableFuture<Writable> data;
+
+        PendingEntry(final @NotNull String path, final @NotNull CompletableFuture<Writable> data) {
+            this.path = path;
+            this.data = data;
+        }
+    }
+
+    // creates the zip file tree for the given writer, which closes the given stream when closed,
+    // the ZipOutputStream based tree is used unless there is an entry cache or the resource-pack
+    // has entries read from zip files, which are copied without decompressing them
+    static @NotNull FileTreeWriter zipTree(final @NotNull MinecraftResourcePackWriter writer, final @NotNull OutputStream output, final @NotNull ResourcePack resourcePack) {
+        final ZipEntryCache cache = writer.zipEntryCache();
+        if (cache == null && !hasZipEntryBackedData(resourcePack)) {
+            return FileTreeWriter.zip(new ZipOutputStream(output), writer.zipEntryLifecycleHandler(), writer.zipCompressionPolicy());
+        }
+        return FileTreeWriter.zip(output, writer.zipEntryLifecycleHandler(), writer.zipCompressionPolicy(), cache);
+    }
+
+    private static boolean hasZipEntryBackedData(final @NotNull ResourcePack resourcePack) {
+        final Writable icon = resourcePack.icon();
+        if (icon != null && FileTreeWriter.zipEntryBacked(icon)) {
+            return true;
+        }
+        if (hasZipEntryBackedData((ResourceContainer) resourcePack)) {
+            return true;
+        }
+        for (final Overlay overlay : resourcePack.overlays()) {
+            if (hasZipEntryBackedData(overlay)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasZipEntryBackedData(final @NotNull ResourceContainer container) {
+        for (final Writable data : container.unknownFiles().values()) {
+            if (FileTreeWriter.zipEntryBacked(data)) {
+                return true;
+            }
+        }
+        for (final Texture texture : container.textures()) {
+            if (FileTreeWriter.zipEntryBacked(texture.data())) {
+                return true;
+            }
+        }
+        for (final Sound sound : container.sounds()) {
+            if (FileTreeWriter.zipEntryBacked(sound.data())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static @NotNull MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot find SHA-1 algorithm");
+        }
+    }
+
+    // stringify SHA-1 hash
+    static @NotNull String toHexString(final byte @NotNull [] hashBytes) {
+        StringBuilder builder = new StringBuilder(hashBytes.length * 2);
+        for (byte b : hashBytes) {
+            int part1 = (b >> 4) & 0xF;
+            int part2 = b & 0xF;
+            builder
+                    .append(Character.forDigit(part1, 16))
+                    .append(Character.forDigit(part2, 16));
+        }
+        return builder.toString();
+    }
+
     static final class BuilderImpl implements Builder {
         private ZipEntryLifecycleHandler zipEntryLifecycleHandler = ZipEntryLifecycleHandler.DEFAULT;
+        private ZipCompressionPolicy zipCompressionPolicy = ZipCompressionPolicy.DEFLATE_ALL;
         private boolean prettyPrinting;
         private int targetPackFormat = -1;
+        private Executor executor;
+        private ZipEntryCache zipEntryCache;
+        private ResourceCategoryRegistry categories = ResourceCategoryRegistry.defaults();
 
         @Override
         public @NotNull Builder zipEntryLifecycleHandler(final @NotNull ZipEntryLifecycleHandler zipEntryLifecycleHandler) {
@@ -205,6 +471,12 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             return this;
         }
 
+        @Override
+        public @NotNull Builder zipCompressionPolicy(final @NotNull ZipCompressionPolicy zipCompressionPolicy) {
+            this.zipCompressionPolicy = requireNonNull(zipCompressionPolicy, "zipCompressionPolicy");
+            return this;
+        }
+
         @Override
         public @NotNull Builder prettyPrinting(final boolean prettyPrinting) {
             this.prettyPrinting = prettyPrinting;
@@ -217,9 +489,27 @@ final class MinecraftResourcePackWriterImpl implements MinecraftResourcePackWrit
             return this;
         }
 
+        @Override
+        public @NotNull Builder executor(final @Nullable Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder zipEntryCache(final @Nullable ZipEntryCache zipEntryCache) {
+            this.zipEntryCache = zipEntryCache;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder categories(final @NotNull ResourceCategoryRegistry categories) {
+            this.categories = requireNonNull(categories, "categories");
+            return this;
+        }
+
         @Override
         public @NotNull MinecraftResourcePackWriter build() {
-            return new MinecraftResourcePackWriterImpl(zipEntryLifecycleHandler, prettyPrinting, targetPackFormat);
+            return new MinecraftResourcePackWriterImpl(zipEntryLifecycleHandler, zipCompressionPolicy, prettyPrinting, targetPackFormat, executor, zipEntryCache, categories);
         }
     }
 }
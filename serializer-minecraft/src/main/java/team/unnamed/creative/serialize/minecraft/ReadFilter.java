@@ -0,0 +1,142 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A filter for the files read by a {@link MinecraftResourcePackReader},
+ * based on their location: {@code [overlays/<overlay>/]assets/<namespace>/<category>/...}.
+ *
+ * <p>Files rejected by the filter are skipped before reading their
+ * contents, so they are never inflated nor parsed.</p>
+ *
+ * <p>Only files inside a namespace folder are filtered; the pack
+ * metadata, the pack icon and any other file outside the namespace
+ * folders are always read.</p>
+ *
+ * @see MinecraftResourcePackReader.Builder#filter(ReadFilter)
+ * @since 1.8.4
+ */
+@FunctionalInterface
+public interface ReadFilter {
+
+    /**
+     * Determines whether the files in the given location must be read.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param namespace The namespace, e.g. {@code minecraft}
+     * @param category The category folder, e.g. {@code lang}, {@code items}
+     *                 or {@code textures}, or the file name for files directly
+     *                 inside the namespace folder, e.g. {@code sounds.json}
+     * @return True to read the files, false to skip them
+     * @since 1.8.4
+     */
+    boolean test(final @Nullable String overlay, final @NotNull String namespace, final @NotNull String category);
+
+    /**
+     * Returns a filter that only accepts the files accepted
+     * by both this filter and the given one.
+     *
+     * @param other The other filter
+     * @return The combined filter
+     * @since 1.8.4
+     */
+    default @NotNull ReadFilter and(final @NotNull ReadFilter other) {
+        requireNonNull(other, "other");
+        return (overlay, namespace, category) -> test(overlay, namespace, category)
+                && other.test(overlay, namespace, category);
+    }
+
+    /**
+     * Returns a filter that accepts the files accepted
+     * by this filter or the given one.
+     *
+     * @param other The other filter
+     * @return The combined filter
+     * @since 1.8.4
+     */
+    default @NotNull ReadFilter or(final @NotNull ReadFilter other) {
+        requireNonNull(other, "other");
+        return (overlay, namespace, category) -> test(overlay, namespace, category)
+                || other.test(overlay, namespace, category);
+    }
+
+    /**
+     * Returns a filter that accepts all the files.
+     *
+     * @return The filter
+     * @since 1.8.4
+     */
+    static @NotNull ReadFilter all() {
+        return (overlay, namespace, category) -> true;
+    }
+
+    /**
+     * Returns a filter that only accepts the files
+     * in the given namespaces.
+     *
+     * @param namespaces The accepted namespaces
+     * @return The filter
+     * @since 1.8.4
+     */
+    static @NotNull ReadFilter namespaces(final @NotNull String @NotNull ... namespaces) {
+        requireNonNull(namespaces, "namespaces");
+        final Set<String> accepted = new HashSet<>(Arrays.asList(namespaces));
+        return (overlay, namespace, category) -> accepted.contains(namespace);
+    }
+
+    /**
+     * Returns a filter that only accepts the files in the
+     * given categories, e.g. {@code "lang"} or {@code "items"}.
+     *
+     * @param categories The accepted category folders (or file names)
+     * @return The filter
+     * @since 1.8.4
+     */
+    static @NotNull ReadFilter categories(final @NotNull String @NotNull ... categories) {
+        requireNonNull(categories, "categories");
+        final Set<String> accepted = new HashSet<>(Arrays.asList(categories));
+        return (overlay, namespace, category) -> accepted.contains(category);
+    }
+
+    /**
+     * Returns a filter that only accepts the files
+     * in the root container, skipping all overlays.
+     *
+     * @return The filter
+     * @since 1.8.4
+     */
+    static @NotNull ReadFilter noOverlays() {
+        return (overlay, namespace, category) -> overlay == null;
+    }
+
+}
@@ -65,6 +65,16 @@ public class ResourceCategories {
         return CATEGORIES;
     }
 
+    /**
+     * Builds a map of the default categories by their folder
+     * for the given pack format.
+     *
+     * @param packFormat The pack format
+     * @return The categories by folder
+     * @deprecated Use {@link ResourceCategoryRegistry#categoryByFolder(String, int)},
+     * which caches the lookup structure for every pack format
+     */
+    @Deprecated
     public static Map<String, ResourceCategory<?>> buildCategoryMapByFolder(final int packFormat) {
         Map<String, ResourceCategory<?>> map = new HashMap<>(); // note: no need to be linked list
         for (ResourceCategory<?> category : ResourceCategories.categories()) {
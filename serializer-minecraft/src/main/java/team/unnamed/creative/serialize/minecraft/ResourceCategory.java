@@ -25,7 +25,6 @@ package team.unnamed.creative.serialize.minecraft;
 
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.key.Keyed;
-import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.part.ResourcePackPart;
@@ -40,9 +39,11 @@ import java.util.function.Function;
  * have keys specifying their location in the resource-pack zip,
  * for example: {@code assets/<namespace>/<category>/<key><extension>}.
  *
+ * <p>Custom categories can be read by registering them in a
+ * {@link ResourceCategoryRegistry}.</p>
+ *
  * @param <T>
  */
-@ApiStatus.Internal
 public interface ResourceCategory<T extends Keyed & ResourcePackPart> {
     /**
      * Returns the folder name for this category,
@@ -0,0 +1,136 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+
+/**
+ * An immutable set of {@link ResourceCategory resource categories}, used
+ * by a {@link MinecraftResourcePackReader} to determine which category a
+ * file at {@code assets/<namespace>/<folder>/...} belongs to, and by a
+ * {@link MinecraftResourcePackWriter} to determine which categories are
+ * written.
+ *
+ * <p>Category folders may span several path sections, e.g.
+ * {@code models/equipment}; the category with the longest matching folder
+ * is used. For every pack format, the folders are compiled once into a
+ * lookup structure that is cached and reused by all the reads.</p>
+ *
+ * <p>Textures and {@code sounds.json} files are always handled by the
+ * reader, they can not be replaced by registered categories.</p>
+ *
+ * @see MinecraftResourcePackReader.Builder#categories(ResourceCategoryRegistry)
+ * @see MinecraftResourcePackWriter.Builder#categories(ResourceCategoryRegistry)
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface ResourceCategoryRegistry {
+
+    /**
+     * Returns the registry containing the categories supported
+     * by default: atlases, sounds, models, languages, block states,
+     * fonts, equipment and items.
+     *
+     * @return The default registry
+     * @since 1.8.4
+     */
+    static @NotNull ResourceCategoryRegistry defaults() {
+        return ResourceCategoryRegistryImpl.DEFAULTS;
+    }
+
+    /**
+     * Returns a new, empty {@link Builder}.
+     *
+     * @return The builder
+     * @since 1.8.4
+     */
+    @Contract("-> new")
+    static @NotNull Builder builder() {
+        return new ResourceCategoryRegistryImpl.BuilderImpl();
+    }
+
+    /**
+     * Returns the categories in this registry, in registration order.
+     *
+     * @return The categories
+     * @since 1.8.4
+     */
+    @NotNull Collection<ResourceCategory<?>> categories();
+
+    /**
+     * Finds the category whose folder is exactly the given one
+     * for the given pack format.
+     *
+     * @param folder The category folder, e.g. {@code models}
+     *               or {@code models/equipment}
+     * @param packFormat The pack format, negative if unknown
+     * @return The category, null if not found
+     * @since 1.8.4
+     */
+    @Nullable ResourceCategory<?> categoryByFolder(final @NotNull String folder, final int packFormat);
+
+    /**
+     * Returns a new {@link Builder} initialized with the
+     * categories in this registry.
+     *
+     * @return The builder
+     * @since 1.8.4
+     */
+    @Contract("-> new")
+    @NotNull Builder toBuilder();
+
+    /**
+     * Mutable builder for {@link ResourceCategoryRegistry} instances.
+     *
+     * @since 1.8.4
+     */
+    interface Builder {
+
+        /**
+         * Registers the given category. If an already registered category
+         * has the same folder for a pack format, the last registered one
+         * is used for that pack format.
+         *
+         * @param category The category
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder register(final @NotNull ResourceCategory<?> category);
+
+        /**
+         * Builds the registry.
+         *
+         * @return The registry
+         * @since 1.8.4
+         */
+        @Contract("-> new")
+        @NotNull ResourceCategoryRegistry build();
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+final class ResourceCategoryRegistryImpl implements ResourceCategoryRegistry {
+    static final ResourceCategoryRegistry DEFAULTS = new ResourceCategoryRegistryImpl(new ArrayList<>(ResourceCategories.categories()));
+
+    // the categories whose resources can be kept by a resource container
+    private static final Set<ResourceCategory<?>> DEFAULT_CATEGORIES = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    static {
+        DEFAULT_CATEGORIES.addAll(ResourceCategories.categories());
+    }
+
+    private final List<ResourceCategory<?>> categories;
+
+    // compiled folder tries, by pack format (all the unknown
+    // pack formats share the -1 entry)
+    private final ConcurrentMap<Integer, CategoryTrie> tries = new ConcurrentHashMap<>();
+
+    private ResourceCategoryRegistryImpl(final @NotNull List<ResourceCategory<?>> categories) {
+        this.categories = Collections.unmodifiableList(categories);
+    }
+
+    @Override
+    public @NotNull Collection<ResourceCategory<?>> categories() {
+        return categories;
+    }
+
+    @Override
+    public @Nullable ResourceCategory<?> categoryByFolder(final @NotNull String folder, final int packFormat) {
+        requireNonNull(folder, "folder");
+        return trie(packFormat).find(folder);
+    }
+
+    @Override
+    public @NotNull Builder toBuilder() {
+        final BuilderImpl builder = new BuilderImpl();
+        builder.categories.addAll(categories);
+        return builder;
+    }
+
+    /*
+     * Determines whether the given category is one of the default ones,
+     * whose resources can be added to a resource container (models, items,
+     * etc.), the resources of other categories have no place there
+     */
+    static boolean isDefault(final @NotNull ResourceCategory<?> category) {
+        return DEFAULT_CATEGORIES.contains(category);
+    }
+
+    /*
+     * Returns the compiled trie of category folders for the given pack
+     * format, compiling it the first time it is requested
+     */
+    @NotNull CategoryTrie trie(final int packFormat) {
+        final int key = packFormat < 0 ? -1 : packFormat;
+        CategoryTrie trie = tries.get(key);
+        if (trie == null) {
+            trie = tries.computeIfAbsent(key, format -> CategoryTrie.compile(categories, format));
+        }
+        return trie;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourceCategoryRegistry{categories=" + categories + '}';
+    }
+
+    static final class BuilderImpl implements Builder {
+        private final List<ResourceCategory<?>> categories = new ArrayList<>();
+
+        @Override
+        public @NotNull Builder register(final @NotNull ResourceCategory<?> category) {
+            categories.add(requireNonNull(category, "category"));
+            return this;
+        }
+
+        @Override
+        public @NotNull ResourceCategoryRegistry build() {
+            return new ResourceCategoryRegistryImpl(new ArrayList<>(categories));
+        }
+    }
+}
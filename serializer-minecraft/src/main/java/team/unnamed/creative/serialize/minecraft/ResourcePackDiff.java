@@ -0,0 +1,206 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The differences between two resource packs, at the file level: every
+ * file (model, texture, language, unknown file, etc.) that was added,
+ * removed or changed, in the root container or any overlay.
+ *
+ * <p>Files are compared by their CRC-32 checksum and size, so a diff
+ * between two ZIP files only needs their central directories, and the
+ * files are never inflated. Resource packs are compared by serializing
+ * them, without keeping the serialized data.</p>
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface ResourcePackDiff {
+
+    /**
+     * Computes the differences between the given resource packs, as
+     * written by the default {@link MinecraftResourcePackWriter}.
+     *
+     * @param oldResourcePack The old resource pack
+     * @param newResourcePack The new resource pack
+     * @return The differences
+     * @since 1.8.4
+     */
+    static @NotNull ResourcePackDiff diff(final @NotNull ResourcePack oldResourcePack, final @NotNull ResourcePack newResourcePack) {
+        return diff(MinecraftResourcePackWriter.minecraft(), oldResourcePack, newResourcePack);
+    }
+
+    /**
+     * Computes the differences between the given resource packs, as
+     * written by the given writer.
+     *
+     * @param writer The writer used to serialize the resource packs
+     * @param oldResourcePack The old resource pack
+     * @param newResourcePack The new resource pack
+     * @return The differences
+     * @since 1.8.4
+     */
+    static @NotNull ResourcePackDiff diff(final @NotNull MinecraftResourcePackWriter writer, final @NotNull ResourcePack oldResourcePack, final @NotNull ResourcePack newResourcePack) {
+        requireNonNull(writer, "writer");
+        requireNonNull(oldResourcePack, "oldResourcePack");
+        requireNonNull(newResourcePack, "newResourcePack");
+        return ResourcePackDiffImpl.diff(ResourcePackDiffImpl.checksums(writer, oldResourcePack), ResourcePackDiffImpl.checksums(writer, newResourcePack));
+    }
+
+    /**
+     * Computes the differences between the given resource pack
+     * ZIP files, using only their central directories.
+     *
+     * @param oldZip The old resource pack ZIP file
+     * @param newZip The new resource pack ZIP file
+     * @return The differences
+     * @since 1.8.4
+     */
+    static @NotNull ResourcePackDiff diff(final @NotNull Path oldZip, final @NotNull Path newZip) {
+        requireNonNull(oldZip, "oldZip");
+        requireNonNull(newZip, "newZip");
+        return ResourcePackDiffImpl.diff(ResourcePackDiffImpl.checksums(oldZip), ResourcePackDiffImpl.checksums(newZip));
+    }
+
+    /**
+     * Returns all the changes, sorted by path.
+     *
+     * @return The changes
+     * @since 1.8.4
+     */
+    @NotNull List<Change> changes();
+
+    /**
+     * Returns the changes of the given type, sorted by path.
+     *
+     * @param type The change type
+     * @return The changes of the given type
+     * @since 1.8.4
+     */
+    @NotNull List<Change> changes(final @NotNull Change.Type type);
+
+    /**
+     * Determines whether there are no changes, i.e. both
+     * resource packs are equivalent.
+     *
+     * @return True if there are no changes
+     * @since 1.8.4
+     */
+    default boolean isEmpty() {
+        return changes().isEmpty();
+    }
+
+    /**
+     * A change to a single file.
+     *
+     * @since 1.8.4
+     */
+    @ApiStatus.NonExtendable
+    interface Change {
+        /**
+         * Returns the type of this change.
+         *
+         * @return The change type
+         * @since 1.8.4
+         */
+        @NotNull Type type();
+
+        /**
+         * Returns the full path of the changed file, relative
+         * to the resource pack root, e.g. {@code assets/minecraft/models/item/stick.json}.
+         *
+         * @return The file path
+         * @since 1.8.4
+         */
+        @NotNull String path();
+
+        /**
+         * Returns the overlay directory containing the changed
+         * file, null if it is in the root container.
+         *
+         * @return The overlay directory
+         * @since 1.8.4
+         */
+        @Nullable String overlay();
+
+        /**
+         * Returns the category folder of the changed file, e.g.
+         * {@code models} or {@code textures}, null if the file
+         * is not inside a category folder.
+         *
+         * @return The category folder
+         * @since 1.8.4
+         */
+        @Nullable String category();
+
+        /**
+         * Returns the key of the changed resource, null if the file
+         * is not a known keyed resource. For textures (and their
+         * metadata), this is the texture key, e.g. {@code minecraft:item/stick.png}.
+         *
+         * @return The resource key
+         * @since 1.8.4
+         */
+        @Nullable Key key();
+
+        /**
+         * The type of change.
+         *
+         * @since 1.8.4
+         */
+        enum Type {
+            /**
+             * The file only exists in the new resource pack.
+             *
+             * @since 1.8.4
+             */
+            ADDED,
+
+            /**
+             * The file only exists in the old resource pack.
+             *
+             * @since 1.8.4
+             */
+            REMOVED,
+
+            /**
+             * The file exists in both resource packs, with different contents.
+             *
+             * @since 1.8.4
+             */
+            CHANGED
+        }
+    }
+}
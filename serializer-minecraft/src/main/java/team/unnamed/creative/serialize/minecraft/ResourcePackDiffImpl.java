@@ -0,0 +1,320 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.util.Objects.requireNonNull;
+import static team.unnamed.creative.serialize.minecraft.MinecraftResourcePackStructure.*;
+
+final class ResourcePackDiffImpl implements ResourcePackDiff {
+    private final List<Change> changes;
+
+    private ResourcePackDiffImpl(final @NotNull List<Change> changes) {
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    static @NotNull ResourcePackDiff diff(final @NotNull Map<String, Checksum> oldFiles, final @NotNull Map<String, Checksum> newFiles) {
+        // sorted by path
+        final Map<String, Change.Type> types = new TreeMap<>();
+        for (final Map.Entry<String, Checksum> entry : oldFiles.entrySet()) {
+            final Checksum newChecksum = newFiles.get(entry.getKey());
+            if (newChecksum == null) {
+                types.put(entry.getKey(), Change.Type.REMOVED);
+            } else if (!newChecksum.equals(entry.getValue())) {
+                types.put(entry.getKey(), Change.Type.CHANGED);
+            }
+        }
+        for (final String path : newFiles.keySet()) {
+            if (!oldFiles.containsKey(path)) {
+                types.put(path, Change.Type.ADDED);
+            }
+        }
+
+        final List<Change> changes = new ArrayList<>(types.size());
+        for (final Map.Entry<String, Change.Type> entry : types.entrySet()) {
+            changes.add(change(entry.getValue(), entry.getKey()));
+        }
+        return new ResourcePackDiffImpl(changes);
+    }
+
+    static @NotNull Map<String, Checksum> checksums(final @NotNull MinecraftResourcePackWriter writer, final @NotNull ResourcePack resourcePack) {
+        final ChecksumFileTreeWriter tree = new ChecksumFileTreeWriter();
+        writer.write(tree, resourcePack);
+        return tree.checksums;
+    }
+
+    static @NotNull Map<String, Checksum> checksums(final @NotNull Path zip) {
+        final Map<String, Checksum> checksums = new HashMap<>();
+        // ZipFile reads the central directory only, entries are not inflated
+        try (final ZipFile zipFile = new ZipFile(zip.toFile())) {
+            final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                final ZipEntry entry = entries.nextElement();
+                if (!entry.isDirectory()) {
+                    checksums.putIfAbsent(entry.getName(), new Checksum(entry.getCrc(), entry.getSize()));
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read ZIP file: " + zip, e);
+        }
+        return checksums;
+    }
+
+    private static @NotNull Change change(final @NotNull Change.Type type, final @NotNull String path) {
+        int start = 0;
+        String overlay = null;
+        if (path.startsWith(OVERLAYS_FOLDER + FILE_SEPARATOR)) {
+            final int overlayStart = OVERLAYS_FOLDER.length() + 1;
+            final int overlayEnd = path.indexOf(FILE_SEPARATOR, overlayStart);
+            if (overlayEnd != -1) {
+                overlay = path.substring(overlayStart, overlayEnd);
+                start = overlayEnd + 1;
+            }
+        }
+
+        String category = null;
+        Key key = null;
+        if (path.startsWith(ASSETS_FOLDER + FILE_SEPARATOR, start)) {
+            final int namespaceStart = start + ASSETS_FOLDER.length() + 1;
+            final int namespaceEnd = path.indexOf(FILE_SEPARATOR, namespaceStart);
+            final int categoryEnd = namespaceEnd == -1 ? -1 : path.indexOf(FILE_SEPARATOR, namespaceEnd + 1);
+            if (categoryEnd != -1) {
+                final String namespace = path.substring(namespaceStart, namespaceEnd);
+                category = path.substring(namespaceEnd + 1, categoryEnd);
+                key = key(namespace, category, path.substring(categoryEnd + 1));
+            }
+        }
+        return new ChangeImpl(type, path, overlay, category, key);
+    }
+
+    @SuppressWarnings("PatternValidation")
+    private static @Nullable Key key(final @NotNull String namespace, final @NotNull String category, final @NotNull String categoryPath) {
+        String value;
+        if (category.equals(TEXTURES_FOLDER)) {
+            // texture keys include the extension, metadata uses the texture key
+            value = categoryPath.endsWith(METADATA_EXTENSION)
+                    ? categoryPath.substring(0, categoryPath.length() - METADATA_EXTENSION.length())
+                    : categoryPath;
+        } else {
+            final ResourceCategory<?> resourceCategory = ResourceCategoryRegistry.defaults().categoryByFolder(category, -1);
+            if (resourceCategory == null || !categoryPath.endsWith(resourceCategory.extension(-1))) {
+                return null;
+            }
+            value = categoryPath.substring(0, categoryPath.length() - resourceCategory.extension(-1).length());
+        }
+        if (!Key.parseableNamespace(namespace) || !Key.parseableValue(value)) {
+            return null;
+        }
+        return Key.key(namespace, value);
+    }
+
+    @Override
+    public @NotNull List<Change> changes() {
+        return changes;
+    }
+
+    @Override
+    public @NotNull List<Change> changes(final @NotNull Change.Type type) {
+        requireNonNull(type, "type");
+        final List<Change> result = new ArrayList<>();
+        for (final Change change : changes) {
+            if (change.type() == type) {
+                result.add(change);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ResourcePackDiff{changes=" + changes + '}';
+    }
+
+    static final class Checksum {
+        private final long crc;
+        private final long size;
+
+        Checksum(final long crc, final long size) {
+            this.crc = crc;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final Checksum checksum = (Checksum) o;
+            return crc == checksum.crc && size == checksum.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(crc, size);
+        }
+    }
+
+    /**
+     * A {@link FileTreeWriter} that computes the checksum of the
+     * written files, without keeping their data.
+     */
+    private static final class ChecksumFileTreeWriter implements FileTreeWriter {
+        private final Map<String, Checksum> checksums = new HashMap<>();
+
+        @Override
+        public synchronized boolean exists(final String path) {
+            return checksums.containsKey(path);
+        }
+
+        @Override
+        public OutputStream openStream(final String path) {
+            return new OutputStream() {
+                private final CRC32 crc = new CRC32();
+                private long size;
+                private boolean closed;
+
+                @Override
+                public void write(final int b) {
+                    crc.update(b);
+                    size++;
+                }
+
+                @Override
+                public void write(final byte @NotNull [] b, final int off, final int len) {
+                    crc.update(b, off, len);
+                    size += len;
+                }
+
+                @Override
+                public void close() {
+                    if (!closed) {
+                        closed = true;
+                        synchronized (ChecksumFileTreeWriter.this) {
+                            checksums.put(path, new Checksum(crc.getValue(), size));
+                        }
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void write(final String path, final Writable data) {
+            try (final OutputStream output = openStream(path)) {
+                data.write(output);
+            } catch (final IOException e) {
+                throw new UncheckedIOException("Failed to write " + path, e);
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class ChangeImpl implements Change {
+        private final Type type;
+        private final String path;
+        private final @Nullable String overlay;
+        private final @Nullable String category;
+        private final @Nullable Key key;
+
+        ChangeImpl(
+                final @NotNull Type type,
+                final @NotNull String path,
+                final @Nullable String overlay,
+                final @Nullable String category,
+                final @Nullable Key key
+        ) {
+            this.type = type;
+            this.path = path;
+            this.overlay = overlay;
+            this.category = category;
+            this.key = key;
+        }
+
+        @Override
+        public @NotNull Type type() {
+            return type;
+        }
+
+        @Override
+        public @NotNull String path() {
+            return path;
+        }
+
+        @Override
+        public @Nullable String overlay() {
+            return overlay;
+        }
+
+        @Override
+        public @Nullable String category() {
+            return category;
+        }
+
+        @Override
+        public @Nullable Key key() {
+            return key;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            final ChangeImpl change = (ChangeImpl) o;
+            return type == change.type && path.equals(change.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, path);
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + path;
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.atlas.Atlas;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.blockstate.BlockState;
+import team.unnamed.creative.equipment.Equipment;
+import team.unnamed.creative.font.Font;
+import team.unnamed.creative.item.Item;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.sound.Sound;
+import team.unnamed.creative.sound.SoundRegistry;
+import team.unnamed.creative.texture.Texture;
+
+/**
+ * A visitor for the elements of a resource pack, used to read
+ * a resource pack without building a {@link team.unnamed.creative.ResourcePack}
+ * instance, so the memory usage doesn't depend on the pack size.
+ *
+ * <p>Elements are reported as soon as they are read, in reading
+ * order, with the overlay directory they belong to (null for the
+ * root container) and the pack format they were read for (-1 if
+ * unknown, e.g. if {@code pack.mcmeta} wasn't read yet). Textures
+ * are reported once their metadata is known, or at the end if they
+ * have no metadata.</p>
+ *
+ * <p>All the methods do nothing by default, and the methods for
+ * keyed elements delegate to {@link #visitPart} by default.</p>
+ *
+ * @see MinecraftResourcePackReader#read(team.unnamed.creative.serialize.minecraft.fs.FileTreeReader, ResourcePackVisitor)
+ * @since 1.8.4
+ */
+public interface ResourcePackVisitor {
+
+    /**
+     * Visits the resource pack metadata ({@code pack.mcmeta}).
+     *
+     * @param metadata The metadata
+     * @since 1.8.4
+     */
+    default void visitMetadata(final @NotNull Metadata metadata) {
+    }
+
+    /**
+     * Visits the resource pack icon ({@code pack.png}).
+     *
+     * @param icon The icon data
+     * @since 1.8.4
+     */
+    default void visitIcon(final @NotNull Writable icon) {
+    }
+
+    /**
+     * Visits an unknown file.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param path The file path, relative to its container
+     * @param data The file data
+     * @since 1.8.4
+     */
+    default void visitUnknownFile(final @Nullable String overlay, final @NotNull String path, final @NotNull Writable data) {
+    }
+
+    /**
+     * Visits an atlas.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param atlas The atlas
+     * @since 1.8.4
+     */
+    default void visitAtlas(final @Nullable String overlay, final int packFormat, final @NotNull Atlas atlas) {
+        visitPart(overlay, packFormat, atlas);
+    }
+
+    /**
+     * Visits a block state.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param blockState The block state
+     * @since 1.8.4
+     */
+    default void visitBlockState(final @Nullable String overlay, final int packFormat, final @NotNull BlockState blockState) {
+        visitPart(overlay, packFormat, blockState);
+    }
+
+    /**
+     * Visits an equipment.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param equipment The equipment
+     * @since 1.8.4
+     */
+    default void visitEquipment(final @Nullable String overlay, final int packFormat, final @NotNull Equipment equipment) {
+        visitPart(overlay, packFormat, equipment);
+    }
+
+    /**
+     * Visits a font.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param font The font
+     * @since 1.8.4
+     */
+    default void visitFont(final @Nullable String overlay, final int packFormat, final @NotNull Font font) {
+        visitPart(overlay, packFormat, font);
+    }
+
+    /**
+     * Visits an item.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param item The item
+     * @since 1.8.4
+     */
+    default void visitItem(final @Nullable String overlay, final int packFormat, final @NotNull Item item) {
+        visitPart(overlay, packFormat, item);
+    }
+
+    /**
+     * Visits a language.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param language The language
+     * @since 1.8.4
+     */
+    default void visitLanguage(final @Nullable String overlay, final int packFormat, final @NotNull Language language) {
+        visitPart(overlay, packFormat, language);
+    }
+
+    /**
+     * Visits a model.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param model The model
+     * @since 1.8.4
+     */
+    default void visitModel(final @Nullable String overlay, final int packFormat, final @NotNull Model model) {
+        visitPart(overlay, packFormat, model);
+    }
+
+    /**
+     * Visits a sound.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param sound The sound
+     * @since 1.8.4
+     */
+    default void visitSound(final @Nullable String overlay, final int packFormat, final @NotNull Sound sound) {
+        visitPart(overlay, packFormat, sound);
+    }
+
+    /**
+     * Visits a sound registry.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param soundRegistry The sound registry
+     * @since 1.8.4
+     */
+    default void visitSoundRegistry(final @Nullable String overlay, final int packFormat, final @NotNull SoundRegistry soundRegistry) {
+        visitPart(overlay, packFormat, soundRegistry);
+    }
+
+    /**
+     * Visits a texture.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format it was read for, -1 if unknown
+     * @param texture The texture
+     * @since 1.8.4
+     */
+    default void visitTexture(final @Nullable String overlay, final int packFormat, final @NotNull Texture texture) {
+        visitPart(overlay, packFormat, texture);
+    }
+
+    /**
+     * Visits a resource pack element, called by the other
+     * methods by default, and for elements without a specific
+     * method.
+     *
+     * @param overlay The overlay directory, null for the root container
+     * @param packFormat The pack format the element was read for, -1 if unknown
+     * @param part The element
+     * @since 1.8.4
+     */
+    default void visitPart(final @Nullable String overlay, final int packFormat, final @NotNull ResourcePackPart part) {
+    }
+
+}
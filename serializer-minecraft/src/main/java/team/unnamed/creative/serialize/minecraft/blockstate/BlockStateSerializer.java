@@ -25,6 +25,8 @@ package team.unnamed.creative.serialize.minecraft.blockstate;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import team.unnamed.creative.blockstate.BlockState;
@@ -36,8 +38,8 @@ import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -46,7 +48,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-public final class BlockStateSerializer implements JsonResourceSerializer<BlockState>, JsonResourceDeserializer<BlockState> {
+public final class BlockStateSerializer implements JsonResourceSerializer<BlockState>, StreamingJsonResourceDeserializer<BlockState> {
 
     public static final BlockStateSerializer INSTANCE;
     public static final ResourceCategoryImpl<BlockState> CATEGORY;
@@ -116,6 +118,41 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         return BlockState.of(key, variants, multipart);
     }
 
+    @Override
+    public BlockState deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        Map<String, MultiVariant> variants = new LinkedHashMap<>();
+        List<Selector> multipart = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "variants":
+                    variants.clear();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String variantKey = reader.nextName();
+                        variants.put(variantKey, readMultiVariant(reader));
+                    }
+                    reader.endObject();
+                    break;
+                case "multipart":
+                    multipart.clear();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        multipart.add(readSelector(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        return BlockState.of(key, variants, multipart);
+    }
+
     private static void writeMultiVariant(JsonWriter writer, MultiVariant multiVariant) throws IOException {
         List<Variant> variants = multiVariant.variants();
         if (variants.size() == 1) {
@@ -145,6 +182,22 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         }
     }
 
+    private static MultiVariant readMultiVariant(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.BEGIN_OBJECT) {
+            // single variant
+            return MultiVariant.of(readVariant(reader));
+        } else {
+            // multiple variants
+            List<Variant> variants = new ArrayList<>();
+            reader.beginArray();
+            while (reader.hasNext()) {
+                variants.add(readVariant(reader));
+            }
+            reader.endArray();
+            return MultiVariant.of(variants);
+        }
+    }
+
     private static void writeVariant(JsonWriter writer, Variant variant) throws IOException {
         writer
                 .beginObject()
@@ -178,6 +231,35 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
                 .build();
     }
 
+    private static Variant readVariant(JsonReader reader) throws IOException {
+        Variant.Builder builder = Variant.builder();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model":
+                    builder.model(Key.key(reader.nextString()));
+                    break;
+                case "x":
+                    builder.x(GsonUtil.nextInt(reader, "x"));
+                    break;
+                case "y":
+                    builder.y(GsonUtil.nextInt(reader, "y"));
+                    break;
+                case "uvlock":
+                    builder.uvLock(GsonUtil.nextBoolean(reader, "uvlock"));
+                    break;
+                case "weight":
+                    builder.weight(GsonUtil.nextInt(reader, "weight"));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return builder.build();
+    }
+
     private static void writeSelector(JsonWriter writer, Selector selector) throws IOException {
         writer.beginObject();
 
@@ -204,6 +286,30 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         return Selector.of(condition, multiVariant);
     }
 
+    private static Selector readSelector(JsonReader reader) throws IOException {
+        Condition condition = Condition.NONE;
+        MultiVariant multiVariant = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "when":
+                    condition = readCondition(reader);
+                    break;
+                case "apply":
+                    multiVariant = readMultiVariant(reader);
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        if (multiVariant == null) {
+            throw new IllegalStateException("Selector must have an 'apply' field");
+        }
+        return Selector.of(condition, multiVariant);
+    }
+
     private static void writeCondition(JsonWriter writer, Condition condition) throws IOException {
         writeCondition(writer, condition, false);
     }
@@ -293,4 +399,51 @@ public final class BlockStateSerializer implements JsonResourceSerializer<BlockS
         }
     }
 
-}
\ No newline at end of file
+    private static Condition readCondition(JsonReader reader) throws IOException {
+        // values are either match values (String) or nested
+        // condition lists (for AND/OR)
+        Map<String, Object> entries = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (("AND".equals(name) || "OR".equals(name)) && reader.peek() == JsonToken.BEGIN_ARRAY) {
+                List<Condition> conditions = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    // recursive
+                    conditions.add(readCondition(reader));
+                }
+                reader.endArray();
+                entries.put(name, conditions);
+            } else {
+                entries.put(name, GsonUtil.nextString(reader));
+            }
+        }
+        reader.endObject();
+
+        if (entries.isEmpty()) {
+            throw new IllegalStateException("No conditions");
+        } else if (entries.size() == 1) {
+            Map.Entry<String, Object> entry = entries.entrySet().iterator().next();
+            Object value = entry.getValue();
+            if (value instanceof List) {
+                @SuppressWarnings("unchecked")
+                List<Condition> conditions = (List<Condition>) value;
+                return "AND".equals(entry.getKey()) ? Condition.and(conditions) : Condition.or(conditions);
+            }
+            // match (key -> value)
+            return Condition.match(entry.getKey(), (String) value);
+        } else {
+            // AND everything by match (key -> value)
+            List<Condition> conditions = new ArrayList<>();
+            for (Map.Entry<String, Object> entry : entries.entrySet()) {
+                if (!(entry.getValue() instanceof String)) {
+                    throw new IllegalStateException("Condition '" + entry.getKey() + "' must be a string");
+                }
+                conditions.add(Condition.match(entry.getKey(), (String) entry.getValue()));
+            }
+            return Condition.and(conditions);
+        }
+    }
+
+}
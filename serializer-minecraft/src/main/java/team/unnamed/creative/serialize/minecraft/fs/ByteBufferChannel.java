@@ -0,0 +1,193 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Read-only {@link SeekableByteChannel} over the remaining bytes of a
+ * {@link ByteBuffer}. The buffer is never copied, and independent
+ * streams over regions of it can be opened from any thread.
+ */
+final class ByteBufferChannel implements SeekableByteChannel {
+    private final ByteBuffer buffer;
+    private long position;
+    private boolean open = true;
+
+    ByteBufferChannel(final @NotNull ByteBuffer buffer) {
+        // slice so that the given buffer position and limit are not modified
+        this.buffer = requireNonNull(buffer, "buffer").slice();
+    }
+
+    @Override
+    public int read(final @NotNull ByteBuffer dst) throws IOException {
+        if (!open) {
+            throw new ClosedChannelException();
+        }
+        final int size = buffer.limit();
+        if (position >= size) {
+            return -1;
+        }
+        final int length = (int) Math.min(dst.remaining(), size - position);
+        final ByteBuffer src = buffer.duplicate();
+        src.position((int) position).limit((int) position + length);
+        dst.put(src);
+        position += length;
+        return length;
+    }
+
+    @Override
+    public int write(final @NotNull ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public @NotNull SeekableByteChannel position(final long newPosition) {
+        if (newPosition < 0) {
+            throw new IllegalArgumentException("Negative position: " + newPosition);
+        }
+        this.position = newPosition;
+        return this;
+    }
+
+    @Override
+    public long size() {
+        return buffer.limit();
+    }
+
+    @Override
+    public @NotNull SeekableByteChannel truncate(final long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    /**
+     * Returns a view of the given region of the buffer, sharing its content.
+     *
+     * @param offset The region offset
+     * @param length The region length
+     * @return The region view
+     * @throws EOFException If the region is out of the buffer bounds
+     */
+    @NotNull ByteBuffer region(final long offset, final long length) throws EOFException {
+        if (offset < 0 || length < 0 || offset + length > buffer.limit()) {
+            throw new EOFException("Unexpected end of ZIP archive");
+        }
+        final ByteBuffer region = buffer.duplicate();
+        region.position((int) offset).limit((int) (offset + length));
+        return region.slice();
+    }
+
+    /**
+     * Opens a stream over the given region of the buffer, without
+     * copying it.
+     *
+     * @param offset The region offset
+     * @param length The region length
+     * @return The region stream
+     * @throws EOFException If the region is out of the buffer bounds
+     */
+    @NotNull InputStream stream(final long offset, final long length) throws EOFException {
+        final ByteBuffer region = region(offset, length);
+        return new InputStream() {
+            @Override
+            public int read() {
+                return region.hasRemaining() ? region.get() & 0xFF : -1;
+            }
+
+            @Override
+            public int read(final byte @NotNull [] b, final int off, final int len) {
+                if (len == 0) {
+                    return 0;
+                }
+                if (!region.hasRemaining()) {
+                    return -1;
+                }
+                final int read = Math.min(len, region.remaining());
+                region.get(b, off, read);
+                return read;
+            }
+
+            @Override
+            public long skip(final long n) {
+                final int skipped = (int) Math.max(0, Math.min(n, region.remaining()));
+                region.position(region.position() + skipped);
+                return skipped;
+            }
+
+            @Override
+            public int available() {
+                return region.remaining();
+            }
+        };
+    }
+
+    /**
+     * Writes the given region of the buffer to the given output,
+     * directly from the backing array if the buffer has one.
+     *
+     * @param offset The region offset
+     * @param length The region length
+     * @param output The output
+     * @throws IOException If writing fails or the region is out of bounds
+     */
+    void writeTo(final long offset, final long length, final @NotNull OutputStream output) throws IOException {
+        final ByteBuffer region = region(offset, length);
+        if (region.hasArray()) {
+            output.write(region.array(), region.arrayOffset() + region.position(), region.remaining());
+            return;
+        }
+        final byte[] buf = new byte[(int) Math.min(region.remaining(), 8192)];
+        while (region.hasRemaining()) {
+            final int len = Math.min(buf.length, region.remaining());
+            region.get(buf, 0, len);
+            output.write(buf, 0, len);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Readable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A store for the contents of file tree entries that must outlive
+ * the entry itself, e.g. the contents of a ZIP input stream entry,
+ * that can't be read again once the stream advances.
+ *
+ * <p>Returned {@link Readable} handles can be opened any number of
+ * times (and from any thread) until the store is closed.</p>
+ *
+ * @see FileTreeReader#zip(java.util.zip.ZipInputStream, ContentStore)
+ * @since 1.8.4
+ */
+public interface ContentStore extends AutoCloseable {
+
+    /**
+     * Reads all the given input stream and stores it.
+     *
+     * <p>Note that this method WILL NOT close the given {@code input}.</p>
+     *
+     * @param input The input stream to read
+     * @return A handle to the stored content
+     * @throws IOException If reading or storing fails
+     * @since 1.8.4
+     */
+    @NotNull Readable store(final @NotNull InputStream input) throws IOException;
+
+    /**
+     * Closes this store and releases the resources used by it,
+     * handles returned by it may not be readable after this.
+     *
+     * @throws IOException If closing fails
+     * @since 1.8.4
+     */
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Returns a {@link ContentStore} that keeps all the contents
+     * in memory (the default).
+     *
+     * <p>Closing it does nothing.</p>
+     *
+     * @return The memory content store
+     * @since 1.8.4
+     */
+    static @NotNull ContentStore memory() {
+        return MemoryContentStore.INSTANCE;
+    }
+
+    /**
+     * Creates a new {@link ContentStore} that keeps contents of
+     * up to {@code threshold} bytes in memory and spills bigger
+     * contents to a temporary file, in the default temporary-file
+     * directory.
+     *
+     * <p>The temporary file is deleted when the store is closed.</p>
+     *
+     * @param threshold The maximum size of in-memory contents, in bytes
+     * @return The created content store
+     * @since 1.8.4
+     */
+    @Contract("_ -> new")
+    static @NotNull ContentStore spilling(final int threshold) {
+        return new SpillingContentStore(null, threshold);
+    }
+
+    /**
+     * Creates a new {@link ContentStore} that keeps contents of
+     * up to {@code threshold} bytes in memory and spills bigger
+     * contents to a temporary file in the given directory.
+     *
+     * <p>The temporary file is deleted when the store is closed.</p>
+     *
+     * @param directory The directory for the temporary file
+     * @param threshold The maximum size of in-memory contents, in bytes
+     * @return The created content store
+     * @since 1.8.4
+     */
+    @Contract("_, _ -> new")
+    static @NotNull ContentStore spilling(final @NotNull Path directory, final int threshold) {
+        requireNonNull(directory, "directory");
+        return new SpillingContentStore(directory, threshold);
+    }
+
+}
@@ -26,60 +26,60 @@ package team.unnamed.creative.serialize.minecraft.fs;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.NoSuchElementException;
 
+/**
+ * A {@link FileTreeReader} implementation for a directory in
+ * the file system.
+ *
+ * <p>Directories are listed lazily, one at a time.</p>
+ *
+ * <p>Entry streams are only opened if requested. Entry contents are
+ * copied to memory, so that the read resource-pack can be written back
+ * to the same directory, which deletes the previous files.</p>
+ */
 final class DirectoryFileTreeReader implements FileTreeReader {
 
-    private final File root;
-    private final List<File> folders = new ArrayList<>();
-    private int folderCursor;
-    private File @Nullable [] files;
-    private int fileCursor;
+    private final Path root;
 
-    private InputStream currentStream;
+    private final Deque<Path> directories = new ArrayDeque<>();
+    private final Deque<Path> files = new ArrayDeque<>();
 
-    DirectoryFileTreeReader(File root) {
+    private @Nullable Path current;
+    private @Nullable InputStream currentStream;
+
+    DirectoryFileTreeReader(final @NotNull Path root) {
         this.root = root;
-        folders.add(root);
+        directories.add(root);
     }
 
     @Override
     public boolean hasNext() {
-        while (true) {
-            if (files == null) {
-                // we must look for a folder and make
-                // files be equal to its children
-                if (folderCursor >= folders.size()) {
-                    // no more folders
-                    return false;
-                }
-
-                File folder = folders.get(folderCursor++);
-                files = folder.listFiles();
-
-                if (files == null) {
-                    throw new IllegalStateException("Null children from file " + folder);
-                }
+        while (files.isEmpty()) {
+            Path directory = directories.poll();
+            if (directory == null) {
+                // no more directories
+                return false;
             }
-
-            while (fileCursor < files.length) {
-                File file = files[fileCursor];
-                if (file.isDirectory()) {
-                    folders.add(file);
-                    fileCursor++;
-                } else {
-                    return true;
-                }
+            List<Path> children = new ArrayList<>();
+            list(directory, files, children);
+            // children are visited before the siblings of their parent
+            for (int i = children.size() - 1; i >= 0; i--) {
+                directories.addFirst(children.get(i));
             }
-            files = null;
-            fileCursor = 0;
         }
+        return true;
     }
 
     @Override
@@ -88,50 +88,73 @@ final class DirectoryFileTreeReader implements FileTreeReader {
             throw new NoSuchElementException("No more elements");
         }
 
-        if (currentStream != null) {
-            Streams.closeUnchecked(currentStream);
-            currentStream = null;
-        }
+        closeCurrentStream();
+        current = files.poll();
+        return relativize(root, current);
+    }
 
-        if (files == null || fileCursor >= files.length) {
-            throw new NoSuchElementException("No more elements");
-        } else {
-            File current = files[fileCursor++];
+    @Override
+    public @NotNull InputStream stream() {
+        if (current == null) {
+            throw new IllegalStateException("No current entry, call next() first");
+        }
+        if (currentStream == null) {
             try {
-                currentStream = new FileInputStream(current);
+                currentStream = Files.newInputStream(current);
             } catch (IOException e) {
-                throw new IllegalStateException("Couldn't open InputStream for: " + current, e);
+                throw new UncheckedIOException("Couldn't open InputStream for: " + current, e);
             }
-            return relativize(root, current);
         }
-    }
-
-    @Override
-    public @NotNull InputStream stream() {
         return currentStream;
     }
 
     @Override
     public void close() {
+        closeCurrentStream();
+    }
+
+    private void closeCurrentStream() {
         if (currentStream != null) {
             Streams.closeUnchecked(currentStream);
             currentStream = null;
         }
     }
 
-    private static String relativize(File parent, File child) {
-        StringBuilder builder = new StringBuilder();
-        builder.append(child.getName());
+    /*
+     * Lists the given directory, adding its regular files to
+     * the 'files' collection and its subdirectories to the
+     * 'directories' collection
+     */
+    private static void list(Path directory, Deque<Path> files, List<Path> directories) {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path child : stream) {
+                BasicFileAttributes attributes = Files.readAttributes(child, BasicFileAttributes.class);
+                if (attributes.isDirectory()) {
+                    directories.add(child);
+                } else {
+                    files.add(child);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Couldn't list directory: " + directory, e);
+        }
+    }
 
-        while ((child = child.getParentFile()) != null) {
-            if (parent.equals(child)) {
-                // finished!
-                return builder.toString();
+    private static String relativize(Path root, Path file) {
+        Path relative = root.relativize(file);
+        int count = relative.getNameCount();
+        if (count == 1) {
+            return relative.toString();
+        }
+        // always use '/' as separator, independently of the file system
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                builder.append('/');
             }
-            // prepend current folder to the string builder
-            builder.insert(0, child.getName() + "/");
+            builder.append(relative.getName(i));
         }
-        throw new IllegalStateException("");
+        return builder.toString();
     }
 
 }
@@ -25,11 +25,11 @@ package team.unnamed.creative.serialize.minecraft.fs;
 
 import team.unnamed.creative.base.Writable;
 
-import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -38,13 +38,17 @@ final class DirectoryFileTreeWriter
 
     private final Set<String> names = new HashSet<>();
 
-    private final File root;
+    // directories known to exist, avoids checking
+    // the file system again for every written file
+    private final Set<Path> directories = new HashSet<>();
+
+    private final Path root;
     private OutputStream stream;
 
-    DirectoryFileTreeWriter(File root, boolean clear) {
+    DirectoryFileTreeWriter(Path root, boolean clear) {
         this.root = root;
         if (clear) {
-            Streams.deleteContents(root);
+            Streams.deleteContents(root.toFile());
         }
     }
 
@@ -62,8 +66,6 @@ final class DirectoryFileTreeWriter
             Streams.closeUnchecked(stream);
         }
 
-        File file = getFile(path);
-
         if (names.contains(path)) {
             throw new IllegalStateException(
                     "File " + path + " already"
@@ -71,18 +73,15 @@ final class DirectoryFileTreeWriter
             );
         }
 
-        if (file.exists()) {
-            file.delete();
-        } else {
-            File parent = file.getParentFile();
-            if (!parent.exists()) {
-                parent.mkdirs();
-            }
-        }
+        Path file = root.resolve(path);
 
         try {
-            file.createNewFile();
-            stream = new FileOutputStream(file);
+            Path parent = file.getParent();
+            if (parent != null && directories.add(parent)) {
+                Files.createDirectories(parent);
+            }
+            // creates the file or truncates it if it already exists
+            stream = Files.newOutputStream(file);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -113,8 +112,4 @@ final class DirectoryFileTreeWriter
         finish();
     }
 
-    private File getFile(String path) {
-        return new File(root, path);
-    }
-
 }
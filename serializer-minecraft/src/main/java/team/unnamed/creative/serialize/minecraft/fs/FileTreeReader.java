@@ -30,9 +30,15 @@ import team.unnamed.creative.base.Readable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Path;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
+import static java.util.Objects.requireNonNull;
+
 public interface FileTreeReader extends AutoCloseable {
 
     boolean hasNext();
@@ -92,6 +98,24 @@ public interface FileTreeReader extends AutoCloseable {
         return new ZipInputStreamFileTreeReader(zip);
     }
 
+    /**
+     * Creates a new {@link FileTreeReader} from the given {@link ZipInputStream},
+     * the {@link #content()} of each entry is kept by the given {@link ContentStore}.
+     *
+     * <p>The content store is not closed by the reader, since the
+     * returned contents may be used after the reader is closed.</p>
+     *
+     * @param zip The ZIP input stream to read
+     * @param contentStore The store for the entry contents
+     * @return The created file tree reader
+     * @since 1.8.4
+     */
+    static @NotNull FileTreeReader zip(final @NotNull ZipInputStream zip, final @NotNull ContentStore contentStore) {
+        requireNonNull(zip, "zip");
+        requireNonNull(contentStore, "contentStore");
+        return new ZipInputStreamFileTreeReader(zip, contentStore);
+    }
+
     /**
      * Creates a new {@link FileTreeReader} from the given {@link ZipFile}.
      *
@@ -103,7 +127,116 @@ public interface FileTreeReader extends AutoCloseable {
         return new ZipFileTreeReader(zipFile);
     }
 
+    /**
+     * Creates a new {@link FileTreeReader} from the given {@link ZipFile}.
+     *
+     * <p>The contents returned by {@link #content()} that are still
+     * referenced when the reader is closed are memoized into the given
+     * {@link ContentStore} (as compressed data, when possible), instead
+     * of individual byte arrays in the heap. Contents memoized as
+     * compressed data are inflated into the store once, the first time
+     * they are read, the compressed data is also kept, so it can still
+     * be copied as-is when writing a ZIP.</p>
+     *
+     * <p>The content store is not closed by the reader, since the
+     * returned contents may be used after the reader is closed.</p>
+     *
+     * @param zipFile The zip file to read
+     * @param contentStore The store for memoized contents
+     * @return The created file tree reader
+     * @since 1.8.4
+     */
+    static @NotNull FileTreeReader zip(final @NotNull ZipFile zipFile, final @NotNull ContentStore contentStore) {
+        requireNonNull(zipFile, "zipFile");
+        requireNonNull(contentStore, "contentStore");
+        return new ZipFileTreeReader(zipFile, contentStore);
+    }
+
+    /**
+     * Marks the given content, returned by the {@link #content()} of a
+     * reader created from a {@link ZipFile}, so that it is not memoized
+     * when the reader is closed. Instead, it is read from the ZIP file
+     * again when accessed after that, so the file must not be modified
+     * or deleted while the content is in use.
+     *
+     * <p>Other contents are not modified.</p>
+     *
+     * @param content The content
+     * @return The given content
+     */
+    @ApiStatus.Internal
+    static @NotNull Readable deferred(final @NotNull Readable content) {
+        requireNonNull(content, "content");
+        ZipFileTreeReader.defer(content);
+        return content;
+    }
+
+    /**
+     * Creates a new {@link FileTreeReader} for the ZIP archive in the
+     * remaining bytes of the given {@link ByteBuffer}.
+     *
+     * <p>Only the central directory is parsed when creating the reader,
+     * entry contents are read on demand, directly from the buffer, so
+     * the archive is never copied. Contents can be read from any thread,
+     * even after the reader is closed, so this reader works with both
+     * parallel and lazy reads.</p>
+     *
+     * <p>The position and limit of the given buffer are not modified,
+     * but its contents must not be modified while they can be read.</p>
+     *
+     * @param buffer The buffer containing the ZIP archive
+     * @return The created file tree reader
+     * @throws UncheckedIOException If the archive is invalid
+     * @since 1.8.4
+     */
+    static @NotNull FileTreeReader zip(final @NotNull ByteBuffer buffer) {
+        requireNonNull(buffer, "buffer");
+        return zip(new ByteBufferChannel(buffer));
+    }
+
+    /**
+     * Creates a new {@link FileTreeReader} for the ZIP archive in the
+     * given {@link SeekableByteChannel}.
+     *
+     * <p>Only the central directory is parsed when creating the reader,
+     * entry contents are read on demand, directly from the channel, and
+     * can be read from any thread. Reads from a {@link java.nio.channels.FileChannel}
+     * are positional, other channels are locked while reading.</p>
+     *
+     * <p>The channel is not closed by the reader, contents can be read
+     * until the channel is closed.</p>
+     *
+     * @param channel The channel containing the ZIP archive
+     * @return The created file tree reader
+     * @throws UncheckedIOException If the archive is invalid
+     * @since 1.8.4
+     */
+    static @NotNull FileTreeReader zip(final @NotNull SeekableByteChannel channel) {
+        requireNonNull(channel, "channel");
+        try {
+            return new SeekableZipFileTreeReader(channel);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read ZIP central directory", e);
+        }
+    }
+
     static FileTreeReader directory(File root) {
+        return directory(root.toPath());
+    }
+
+    /**
+     * Creates a new {@link FileTreeReader} for the given directory.
+     *
+     * <p>Directories are listed lazily, one at a time, and entry
+     * streams are only opened when requested. Entry contents are
+     * copied to memory.</p>
+     *
+     * @param root The root directory
+     * @return The created file tree reader
+     * @since 1.8.4
+     */
+    static @NotNull FileTreeReader directory(final @NotNull Path root) {
+        requireNonNull(root, "root");
         return new DirectoryFileTreeReader(root);
     }
 
@@ -25,6 +25,8 @@ package team.unnamed.creative.serialize.minecraft.fs;
 
 import com.google.gson.stream.JsonWriter;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
 
 import java.io.File;
@@ -32,10 +34,15 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Represents a file tree, which may be implemented by a
  * real file system with real files, or ZIP files
@@ -126,6 +133,24 @@ public interface FileTreeWriter extends AutoCloseable {
      * @return The created file tree for the given folder
      */
     static FileTreeWriter directory(File root, boolean clear) {
+        return directory(root.toPath(), clear);
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance for
+     * the given {@link Path} folder, all files will
+     * be written inside it
+     *
+     * <p>Will delete all the contents of the {@code root}
+     * folder if {@code clear} is set to true</p>
+     *
+     * @param root The root folder
+     * @param clear True to delete the folder contents
+     * @return The created file tree for the given folder
+     * @since 1.8.4
+     */
+    static @NotNull FileTreeWriter directory(final @NotNull Path root, final boolean clear) {
+        requireNonNull(root, "root");
         return new DirectoryFileTreeWriter(root, clear);
     }
 
@@ -162,6 +187,31 @@ public interface FileTreeWriter extends AutoCloseable {
         return new ZipFileTreeWriter(zipStream, entryLifecycleHandler);
     }
 
+    /**
+     * Creates a new {@link FileTreeWriter} instance for
+     * the given {@link ZipOutputStream}, will not
+     * be closed
+     *
+     * <p>The compression method and level of each entry are
+     * determined by the given {@link ZipCompressionPolicy}, the
+     * CRC and size of stored entries are computed before writing
+     * them</p>
+     *
+     * <p>Note that the created file tree will never
+     * close the given output stream, but it may be
+     * finished ({@link ZipOutputStream#finish()})</p>
+     *
+     * @param zipStream The underlying zip stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @param compressionPolicy The compression policy
+     * @return The file tree for the given zip output
+     * stream
+     * @since 1.8.4
+     */
+    static FileTreeWriter zip(ZipOutputStream zipStream, ZipEntryLifecycleHandler entryLifecycleHandler, ZipCompressionPolicy compressionPolicy) {
+        return new ZipFileTreeWriter(zipStream, entryLifecycleHandler, compressionPolicy);
+    }
+
     /**
      * Creates a new {@link FileTreeWriter} instance for
      * the given {@link ZipOutputStream}, will not
@@ -206,4 +256,111 @@ public interface FileTreeWriter extends AutoCloseable {
         return zip(zipStream, ZipEntryLifecycleHandler.DEFAULT);
     }
 
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, using the
+     * given {@link ZipEntryCache} to avoid compressing again
+     * the entries that were compressed before
+     *
+     * <p>Entries are compressed in memory before being written,
+     * so their CRC and sizes are always known and written in the
+     * local file headers. The output is deterministic for the same
+     * entries, but may not be byte-to-byte equal to the output of
+     * {@link #zip(ZipOutputStream, ZipEntryLifecycleHandler)}</p>
+     *
+     * <p>Note that closing the created file tree closes the given
+     * output stream, but finishing it doesn't</p>
+     *
+     * @param output The underlying output stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @param cache The compressed entry cache, may be shared between file trees
+     * @return The file tree for the given output stream
+     * @since 1.8.4
+     */
+    static FileTreeWriter zip(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, ZipEntryCache cache) {
+        return zip(output, entryLifecycleHandler, ZipCompressionPolicy.DEFLATE_ALL, cache);
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, compressing
+     * the entries as determined by the given {@link ZipCompressionPolicy}
+     * and using the given {@link ZipEntryCache}, if any, to avoid
+     * compressing again the entries that were compressed before
+     *
+     * <p>Note that closing the created file tree closes the given
+     * output stream, but finishing it doesn't</p>
+     *
+     * @param output The underlying output stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @param compressionPolicy The compression policy
+     * @param cache The compressed entry cache, may be null
+     * @return The file tree for the given output stream
+     * @since 1.8.4
+     */
+    static FileTreeWriter zip(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, ZipCompressionPolicy compressionPolicy, @Nullable ZipEntryCache cache) {
+        return new ZipArchiveFileTreeWriter(output, entryLifecycleHandler, compressionPolicy, cache);
+    }
+
+    /**
+     * Determines whether the given data was read from a ZIP archive
+     * entry whose compressed data can be copied as-is by the file trees
+     * created by {@link #zip(OutputStream, ZipEntryLifecycleHandler, ZipCompressionPolicy, ZipEntryCache)},
+     * instead of compressing it again.
+     *
+     * @param data The data
+     * @return True if the data is backed by a ZIP archive entry
+     * @since 1.8.4
+     */
+    @ApiStatus.Internal
+    static boolean zipEntryBacked(Writable data) {
+        return data instanceof ZipEntryWritable;
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, compressing
+     * the entries in parallel using the given {@link Executor}
+     *
+     * <p>Entries are written in the same order they were given,
+     * and big entries are split in blocks that are compressed in
+     * parallel too. The output is a standard ZIP archive and it is
+     * always the same for the same entries, but it may not be
+     * byte-to-byte equal to the output of the other ZIP file
+     * trees</p>
+     *
+     * <p>Note that closing the created file tree closes the given
+     * output stream, but finishing it doesn't</p>
+     *
+     * @param output The underlying output stream
+     * @param entryLifecycleHandler The ZIP archive entry lifecycle handler
+     * @param compressionPolicy The compression policy
+     * @param executor The executor used to compress the entries
+     * @return The file tree for the given output stream
+     * @since 1.8.4
+     */
+    static FileTreeWriter parallelZip(OutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, ZipCompressionPolicy compressionPolicy, Executor executor) {
+        return new ParallelZipFileTreeWriter(output, entryLifecycleHandler, compressionPolicy, executor);
+    }
+
+    /**
+     * Creates a new {@link FileTreeWriter} instance that writes
+     * a ZIP archive to the given {@link OutputStream}, compressing
+     * the entries in parallel using the {@link ForkJoinPool#commonPool()
+     * common pool}, the {@link ZipEntryLifecycleHandler#DEFAULT default
+     * lifecycle handler} and the {@link ZipCompressionPolicy#DEFLATE_ALL
+     * default compression policy}
+     *
+     * <p>Note that closing the created file tree closes the given
+     * output stream, but finishing it doesn't</p>
+     *
+     * @param output The underlying output stream
+     * @return The file tree for the given output stream
+     * @see #parallelZip(OutputStream, ZipEntryLifecycleHandler, ZipCompressionPolicy, Executor)
+     * @since 1.8.4
+     */
+    static FileTreeWriter parallelZip(OutputStream output) {
+        return parallelZip(output, ZipEntryLifecycleHandler.DEFAULT, ZipCompressionPolicy.DEFLATE_ALL, ForkJoinPool.commonPool());
+    }
+
 }
@@ -0,0 +1,384 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * {@link FileTreeWriter} implementation for ZIP archives that
+ * compresses entries in parallel, using the given {@link Executor}
+ * and a pool of {@link Deflater}s, similar to what pigz does.
+ *
+ * <p>Entries bigger than {@link #BLOCK_SIZE} are split into blocks
+ * that are compressed in parallel too, each block is primed with
+ * the last 32KB of the previous one (as a preset dictionary) and
+ * flushed to a byte boundary, so concatenating them results in a
+ * single valid deflate stream.</p>
+ *
+ * <p>Entries are always written in the order they were given, and
+ * their compressed data only depends on their content, compression
+ * level and block size, so the output is reproducible no matter how
+ * tasks are scheduled.</p>
+ */
+final class ParallelZipFileTreeWriter implements FileTreeWriter {
+
+    static final int BLOCK_SIZE = 128 * 1024; // 128KB
+    private static final int DICTIONARY_SIZE = 32 * 1024; // 32KB, the deflate window size
+
+    // limits for the entries waiting to be written, to bound memory usage
+    private static final int MAX_PENDING_ENTRIES = 1024;
+    private static final long MAX_PENDING_BYTES = 64L * 1024L * 1024L; // 64MB
+
+    private final Set<String> names = new HashSet<>();
+    private final ZipArchiveOutput output;
+    private final ZipEntryLifecycleHandler entryLifecycleHandler;
+    private final ZipCompressionPolicy compressionPolicy;
+    private final Executor executor;
+
+    private final Queue<PendingEntry> pending = new ArrayDeque<>();
+    private long pendingBytes;
+
+    // deflater pool, by compression level
+    private final Map<Integer, Queue<Deflater>> deflaters = new ConcurrentHashMap<>();
+
+    private EntryOutputStream current;
+
+    ParallelZipFileTreeWriter(
+            OutputStream output,
+            ZipEntryLifecycleHandler entryLifecycleHandler,
+            ZipCompressionPolicy compressionPolicy,
+            Executor executor
+    ) {
+        this.output = new ZipArchiveOutput(output);
+        this.entryLifecycleHandler = entryLifecycleHandler;
+        this.compressionPolicy = compressionPolicy;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return names.contains(path);
+    }
+
+    @Override
+    public OutputStream openStream(String path) {
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+
+        closeCurrent();
+        current = new EntryOutputStream(entryLifecycleHandler.create(path));
+        return current; // should be closed when any other method is called
+    }
+
+    @Override
+    public void write(String path, Writable data) {
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+
+        closeCurrent();
+        ZipEntry entry = entryLifecycleHandler.create(path);
+        ZipEntryData compressed = ZipEntryWritable.compressed(data, method(entry));
+        if (compressed != null) {
+            // copy the compressed data as-is
+            enqueue(entry, 0, CompletableFuture.completedFuture(compressed));
+            return;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = data.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        submit(entry, bytes, bytes.length);
+    }
+
+    private void closeCurrent() {
+        if (current != null) {
+            // did you forgor to close it?
+            current.close();
+            current = null;
+        }
+    }
+
+    private int method(ZipEntry entry) {
+        // the method set by the lifecycle handler takes precedence
+        int method = entry.getMethod();
+        return method == -1 ? compressionPolicy.method(entry.getName()) : method;
+    }
+
+    private void submit(ZipEntry entry, byte[] bytes, int length) {
+        CompletableFuture<ZipEntryData> data;
+        if (method(entry) == ZipEntry.STORED) {
+            data = CompletableFuture.supplyAsync(() -> ZipEntryData.stored(bytes, length), executor);
+        } else {
+            data = deflate(bytes, length, compressionPolicy.level(entry.getName()));
+        }
+        enqueue(entry, length, data);
+    }
+
+    private void enqueue(ZipEntry entry, long size, CompletableFuture<ZipEntryData> data) {
+        pending.add(new PendingEntry(entry, size, data));
+        pendingBytes += size;
+
+        // write the entries that are already compressed, we must
+        // keep the order, so we stop at the first one that is not,
+        // unless there are too many entries waiting
+        PendingEntry head;
+        while ((head = pending.peek()) != null
+                && (head.data.isDone() || pending.size() > MAX_PENDING_ENTRIES || pendingBytes > MAX_PENDING_BYTES)) {
+            writeEntry(pending.poll());
+        }
+    }
+
+    private CompletableFuture<ZipEntryData> deflate(byte[] bytes, int length, int level) {
+        if (length <= BLOCK_SIZE) {
+            return CompletableFuture.supplyAsync(() -> {
+                Deflater deflater = borrowDeflater(level);
+                try {
+                    return ZipEntryData.deflated(bytes, length, level, deflater);
+                } finally {
+                    returnDeflater(level, deflater);
+                }
+            }, executor);
+        }
+
+        int blockCount = (length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        List<CompletableFuture<byte[]>> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            int offset = i * BLOCK_SIZE;
+            int blockLength = Math.min(BLOCK_SIZE, length - offset);
+            boolean last = i == blockCount - 1;
+            blocks.add(CompletableFuture.supplyAsync(() -> deflateBlock(bytes, offset, blockLength, last, level), executor));
+        }
+
+        return CompletableFuture.allOf(blocks.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            CRC32 crc = new CRC32();
+            crc.update(bytes, 0, length);
+
+            List<byte[]> compressed = new ArrayList<>(blockCount);
+            long compressedSize = 0;
+            for (CompletableFuture<byte[]> block : blocks) {
+                byte[] blockData = block.join();
+                compressed.add(blockData);
+                compressedSize += blockData.length;
+            }
+
+            return new ZipEntryData(ZipEntry.DEFLATED, crc.getValue(), length, compressedSize, target -> {
+                for (byte[] blockData : compressed) {
+                    target.write(blockData);
+                }
+            });
+        });
+    }
+
+    private byte[] deflateBlock(byte[] bytes, int offset, int length, boolean last, int level) {
+        Deflater deflater = borrowDeflater(level);
+        try {
+            deflater.reset();
+            if (offset > 0) {
+                // so that matches can refer to the previous block data
+                int dictionaryLength = Math.min(DICTIONARY_SIZE, offset);
+                deflater.setDictionary(bytes, offset - dictionaryLength, dictionaryLength);
+            }
+            deflater.setInput(bytes, offset, length);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(length / 2);
+            byte[] buf = new byte[16 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int len = deflater.deflate(buf);
+                    compressed.write(buf, 0, len);
+                }
+            } else {
+                // sync flush, so that the block ends in a byte boundary
+                // and can be concatenated with the next one
+                int len;
+                do {
+                    len = deflater.deflate(buf, 0, buf.length, Deflater.SYNC_FLUSH);
+                    compressed.write(buf, 0, len);
+                } while (len == buf.length || !deflater.needsInput());
+            }
+            return compressed.toByteArray();
+        } finally {
+            returnDeflater(level, deflater);
+        }
+    }
+
+    private Deflater borrowDeflater(int level) {
+        Deflater deflater = deflaters.computeIfAbsent(level, k -> new ConcurrentLinkedQueue<>()).poll();
+        return deflater == null ? new Deflater(level, true) : deflater;
+    }
+
+    private void returnDeflater(int level, Deflater deflater) {
+        deflaters.computeIfAbsent(level, k -> new ConcurrentLinkedQueue<>()).add(deflater);
+    }
+
+    private void writeEntry(PendingEntry entry) {
+        pendingBytes -= entry.size;
+        ZipEntryData data;
+        try {
+            data = entry.data.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+
+        try {
+            output.writeEntry(entry.entry, data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entryLifecycleHandler.onClose(entry.entry);
+    }
+
+    private void writePending() {
+        PendingEntry entry;
+        while ((entry = pending.poll()) != null) {
+            writeEntry(entry);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try {
+            closeCurrent();
+            writePending();
+            output.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            endDeflaters();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            closeCurrent();
+            writePending();
+            output.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            endDeflaters();
+        }
+    }
+
+    private void endDeflaters() {
+        for (Queue<Deflater> pool : deflaters.values()) {
+            Deflater deflater;
+            while ((deflater = pool.poll()) != null) {
+                deflater.end();
+            }
+        }
+    }
+
+    private static final class PendingEntry {
+        private final ZipEntry entry;
+        private final long size;
+        private final CompletableFuture<ZipEntryData> data;
+
+        PendingEntry(ZipEntry entry, long size, CompletableFuture<ZipEntryData> data) {
+            this.entry = entry;
+            this.size = size;
+            this.data = data;
+        }
+    }
+
+    private final class EntryOutputStream extends ByteArrayOutputStream {
+
+        private final ZipEntry entry;
+        private boolean closed;
+
+        private EntryOutputStream(ZipEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public synchronized void write(int b) {
+            ensureValid();
+            super.write(b);
+        }
+
+        @Override
+        public synchronized void write(byte @NotNull [] b, int off, int len) {
+            ensureValid();
+            super.write(b, off, len);
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                // the buffer is not modified after this, so
+                // it can be compressed without copying it
+                submit(entry, buf, count);
+            }
+        }
+
+        private void ensureValid() {
+            if (closed) {
+                if (current != this) {
+                    // !!! A new entry output stream was opened,
+                    // we are not anymore the current entry os
+                    throw new UncheckedIOException(new IOException("A new output stream has been " +
+                            "opened, this one is no longer usable"));
+                }
+                throw new UncheckedIOException(new IOException("Stream closed"));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,308 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link FileTreeReader} for a ZIP archive in a {@link SeekableByteChannel},
+ * or in memory (using a {@link ByteBufferChannel}), that only reads the
+ * central directory up-front. Entry contents are read on demand, from any
+ * thread, directly from the archive.
+ *
+ * <p>The channel is never closed by this reader, contents can be read
+ * while it is still open (always, for in-memory archives).</p>
+ */
+final class SeekableZipFileTreeReader implements FileTreeReader {
+    private final SeekableByteChannel channel;
+    private final Iterator<ZipCentralDirectory.Entry> entries;
+
+    private @Nullable ZipCentralDirectory.Entry currentEntry;
+    private @Nullable ZipCentralDirectory.Entry nextEntry;
+
+    SeekableZipFileTreeReader(final @NotNull SeekableByteChannel channel) throws IOException {
+        this.channel = requireNonNull(channel, "channel");
+        final ZipCentralDirectory directory;
+        synchronized (channel) {
+            directory = ZipCentralDirectory.read(channel);
+        }
+        this.entries = directory.entries().iterator();
+        this.next0();
+    }
+
+    private void next0() {
+        nextEntry = null;
+        while (entries.hasNext()) {
+            final ZipCentralDirectory.Entry entry = entries.next();
+            if (!entry.isDirectory()) {
+                nextEntry = entry;
+                break;
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextEntry != null;
+    }
+
+    @Override
+    public @NotNull String next() {
+        if (nextEntry == null) {
+            throw new NoSuchElementException();
+        }
+        this.currentEntry = nextEntry;
+        this.next0();
+        return currentEntry.name();
+    }
+
+    @Override
+    public @NotNull InputStream stream() {
+        final Readable content = content();
+        try {
+            return content.open();
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to get input stream for current entry: " + requireNonNull(currentEntry).name(), e);
+        }
+    }
+
+    @Override
+    public @NotNull Readable content() {
+        if (this.currentEntry == null) {
+            throw new IllegalStateException("No current entry, call next() first");
+        }
+        return new EntryReadable(currentEntry);
+    }
+
+    @Override
+    public void close() {
+        // the channel is owned by the caller, and the
+        // returned contents may be read after closing
+    }
+
+    private class EntryReadable implements Readable {
+        private final ZipCentralDirectory.Entry entry;
+        // position of the entry data, read from its local header on first access
+        private volatile long dataOffset = -1;
+
+        EntryReadable(final @NotNull ZipCentralDirectory.Entry entry) {
+            this.entry = requireNonNull(entry, "entry");
+        }
+
+        private boolean supported() {
+            return !entry.isEncrypted() && (entry.method() == ZipEntry.STORED || entry.method() == ZipEntry.DEFLATED);
+        }
+
+        private long dataOffset() throws IOException {
+            long offset = dataOffset;
+            if (offset == -1) {
+                synchronized (channel) {
+                    offset = entry.dataOffset(channel);
+                }
+                dataOffset = offset;
+            }
+            return offset;
+        }
+
+        private @NotNull InputStream openCompressed() throws IOException {
+            final long offset = dataOffset();
+            if (channel instanceof ByteBufferChannel) {
+                return ((ByteBufferChannel) channel).stream(offset, entry.compressedSize());
+            } else {
+                return new RegionInputStream(offset, entry.compressedSize());
+            }
+        }
+
+        @Override
+        public @NotNull InputStream open() throws IOException {
+            if (!supported()) {
+                throw new IOException("Unsupported encryption or compression method for entry: " + entry.name());
+            }
+            return new VerifyingInputStream(entry, Streams.inflate(entry.method(), openCompressed()));
+        }
+
+        @Override
+        public @NotNull Writable asWritable() {
+            return new EntryWritable();
+        }
+
+        private class EntryWritable implements ZipEntryWritable {
+            @Override
+            public @Nullable ZipEntryData compressed() {
+                if (!supported()) {
+                    return null;
+                }
+                return new ZipEntryData(entry.method(), entry.crc(), entry.size(), entry.compressedSize(), output -> {
+                    if (channel instanceof ByteBufferChannel) {
+                        ((ByteBufferChannel) channel).writeTo(dataOffset(), entry.compressedSize(), output);
+                    } else {
+                        try (final InputStream input = openCompressed()) {
+                            copy(input, output);
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void write(final @NotNull OutputStream output) throws IOException {
+                requireNonNull(output, "output");
+                try (final InputStream input = open()) {
+                    copy(input, output);
+                }
+            }
+
+            @Override
+            public byte @NotNull [] toByteArray() {
+                return readAsByteArray();
+            }
+        }
+    }
+
+    /**
+     * Reads a region of the channel using positional reads, so that
+     * many regions can be read concurrently.
+     */
+    private final class RegionInputStream extends InputStream {
+        private long position;
+        private long remaining;
+
+        RegionInputStream(final long position, final long length) {
+            this.position = position;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+        }
+
+        @Override
+        public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (remaining <= 0) {
+                return -1;
+            }
+            final ByteBuffer dst = ByteBuffer.wrap(b, off, (int) Math.min(len, remaining));
+            final int read;
+            if (channel instanceof FileChannel) {
+                // positional reads don't modify the channel position
+                read = ((FileChannel) channel).read(dst, position);
+            } else {
+                synchronized (channel) {
+                    channel.position(position);
+                    read = channel.read(dst);
+                }
+            }
+            if (read == -1) {
+                throw new EOFException("Unexpected end of ZIP archive");
+            }
+            position += read;
+            remaining -= read;
+            return read;
+        }
+    }
+
+    private static void copy(final @NotNull InputStream input, final @NotNull OutputStream output) throws IOException {
+        final byte[] buf = new byte[Writable.DEFAULT_BUFFER_LENGTH];
+        int len;
+        while ((len = input.read(buf)) != -1) {
+            output.write(buf, 0, len);
+        }
+    }
+
+    /**
+     * Verifies the size and CRC-32 of the uncompressed entry data
+     * when the end of the stream is reached, like {@link java.util.zip.ZipFile}
+     * does, so that corrupt or truncated entries are not returned silently.
+     */
+    static final class VerifyingInputStream extends CheckedInputStream {
+        private final ZipCentralDirectory.Entry entry;
+        private long count;
+
+        VerifyingInputStream(final @NotNull ZipCentralDirectory.Entry entry, final @NotNull InputStream input) {
+            super(input, new CRC32());
+            this.entry = entry;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = super.read();
+            if (b == -1) {
+                verify();
+            } else {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(final byte @NotNull [] buf, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final int n = super.read(buf, off, len);
+            if (n == -1) {
+                verify();
+            } else {
+                count += n;
+            }
+            return n;
+        }
+
+        private void verify() throws ZipException {
+            if (count != entry.size()) {
+                throw new ZipException("Invalid entry size for " + entry.name()
+                        + " (expected " + entry.size() + " but got " + count + " bytes)");
+            }
+            if (getChecksum().getValue() != entry.crc()) {
+                throw new ZipException("Invalid entry CRC for " + entry.name()
+                        + " (expected 0x" + Long.toHexString(entry.crc())
+                        + " but got 0x" + Long.toHexString(getChecksum().getValue()) + ")");
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link ContentStore} that keeps small contents in memory and
+ * appends big contents to a single temporary file, which is created
+ * when needed. Spilled contents are read using positional reads, so
+ * they can be read concurrently.
+ */
+final class SpillingContentStore implements ContentStore {
+    private final @Nullable Path directory;
+    private final int threshold;
+
+    private @Nullable Path file;
+    private @Nullable FileChannel channel;
+    private long position;
+    private boolean closed;
+
+    SpillingContentStore(final @Nullable Path directory, final int threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold must be non-negative, got " + threshold);
+        }
+        this.directory = directory;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public @NotNull Readable store(final @NotNull InputStream input) throws IOException {
+        requireNonNull(input, "input");
+
+        // read up to the threshold in memory
+        final ByteArrayOutputStream head = new ByteArrayOutputStream(Math.min(threshold, Writable.DEFAULT_BUFFER_LENGTH));
+        final byte[] buf = new byte[Writable.DEFAULT_BUFFER_LENGTH];
+        int len = 0;
+        while (head.size() <= threshold && (len = input.read(buf)) != -1) {
+            head.write(buf, 0, len);
+        }
+
+        if (head.size() <= threshold) {
+            // the whole content fits
+            return Readable.bytes(head.toByteArray());
+        }
+
+        // spill to the temporary file
+        synchronized (this) {
+            final FileChannel channel = channel();
+            final long offset = position;
+            try {
+                writeFully(channel, ByteBuffer.wrap(head.toByteArray()));
+                while ((len = input.read(buf)) != -1) {
+                    writeFully(channel, ByteBuffer.wrap(buf, 0, len));
+                }
+            } finally {
+                // keep the position in sync with the channel, even if
+                // the content was partially written
+                position = channel.position();
+            }
+            return new SpilledReadable(file, offset, position - offset);
+        }
+    }
+
+    private @NotNull FileChannel channel() throws IOException {
+        if (closed) {
+            throw new IllegalStateException("Content store is closed");
+        }
+        if (channel == null) {
+            final Path file = directory == null
+                    ? Files.createTempFile("creative-", ".tmp")
+                    : Files.createTempFile(directory, "creative-", ".tmp");
+            this.channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            this.file = file;
+        }
+        return channel;
+    }
+
+    private static void writeFully(final @NotNull FileChannel channel, final @NotNull ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (channel != null) {
+            try {
+                channel.close();
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ContentStore.spilling(threshold=" + threshold + ", file=" + file + ")";
+    }
+
+    private static final class SpilledReadable implements Readable {
+        private final Path file;
+        private final long offset;
+        private final long length;
+
+        SpilledReadable(final @NotNull Path file, final long offset, final long length) {
+            this.file = file;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public @NotNull InputStream open() throws IOException {
+            return new SpilledInputStream(FileChannel.open(file, StandardOpenOption.READ), offset, offset + length);
+        }
+    }
+
+    private static final class SpilledInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        SpilledInputStream(final @NotNull FileChannel channel, final long start, final long end) {
+            this.channel = channel;
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+        }
+
+        @Override
+        public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final long remaining = end - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)), position);
+            if (read == -1) {
+                // truncated file
+                return -1;
+            }
+            position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(final long n) {
+            final long skipped = Math.max(0, Math.min(n, end - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+
+}
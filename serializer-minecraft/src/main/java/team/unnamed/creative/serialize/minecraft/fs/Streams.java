@@ -23,11 +23,19 @@
  */
 package team.unnamed.creative.serialize.minecraft.fs;
 
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
 
 final class Streams {
 
@@ -54,4 +62,32 @@ final class Streams {
         }
     }
 
+    /**
+     * Returns a stream that decompresses the given ZIP entry data,
+     * compressed using the given method (stored or deflated).
+     *
+     * @param method The compression method
+     * @param compressed The compressed data
+     * @return The uncompressed data
+     */
+    static @NotNull InputStream inflate(final int method, final @NotNull InputStream compressed) {
+        if (method == ZipEntry.STORED) {
+            return compressed;
+        }
+        final Inflater inflater = new Inflater(true);
+        // an extra dummy byte is needed by the inflater when using the "nowrap" option
+        return new InflaterInputStream(new SequenceInputStream(compressed, new ByteArrayInputStream(new byte[1])), inflater) {
+            private boolean closed;
+
+            @Override
+            public void close() throws IOException {
+                if (!closed) {
+                    closed = true;
+                    inflater.end();
+                    super.close();
+                }
+            }
+        };
+    }
+
 }
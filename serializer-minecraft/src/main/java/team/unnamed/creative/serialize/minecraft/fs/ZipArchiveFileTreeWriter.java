@@ -0,0 +1,253 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * {@link FileTreeWriter} implementation for ZIP archives that
+ * compresses each entry in memory before writing it, so that
+ * compressed entries can be taken from a {@link ZipEntryCache}
+ * instead of compressing them again.
+ */
+final class ZipArchiveFileTreeWriter implements FileTreeWriter {
+
+    private final Set<String> names = new HashSet<>();
+    private final ZipArchiveOutput output;
+    private final ZipEntryLifecycleHandler entryLifecycleHandler;
+    private final ZipCompressionPolicy compressionPolicy;
+    private final @Nullable ZipEntryCache cache;
+
+    private final EntryBuffer buffer = new EntryBuffer();
+    private Deflater deflater;
+    private ZipEntryOutputStream current;
+
+    ZipArchiveFileTreeWriter(
+            OutputStream output,
+            ZipEntryLifecycleHandler entryLifecycleHandler,
+            ZipCompressionPolicy compressionPolicy,
+            @Nullable ZipEntryCache cache
+    ) {
+        this.output = new ZipArchiveOutput(output);
+        this.entryLifecycleHandler = entryLifecycleHandler;
+        this.compressionPolicy = compressionPolicy;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean exists(String path) {
+        return names.contains(path);
+    }
+
+    @Override
+    public OutputStream openStream(String path) {
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+
+        try {
+            if (current != null) {
+                // did you forgor to close it?
+                current.close();
+                current = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        buffer.reset();
+        current = new ZipEntryOutputStream(entryLifecycleHandler.create(path));
+        return current; // should be closed when any other method is called
+    }
+
+    @Override
+    public void write(String path, Writable data) {
+        if (!names.add(path)) {
+            throw new IllegalStateException("File " + path + " already exists!");
+        }
+
+        try {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+
+            ZipEntry entry = entryLifecycleHandler.create(path);
+            ZipEntryData compressed = ZipEntryWritable.compressed(data, method(entry));
+            if (compressed != null) {
+                // copy the compressed data as-is
+                output.writeEntry(entry, compressed);
+                entryLifecycleHandler.onClose(entry);
+                return;
+            }
+
+            buffer.reset();
+            data.write(buffer);
+            writeEntry(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEntry(ZipEntry entry) throws IOException {
+        byte[] bytes = buffer.buffer();
+        int length = buffer.size();
+
+        ZipEntryData data;
+        if (method(entry) == ZipEntry.STORED) {
+            data = ZipEntryData.stored(bytes, length);
+        } else {
+            if (deflater == null) {
+                deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            }
+            int level = compressionPolicy.level(entry.getName());
+            data = cache == null
+                    ? ZipEntryData.deflated(bytes, length, level, deflater)
+                    : cache.deflated(bytes, length, level, deflater);
+        }
+
+        output.writeEntry(entry, data);
+        entryLifecycleHandler.onClose(entry);
+    }
+
+    private int method(ZipEntry entry) {
+        // the method set by the lifecycle handler takes precedence
+        int method = entry.getMethod();
+        return method == -1 ? compressionPolicy.method(entry.getName()) : method;
+    }
+
+    @Override
+    public void finish() {
+        try {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            output.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            endDeflater();
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (current != null) {
+                current.close();
+                current = null;
+            }
+            output.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            endDeflater();
+        }
+    }
+
+    private void endDeflater() {
+        if (deflater != null) {
+            deflater.end();
+            deflater = null;
+        }
+    }
+
+    /**
+     * Reusable entry buffer, exposes its internal array to avoid
+     * copying it before compressing.
+     */
+    private static final class EntryBuffer extends ByteArrayOutputStream {
+
+        private EntryBuffer() {
+            super(8 * 1024);
+        }
+
+        private byte[] buffer() {
+            return buf;
+        }
+
+    }
+
+    private class ZipEntryOutputStream extends OutputStream {
+
+        private ZipEntry entry;
+        private boolean closed;
+
+        private ZipEntryOutputStream(ZipEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            ensureValid();
+            buffer.write(b, off, len);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            ensureValid();
+            buffer.write(b);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            ensureValid();
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                writeEntry(entry);
+                entry = null;
+            }
+        }
+
+        private void ensureValid() throws IOException {
+            if (closed) {
+                if (current != this) {
+                    // !!! A new entry output stream was opened,
+                    // we are not anymore the current entry os
+                    throw new IOException("A new output stream has been " +
+                            "opened, this one is no longer usable");
+                }
+                throw new IOException("Stream closed");
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,384 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Minimal ZIP archive writer that writes entries whose data is already
+ * compressed ({@link ZipEntryData}), unlike {@link java.util.zip.ZipOutputStream},
+ * which always compresses the data it receives.
+ *
+ * <p>Since the CRC and sizes are known before writing each entry, local
+ * file headers always contain them and no data descriptors are written.
+ * ZIP64 extensions are only used when needed (entries or archives bigger
+ * than 4GB, or more than 65535 entries).</p>
+ */
+final class ZipArchiveOutput {
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private static final int USE_UTF8_FLAG = 0x800;
+
+    private static final int VERSION_STORED = 10;
+    private static final int VERSION_DEFLATED = 20;
+    private static final int VERSION_ZIP64 = 45;
+
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    // MS-DOS date for 1980-01-01 00:00:00, the minimum representable date
+    private static final long DOS_TIME_BEFORE_1980 = (1 << 21) | (1 << 16);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private final CountingOutputStream output;
+    private final List<CentralDirectoryRecord> records = new ArrayList<>();
+    private boolean finished;
+
+    ZipArchiveOutput(final @NotNull OutputStream output) {
+        this.output = new CountingOutputStream(requireNonNull(output, "output"));
+    }
+
+    /**
+     * Writes the given entry, using the given data, which must be
+     * already compressed.
+     *
+     * <p>The CRC, sizes and method of the given {@link ZipEntry} are
+     * set from the given data before writing it, the rest of the
+     * properties (time, extra, comment) are taken from the entry.
+     * Like {@link java.util.zip.ZipOutputStream}, the central directory
+     * record is created from the entry when the archive is finished,
+     * so changes made to the entry after writing it (e.g. by
+     * {@link ZipEntryLifecycleHandler#onClose(ZipEntry)}) are kept.</p>
+     *
+     * @param entry The entry
+     * @param data  The entry data
+     * @throws IOException If writing fails
+     */
+    void writeEntry(final @NotNull ZipEntry entry, final @NotNull ZipEntryData data) throws IOException {
+        if (finished) {
+            throw new IOException("ZIP archive already finished");
+        }
+
+        entry.setMethod(data.method());
+        entry.setCrc(data.crc());
+        entry.setSize(data.size());
+        entry.setCompressedSize(data.compressedSize());
+        if (entry.getTime() == -1) {
+            entry.setTime(System.currentTimeMillis());
+        }
+
+        final CentralDirectoryRecord record = new CentralDirectoryRecord(
+                entry,
+                entry.getName().getBytes(StandardCharsets.UTF_8),
+                data.method(),
+                data.crc(),
+                data.size(),
+                data.compressedSize(),
+                output.count()
+        );
+        final byte[] entryExtra = extra(entry);
+        final long dosTime = dosTime(entry);
+
+        final boolean zip64 = data.size() >= ZIP64_MAGIC_VALUE || data.compressedSize() >= ZIP64_MAGIC_VALUE;
+        final byte[] extra;
+        if (zip64) {
+            // both sizes must be present in the local header's zip64 extra field
+            final ByteArrayOutputStream zip64Extra = new ByteArrayOutputStream();
+            writeShort(zip64Extra, ZIP64_EXTRA_FIELD_ID);
+            writeShort(zip64Extra, 16);
+            writeLong(zip64Extra, data.size());
+            writeLong(zip64Extra, data.compressedSize());
+            extra = concat(zip64Extra.toByteArray(), entryExtra);
+        } else {
+            extra = entryExtra;
+        }
+
+        writeInt(output, LOCAL_FILE_HEADER_SIGNATURE);
+        writeShort(output, zip64 ? VERSION_ZIP64 : record.version());
+        writeShort(output, USE_UTF8_FLAG);
+        writeShort(output, data.method());
+        writeInt(output, dosTime);
+        writeInt(output, data.crc());
+        writeInt(output, zip64 ? ZIP64_MAGIC_VALUE : data.compressedSize());
+        writeInt(output, zip64 ? ZIP64_MAGIC_VALUE : data.size());
+        writeShort(output, checkLength(record.name.length, "name"));
+        writeShort(output, checkLength(extra.length, "extra"));
+        output.write(record.name);
+        output.write(extra);
+
+        final long start = output.count();
+        data.data().write(output);
+        final long written = output.count() - start;
+        if (written != data.compressedSize()) {
+            throw new IOException("Entry " + entry.getName() + " compressed size mismatch, expected "
+                    + data.compressedSize() + " bytes but " + written + " were written");
+        }
+
+        records.add(record);
+    }
+
+    /**
+     * Writes the central directory, finishing the archive, without
+     * closing the underlying output stream.
+     *
+     * @throws IOException If writing fails
+     */
+    void finish() throws IOException {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        final long centralDirectoryOffset = output.count();
+        for (final CentralDirectoryRecord record : records) {
+            record.write(output);
+        }
+        final long centralDirectorySize = output.count() - centralDirectoryOffset;
+        final int count = records.size();
+
+        final boolean zip64 = count >= ZIP64_MAGIC_COUNT
+                || centralDirectoryOffset >= ZIP64_MAGIC_VALUE
+                || centralDirectorySize >= ZIP64_MAGIC_VALUE;
+
+        if (zip64) {
+            final long zip64EndOffset = output.count();
+
+            // zip64 end of central directory record
+            writeInt(output, ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+            writeLong(output, 44L); // size of the remaining record
+            writeShort(output, VERSION_ZIP64); // version made by
+            writeShort(output, VERSION_ZIP64); // version needed to extract
+            writeInt(output, 0); // number of this disk
+            writeInt(output, 0); // disk where central directory starts
+            writeLong(output, count); // number of central directory records on this disk
+            writeLong(output, count); // total number of central directory records
+            writeLong(output, centralDirectorySize);
+            writeLong(output, centralDirectoryOffset);
+
+            // zip64 end of central directory locator
+            writeInt(output, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE);
+            writeInt(output, 0); // disk where the zip64 end of central directory starts
+            writeLong(output, zip64EndOffset);
+            writeInt(output, 1); // total number of disks
+        }
+
+        // end of central directory record
+        writeInt(output, END_OF_CENTRAL_DIRECTORY_SIGNATURE);
+        writeShort(output, 0); // number of this disk
+        writeShort(output, 0); // disk where central directory starts
+        writeShort(output, Math.min(count, ZIP64_MAGIC_COUNT));
+        writeShort(output, Math.min(count, ZIP64_MAGIC_COUNT));
+        writeInt(output, Math.min(centralDirectorySize, ZIP64_MAGIC_VALUE));
+        writeInt(output, Math.min(centralDirectoryOffset, ZIP64_MAGIC_VALUE));
+        writeShort(output, 0); // comment length
+        output.flush();
+    }
+
+    /**
+     * Finishes the archive and closes the underlying output stream.
+     *
+     * @throws IOException If writing or closing fails
+     */
+    void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            output.close();
+        }
+    }
+
+    private static byte @NotNull [] extra(final @NotNull ZipEntry entry) {
+        final byte[] extra = entry.getExtra();
+        return extra == null ? EMPTY : extra;
+    }
+
+    private static long dosTime(final @NotNull ZipEntry entry) {
+        return toDosTime(entry.getTime());
+    }
+
+    private static long toDosTime(final long time) {
+        final LocalDateTime date = LocalDateTime.ofInstant(Instant.ofEpochMilli(time), ZoneId.systemDefault());
+        final int year = date.getYear();
+        if (year < 1980) {
+            return DOS_TIME_BEFORE_1980;
+        } else if (year > 2107) {
+            // maximum representable date (2107-12-31 23:59:58)
+            return (127L << 25) | (12 << 21) | (31 << 16) | (23 << 11) | (59 << 5) | (58 >> 1);
+        }
+        return ((year - 1980L) << 25)
+                | ((long) date.getMonthValue() << 21)
+                | ((long) date.getDayOfMonth() << 16)
+                | ((long) date.getHour() << 11)
+                | ((long) date.getMinute() << 5)
+                | ((long) date.getSecond() >> 1);
+    }
+
+    private static int checkLength(final int length, final @NotNull String what) throws IOException {
+        if (length > 0xFFFF) {
+            throw new IOException("ZIP entry " + what + " is too long (" + length + " bytes)");
+        }
+        return length;
+    }
+
+    private static byte @NotNull [] concat(final byte @NotNull [] a, final byte @NotNull [] b) {
+        final byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static void writeShort(final @NotNull OutputStream output, final int value) throws IOException {
+        output.write(value & 0xFF);
+        output.write((value >>> 8) & 0xFF);
+    }
+
+    private static void writeInt(final @NotNull OutputStream output, final long value) throws IOException {
+        writeShort(output, (int) (value & 0xFFFF));
+        writeShort(output, (int) ((value >>> 16) & 0xFFFF));
+    }
+
+    private static void writeLong(final @NotNull OutputStream output, final long value) throws IOException {
+        writeInt(output, value & 0xFFFFFFFFL);
+        writeInt(output, value >>> 32);
+    }
+
+    private static final class CentralDirectoryRecord {
+        // the live entry, its time, extra and comment are read when writing
+        private final ZipEntry entry;
+        private final byte[] name;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final long compressedSize;
+        private final long offset;
+
+        CentralDirectoryRecord(
+                final @NotNull ZipEntry entry,
+                final byte @NotNull [] name,
+                final int method,
+                final long crc,
+                final long size,
+                final long compressedSize,
+                final long offset
+        ) {
+            this.entry = entry;
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.compressedSize = compressedSize;
+            this.offset = offset;
+        }
+
+        int version() {
+            return method == ZipEntry.STORED ? VERSION_STORED : VERSION_DEFLATED;
+        }
+
+        void write(final @NotNull OutputStream output) throws IOException {
+            // only the values that don't fit are written to the zip64 extra field
+            final ByteArrayOutputStream zip64Values = new ByteArrayOutputStream();
+            if (size >= ZIP64_MAGIC_VALUE) writeLong(zip64Values, size);
+            if (compressedSize >= ZIP64_MAGIC_VALUE) writeLong(zip64Values, compressedSize);
+            if (offset >= ZIP64_MAGIC_VALUE) writeLong(zip64Values, offset);
+
+            final boolean zip64 = zip64Values.size() > 0;
+            byte[] extra = extra(entry);
+            if (zip64) {
+                final ByteArrayOutputStream zip64Extra = new ByteArrayOutputStream();
+                writeShort(zip64Extra, ZIP64_EXTRA_FIELD_ID);
+                writeShort(zip64Extra, zip64Values.size());
+                zip64Values.writeTo(zip64Extra);
+                extra = concat(zip64Extra.toByteArray(), extra);
+            }
+
+            final String entryComment = entry.getComment();
+            final byte[] comment = entryComment == null ? EMPTY : entryComment.getBytes(StandardCharsets.UTF_8);
+
+            final int version = zip64 ? VERSION_ZIP64 : version();
+            writeInt(output, CENTRAL_FILE_HEADER_SIGNATURE);
+            writeShort(output, version); // version made by
+            writeShort(output, version); // version needed to extract
+            writeShort(output, USE_UTF8_FLAG);
+            writeShort(output, method);
+            writeInt(output, dosTime(entry));
+            writeInt(output, crc);
+            writeInt(output, Math.min(compressedSize, ZIP64_MAGIC_VALUE));
+            writeInt(output, Math.min(size, ZIP64_MAGIC_VALUE));
+            writeShort(output, checkLength(name.length, "name"));
+            writeShort(output, checkLength(extra.length, "extra"));
+            writeShort(output, checkLength(comment.length, "comment"));
+            writeShort(output, 0); // disk number start
+            writeShort(output, 0); // internal file attributes
+            writeInt(output, 0); // external file attributes
+            writeInt(output, Math.min(offset, ZIP64_MAGIC_VALUE));
+            output.write(name);
+            output.write(extra);
+            output.write(comment);
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(final @NotNull OutputStream output) {
+            super(output);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte @NotNull [] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
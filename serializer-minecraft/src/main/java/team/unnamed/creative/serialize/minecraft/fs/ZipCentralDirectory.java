@@ -0,0 +1,348 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Minimal ZIP archive central directory parser, gives access to
+ * the information {@link java.util.zip.ZipFile} doesn't expose,
+ * like the position of each entry's data in the archive, so that
+ * it can be read without decompressing it.
+ */
+final class ZipCentralDirectory {
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int CENTRAL_FILE_HEADER_SIGNATURE = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int ZIP64_EXTRA_FIELD_ID = 0x0001;
+
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int CENTRAL_FILE_HEADER_SIZE = 46;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE = 20;
+    private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+    private static final long ZIP64_MAGIC_VALUE = 0xFFFFFFFFL;
+
+    private final List<Entry> entries;
+
+    private ZipCentralDirectory(final @NotNull List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Reads the central directory of the ZIP archive in the
+     * given channel.
+     *
+     * @param channel The channel, its position is modified
+     * @return The read central directory
+     * @throws IOException If reading fails or the archive is invalid
+     */
+    static @NotNull ZipCentralDirectory read(final @NotNull SeekableByteChannel channel) throws IOException {
+        requireNonNull(channel, "channel");
+        final long archiveSize = channel.size();
+
+        // find the end of central directory record, scanning backwards,
+        // it's at the end of the archive, followed by a variable-size comment
+        final int tailSize = (int) Math.min(archiveSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+        final long tailOffset = archiveSize - tailSize;
+        final ByteBuffer tail = readFully(channel, tailOffset, tailSize);
+        int eocd = -1;
+        for (int i = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                eocd = i;
+                break;
+            }
+        }
+        if (eocd == -1) {
+            throw new IOException("Not a ZIP archive, end of central directory not found");
+        }
+
+        long count = tail.getShort(eocd + 10) & 0xFFFFL;
+        long directorySize = tail.getInt(eocd + 12) & 0xFFFFFFFFL;
+        long directoryOffset = tail.getInt(eocd + 16) & 0xFFFFFFFFL;
+
+        // check for the zip64 end of central directory locator
+        final long locatorOffset = tailOffset + eocd - ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE;
+        if (locatorOffset >= 0) {
+            final ByteBuffer locator = readFully(channel, locatorOffset, ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIZE);
+            if (locator.getInt(0) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIGNATURE) {
+                final long zip64EndOffset = locator.getLong(8);
+                final ByteBuffer zip64End = readFully(channel, zip64EndOffset, 56);
+                if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                    throw new IOException("Invalid zip64 end of central directory record");
+                }
+                count = zip64End.getLong(32);
+                directorySize = zip64End.getLong(40);
+                directoryOffset = zip64End.getLong(48);
+            }
+        }
+
+        if (directoryOffset + directorySize > archiveSize || directorySize > Integer.MAX_VALUE) {
+            throw new IOException("Invalid central directory bounds");
+        }
+
+        final ByteBuffer directory = readFully(channel, directoryOffset, (int) directorySize);
+        final List<Entry> entries = new ArrayList<>((int) Math.min(count, 0xFFFF));
+        int position = 0;
+        for (long i = 0; i < count; i++) {
+            if (position + CENTRAL_FILE_HEADER_SIZE > directorySize
+                    || directory.getInt(position) != CENTRAL_FILE_HEADER_SIGNATURE) {
+                throw new IOException("Invalid central directory file header at " + (directoryOffset + position));
+            }
+            final int flags = directory.getShort(position + 8) & 0xFFFF;
+            final int method = directory.getShort(position + 10) & 0xFFFF;
+            final long dosTime = directory.getInt(position + 12) & 0xFFFFFFFFL;
+            final long crc = directory.getInt(position + 16) & 0xFFFFFFFFL;
+            long compressedSize = directory.getInt(position + 20) & 0xFFFFFFFFL;
+            long size = directory.getInt(position + 24) & 0xFFFFFFFFL;
+            final int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            final int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            final int commentLength = directory.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = directory.getInt(position + 42) & 0xFFFFFFFFL;
+
+            final int nameOffset = position + CENTRAL_FILE_HEADER_SIZE;
+            final int extraOffset = nameOffset + nameLength;
+            final int next = extraOffset + extraLength + commentLength;
+            if (next > directorySize) {
+                throw new IOException("Invalid central directory file header at " + (directoryOffset + position));
+            }
+
+            final byte[] nameBytes = new byte[nameLength];
+            directory.position(nameOffset);
+            directory.get(nameBytes);
+            final String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+            // read zip64 values, only present if the regular ones are set to the magic value
+            int extra = extraOffset;
+            while (extra + 4 <= extraOffset + extraLength) {
+                final int id = directory.getShort(extra) & 0xFFFF;
+                final int length = directory.getShort(extra + 2) & 0xFFFF;
+                if (id == ZIP64_EXTRA_FIELD_ID) {
+                    int value = extra + 4;
+                    final int end = value + length;
+                    if (size == ZIP64_MAGIC_VALUE && value + 8 <= end) {
+                        size = directory.getLong(value);
+                        value += 8;
+                    }
+                    if (compressedSize == ZIP64_MAGIC_VALUE && value + 8 <= end) {
+                        compressedSize = directory.getLong(value);
+                        value += 8;
+                    }
+                    if (localHeaderOffset == ZIP64_MAGIC_VALUE && value + 8 <= end) {
+                        localHeaderOffset = directory.getLong(value);
+                    }
+                    break;
+                }
+                extra += 4 + length;
+            }
+
+            entries.add(new Entry(name, flags, method, dosTime, crc, compressedSize, size, localHeaderOffset));
+            position = next;
+        }
+
+        return new ZipCentralDirectory(Collections.unmodifiableList(entries));
+    }
+
+    /**
+     * Returns the entries in this central directory, in the
+     * order they appear in it.
+     *
+     * @return The entries
+     */
+    @NotNull List<Entry> entries() {
+        return entries;
+    }
+
+    private static @NotNull ByteBuffer readFully(final @NotNull SeekableByteChannel channel, final long position, final int length) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        channel.position(position);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                throw new EOFException("Unexpected end of ZIP archive");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * An entry in the central directory.
+     */
+    static final class Entry {
+        private final String name;
+        private final int flags;
+        private final int method;
+        private final long dosTime;
+        private final long crc;
+        private final long compressedSize;
+        private final long size;
+        private final long localHeaderOffset;
+
+        Entry(
+                final @NotNull String name,
+                final int flags,
+                final int method,
+                final long dosTime,
+                final long crc,
+                final long compressedSize,
+                final long size,
+                final long localHeaderOffset
+        ) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        @NotNull String name() {
+            return name;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+
+        boolean isEncrypted() {
+            return (flags & 1) != 0;
+        }
+
+        int method() {
+            return method;
+        }
+
+        long dosTime() {
+            return dosTime;
+        }
+
+        long crc() {
+            return crc;
+        }
+
+        long compressedSize() {
+            return compressedSize;
+        }
+
+        long size() {
+            return size;
+        }
+
+        long localHeaderOffset() {
+            return localHeaderOffset;
+        }
+
+        /**
+         * Reads the position of this entry's (compressed) data in
+         * the archive, from its local file header.
+         *
+         * @param channel The archive channel, its position is modified
+         * @return The data position
+         * @throws IOException If reading fails or the header is invalid
+         */
+        long dataOffset(final @NotNull SeekableByteChannel channel) throws IOException {
+            final ByteBuffer header = readFully(channel, localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+            if (header.getInt(0) != LOCAL_FILE_HEADER_SIGNATURE) {
+                throw new IOException("Invalid local file header for entry " + name);
+            }
+            final int nameLength = header.getShort(26) & 0xFFFF;
+            final int extraLength = header.getShort(28) & 0xFFFF;
+            return localHeaderOffset + LOCAL_FILE_HEADER_SIZE + nameLength + extraLength;
+        }
+
+        /**
+         * Reads this entry's compressed data from the archive.
+         *
+         * @param channel The archive channel, its position is modified
+         * @return The compressed data
+         * @throws IOException If reading fails or the entry is too big
+         */
+        byte @NotNull [] readCompressed(final @NotNull SeekableByteChannel channel) throws IOException {
+            if (compressedSize > Integer.MAX_VALUE - 8) {
+                throw new IOException("Entry " + name + " is too big to be read to memory");
+            }
+            final ByteBuffer data = readFully(channel, dataOffset(channel), (int) compressedSize);
+            return data.array();
+        }
+
+        /**
+         * Opens a stream over this entry's compressed data, that reads
+         * it from the archive, without loading it to memory.
+         *
+         * <p>The channel must not be used by anything else while the
+         * returned stream is being read, and closing the stream does
+         * not close the channel.</p>
+         *
+         * @param channel The archive channel, its position is modified
+         * @return The compressed data stream
+         * @throws IOException If reading the local file header fails
+         */
+        @NotNull InputStream openCompressed(final @NotNull SeekableByteChannel channel) throws IOException {
+            channel.position(dataOffset(channel));
+            return new InputStream() {
+                private long remaining = compressedSize;
+
+                @Override
+                public int read() throws IOException {
+                    final byte[] b = new byte[1];
+                    return read(b, 0, 1) == -1 ? -1 : (b[0] & 0xFF);
+                }
+
+                @Override
+                public int read(final byte @NotNull [] b, final int off, final int len) throws IOException {
+                    if (len == 0) {
+                        return 0;
+                    }
+                    if (remaining <= 0) {
+                        return -1;
+                    }
+                    final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, remaining)));
+                    if (read == -1) {
+                        throw new EOFException("Unexpected end of ZIP archive");
+                    }
+                    remaining -= read;
+                    return read;
+                }
+            };
+        }
+    }
+}
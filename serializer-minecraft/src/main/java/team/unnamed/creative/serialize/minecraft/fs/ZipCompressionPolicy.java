@@ -0,0 +1,125 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Determines the compression method and level of each {@link ZipEntry}
+ * when using the {@link FileTreeWriter} implementations for ZIPs.
+ *
+ * <p>Files that are already compressed (like PNG textures or OGG
+ * sounds) barely get any smaller when deflated again, so storing
+ * them saves a lot of CPU time while building the ZIP. The CRC and
+ * size of stored entries are computed before writing them.</p>
+ *
+ * <p>Note that if the {@link ZipEntryLifecycleHandler} explicitly
+ * sets a method for an entry ({@link ZipEntry#setMethod(int)}), it
+ * takes precedence over the method returned by this policy.</p>
+ *
+ * @since 1.8.4
+ */
+@FunctionalInterface
+public interface ZipCompressionPolicy {
+
+    /**
+     * Policy that deflates every entry with the default compression
+     * level, which is what ZIP file trees and resource pack writers
+     * do if no policy is set.
+     *
+     * @since 1.8.4
+     */
+    ZipCompressionPolicy DEFLATE_ALL = path -> ZipEntry.DEFLATED;
+
+    /**
+     * Policy that stores the files that are already compressed (PNG
+     * images and OGG sounds), and deflates the rest of them (mostly
+     * JSON files) with the default compression level.
+     *
+     * <p>This policy must be set explicitly. Note that, since entries
+     * are written differently, the resulting ZIPs (and their hashes)
+     * are not the same as the ones written with {@link #DEFLATE_ALL}.</p>
+     *
+     * @since 1.8.4
+     */
+    ZipCompressionPolicy STORE_COMPRESSED = storing("png", "ogg");
+
+    /**
+     * Determines the compression method for the entry at the
+     * given path, either {@link ZipEntry#STORED} or
+     * {@link ZipEntry#DEFLATED}.
+     *
+     * @param path The entry path
+     * @return The compression method
+     * @since 1.8.4
+     */
+    int method(final @NotNull String path);
+
+    /**
+     * Determines the compression level for the entry at the given
+     * path, from {@code 0} to {@code 9} or {@link Deflater#DEFAULT_COMPRESSION},
+     * only used when the entry is deflated.
+     *
+     * @param path The entry path
+     * @return The compression level
+     * @since 1.8.4
+     */
+    default int level(final @NotNull String path) {
+        return Deflater.DEFAULT_COMPRESSION;
+    }
+
+    /**
+     * Creates a policy that stores the files with any of the given
+     * extensions (case-insensitive, without the dot), and deflates
+     * the rest of them with the default compression level.
+     *
+     * @param extensions The extensions of the files to store
+     * @return The created policy
+     * @since 1.8.4
+     */
+    static @NotNull ZipCompressionPolicy storing(final @NotNull String @NotNull ... extensions) {
+        requireNonNull(extensions, "extensions");
+        final Set<String> stored = new HashSet<>();
+        for (final String extension : extensions) {
+            stored.add(requireNonNull(extension, "extension").toLowerCase(Locale.ROOT));
+        }
+        return path -> {
+            final int dot = path.lastIndexOf('.');
+            if (dot == -1 || dot < path.lastIndexOf('/')) {
+                return ZipEntry.DEFLATED;
+            }
+            final String extension = path.substring(dot + 1).toLowerCase(Locale.ROOT);
+            return stored.contains(extension) ? ZipEntry.STORED : ZipEntry.DEFLATED;
+        };
+    }
+
+}
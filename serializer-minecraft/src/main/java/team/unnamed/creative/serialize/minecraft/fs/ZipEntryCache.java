@@ -0,0 +1,236 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A cache of compressed ZIP entries, keyed by a content hash of
+ * the uncompressed entry data, used to speed up rebuilding
+ * resource-packs that change slightly between builds.
+ *
+ * <p>When a ZIP file tree is created with a cache, each entry is
+ * hashed before compressing it; if the same data was compressed
+ * before (using the same compression method and level), the
+ * previously compressed bytes, CRC and sizes are copied to the
+ * archive as-is and the data is not compressed again.</p>
+ *
+ * <p>The cache is bounded by the total size of the compressed
+ * data it holds, the least recently used entries are discarded
+ * first. Instances are thread-safe and can be shared between
+ * file trees and writers.</p>
+ *
+ * @see FileTreeWriter#zip(java.io.OutputStream, ZipEntryLifecycleHandler, ZipEntryCache)
+ * @since 1.8.4
+ */
+public final class ZipEntryCache {
+    private static final long DEFAULT_MAXIMUM_SIZE = 256L * 1024L * 1024L; // 256MB
+
+    private final long maximumSize;
+    private final LinkedHashMap<Key, ZipEntryData> entries = new LinkedHashMap<>(16, 0.75F, true);
+    private long size;
+
+    private ZipEntryCache(final long maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must be non-negative, got " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Creates a new, empty {@link ZipEntryCache} that can hold up to
+     * {@code maximumSize} bytes of compressed data.
+     *
+     * @param maximumSize The maximum size of the compressed data held, in bytes
+     * @return The created cache
+     * @since 1.8.4
+     */
+    @Contract("_ -> new")
+    public static @NotNull ZipEntryCache zipEntryCache(final long maximumSize) {
+        return new ZipEntryCache(maximumSize);
+    }
+
+    /**
+     * Creates a new, empty {@link ZipEntryCache} that can hold up to
+     * 256MB of compressed data.
+     *
+     * @return The created cache
+     * @since 1.8.4
+     */
+    @Contract("-> new")
+    public static @NotNull ZipEntryCache zipEntryCache() {
+        return new ZipEntryCache(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Returns the maximum size of the compressed data held by
+     * this cache, in bytes.
+     *
+     * @return The maximum size
+     * @since 1.8.4
+     */
+    public long maximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Returns the current size of the compressed data held by
+     * this cache, in bytes.
+     *
+     * @return The current size
+     * @since 1.8.4
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of entries currently held by this cache.
+     *
+     * @return The entry count
+     * @since 1.8.4
+     */
+    public synchronized int entryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Discards all the entries in this cache.
+     *
+     * @since 1.8.4
+     */
+    public synchronized void clear() {
+        entries.clear();
+        size = 0;
+    }
+
+    /**
+     * Returns the cached compressed data for the given uncompressed
+     * bytes, or compresses them using the given deflater and caches
+     * the result.
+     *
+     * @param bytes    The uncompressed data
+     * @param length   The uncompressed data length
+     * @param level    The compression level used by the deflater
+     * @param deflater The deflater to use if the data is not cached
+     * @return The compressed entry data
+     */
+    @NotNull ZipEntryData deflated(final byte @NotNull [] bytes, final int length, final int level, final @NotNull Deflater deflater) {
+        requireNonNull(bytes, "bytes");
+        requireNonNull(deflater, "deflater");
+        final Key key = new Key(hash(bytes, length), length, level);
+
+        synchronized (this) {
+            final ZipEntryData cached = entries.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // compress outside the lock, so that other threads
+        // can use the cache in the meantime
+        final ZipEntryData data = ZipEntryData.deflated(bytes, length, level, deflater);
+        if (data.compressedSize() > maximumSize) {
+            // would evict everything and still not fit
+            return data;
+        }
+
+        synchronized (this) {
+            final ZipEntryData previous = entries.put(key, data);
+            if (previous != null) {
+                size -= previous.compressedSize();
+            }
+            size += data.compressedSize();
+
+            // evict least recently used entries
+            final Iterator<Map.Entry<Key, ZipEntryData>> iterator = entries.entrySet().iterator();
+            while (size > maximumSize && iterator.hasNext()) {
+                final ZipEntryData evicted = iterator.next().getValue();
+                iterator.remove();
+                size -= evicted.compressedSize();
+            }
+        }
+        return data;
+    }
+
+    private static byte @NotNull [] hash(final byte @NotNull [] bytes, final int length) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Failed to get SHA-1 digest", e);
+        }
+        digest.update(bytes, 0, length);
+        return digest.digest();
+    }
+
+    @Override
+    public String toString() {
+        return "ZipEntryCache{" +
+                "maximumSize=" + maximumSize +
+                ", size=" + size() +
+                ", entryCount=" + entryCount() +
+                '}';
+    }
+
+    private static final class Key {
+        private final byte[] hash;
+        private final long size;
+        private final int level;
+        private final int hashCode;
+
+        Key(final byte @NotNull [] hash, final long size, final int level) {
+            this.hash = hash;
+            this.size = size;
+            this.level = level;
+            this.hashCode = 31 * (31 * Arrays.hashCode(hash) + Long.hashCode(size)) + level;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            final Key key = (Key) o;
+            return size == key.size
+                    && level == key.level
+                    && Arrays.equals(hash, key.hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * The data of a ZIP archive entry, ready to be written to the
+ * archive as-is: it is already compressed (if needed) and its
+ * CRC and sizes are known.
+ */
+final class ZipEntryData {
+    private final int method;
+    private final long crc;
+    private final long size;
+    private final long compressedSize;
+    private final Writable data;
+
+    ZipEntryData(final int method, final long crc, final long size, final long compressedSize, final @NotNull Writable data) {
+        this.method = method;
+        this.crc = crc;
+        this.size = size;
+        this.compressedSize = compressedSize;
+        this.data = requireNonNull(data, "data");
+    }
+
+    static @NotNull ZipEntryData stored(final byte @NotNull [] bytes, final int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return new ZipEntryData(ZipEntry.STORED, crc.getValue(), length, length, output -> output.write(bytes, 0, length));
+    }
+
+    static @NotNull ZipEntryData deflated(final byte @NotNull [] bytes, final int length, final int level, final @NotNull Deflater deflater) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, length / 2));
+        byte[] buf = new byte[Math.min(Math.max(length, 64), 16 * 1024)];
+        deflater.reset();
+        deflater.setLevel(level);
+        deflater.setInput(bytes, 0, length);
+        deflater.finish();
+        while (!deflater.finished()) {
+            int len = deflater.deflate(buf);
+            compressed.write(buf, 0, len);
+        }
+
+        byte[] data = compressed.toByteArray();
+        return new ZipEntryData(ZipEntry.DEFLATED, crc.getValue(), length, data.length, output -> output.write(data));
+    }
+
+    int method() {
+        return method;
+    }
+
+    long crc() {
+        return crc;
+    }
+
+    long size() {
+        return size;
+    }
+
+    long compressedSize() {
+        return compressedSize;
+    }
+
+    /**
+     * Returns the entry data, compressed using this entry's
+     * {@link #method()}.
+     *
+     * @return The (compressed) entry data
+     */
+    @NotNull Writable data() {
+        return data;
+    }
+}
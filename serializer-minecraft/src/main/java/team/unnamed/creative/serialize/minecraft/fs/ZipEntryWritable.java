@@ -0,0 +1,72 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+
+/**
+ * A {@link Writable} backed by an entry of a ZIP archive, whose
+ * compressed data can be copied as-is to other ZIP archives,
+ * avoiding decompressing and compressing it again.
+ */
+interface ZipEntryWritable extends Writable {
+
+    /**
+     * Returns the compressed data of the source entry, if
+     * available.
+     *
+     * @return The compressed entry data, or null if not available
+     * @throws IOException If reading the data fails
+     */
+    @Nullable ZipEntryData compressed() throws IOException;
+
+    /**
+     * Returns the compressed data of the given {@link Writable},
+     * only if it is backed by a ZIP entry compressed with the
+     * given method.
+     *
+     * @param data   The data
+     * @param method The expected compression method
+     * @return The compressed data, or null if not available
+     */
+    static @Nullable ZipEntryData compressed(final @NotNull Writable data, final int method) {
+        if (!(data instanceof ZipEntryWritable)) {
+            return null;
+        }
+        final ZipEntryData compressed;
+        try {
+            compressed = ((ZipEntryWritable) data).compressed();
+        } catch (final IOException e) {
+            // fall back to writing the uncompressed data,
+            // which will fail too if the error persists
+            return null;
+        }
+        return compressed != null && compressed.method() == method ? compressed : null;
+    }
+
+}
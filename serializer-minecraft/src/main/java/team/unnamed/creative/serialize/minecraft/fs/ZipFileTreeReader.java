@@ -31,12 +31,18 @@ import team.unnamed.creative.base.Writable;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.lang.ref.WeakReference;
-import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
@@ -45,6 +51,7 @@ import static java.util.Objects.requireNonNull;
 
 final class ZipFileTreeReader implements FileTreeReader {
     private final ZipFile zipFile;
+    private final ContentStore contentStore;
     private final Enumeration<? extends ZipEntry> entries;
 
     private final Collection<WeakReference<ZipFileEntryReadable>> createdContent = new HashSet<>();
@@ -52,8 +59,22 @@ final class ZipFileTreeReader implements FileTreeReader {
     private @Nullable ZipEntry currentEntry;
     private @Nullable ZipEntry nextEntry;
 
+    // lazily read, used to access the compressed entry data
+    private @Nullable Map<String, ZipCentralDirectory.Entry> directory;
+
+    // shared by all the entries while the reader is open, opened on first
+    // use, guarded by this reader's lock, since reads modify its position
+    private @Nullable FileChannel channel;
+
+    private volatile boolean closed;
+
     ZipFileTreeReader(final @NotNull ZipFile zipFile) {
+        this(zipFile, ContentStore.memory());
+    }
+
+    ZipFileTreeReader(final @NotNull ZipFile zipFile, final @NotNull ContentStore contentStore) {
         this.zipFile = requireNonNull(zipFile, "zipFile");
+        this.contentStore = requireNonNull(contentStore, "contentStore");
         this.entries = zipFile.entries();
         this.next0();
     }
@@ -106,24 +127,92 @@ final class ZipFileTreeReader implements FileTreeReader {
         return readable;
     }
 
+    static void defer(final @NotNull Readable content) {
+        if (content instanceof ZipFileEntryReadable) {
+            ((ZipFileEntryReadable) content).deferred = true;
+        }
+    }
+
     @Override
     public void close() throws IOException {
-        // memoize created content before closing
-        for (final WeakReference<ZipFileEntryReadable> ref : createdContent) {
-            final ZipFileEntryReadable readable = ref.get();
-            if (readable != null) {
-                // only memoize if the reference to this readable is still valid
-                readable.memoize();
+        // the compressed data of each entry is memoized if possible, since
+        // it is smaller and can be copied as-is when writing a ZIP again
+        try {
+            synchronized (this) {
+                FileChannel channel;
+                try {
+                    channel = channel();
+                    directory();
+                } catch (final IOException | InvalidPathException e) {
+                    // can't read compressed data, uncompressed data will be memoized
+                    channel = null;
+                }
+
+                // memoize created content before closing
+                for (final WeakReference<ZipFileEntryReadable> ref : createdContent) {
+                    final ZipFileEntryReadable readable = ref.get();
+                    if (readable != null) {
+                        if (readable.deferred && channel != null && readable.compressedSource() != null) {
+                            // not copied, read from the archive file again on access
+                            continue;
+                        }
+                        // only memoize if the reference to this readable is still valid
+                        readable.memoize(channel);
+                    }
+                }
+            }
+        } finally {
+            closed = true;
+            synchronized (this) {
+                if (channel != null) {
+                    channel.close();
+                    channel = null;
+                }
             }
+            // close zip file
+            zipFile.close();
+        }
+    }
+
+    private @NotNull FileChannel openChannel() throws IOException {
+        return FileChannel.open(Paths.get(zipFile.getName()), StandardOpenOption.READ);
+    }
+
+    private synchronized @NotNull FileChannel channel() throws IOException {
+        if (closed) {
+            throw new IOException("The ZIP file reader is closed");
+        }
+        if (channel == null) {
+            channel = openChannel();
         }
+        return channel;
+    }
 
-        // close zip file
-        zipFile.close();
+    private synchronized @NotNull Map<String, ZipCentralDirectory.Entry> directory() throws IOException {
+        if (directory == null) {
+            final Map<String, ZipCentralDirectory.Entry> entries = new HashMap<>();
+            try {
+                for (final ZipCentralDirectory.Entry entry : ZipCentralDirectory.read(channel()).entries()) {
+                    entries.putIfAbsent(entry.name(), entry);
+                }
+            } catch (final InvalidPathException e) {
+                throw new IOException("Invalid ZIP file path: " + zipFile.getName(), e);
+            }
+            directory = entries;
+        }
+        return directory;
     }
 
     private class ZipFileEntryReadable implements Readable {
         private final ZipEntry entry;
-        private byte @Nullable [] memoized;
+        // memoized uncompressed data, if compressed data is memoized
+        // too, it is only set (inflated) when the entry is first read
+        private volatile @Nullable Readable memoized;
+        // memoized compressed data, and its metadata
+        private @Nullable Readable compressedContent;
+        private @Nullable ZipEntryData compressed;
+        // if set, not memoized on close, see FileTreeReader#deferred
+        private volatile boolean deferred;
 
         ZipFileEntryReadable(final @NotNull ZipEntry entry) {
             this.entry = requireNonNull(entry, "entry");
@@ -132,44 +221,156 @@ final class ZipFileTreeReader implements FileTreeReader {
         @Override
         public @NotNull InputStream open() throws IOException {
             if (memoized != null) {
-                return new ByteArrayInputStream(memoized);
+                return memoized.open();
+            } else if (compressed != null) {
+                return inflated().open();
+            } else if (closed) {
+                return reopen();
             } else {
                 return zipFile.getInputStream(entry);
             }
         }
 
+        // reads a deferred entry from the archive file, after the reader is closed
+        private @NotNull InputStream reopen() throws IOException {
+            final ZipCentralDirectory.Entry source = requireNonNull(compressedSource(), "source");
+            final byte[] data;
+            try (final FileChannel channel = openChannel()) {
+                data = source.readCompressed(channel);
+            } catch (final InvalidPathException e) {
+                throw new IOException("Invalid ZIP file path: " + zipFile.getName(), e);
+            }
+            return new SeekableZipFileTreeReader.VerifyingInputStream(source, Streams.inflate(source.method(), new ByteArrayInputStream(data)));
+        }
+
+        // inflates the memoized compressed data once, it is still kept,
+        // so that it can be copied as-is when writing a ZIP again
+        private synchronized @NotNull Readable inflated() throws IOException {
+            Readable inflated = memoized;
+            if (inflated == null) {
+                requireNonNull(compressed, "compressed");
+                requireNonNull(compressedContent, "compressedContent");
+                try (final InputStream input = Streams.inflate(compressed.method(), compressedContent.open())) {
+                    inflated = contentStore.store(input);
+                }
+                memoized = inflated;
+            }
+            return inflated;
+        }
+
         @Override
         public @NotNull Writable asWritable() {
-            if (memoized != null) {
-                return Writable.bytes(memoized);
+            if (memoized != null && compressed == null) {
+                return memoized.asWritable();
             } else {
-                return Readable.super.asWritable();
+                return new EntryWritable();
             }
         }
 
-        void memoize() {
-            if (memoized != null) {
+        /**
+         * Returns the compressed data for this entry, only
+         * available if the compressed data has been memoized
+         * or if the ZIP file is still open.
+         */
+        @Nullable ZipEntryData compressed() throws IOException {
+            if (compressed != null) {
+                return compressed;
+            } else if (memoized != null || closed) {
+                // not available, or deferred, read again when needed
+                return null;
+            }
+            synchronized (ZipFileTreeReader.this) {
+                try {
+                    return readCompressed(channel());
+                } catch (final InvalidPathException e) {
+                    return null;
+                }
+            }
+        }
+
+        private @Nullable ZipEntryData readCompressed(final @NotNull FileChannel channel) throws IOException {
+            final ZipCentralDirectory.Entry source = compressedSource();
+            if (source == null) {
+                return null;
+            }
+            final byte[] data = source.readCompressed(channel);
+            return new ZipEntryData(source.method(), source.crc(), source.size(), data.length, output -> output.write(data));
+        }
+
+        private @Nullable ZipCentralDirectory.Entry compressedSource() throws IOException {
+            final ZipCentralDirectory.Entry source = directory().get(entry.getName());
+            if (source == null
+                    || source.isEncrypted()
+                    || (source.method() != ZipEntry.STORED && source.method() != ZipEntry.DEFLATED)
+                    || source.crc() != entry.getCrc()
+                    || source.compressedSize() != entry.getCompressedSize()) {
+                // unsupported or not the same entry
+                return null;
+            }
+            return source;
+        }
+
+        void memoize(final @Nullable FileChannel channel) throws IOException {
+            if (memoized != null || compressed != null) {
                 // already memoized!
                 return;
             }
-            this.memoized = Readable.super.readAsByteArray();
+            if (channel != null) {
+                // copy the compressed data from the archive to the store
+                Readable content = null;
+                ZipCentralDirectory.Entry source = null;
+                try {
+                    source = compressedSource();
+                    if (source != null) {
+                        try (final InputStream input = source.openCompressed(channel)) {
+                            content = contentStore.store(input);
+                        }
+                    }
+                } catch (final IOException e) {
+                    // fall back to memoizing the uncompressed data
+                    content = null;
+                }
+                if (content != null) {
+                    this.compressedContent = content;
+                    this.compressed = new ZipEntryData(source.method(), source.crc(), source.size(), source.compressedSize(), content.asWritable());
+                    return;
+                }
+            }
+            try (final InputStream input = zipFile.getInputStream(entry)) {
+                this.memoized = contentStore.store(input);
+            }
         }
 
         @Override
         public byte @NotNull [] readAsByteArray() {
             if (memoized != null) {
-                return memoized.clone();
+                return memoized.readAsByteArray();
             } else {
                 return Readable.super.readAsByteArray();
             }
         }
 
-        @Override
-        public @NotNull String readAsUTF8String() throws IOException {
-            if (memoized != null) {
-                return new String(memoized, StandardCharsets.UTF_8);
-            } else {
-                return Readable.super.readAsUTF8String();
+        private class EntryWritable implements ZipEntryWritable {
+            @Override
+            public @Nullable ZipEntryData compressed() throws IOException {
+                return ZipFileEntryReadable.this.compressed();
+            }
+
+            @Override
+            public void write(final @NotNull OutputStream output) throws IOException {
+                requireNonNull(output, "output");
+                try (final InputStream input = open()) {
+                    final byte[] buf = new byte[DEFAULT_BUFFER_LENGTH];
+                    int len;
+                    while ((len = input.read(buf)) != -1) {
+                        output.write(buf, 0, len);
+                    }
+                }
+            }
+
+            @Override
+            public byte @NotNull [] toByteArray() {
+                return readAsByteArray();
             }
         }
     }
@@ -24,13 +24,16 @@
 package team.unnamed.creative.serialize.minecraft.fs;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.base.Writable;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 
@@ -39,12 +42,18 @@ final class ZipFileTreeWriter implements FileTreeWriter {
     private final Set<String> names = new HashSet<>();
     private final ZipOutputStream output;
     private final ZipEntryLifecycleHandler entryLifecycleHandler;
+    private final @Nullable ZipCompressionPolicy compressionPolicy;
 
     private ZipEntryOutputStream current;
 
     ZipFileTreeWriter(ZipOutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler) {
+        this(output, entryLifecycleHandler, null);
+    }
+
+    ZipFileTreeWriter(ZipOutputStream output, ZipEntryLifecycleHandler entryLifecycleHandler, @Nullable ZipCompressionPolicy compressionPolicy) {
         this.output = output;
         this.entryLifecycleHandler = entryLifecycleHandler;
+        this.compressionPolicy = compressionPolicy;
     }
 
     @Override
@@ -67,8 +76,14 @@ final class ZipFileTreeWriter implements FileTreeWriter {
             }
 
             ZipEntry entry = entryLifecycleHandler.create(path);
-            output.putNextEntry(entry);
-            current = new ZipEntryOutputStream(entry);
+            if (prepare(entry)) {
+                // stored entries need their CRC and size before
+                // being put, so we write them when closed
+                current = new ZipEntryOutputStream(entry, new ByteArrayOutputStream());
+            } else {
+                output.putNextEntry(entry);
+                current = new ZipEntryOutputStream(entry, null);
+            }
             return current; // should be closed when any other method is called
         } catch (IOException e) {
             throw new UncheckedIOException(e);
@@ -89,9 +104,13 @@ final class ZipFileTreeWriter implements FileTreeWriter {
 
             // no-need to create a ZipEntryOutputStream
             ZipEntry entry = entryLifecycleHandler.create(path);
-            output.putNextEntry(entry);
-            data.write(output);
-            names.add(path);
+            if (prepare(entry)) {
+                byte[] bytes = data.toByteArray();
+                putStoredEntry(entry, bytes, bytes.length);
+            } else {
+                output.putNextEntry(entry);
+                data.write(output);
+            }
             output.closeEntry();
             entryLifecycleHandler.onClose(entry);
         } catch (IOException e) {
@@ -99,6 +118,39 @@ final class ZipFileTreeWriter implements FileTreeWriter {
         }
     }
 
+    /**
+     * Sets the compression method and level for the given entry,
+     * before it is put.
+     *
+     * @return True if the entry must be stored
+     */
+    private boolean prepare(ZipEntry entry) {
+        int method = entry.getMethod();
+        if (method == -1 && compressionPolicy != null) {
+            method = compressionPolicy.method(entry.getName());
+            entry.setMethod(method);
+        }
+        if (method == ZipEntry.STORED) {
+            return true;
+        }
+        if (compressionPolicy != null) {
+            // applies to the next deflated entry
+            output.setLevel(compressionPolicy.level(entry.getName()));
+        }
+        return false;
+    }
+
+    private void putStoredEntry(ZipEntry entry, byte[] bytes, int length) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setCrc(crc.getValue());
+        entry.setSize(length);
+        entry.setCompressedSize(length);
+        output.putNextEntry(entry);
+        output.write(bytes, 0, length);
+    }
+
     @Override
     public void finish() {
         try {
@@ -128,39 +180,54 @@ final class ZipFileTreeWriter implements FileTreeWriter {
     private class ZipEntryOutputStream extends OutputStream {
 
         private ZipEntry entry;
+        private final @Nullable ByteArrayOutputStream stored;
         private boolean closed;
 
-        private ZipEntryOutputStream(ZipEntry entry) {
+        private ZipEntryOutputStream(ZipEntry entry, @Nullable ByteArrayOutputStream stored) {
             this.entry = entry;
+            this.stored = stored;
         }
 
         @Override
         public void write(byte @NotNull [] b) throws IOException {
-            ensureValid();
-            output.write(b);
+            write(b, 0, b.length);
         }
 
         @Override
         public void write(byte @NotNull [] b, int off, int len) throws IOException {
             ensureValid();
-            output.write(b, off, len);
+            if (stored != null) {
+                stored.write(b, off, len);
+            } else {
+                output.write(b, off, len);
+            }
         }
 
         @Override
         public void write(int b) throws IOException {
             ensureValid();
-            output.write(b);
+            if (stored != null) {
+                stored.write(b);
+            } else {
+                output.write(b);
+            }
         }
 
         @Override
         public void flush() throws IOException {
             ensureValid();
-            output.flush();
+            if (stored == null) {
+                output.flush();
+            }
         }
 
         @Override
         public void close() throws IOException {
             if (!closed) {
+                if (stored != null) {
+                    byte[] bytes = stored.toByteArray();
+                    putStoredEntry(entry, bytes, bytes.length);
+                }
                 output.closeEntry();
                 entryLifecycleHandler.onClose(entry);
                 entry = null;
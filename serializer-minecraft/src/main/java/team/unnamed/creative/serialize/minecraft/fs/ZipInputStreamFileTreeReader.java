@@ -24,6 +24,7 @@
 package team.unnamed.creative.serialize.minecraft.fs;
 
 import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Readable;
 
 import java.io.FilterInputStream;
 import java.io.IOException;
@@ -36,11 +37,17 @@ import java.util.zip.ZipInputStream;
 final class ZipInputStreamFileTreeReader implements FileTreeReader {
 
     private final ZipInputStream zip;
+    private final ContentStore contentStore;
     private ZipEntry current;
     private boolean consumed;
 
     public ZipInputStreamFileTreeReader(ZipInputStream zip) {
+        this(zip, ContentStore.memory());
+    }
+
+    ZipInputStreamFileTreeReader(ZipInputStream zip, ContentStore contentStore) {
         this.zip = zip;
+        this.contentStore = contentStore;
     }
 
     private void nextEntry() {
@@ -95,6 +102,17 @@ final class ZipInputStreamFileTreeReader implements FileTreeReader {
         };
     }
 
+    @Override
+    public @NotNull Readable content() {
+        // entries can't be read again once the stream advances,
+        // so their contents are kept by the content store
+        try (InputStream input = stream()) {
+            return contentStore.store(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store content of entry " + current.getName(), e);
+        }
+    }
+
     @Override
     public void close() throws IOException {
         zip.close();
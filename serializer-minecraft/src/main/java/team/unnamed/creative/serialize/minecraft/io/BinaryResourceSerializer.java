@@ -0,0 +1,50 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * A {@link ResourceSerializer} for binary resources, like sounds,
+ * whose data is already a {@link Writable}.
+ *
+ * <p>Returning the resource data as-is (instead of copying it to
+ * a stream) lets file trees recognize where it comes from, e.g. to
+ * copy compressed ZIP entries without decompressing them.</p>
+ *
+ * @param <T> The resource type
+ * @since 1.8.4
+ */
+public interface BinaryResourceSerializer<T> extends ResourceSerializer<T> {
+    @NotNull Writable serializeBinary(final @NotNull T object, final int targetPackFormat);
+
+    @Override
+    default void serialize(T object, OutputStream output, int targetPackFormat) throws IOException {
+        serializeBinary(object, targetPackFormat).write(output);
+    }
+}
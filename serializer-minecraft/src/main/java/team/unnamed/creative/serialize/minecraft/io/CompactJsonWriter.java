@@ -0,0 +1,126 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * A {@link JsonWriter} that writes numbers in their shortest form,
+ * integral numbers are written without a fractional part ({@code 1}
+ * instead of {@code 1.0}) and floats are written using the shortest
+ * decimal representation that reads back to the same float ({@code 0.1}
+ * instead of {@code 0.10000000149011612}).
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.Internal
+public class CompactJsonWriter extends JsonWriter {
+    // integers with an absolute value up to this one are exactly representable as floats
+    private static final float MAX_EXACT_FLOAT_INTEGER = 1 << 24;
+    // integers with an absolute value up to this one are exactly representable as doubles
+    private static final double MAX_EXACT_DOUBLE_INTEGER = 1L << 53;
+
+    public CompactJsonWriter(final @NotNull Writer out) {
+        super(out);
+    }
+
+    @Override
+    public JsonWriter value(final float value) throws IOException {
+        if (Float.isNaN(value) || Float.isInfinite(value)) {
+            // let the super class handle them
+            return super.value(value);
+        }
+        if (value == (int) value && Math.abs(value) <= MAX_EXACT_FLOAT_INTEGER) {
+            return super.value((long) value);
+        }
+        return super.jsonValue(toShortestString(value));
+    }
+
+    @Override
+    public JsonWriter value(final double value) throws IOException {
+        if (!Double.isNaN(value) && !Double.isInfinite(value)
+                && value == (long) value && Math.abs(value) <= MAX_EXACT_DOUBLE_INTEGER) {
+            return super.value((long) value);
+        }
+        return super.value(value);
+    }
+
+    /**
+     * Returns the shortest decimal representation of the given float
+     * that reads back to the same float, without a trailing {@code .0}.
+     *
+     * @param value The (finite) float value
+     * @return The shortest representation
+     * @since 1.8.4
+     */
+    public static @NotNull String toShortestString(final float value) {
+        String string = Float.toString(value);
+
+        // Float.toString may give more digits than needed in Java
+        // versions previous to 19, shorter representations are
+        // looked for only in that case (more than 8 digits)
+        if (significantDigits(string) > 8) {
+            final BigDecimal exact = new BigDecimal(value);
+            for (int digits = 1; digits <= 8; digits++) {
+                final BigDecimal rounded = exact.round(new MathContext(digits));
+                if (rounded.floatValue() == value) {
+                    string = rounded.stripTrailingZeros().toString();
+                    break;
+                }
+            }
+        }
+
+        // "1.0E-5" -> "1E-5", "2.0" -> "2"
+        final int exponent = string.indexOf('E');
+        final int end = exponent == -1 ? string.length() : exponent;
+        if (end >= 2 && string.charAt(end - 1) == '0' && string.charAt(end - 2) == '.') {
+            string = string.substring(0, end - 2) + string.substring(end);
+        }
+        return string;
+    }
+
+    private static int significantDigits(final @NotNull String string) {
+        int digits = 0;
+        boolean leading = true;
+        for (int i = 0; i < string.length(); i++) {
+            final char c = string.charAt(i);
+            if (c == 'E') {
+                break;
+            } else if (c >= '1' && c <= '9') {
+                leading = false;
+                digits++;
+            } else if (c == '0' && !leading) {
+                digits++;
+            }
+        }
+        return digits;
+    }
+}
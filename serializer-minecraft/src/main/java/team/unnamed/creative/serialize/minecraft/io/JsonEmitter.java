@@ -0,0 +1,208 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Writes JSON resources to byte streams, encoded in UTF-8, using
+ * a {@link CompactJsonWriter}.
+ *
+ * <p>Unlike wrapping the stream in an {@link java.io.OutputStreamWriter}
+ * for every resource, the char buffer, the encoder and the byte buffer
+ * are allocated once per thread and reused.</p>
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.Internal
+public final class JsonEmitter {
+    private static final int BYTE_BUFFER_SIZE = 8 * 1024; // 8KB
+    private static final int INITIAL_CHAR_BUFFER_SIZE = 8 * 1024; // 8KB
+    // char buffers bigger than this are not kept after being used
+    private static final int MAX_RETAINED_CHAR_BUFFER_SIZE = 1024 * 1024; // 1MB
+
+    private static final ThreadLocal<JsonEmitter> LOCAL = ThreadLocal.withInitial(JsonEmitter::new);
+
+    private final CharArrayBuffer chars = new CharArrayBuffer();
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            // same as OutputStreamWriter
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer bytes = ByteBuffer.allocate(BYTE_BUFFER_SIZE);
+    private boolean inUse;
+
+    private JsonEmitter() {
+    }
+
+    /**
+     * Serializes the given object using the given serializer, and
+     * writes the resulting JSON to the given output stream, encoded
+     * in UTF-8. The given stream is not closed.
+     *
+     * @param serializer       The JSON serializer
+     * @param object           The object to serialize
+     * @param targetPackFormat The target pack format
+     * @param prettyPrinting   Whether to use pretty printing
+     * @param output           The target output stream
+     * @param <T>              The object type
+     * @throws IOException If serialization or writing fails
+     */
+    public static <T> void emit(
+            final @NotNull JsonResourceSerializer<T> serializer,
+            final @NotNull T object,
+            final int targetPackFormat,
+            final boolean prettyPrinting,
+            final @NotNull OutputStream output
+    ) throws IOException {
+        requireNonNull(serializer, "serializer");
+        requireNonNull(output, "output");
+
+        JsonEmitter emitter = LOCAL.get();
+        if (emitter.inUse) {
+            // re-entrant call (a serializer emitting
+            // another resource), use a fresh emitter
+            emitter = new JsonEmitter();
+        }
+
+        emitter.inUse = true;
+        try {
+            emitter.emit0(serializer, object, targetPackFormat, prettyPrinting, output);
+        } finally {
+            emitter.chars.release();
+            emitter.inUse = false;
+        }
+    }
+
+    private <T> void emit0(
+            final @NotNull JsonResourceSerializer<T> serializer,
+            final @NotNull T object,
+            final int targetPackFormat,
+            final boolean prettyPrinting,
+            final @NotNull OutputStream output
+    ) throws IOException {
+        try (final JsonWriter writer = new CompactJsonWriter(chars)) {
+            if (prettyPrinting) {
+                writer.setIndent("  ");
+            }
+            serializer.serializeToJson(object, writer, targetPackFormat);
+        }
+
+        final CharBuffer input = CharBuffer.wrap(chars.buf, 0, chars.count);
+        encoder.reset();
+        bytes.clear();
+        CoderResult result;
+        do {
+            result = encoder.encode(input, bytes, true);
+            if (result.isOverflow()) {
+                drain(output);
+            } else if (result.isError()) {
+                // can't happen with REPLACE actions
+                result.throwException();
+            }
+        } while (!result.isUnderflow());
+        while (encoder.flush(bytes).isOverflow()) {
+            drain(output);
+        }
+        drain(output);
+    }
+
+    private void drain(final @NotNull OutputStream output) throws IOException {
+        bytes.flip();
+        output.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        bytes.clear();
+    }
+
+    /**
+     * Growable char buffer, like {@link java.io.CharArrayWriter} but
+     * unsynchronized and exposing its internal array.
+     */
+    private static final class CharArrayBuffer extends Writer {
+        private char[] buf = new char[INITIAL_CHAR_BUFFER_SIZE];
+        private int count;
+
+        private void ensureCapacity(final int capacity) {
+            if (capacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, capacity));
+            }
+        }
+
+        @Override
+        public void write(final int c) {
+            ensureCapacity(count + 1);
+            buf[count++] = (char) c;
+        }
+
+        @Override
+        public void write(final char @NotNull [] chars, final int off, final int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(chars, off, buf, count, len);
+            count += len;
+        }
+
+        @Override
+        public void write(final @NotNull String str, final int off, final int len) {
+            ensureCapacity(count + len);
+            str.getChars(off, off + len, buf, count);
+            count += len;
+        }
+
+        @Override
+        public Writer append(final CharSequence csq) {
+            final String str = String.valueOf(csq);
+            write(str, 0, str.length());
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+
+        // resets the buffer so that it can be reused, dropping it if it grew too much
+        void release() {
+            count = 0;
+            if (buf.length > MAX_RETAINED_CHAR_BUFFER_SIZE) {
+                buf = new char[INITIAL_CHAR_BUFFER_SIZE];
+            }
+        }
+    }
+}
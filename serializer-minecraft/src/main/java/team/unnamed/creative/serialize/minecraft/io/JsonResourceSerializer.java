@@ -28,9 +28,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.StringWriter;
-import java.nio.charset.StandardCharsets;
 
 public interface JsonResourceSerializer<T> extends ResourceSerializer<T> {
 
@@ -38,14 +36,15 @@ public interface JsonResourceSerializer<T> extends ResourceSerializer<T> {
 
     @Override
     default void serialize(T object, OutputStream output, int targetPackFormat) throws IOException {
-        try (JsonWriter writer = new JsonWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
-            serializeToJson(object, writer, targetPackFormat);
+        // the given stream is closed after writing
+        try (OutputStream out = output) {
+            JsonEmitter.emit(this, object, targetPackFormat, false, out);
         }
     }
 
     default @NotNull String serializeToJsonString(final @NotNull T object, final int targetPackFormat) throws IOException {
         final StringWriter writer = new StringWriter();
-        try (final JsonWriter jsonWriter = new JsonWriter(writer)) {
+        try (final JsonWriter jsonWriter = new CompactJsonWriter(writer)) {
             serializeToJson(object, jsonWriter, targetPackFormat);
         }
         return writer.toString();
@@ -0,0 +1,65 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.stream.JsonReader;
+import net.kyori.adventure.key.Key;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link JsonResourceDeserializer} that can also read resources
+ * directly from a {@link JsonReader}, without building a JSON tree
+ * first.
+ *
+ * <p>Both methods must give the same result for the same input, the
+ * tree-based one is kept for callers that already have a tree.</p>
+ *
+ * @param <T> The resource type
+ * @since 1.8.4
+ */
+public interface StreamingJsonResourceDeserializer<T> extends JsonResourceDeserializer<T> {
+
+    /**
+     * Reads the next JSON value from the given reader
+     * as a resource with the given key.
+     *
+     * @param reader The JSON reader
+     * @param key The resource key
+     * @return The read resource
+     * @throws IOException If reading fails
+     * @since 1.8.4
+     */
+    T deserializeFromJson(JsonReader reader, Key key) throws IOException;
+
+    @Override
+    default T deserialize(InputStream input, Key key) throws IOException {
+        try (JsonReader reader = new JsonReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return deserializeFromJson(reader, key);
+        }
+    }
+}
@@ -25,6 +25,7 @@ package team.unnamed.creative.serialize.minecraft.item;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.NotNull;
@@ -48,16 +49,17 @@ import team.unnamed.creative.item.tint.GrassTintSource;
 import team.unnamed.creative.item.tint.KeyedAndBackedTintSource;
 import team.unnamed.creative.item.tint.TintSource;
 import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
-public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonResourceDeserializer<Item> {
+public final class ItemSerializer implements JsonResourceSerializer<Item>, StreamingJsonResourceDeserializer<Item> {
     public static final ItemSerializer INSTANCE;
     public static final ResourceCategoryImpl<Item> CATEGORY;
 
@@ -141,6 +143,30 @@ public final class ItemSerializer implements JsonResourceSerializer<Item>, JsonR
         return Item.item(key, model, handAnimationOnSwap);
     }
 
+    @Override
+    public Item deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        JsonElement modelNode = null;
+        boolean handAnimationOnSwap = Item.DEFAULT_HAND_ANIMATION_ON_SWAP;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model":
+                    // item models are polymorphic and their "type" may come after
+                    // any other field, so this subtree is still read as a tree
+                    modelNode = GsonUtil.parseReader(reader);
+                    break;
+                case "hand_animation_on_swap":
+                    handAnimationOnSwap = GsonUtil.nextBoolean(reader, "hand_animation_on_swap");
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return Item.item(key, deserializeItemModel(modelNode), handAnimationOnSwap);
+    }
+
     private void writeReference(final @NotNull JsonWriter writer, final @NotNull ReferenceItemModel model) throws IOException {
         writer.name("type").value("model");
         writer.name("model").value(KeySerializer.toString(model.model()));
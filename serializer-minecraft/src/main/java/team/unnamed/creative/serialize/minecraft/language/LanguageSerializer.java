@@ -25,19 +25,22 @@ package team.unnamed.creative.serialize.minecraft.language;
 
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import team.unnamed.creative.lang.Language;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 
 import java.io.IOException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
-public final class LanguageSerializer implements JsonResourceSerializer<Language>, JsonResourceDeserializer<Language> {
+public final class LanguageSerializer implements JsonResourceSerializer<Language>, StreamingJsonResourceDeserializer<Language> {
 
     public static final LanguageSerializer INSTANCE;
     public static final ResourceCategoryImpl<Language> CATEGORY;
@@ -81,4 +84,25 @@ public final class LanguageSerializer implements JsonResourceSerializer<Language
         return Language.language(key, translations);
     }
 
+    @Override
+    public Language deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        Map<String, String> translations = new LinkedHashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String translationKey = reader.nextName();
+            JsonToken token = reader.peek();
+            if (token == JsonToken.STRING || token == JsonToken.NUMBER || token == JsonToken.BOOLEAN) {
+                translations.put(translationKey, GsonUtil.nextString(reader));
+            } else {
+                // not a primitive, ignored (a later value replaces earlier ones)
+                translations.remove(translationKey);
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Language.language(key, translations);
+    }
+
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonPrimitive;
+import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import net.kyori.adventure.key.Key;
 import org.jetbrains.annotations.ApiStatus;
@@ -47,8 +48,8 @@ import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.GsonUtil;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.base.KeySerializer;
-import team.unnamed.creative.serialize.minecraft.io.JsonResourceDeserializer;
 import team.unnamed.creative.serialize.minecraft.io.JsonResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.io.StreamingJsonResourceDeserializer;
 import team.unnamed.creative.texture.TextureUV;
 
 import java.io.IOException;
@@ -59,7 +60,7 @@ import java.util.Locale;
 import java.util.Map;
 
 @ApiStatus.Internal
-public final class ModelSerializer implements JsonResourceSerializer<Model>, JsonResourceDeserializer<Model> {
+public final class ModelSerializer implements JsonResourceSerializer<Model>, StreamingJsonResourceDeserializer<Model> {
 
     private static final float MINECRAFT_UV_UNIT = 16F;
 
@@ -192,6 +193,75 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    @Override
+    public Model deserializeFromJson(JsonReader reader, Key key) throws IOException {
+        Key parent = null;
+        Map<ItemTransform.Type, ItemTransform> display = new LinkedHashMap<>();
+        List<Element> elements = new ArrayList<>();
+        boolean ambientOcclusion = Model.DEFAULT_AMBIENT_OCCLUSION;
+        ModelTextures texture = ModelTextures.builder().build();
+        Model.GuiLight guiLight = null;
+        List<ItemOverride> overrides = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "parent":
+                    parent = Key.key(reader.nextString());
+                    break;
+                case "display":
+                    display.clear();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        ItemTransform.Type type = ItemTransform.Type.valueOf(reader.nextName().toUpperCase(Locale.ROOT));
+                        display.put(type, readItemTransform(reader));
+                    }
+                    reader.endObject();
+                    break;
+                case "elements":
+                    elements.clear();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        elements.add(readElement(reader));
+                    }
+                    reader.endArray();
+                    break;
+                case "ambientocclusion":
+                    ambientOcclusion = GsonUtil.nextBoolean(reader, "ambientocclusion");
+                    break;
+                case "textures":
+                    texture = readTextures(reader);
+                    break;
+                case "gui_light":
+                    guiLight = Model.GuiLight.valueOf(reader.nextString().toUpperCase(Locale.ROOT));
+                    break;
+                case "overrides":
+                    overrides.clear();
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        overrides.add(readItemOverride(reader));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        return Model.model()
+                .key(key)
+                .parent(parent)
+                .display(display)
+                .elements(elements)
+                .ambientOcclusion(ambientOcclusion)
+                .textures(texture)
+                .guiLight(guiLight)
+                .overrides(overrides)
+                .build();
+    }
+
     private static void writeElement(JsonWriter writer, Element element) throws IOException {
         writer
                 .beginObject()
@@ -328,6 +398,127 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static Element readElement(JsonReader reader) throws IOException {
+        Vector3Float from = null;
+        Vector3Float to = null;
+        ElementRotation rotation = null;
+        boolean shade = Element.DEFAULT_SHADE;
+        int lightEmission = 0;
+        Map<CubeFace, ElementFace> faces = new LinkedHashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from":
+                    from = GsonUtil.readVector3Float(reader);
+                    break;
+                case "to":
+                    to = GsonUtil.readVector3Float(reader);
+                    break;
+                case "rotation":
+                    rotation = readElementRotation(reader);
+                    break;
+                case "shade":
+                    shade = GsonUtil.nextBoolean(reader, "shade");
+                    break;
+                case "light_emission":
+                    lightEmission = GsonUtil.nextInt(reader, "light_emission");
+                    break;
+                case "faces":
+                    faces.clear();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        CubeFace face = CubeFace.valueOf(reader.nextName().toUpperCase(Locale.ROOT));
+                        ElementFace elementFace = readElementFace(reader);
+                        if (elementFace != null) {
+                            faces.put(face, elementFace);
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        return Element.element()
+                .from(from)
+                .to(to)
+                .rotation(rotation)
+                .shade(shade)
+                .lightEmission(lightEmission)
+                .faces(faces)
+                .build();
+    }
+
+    /*
+     * Reads an element face, returns null if the face must be
+     * ignored (because of an unknown cull face)
+     */
+    private static ElementFace readElementFace(JsonReader reader) throws IOException {
+        TextureUV uv = null;
+        String texture = null;
+        CubeFace cullFace = null;
+        boolean invalidCullFace = false;
+        int rotation = ElementFace.DEFAULT_ROTATION;
+        int tintIndex = ElementFace.DEFAULT_TINT_INDEX;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "uv": {
+                    reader.beginArray();
+                    Vector2Float from = new Vector2Float(GsonUtil.nextFloat(reader), GsonUtil.nextFloat(reader));
+                    Vector2Float to = new Vector2Float(GsonUtil.nextFloat(reader), GsonUtil.nextFloat(reader));
+                    while (reader.hasNext()) {
+                        reader.skipValue();
+                    }
+                    reader.endArray();
+                    uv = TextureUV.uv(
+                            from.divide(MINECRAFT_UV_UNIT),
+                            to.divide(MINECRAFT_UV_UNIT)
+                    );
+                    break;
+                }
+                case "texture":
+                    texture = GsonUtil.nextString(reader);
+                    break;
+                case "cullface":
+                    try {
+                        cullFace = CubeFace.valueOf(GsonUtil.nextString(reader).toUpperCase(Locale.ROOT));
+                        invalidCullFace = false;
+                    } catch (IllegalArgumentException e) {
+                        invalidCullFace = true;
+                    }
+                    break;
+                case "rotation":
+                    rotation = GsonUtil.nextInt(reader, "rotation");
+                    break;
+                case "tintindex":
+                    tintIndex = GsonUtil.nextInt(reader, "tintindex");
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (invalidCullFace) {
+            return null;
+        }
+
+        return ElementFace.face()
+                .uv(uv)
+                .texture(texture)
+                .cullFace(cullFace)
+                .rotation(rotation)
+                .tintIndex(tintIndex)
+                .build();
+    }
+
     private static void writeElementRotation(JsonWriter writer, ElementRotation rotation) throws IOException {
         writer.beginObject()
                 .name("origin");
@@ -353,6 +544,33 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static ElementRotation readElementRotation(JsonReader reader) throws IOException {
+        ElementRotation.Builder builder = ElementRotation.builder();
+        boolean rescale = ElementRotation.DEFAULT_RESCALE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "origin":
+                    builder.origin(GsonUtil.readVector3Float(reader));
+                    break;
+                case "axis":
+                    builder.axis(Axis3D.valueOf(reader.nextString().toUpperCase(Locale.ROOT)));
+                    break;
+                case "angle":
+                    builder.angle(GsonUtil.nextFloat(reader));
+                    break;
+                case "rescale":
+                    rescale = GsonUtil.nextBoolean(reader, "rescale");
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return builder.rescale(rescale).build();
+    }
+
     private static void writeItemOverride(JsonWriter writer, ItemOverride override) throws IOException {
         writer.beginObject()
                 .name("predicate").beginObject();
@@ -387,24 +605,63 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
         Key key = Key.key(objectNode.get("model").getAsString());
         List<ItemPredicate> predicates = new ArrayList<>();
         for (Map.Entry<String, JsonElement> predicateEntry : objectNode.getAsJsonObject("predicate").entrySet()) {
-            JsonElement value = predicateEntry.getValue();
-            // TODO: better transformation
-            Object object;
-            if (value.isJsonPrimitive()) {
-                JsonPrimitive primitive = value.getAsJsonPrimitive();
-                if (primitive.isNumber()) {
-                    object = primitive.getAsNumber();
-                } else if (primitive.isBoolean()) {
-                    object = primitive.getAsBoolean();
-                } else {
-                    object = primitive.getAsString();
-                }
+            predicates.add(ItemPredicate.custom(predicateEntry.getKey(), readPredicateValue(predicateEntry.getValue())));
+        }
+        return ItemOverride.of(key, predicates);
+    }
+
+    private static ItemOverride readItemOverride(JsonReader reader) throws IOException {
+        Key key = null;
+        Map<String, Object> predicates = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "model":
+                    key = Key.key(reader.nextString());
+                    break;
+                case "predicate":
+                    predicates.clear();
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        String name = reader.nextName();
+                        // predicate values are tiny, parse them as trees
+                        // to keep the exact same value conversion
+                        predicates.put(name, readPredicateValue(GsonUtil.parseReader(reader)));
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+
+        if (key == null) {
+            throw new IllegalStateException("Item override must have a model");
+        }
+
+        List<ItemPredicate> predicateList = new ArrayList<>(predicates.size());
+        for (Map.Entry<String, Object> predicate : predicates.entrySet()) {
+            predicateList.add(ItemPredicate.custom(predicate.getKey(), predicate.getValue()));
+        }
+        return ItemOverride.of(key, predicateList);
+    }
+
+    private static Object readPredicateValue(JsonElement value) {
+        // TODO: better transformation
+        if (value.isJsonPrimitive()) {
+            JsonPrimitive primitive = value.getAsJsonPrimitive();
+            if (primitive.isNumber()) {
+                return primitive.getAsNumber();
+            } else if (primitive.isBoolean()) {
+                return primitive.getAsBoolean();
             } else {
-                object = value.getAsString();
+                return primitive.getAsString();
             }
-            predicates.add(ItemPredicate.custom(predicateEntry.getKey(), object));
+        } else {
+            return value.getAsString();
         }
-        return ItemOverride.of(key, predicates);
     }
 
     private static void writeItemTransform(JsonWriter writer, ItemTransform transform) throws IOException {
@@ -436,26 +693,57 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
             rotation = GsonUtil.readVector3Float(objectNode.get("rotation"));
         }
         if (objectNode.has("translation")) {
-            translation = GsonUtil.readVector3Float(objectNode.get("translation"));
-            // clamp translations between -80 and 80 (what Minecraft does)
-            translation = new Vector3Float(
-                    Math.max(-80F, Math.min(80F, translation.x())),
-                    Math.max(-80F, Math.min(80F, translation.y())),
-                    Math.max(-80F, Math.min(80F, translation.z()))
-            );
+            translation = clampTranslation(GsonUtil.readVector3Float(objectNode.get("translation")));
         }
         if (objectNode.has("scale")) {
-            scale = GsonUtil.readVector3Float(objectNode.get("scale"));
-            // set max to 4 (what Minecraft does)
-            scale = new Vector3Float(
-                    Math.min(4F, scale.x()),
-                    Math.min(4F, scale.y()),
-                    Math.min(4F, scale.z())
-            );
+            scale = clampScale(GsonUtil.readVector3Float(objectNode.get("scale")));
+        }
+        return ItemTransform.transform(rotation, translation, scale);
+    }
+
+    private static ItemTransform readItemTransform(JsonReader reader) throws IOException {
+        Vector3Float rotation = ItemTransform.DEFAULT_ROTATION;
+        Vector3Float translation = ItemTransform.DEFAULT_TRANSLATION;
+        Vector3Float scale = ItemTransform.DEFAULT_SCALE;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "rotation":
+                    rotation = GsonUtil.readVector3Float(reader);
+                    break;
+                case "translation":
+                    translation = clampTranslation(GsonUtil.readVector3Float(reader));
+                    break;
+                case "scale":
+                    scale = clampScale(GsonUtil.readVector3Float(reader));
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
         }
+        reader.endObject();
         return ItemTransform.transform(rotation, translation, scale);
     }
 
+    private static Vector3Float clampTranslation(Vector3Float translation) {
+        // clamp translations between -80 and 80 (what Minecraft does)
+        return new Vector3Float(
+                Math.max(-80F, Math.min(80F, translation.x())),
+                Math.max(-80F, Math.min(80F, translation.y())),
+                Math.max(-80F, Math.min(80F, translation.z()))
+        );
+    }
+
+    private static Vector3Float clampScale(Vector3Float scale) {
+        // set max to 4 (what Minecraft does)
+        return new Vector3Float(
+                Math.min(4F, scale.x()),
+                Math.min(4F, scale.y()),
+                Math.min(4F, scale.z())
+        );
+    }
+
     private static void writeTextures(JsonWriter writer, ModelTextures texture) throws IOException {
         final ModelTexture particle = texture.particle();
         final List<ModelTexture> layers = texture.layers();
@@ -500,10 +788,7 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
 
         for (Map.Entry<String, JsonElement> entry : objectNode.entrySet()) {
             String key = entry.getKey();
-            String value = entry.getValue().getAsString();
-            ModelTexture texture = value.charAt(0) == '#'
-                    ? ModelTexture.ofReference(value.substring(1))
-                    : ModelTexture.ofKey(Key.key(value));
+            ModelTexture texture = readModelTexture(entry.getValue().getAsString());
 
             if ("particle".equals(key)) {
                 particle = texture;
@@ -523,4 +808,43 @@ public final class ModelSerializer implements JsonResourceSerializer<Model>, Jso
                 .build();
     }
 
+    private static ModelTextures readTextures(JsonReader reader) throws IOException {
+        // same as the tree-based method, a later duplicated
+        // name replaces the previous value
+        Map<String, ModelTexture> textures = new LinkedHashMap<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            textures.put(key, readModelTexture(GsonUtil.nextString(reader)));
+        }
+        reader.endObject();
+
+        ModelTexture particle = null;
+        List<ModelTexture> layers = new ArrayList<>(textures.size());
+        Map<String, ModelTexture> variables = new LinkedHashMap<>();
+        for (Map.Entry<String, ModelTexture> entry : textures.entrySet()) {
+            String key = entry.getKey();
+            if ("particle".equals(key)) {
+                particle = entry.getValue();
+            } else if (key.startsWith("layer")) {
+                Integer.parseInt(key.substring("layer".length()));
+                layers.add(entry.getValue());
+            } else {
+                variables.put(key, entry.getValue());
+            }
+        }
+
+        return ModelTextures.builder()
+                .particle(particle)
+                .layers(layers)
+                .variables(variables)
+                .build();
+    }
+
+    private static ModelTexture readModelTexture(String value) {
+        return value.charAt(0) == '#'
+                ? ModelTexture.ofReference(value.substring(1))
+                : ModelTexture.ofKey(Key.key(value));
+    }
+
 }
\ No newline at end of file
@@ -27,6 +27,7 @@ import org.jetbrains.annotations.ApiStatus;
 import team.unnamed.creative.overlay.ResourceContainer;
 import team.unnamed.creative.serialize.minecraft.ResourceCategoryImpl;
 import team.unnamed.creative.serialize.minecraft.io.BinaryResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.io.BinaryResourceSerializer;
 import team.unnamed.creative.sound.Sound;
 
 @ApiStatus.Internal
@@ -37,7 +38,7 @@ public class SoundSerializer {
             ".ogg",
             ResourceContainer::sounds,
             (BinaryResourceDeserializer<Sound>) (data, key) -> Sound.sound(key, data),
-            (sound, output, targetPackFormat) -> sound.data().write(output)
+            (BinaryResourceSerializer<Sound>) (sound, targetPackFormat) -> sound.data()
     );
 
 }
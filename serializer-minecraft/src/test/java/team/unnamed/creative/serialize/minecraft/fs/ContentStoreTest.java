@@ -0,0 +1,134 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.base.Readable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ContentStoreTest {
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_memory() throws IOException {
+        byte[] data = randomBytes(1000);
+        Readable readable = ContentStore.memory().store(new ByteArrayInputStream(data));
+        assertArrayEquals(data, readable.readAsByteArray());
+    }
+
+    @Test
+    void test_spilling() throws IOException {
+        byte[] small = randomBytes(100);
+        byte[] big = randomBytes(100_000);
+        byte[] big2 = randomBytes(50_000);
+
+        Readable smallReadable;
+        Readable bigReadable;
+        Readable big2Readable;
+        try (ContentStore store = ContentStore.spilling(tempDir, 1024)) {
+            smallReadable = store.store(new ByteArrayInputStream(small));
+            assertEquals(0, fileCount(), "Small content must be kept in memory");
+
+            bigReadable = store.store(new ByteArrayInputStream(big));
+            big2Readable = store.store(new ByteArrayInputStream(big2));
+            assertEquals(1, fileCount(), "Big contents must be spilled to a single file");
+
+            // can be read many times
+            for (int i = 0; i < 2; i++) {
+                assertArrayEquals(small, smallReadable.readAsByteArray());
+                assertArrayEquals(big, bigReadable.readAsByteArray());
+                assertArrayEquals(big2, big2Readable.readAsByteArray());
+            }
+        }
+
+        assertEquals(0, fileCount(), "Temporary file must be deleted on close");
+        assertArrayEquals(small, smallReadable.readAsByteArray());
+        assertThrows(Exception.class, bigReadable::readAsByteArray);
+    }
+
+    @Test
+    void test_zip_input_stream_reader() throws IOException {
+        Map<String, byte[]> files = new HashMap<>();
+        files.put("small.txt", "Hello".getBytes(StandardCharsets.UTF_8));
+        files.put("dir/big.bin", randomBytes(20_000));
+        files.put("dir/big2.bin", randomBytes(30_000));
+
+        ByteArrayOutputStream zip = new ByteArrayOutputStream();
+        try (ZipOutputStream output = new ZipOutputStream(zip)) {
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                output.putNextEntry(new ZipEntry(file.getKey()));
+                output.write(file.getValue());
+                output.closeEntry();
+            }
+        }
+
+        Map<String, Readable> contents = new HashMap<>();
+        try (ContentStore store = ContentStore.spilling(tempDir, 4096)) {
+            try (FileTreeReader reader = FileTreeReader.zip(new ZipInputStream(new ByteArrayInputStream(zip.toByteArray())), store)) {
+                while (reader.hasNext()) {
+                    String path = reader.next();
+                    contents.put(path, reader.content());
+                }
+            }
+
+            // contents are still readable after the reader is closed
+            assertEquals(files.size(), contents.size());
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                assertArrayEquals(file.getValue(), contents.get(file.getKey()).readAsByteArray());
+            }
+        }
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> stream = Files.list(tempDir)) {
+            return stream.count();
+        }
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DirectoryFileTreeWriterTest implements FileTreeWriterTest {
+
+    private @TempDir Path tempDir;
+
+    @Override
+    public FileTreeWriter createWriter() throws IOException {
+        // must be overwritten
+        Files.write(tempDir.resolve("file.txt"), "Old content".getBytes(StandardCharsets.UTF_8));
+        return FileTreeWriter.directory(tempDir, false);
+    }
+
+    @Override
+    public void assertWritten() throws IOException {
+        Map<String, byte[]> files = new HashMap<>();
+        try (FileTreeReader reader = FileTreeReader.directory(tempDir)) {
+            while (reader.hasNext()) {
+                String path = reader.next();
+                files.put(path, reader.content().readAsByteArray());
+            }
+        }
+
+        assertEquals(6, files.size());
+        assertEquals("Hello there", new String(files.get("file.txt"), StandardCharsets.UTF_8));
+        assertEquals(0, files.get("emptyfile.txt").length);
+        assertArrayEquals(new byte[]{(byte) 0xB0, 0x0B}, files.get("binaryfile.bin"));
+        assertEquals("{\"libraryMainDeveloper\":\"yusshu\",\"license\":\"MIT\",\"year\":2023}", new String(files.get("file.json"), StandardCharsets.UTF_8));
+        assertEquals("File in directory", new String(files.get("dir/file.txt"), StandardCharsets.UTF_8));
+        assertEquals("File without extension in subdirectory", new String(files.get("dir/subdir/noext"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void test_write_back_to_read_directory() throws IOException {
+        Path pack = Files.createDirectory(tempDir.resolve("pack"));
+        ResourcePack original = ResourcePack.resourcePack();
+        original.packMeta(34, "Round trip");
+        original.icon(Writable.stringUtf8("icon"));
+        original.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+        original.texture(Texture.texture(Key.key("test", "item/texture.png"), Writable.stringUtf8("texture")));
+        MinecraftResourcePackWriter.minecraft().writeToDirectory(pack, original);
+
+        // read, modify and write back to the same directory, which is cleared first
+        ResourcePack resourcePack = MinecraftResourcePackReader.minecraft().readFromDirectory(pack);
+        resourcePack.unknownFile("added.txt", Writable.stringUtf8("Added"));
+        MinecraftResourcePackWriter.minecraft().writeToDirectory(pack, resourcePack);
+
+        ResourcePack result = MinecraftResourcePackReader.minecraft().readFromDirectory(pack);
+        assertEquals("icon", result.icon().toUTF8String());
+        assertEquals("Unnamed Team", result.unknownFile("credits.txt").toUTF8String());
+        assertEquals("Added", result.unknownFile("added.txt").toUTF8String());
+        assertEquals("texture", result.texture(Key.key("test", "item/texture.png")).data().toUTF8String());
+    }
+
+}
@@ -0,0 +1,127 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Writable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ParallelZipFileTreeWriterTest extends ZipFileTreeWriterTest {
+
+    @Override
+    public FileTreeWriter createWriter() throws IOException {
+        return FileTreeWriter.parallelZip(Files.newOutputStream(zipPath()));
+    }
+
+    @Test
+    void test_parallel_zip_is_reproducible() throws IOException {
+        byte[] big = createData(ParallelZipFileTreeWriter.BLOCK_SIZE * 5 + 1234);
+        byte[] small = createData(1000);
+
+        byte[] first;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            first = write(executor, big, small);
+        } finally {
+            executor.shutdown();
+        }
+        byte[] second = write(ForkJoinPool.commonPool(), big, small);
+        byte[] third = write(Runnable::run, big, small);
+        assertArrayEquals(first, second);
+        assertArrayEquals(first, third);
+
+        // read using the local headers
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(first))) {
+            for (int i = 0; i < 10; i++) {
+                ZipEntry entry = input.getNextEntry();
+                assertEquals("big/" + i + ".json", entry.getName());
+                assertArrayEquals(big, Writable.copyInputStream(input).toByteArray());
+                entry = input.getNextEntry();
+                assertEquals("small/" + i + ".png", entry.getName());
+                assertArrayEquals(small, Writable.copyInputStream(input).toByteArray());
+            }
+            assertNull(input.getNextEntry());
+        }
+
+        // read using the central directory
+        Path path = zipPath();
+        Files.write(path, first);
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            assertEquals(20, zip.size());
+            ZipEntry entry = zip.getEntry("big/3.json");
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+            try (InputStream input = zip.getInputStream(entry)) {
+                assertArrayEquals(big, Writable.copyInputStream(input).toByteArray());
+            }
+            entry = zip.getEntry("small/3.png");
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            try (InputStream input = zip.getInputStream(entry)) {
+                assertArrayEquals(small, Writable.copyInputStream(input).toByteArray());
+            }
+        }
+    }
+
+    private static byte[] write(Executor executor, byte[] big, byte[] small) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (FileTreeWriter writer = FileTreeWriter.parallelZip(output, ZipEntryLifecycleHandler.DEFAULT, ZipCompressionPolicy.STORE_COMPRESSED, executor)) {
+            for (int i = 0; i < 10; i++) {
+                writer.write("big/" + i + ".json", Writable.bytes(big));
+                try (OutputStream stream = writer.openStream("small/" + i + ".png")) {
+                    stream.write(small);
+                }
+            }
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] createData(int length) {
+        // compressible, but not too much
+        Random random = new Random(length);
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) ('a' + random.nextInt(8));
+        }
+        return data;
+    }
+
+}
@@ -0,0 +1,216 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeekableZipFileTreeReaderTest {
+
+    private static final String CREDITS = "Unnamed Team, Unnamed Team, Unnamed Team";
+    private static final String TEXTURE = "not really a texture";
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_read_from_buffer() throws IOException {
+        byte[] bytes = writeArchive();
+        // some bytes before and after the archive, they must be ignored
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 8);
+        buffer.position(4);
+        buffer.put(bytes);
+        buffer.position(4).limit(4 + bytes.length);
+
+        List<String> names = new ArrayList<>();
+        List<Readable> contents = new ArrayList<>();
+        try (FileTreeReader reader = FileTreeReader.zip(buffer)) {
+            while (reader.hasNext()) {
+                names.add(reader.next());
+                contents.add(reader.content());
+            }
+        }
+
+        // directories are skipped, buffer position and limit are untouched
+        assertEquals(3, names.size());
+        assertEquals(4, buffer.position());
+        assertEquals(4 + bytes.length, buffer.limit());
+
+        // contents can be read after closing, in any order
+        assertEquals(TEXTURE, contents.get(2).readAsUTF8String());
+        assertEquals(CREDITS, contents.get(1).readAsUTF8String());
+
+        // compressed data is exposed so it can be copied as-is
+        Writable credits = contents.get(1).asWritable();
+        assertTrue(credits instanceof ZipEntryWritable);
+        ZipEntryData compressed = ((ZipEntryWritable) credits).compressed();
+        assertNotNull(compressed);
+        assertEquals(ZipEntry.DEFLATED, compressed.method());
+
+        Writable texture = contents.get(2).asWritable();
+        ZipEntryData stored = ((ZipEntryWritable) texture).compressed();
+        assertNotNull(stored);
+        assertEquals(ZipEntry.STORED, stored.method());
+        assertEquals(TEXTURE, new String(stored.data().toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void test_read_from_channel() throws IOException {
+        Path path = tempDir.resolve("archive.zip");
+        Files.write(path, writeArchive());
+
+        try (SeekableByteChannel channel = Files.newByteChannel(path);
+             FileTreeReader reader = FileTreeReader.zip(channel)) {
+            List<Readable> contents = new ArrayList<>();
+            while (reader.hasNext()) {
+                reader.next();
+                contents.add(reader.content());
+            }
+            assertEquals(TEXTURE, contents.get(2).readAsUTF8String());
+            assertEquals(CREDITS, contents.get(1).readAsUTF8String());
+        }
+    }
+
+    @Test
+    void test_corrupt_entry() throws IOException {
+        byte[] bytes = writeArchive();
+        // corrupt the stored texture data, the central directory is intact
+        byte[] texture = TEXTURE.getBytes(StandardCharsets.UTF_8);
+        int index = indexOf(bytes, texture);
+        assertTrue(index != -1);
+        bytes[index] ^= 1;
+
+        try (FileTreeReader reader = FileTreeReader.zip(ByteBuffer.wrap(bytes))) {
+            Readable content = null;
+            while (reader.hasNext()) {
+                if (reader.next().endsWith("texture.png")) {
+                    content = reader.content();
+                }
+            }
+            assertNotNull(content);
+            Readable corrupt = content;
+            UncheckedIOException e = assertThrows(UncheckedIOException.class, corrupt::readAsByteArray);
+            assertTrue(e.getCause() instanceof ZipException, "Unexpected cause: " + e.getCause());
+        }
+    }
+
+    private static int indexOf(byte[] array, byte[] target) {
+        outer:
+        for (int i = 0; i <= array.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (array[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    @Test
+    void test_invalid_archive() {
+        assertThrows(RuntimeException.class, () -> FileTreeReader.zip(ByteBuffer.wrap(new byte[64])));
+    }
+
+    @Test
+    void test_read_resource_pack_from_buffer() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Buffer test");
+        for (int i = 0; i < 32; i++) {
+            resourcePack.model(Model.model()
+                    .key(Key.key("test", "item/model_" + i))
+                    .parent(Key.key("item/generated"))
+                    .build());
+        }
+        resourcePack.language(Language.language(Key.key("test", "en_us"), Collections.singletonMap("test.key", "Test")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8(CREDITS));
+
+        ByteBuffer buffer = ByteBuffer.wrap(MinecraftResourcePackWriter.minecraft().build(resourcePack).data().toByteArray());
+
+        for (MinecraftResourcePackReader reader : new MinecraftResourcePackReader[] {
+                MinecraftResourcePackReader.minecraft(),
+                MinecraftResourcePackReader.builder().executor(ForkJoinPool.commonPool()).build(),
+                MinecraftResourcePackReader.builder().lazy(true).build()
+        }) {
+            ResourcePack read = reader.readFromBuffer(buffer);
+            assertEquals(32, read.models().size());
+            assertEquals(resourcePack.model(Key.key("test", "item/model_7")), read.model(Key.key("test", "item/model_7")));
+            assertEquals(resourcePack.language(Key.key("test", "en_us")), read.language(Key.key("test", "en_us")));
+            assertEquals(CREDITS, read.unknownFile("credits.txt").toUTF8String());
+        }
+    }
+
+    private static byte[] writeArchive() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream output = new ZipOutputStream(bytes)) {
+            output.putNextEntry(new ZipEntry("assets/"));
+            output.putNextEntry(new ZipEntry("pack.mcmeta"));
+            output.write("{\"pack\":{\"pack_format\":34,\"description\":\"Source\"}}".getBytes(StandardCharsets.UTF_8));
+            output.putNextEntry(new ZipEntry("credits.txt"));
+            output.write(CREDITS.getBytes(StandardCharsets.UTF_8));
+
+            byte[] texture = TEXTURE.getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(texture);
+            ZipEntry stored = new ZipEntry("assets/test/textures/item/texture.png");
+            stored.setMethod(ZipEntry.STORED);
+            stored.setSize(texture.length);
+            stored.setCompressedSize(texture.length);
+            stored.setCrc(crc.getValue());
+            output.putNextEntry(stored);
+            output.write(texture);
+        }
+        return bytes.toByteArray();
+    }
+
+}
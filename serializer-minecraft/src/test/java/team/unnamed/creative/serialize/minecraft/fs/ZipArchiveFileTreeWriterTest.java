@@ -0,0 +1,81 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ZipArchiveFileTreeWriterTest extends ZipFileTreeWriterTest {
+
+    @Override
+    public FileTreeWriter createWriter() throws IOException {
+        return FileTreeWriter.zip(
+                Files.newOutputStream(zipPath()),
+                ZipEntryLifecycleHandler.DEFAULT,
+                ZipCompressionPolicy.storing("txt"),
+                ZipEntryCache.zipEntryCache()
+        );
+    }
+
+    @Test
+    void test_entry_details_set_on_close_are_kept() throws IOException {
+        byte[] extra = {(byte) 0xFE, (byte) 0xCA, 2, 0, 1, 2};
+        ZipEntryLifecycleHandler handler = new ZipEntryLifecycleHandler() {
+            @Override
+            public void onClose(ZipEntry entry) {
+                entry.setComment("Closed " + entry.getName());
+                entry.setExtra(extra);
+            }
+        };
+
+        try (FileTreeWriter writer = FileTreeWriter.zip(
+                Files.newOutputStream(zipPath()),
+                handler,
+                ZipCompressionPolicy.storing("txt"),
+                ZipEntryCache.zipEntryCache()
+        )) {
+            writer.write("stored.txt", Writable.stringUtf8("Stored"));
+            writer.write("deflated.json", Writable.stringUtf8("{}"));
+        }
+
+        try (ZipFile zip = new ZipFile(zipPath().toFile())) {
+            for (String name : new String[] { "stored.txt", "deflated.json" }) {
+                ZipEntry entry = zip.getEntry(name);
+                assertNotNull(entry);
+                assertEquals("Closed " + name, entry.getComment());
+                assertArrayEquals(extra, entry.getExtra());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ZipCompressionPolicyTest {
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_store_compressed_policy() {
+        assertEquals(ZipEntry.STORED, ZipCompressionPolicy.STORE_COMPRESSED.method("assets/minecraft/textures/block/stone.png"));
+        assertEquals(ZipEntry.STORED, ZipCompressionPolicy.STORE_COMPRESSED.method("assets/minecraft/sounds/ambient/cave1.OGG"));
+        assertEquals(ZipEntry.DEFLATED, ZipCompressionPolicy.STORE_COMPRESSED.method("assets/minecraft/textures/block/stone.png.mcmeta"));
+        assertEquals(ZipEntry.DEFLATED, ZipCompressionPolicy.STORE_COMPRESSED.method("assets/minecraft/models/block/stone.json"));
+        assertEquals(ZipEntry.DEFLATED, ZipCompressionPolicy.STORE_COMPRESSED.method("pack.png/noext"));
+        assertEquals(ZipEntry.DEFLATED, ZipCompressionPolicy.DEFLATE_ALL.method("pack.png"));
+    }
+
+    @Test
+    void test_writers_deflate_all_by_default() {
+        // the default must not change the bytes (and hashes) of the written packs
+        assertSame(ZipCompressionPolicy.DEFLATE_ALL, MinecraftResourcePackWriter.minecraft().zipCompressionPolicy());
+        assertSame(ZipCompressionPolicy.DEFLATE_ALL, MinecraftResourcePackWriter.builder().build().zipCompressionPolicy());
+    }
+
+    @Test
+    void test_zip_output_stream_policy() throws IOException {
+        Path path = tempDir.resolve("stream.zip");
+        try (FileTreeWriter writer = FileTreeWriter.zip(
+                new ZipOutputStream(Files.newOutputStream(path)),
+                ZipEntryLifecycleHandler.DEFAULT,
+                ZipCompressionPolicy.STORE_COMPRESSED
+        )) {
+            write(writer);
+        }
+        assertWritten(path);
+    }
+
+    @Test
+    void test_zip_archive_policy() throws IOException {
+        Path path = tempDir.resolve("archive.zip");
+        try (FileTreeWriter writer = FileTreeWriter.zip(
+                Files.newOutputStream(path),
+                ZipEntryLifecycleHandler.DEFAULT,
+                ZipCompressionPolicy.STORE_COMPRESSED,
+                null
+        )) {
+            write(writer);
+        }
+        assertWritten(path);
+    }
+
+    private static void write(FileTreeWriter writer) throws IOException {
+        writer.write("pack.png", Writable.stringUtf8("not really an image"));
+        writer.write("pack.mcmeta", Writable.stringUtf8("{\"pack\":{\"pack_format\":34}}"));
+        try (Writer fileWriter = writer.openWriter("sounds/sound.ogg")) {
+            fileWriter.write("not really a sound");
+        }
+        writer.write("empty.png", Writable.EMPTY);
+    }
+
+    private static void assertWritten(Path path) throws IOException {
+        try (ZipFile zip = new ZipFile(path.toFile())) {
+            assertEntry(zip, "pack.png", ZipEntry.STORED, "not really an image");
+            assertEntry(zip, "pack.mcmeta", ZipEntry.DEFLATED, "{\"pack\":{\"pack_format\":34}}");
+            assertEntry(zip, "sounds/sound.ogg", ZipEntry.STORED, "not really a sound");
+            assertEntry(zip, "empty.png", ZipEntry.STORED, "");
+        }
+    }
+
+    private static void assertEntry(ZipFile zip, String name, int method, String expected) throws IOException {
+        ZipEntry entry = zip.getEntry(name);
+        assertEquals(method, entry.getMethod(), "Unexpected method for " + name);
+        try (InputStream input = zip.getInputStream(entry)) {
+            assertEquals(expected, new String(Writable.copyInputStream(input).toByteArray(), StandardCharsets.UTF_8));
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipEntryCacheTest {
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_rebuild_with_cache() throws IOException {
+        ZipEntryCache cache = ZipEntryCache.zipEntryCache();
+        MinecraftResourcePackWriter cachedWriter = MinecraftResourcePackWriter.builder()
+                .zipCompressionPolicy(ZipCompressionPolicy.DEFLATE_ALL) // so textures are cached too
+                .zipEntryCache(cache)
+                .build();
+
+        ResourcePack resourcePack = createResourcePack();
+        BuiltResourcePack first = cachedWriter.build(resourcePack);
+        int entryCount = cache.entryCount();
+        assertTrue(entryCount > 0, "Cache must not be empty after building");
+
+        // rebuilding the same pack must give the exact same zip
+        BuiltResourcePack second = cachedWriter.build(resourcePack);
+        assertEquals(first.hash(), second.hash());
+        assertArrayEquals(first.data().toByteArray(), second.data().toByteArray());
+        assertEquals(entryCount, cache.entryCount());
+
+        // only the changed texture must be compressed again
+        resourcePack.texture(Texture.texture(Key.key("test", "item/texture_0.png"), Writable.stringUtf8("changed texture")));
+        BuiltResourcePack changed = cachedWriter.build(resourcePack);
+        assertNotEquals(first.hash(), changed.hash());
+        assertEquals(entryCount + 1, cache.entryCount());
+
+        // contents must be the same as the ones written without the cache
+        BuiltResourcePack uncached = MinecraftResourcePackWriter.builder()
+                .zipCompressionPolicy(ZipCompressionPolicy.DEFLATE_ALL)
+                .build()
+                .build(resourcePack);
+        assertEquals(readZipStream(uncached.data().toByteArray()), readZipStream(changed.data().toByteArray()));
+
+        // and the central directory must be readable too
+        Path path = tempDir.resolve("pack.zip");
+        Files.write(path, changed.data().toByteArray());
+        assertEquals(readZipStream(uncached.data().toByteArray()), readZipFile(path));
+    }
+
+    @Test
+    void test_cache_is_bounded() {
+        ZipEntryCache cache = ZipEntryCache.zipEntryCache(256);
+        MinecraftResourcePackWriter writer = MinecraftResourcePackWriter.builder()
+                .zipCompressionPolicy(ZipCompressionPolicy.DEFLATE_ALL)
+                .zipEntryCache(cache)
+                .build();
+
+        writer.build(createResourcePack());
+        assertTrue(cache.size() <= 256, "Cache size exceeds the maximum size: " + cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.entryCount());
+    }
+
+    private static ResourcePack createResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Cached build");
+        for (int i = 0; i < 50; i++) {
+            resourcePack.texture(Texture.texture(Key.key("test", "item/texture_" + i + ".png"), Writable.stringUtf8("texture #" + i)));
+        }
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+        return resourcePack;
+    }
+
+    private static Map<String, String> readZipStream(byte[] zip) throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        try (ZipInputStream input = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = input.getNextEntry()) != null) {
+                files.put(entry.getName(), read(input));
+            }
+        }
+        return files;
+    }
+
+    private static Map<String, String> readZipFile(Path path) throws IOException {
+        Map<String, String> files = new LinkedHashMap<>();
+        try (ZipFile zipFile = new ZipFile(path.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                try (InputStream input = zipFile.getInputStream(entry)) {
+                    files.put(entry.getName(), read(input));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static String read(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buf = new byte[1024];
+        int len;
+        while ((len = input.read(buf)) != -1) {
+            output.write(buf, 0, len);
+        }
+        return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.fs;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ZipEntryPassthroughTest {
+
+    private static final String CREDITS = "Unnamed Team, Unnamed Team, Unnamed Team, Unnamed Team";
+    private static final String TEXTURE = "not really a texture, not really a texture";
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_compressed_entries_are_copied() throws IOException {
+        Path source = writeSource();
+        Map<String, ZipCentralDirectory.Entry> sourceEntries = readDirectory(source);
+
+        ResourcePack resourcePack = MinecraftResourcePackReader.minecraft().readFromZipFile(source);
+        resourcePack.texture(Texture.texture(Key.key("test", "item/added.png"), Writable.stringUtf8("added texture")));
+
+        Path target = tempDir.resolve("target.zip");
+        MinecraftResourcePackWriter.builder()
+                .zipCompressionPolicy(ZipCompressionPolicy.STORE_COMPRESSED)
+                .build()
+                .buildToFile(target, resourcePack);
+        Map<String, ZipCentralDirectory.Entry> targetEntries = readDirectory(target);
+
+        // credits.txt must be deflated in both, and copied as-is
+        ZipCentralDirectory.Entry credits = targetEntries.get("credits.txt");
+        assertNotNull(credits);
+        assertEquals(ZipEntry.DEFLATED, credits.method());
+        assertEquals(sourceEntries.get("credits.txt").compressedSize(), credits.compressedSize());
+        assertEquals(sourceEntries.get("credits.txt").crc(), credits.crc());
+
+        // the texture must be stored, as the compression policy says
+        ZipCentralDirectory.Entry texture = targetEntries.get("assets/test/textures/item/texture.png");
+        assertNotNull(texture);
+        assertEquals(ZipEntry.STORED, texture.method());
+
+        try (ZipFile zip = new ZipFile(target.toFile())) {
+            assertEquals(CREDITS, read(zip, "credits.txt"));
+            assertEquals(TEXTURE, read(zip, "assets/test/textures/item/texture.png"));
+            assertEquals("added texture", read(zip, "assets/test/textures/item/added.png"));
+        }
+
+        // the read data must still be accessible after the source is closed
+        assertEquals(CREDITS, resourcePack.unknownFile("credits.txt").toUTF8String());
+        assertEquals(TEXTURE, resourcePack.texture(Key.key("test", "item/texture.png")).data().toUTF8String());
+    }
+
+    @Test
+    void test_compressed_entries_are_memoized_into_content_store() throws IOException {
+        Path source = writeSource();
+        Map<String, ZipCentralDirectory.Entry> sourceEntries = readDirectory(source);
+        Path storeDir = Files.createDirectory(tempDir.resolve("store"));
+
+        try (ContentStore store = ContentStore.spilling(storeDir, 0)) {
+            ResourcePack resourcePack = MinecraftResourcePackReader.builder()
+                    .contentStore(store)
+                    .build()
+                    .readFromZipFile(source);
+
+            // memoized on close, in the store file
+            try (Stream<Path> files = Files.list(storeDir)) {
+                assertEquals(1, files.count());
+            }
+
+            Path target = tempDir.resolve("target.zip");
+            MinecraftResourcePackWriter.minecraft().buildToFile(target, resourcePack);
+            ZipCentralDirectory.Entry credits = readDirectory(target).get("credits.txt");
+            assertNotNull(credits);
+            assertEquals(sourceEntries.get("credits.txt").compressedSize(), credits.compressedSize());
+
+            assertEquals(CREDITS, resourcePack.unknownFile("credits.txt").toUTF8String());
+            assertEquals(TEXTURE, resourcePack.texture(Key.key("test", "item/texture.png")).data().toUTF8String());
+        }
+    }
+
+    @Test
+    void test_memoized_compressed_entries_are_inflated_once() throws IOException {
+        Path source = writeSource();
+        AtomicInteger stored = new AtomicInteger();
+        ContentStore memory = ContentStore.memory();
+        ContentStore counting = new ContentStore() {
+            @Override
+            public @NotNull Readable store(final @NotNull InputStream input) throws IOException {
+                stored.incrementAndGet();
+                return memory.store(input);
+            }
+
+            @Override
+            public void close() throws IOException {
+                memory.close();
+            }
+        };
+
+        Readable content = null;
+        try (FileTreeReader reader = FileTreeReader.zip(new ZipFile(source.toFile()), counting)) {
+            while (reader.hasNext()) {
+                if (reader.next().equals("credits.txt")) {
+                    content = reader.content();
+                }
+            }
+        }
+        assertNotNull(content);
+        // compressed data memoized on close
+        assertEquals(1, stored.get());
+
+        // inflated once, on first access
+        for (int i = 0; i < 3; i++) {
+            assertEquals(CREDITS, new String(content.readAsByteArray(), StandardCharsets.UTF_8));
+            assertEquals(CREDITS, new String(content.asWritable().toByteArray(), StandardCharsets.UTF_8));
+        }
+        assertEquals(2, stored.get());
+
+        // the compressed data can still be copied as-is
+        assertTrue(FileTreeWriter.zipEntryBacked(content.asWritable()));
+    }
+
+    @Test
+    void test_packs_without_zip_entries_are_written_with_zip_output_stream() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Not read from a zip");
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8(CREDITS));
+        resourcePack.texture(Texture.texture(Key.key("test", "item/texture.png"), Writable.stringUtf8(TEXTURE)));
+
+        MinecraftResourcePackWriter writer = MinecraftResourcePackWriter.minecraft();
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (FileTreeWriter tree = FileTreeWriter.zip(new ZipOutputStream(expected), writer.zipEntryLifecycleHandler(), writer.zipCompressionPolicy())) {
+            writer.write(tree, resourcePack);
+        }
+
+        assertArrayEquals(expected.toByteArray(), writer.build(resourcePack).data().toByteArray());
+    }
+
+    private Path writeSource() throws IOException {
+        // source zip, entries deflated without compression, so
+        // we can know if they are copied or compressed again
+        Path source = tempDir.resolve("source.zip");
+        try (ZipOutputStream output = new ZipOutputStream(Files.newOutputStream(source))) {
+            output.setLevel(Deflater.NO_COMPRESSION);
+            output.putNextEntry(new ZipEntry("pack.mcmeta"));
+            output.write("{\"pack\":{\"pack_format\":34,\"description\":\"Source\"}}".getBytes(StandardCharsets.UTF_8));
+            output.putNextEntry(new ZipEntry("credits.txt"));
+            output.write(CREDITS.getBytes(StandardCharsets.UTF_8));
+            output.putNextEntry(new ZipEntry("assets/test/textures/item/texture.png"));
+            output.write(TEXTURE.getBytes(StandardCharsets.UTF_8));
+        }
+        return source;
+    }
+
+    private static Map<String, ZipCentralDirectory.Entry> readDirectory(Path path) throws IOException {
+        Map<String, ZipCentralDirectory.Entry> entries = new HashMap<>();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            for (ZipCentralDirectory.Entry entry : ZipCentralDirectory.read(channel).entries()) {
+                entries.put(entry.name(), entry);
+            }
+        }
+        return entries;
+    }
+
+    private static String read(ZipFile zip, String name) throws IOException {
+        try (InputStream input = zip.getInputStream(zip.getEntry(name))) {
+            return new String(Writable.copyInputStream(input).toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+}
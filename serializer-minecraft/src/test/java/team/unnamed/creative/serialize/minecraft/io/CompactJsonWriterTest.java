@@ -0,0 +1,121 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.stream.JsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactJsonWriterTest {
+
+    @Test
+    void test_float_formatting() throws IOException {
+        assertEquals("[0.1,1,-0.5,4,0,1E-5,1E10,0.3333,16777216,1.6777218E7]", write(
+                0.1F, 1F, -0.5F, 0.25F * 16F, 0F, 0.00001F, 1.0E10F, 0.3333F, 16777216F, 16777218F
+        ));
+    }
+
+    @Test
+    void test_float_round_trip() {
+        Random random = new Random(0);
+        for (int i = 0; i < 10000; i++) {
+            float value = Float.intBitsToFloat(random.nextInt());
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                continue;
+            }
+            String string = CompactJsonWriter.toShortestString(value);
+            assertEquals(value, Float.parseFloat(string), string);
+        }
+    }
+
+    @Test
+    void test_serialize_closes_stream() throws IOException {
+        JsonResourceSerializer<String> serializer = (object, writer, targetPackFormat) -> writer.value(object);
+        boolean[] closed = {false};
+        ByteArrayOutputStream output = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed[0] = true;
+            }
+        };
+        serializer.serialize("closed", output, -1);
+        assertEquals("\"closed\"", new String(output.toByteArray(), StandardCharsets.UTF_8));
+        assertTrue(closed[0]);
+    }
+
+    @Test
+    void test_emitter_output_is_the_same() throws IOException {
+        // non-ascii characters, a lone surrogate, and enough
+        // characters to exceed the buffer sizes
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            builder.append("\u00f1and\u00fa \uD83D\uDE00 ");
+        }
+        builder.append('\uD83D');
+        String text = builder.toString();
+
+        JsonResourceSerializer<String> serializer = (object, writer, targetPackFormat) -> writer.beginObject()
+                .name("text").value(object)
+                .name("float").value(0.5F)
+                .endObject();
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        try (JsonWriter writer = new CompactJsonWriter(new OutputStreamWriter(expected, StandardCharsets.UTF_8))) {
+            writer.setIndent("  ");
+            serializer.serializeToJson(text, writer, -1);
+        }
+
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        JsonEmitter.emit(serializer, text, -1, true, actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+
+        // again, so that buffers are reused
+        actual.reset();
+        JsonEmitter.emit(serializer, text, -1, true, actual);
+        assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+    }
+
+    private static String write(float... values) throws IOException {
+        StringWriter output = new StringWriter();
+        try (JsonWriter writer = new CompactJsonWriter(output)) {
+            writer.beginArray();
+            for (float value : values) {
+                writer.value(value);
+            }
+            writer.endArray();
+        }
+        return output.toString();
+    }
+
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.io;
+
+import com.google.gson.JsonElement;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.blockstate.BlockState;
+import team.unnamed.creative.serialize.minecraft.GsonUtil;
+import team.unnamed.creative.serialize.minecraft.blockstate.BlockStateSerializer;
+import team.unnamed.creative.serialize.minecraft.item.ItemSerializer;
+import team.unnamed.creative.serialize.minecraft.language.LanguageSerializer;
+import team.unnamed.creative.serialize.minecraft.model.ModelSerializer;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StreamingJsonDeserializationTest {
+
+    private static final Key KEY = Key.key("creative:test");
+
+    @Test
+    void test_models() throws IOException {
+        for (String name : new String[] { "cross", "cube", "cube_all", "door_top_left_open" }) {
+            String json = Readable.resource(getClass().getClassLoader(), "model/" + name + ".json").readAsUTF8String();
+            assertSameResult(ModelSerializer.INSTANCE, json);
+        }
+    }
+
+    @Test
+    void test_model_with_overrides_and_display() throws IOException {
+        assertSameResult(ModelSerializer.INSTANCE, "{"
+                + "\"parent\": \"item/generated\","
+                + "\"unknown\": { \"nested\": [1, 2, 3] },"
+                + "\"textures\": { \"layer0\": \"item/stick\", \"particle\": \"#layer0\" },"
+                + "\"gui_light\": \"front\","
+                + "\"display\": { \"head\": { \"rotation\": [0, 90, 0], \"translation\": [0, 120, -5], \"scale\": [6, 1, 1] } },"
+                + "\"overrides\": ["
+                + "  { \"predicate\": { \"custom_model_data\": 1, \"pulling\": 1 }, \"model\": \"item/stick_1\" },"
+                + "  { \"model\": \"item/stick_2\", \"predicate\": { \"custom_model_data\": 2.5 } }"
+                + "]"
+                + "}");
+    }
+
+    @Test
+    void test_model_element_with_invalid_cullface() throws IOException {
+        assertSameResult(ModelSerializer.INSTANCE, "{"
+                + "\"elements\": [{"
+                + "  \"from\": [0, 0, 0], \"to\": [16, 16, 16], \"light_emission\": 7,"
+                + "  \"faces\": {"
+                + "    \"north\": { \"texture\": \"#all\", \"cullface\": \"invalid\" },"
+                + "    \"south\": { \"texture\": \"#all\", \"cullface\": \"south\", \"uv\": [0, 0, 8, 8], \"tintindex\": 0 }"
+                + "  }"
+                + "}]"
+                + "}");
+    }
+
+    @Test
+    void test_block_state() throws IOException {
+        assertSameBlockState("{"
+                + "\"variants\": {"
+                + "  \"facing=north\": { \"model\": \"block/furnace\" },"
+                + "  \"facing=east\": [{ \"model\": \"block/furnace\", \"y\": 90, \"weight\": 3 }, { \"model\": \"block/furnace_alt\", \"uvlock\": true }]"
+                + "}"
+                + "}");
+        assertSameBlockState("{"
+                + "\"multipart\": ["
+                + "  { \"apply\": { \"model\": \"block/fence_post\" } },"
+                + "  { \"when\": { \"north\": \"true\" }, \"apply\": { \"model\": \"block/fence_side\", \"uvlock\": true } },"
+                + "  { \"when\": { \"north\": true, \"east\": \"false\" }, \"apply\": { \"model\": \"block/fence_side\" } },"
+                + "  { \"when\": { \"OR\": [{ \"north\": \"true\" }, { \"AND\": [{ \"east\": \"low\" }, { \"west\": \"tall\" }] }] }, \"apply\": { \"model\": \"block/fence_side\" } }"
+                + "]"
+                + "}");
+    }
+
+    @Test
+    void test_item() throws IOException {
+        assertSameResult(ItemSerializer.INSTANCE, "{"
+                + "\"hand_animation_on_swap\": false,"
+                + "\"model\": { \"model\": \"item/stick\", \"type\": \"minecraft:model\" }"
+                + "}");
+    }
+
+    @Test
+    void test_language() throws IOException {
+        String json = Readable.resource(getClass().getClassLoader(), "en_us_lang.json").readAsUTF8String();
+        assertSameResult(LanguageSerializer.INSTANCE, json);
+        assertSameResult(LanguageSerializer.INSTANCE, "{ \"a\": \"b\", \"c\": { \"nested\": true }, \"d\": 5 }");
+    }
+
+    private static <T> void assertSameResult(StreamingJsonResourceDeserializer<T> deserializer, String json) throws IOException {
+        JsonElement tree = GsonUtil.parseReader(new StringReader(json));
+        T expected = deserializer.deserializeFromJson(tree, KEY);
+        T actual;
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            actual = deserializer.deserializeFromJson(reader, KEY);
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static void assertSameBlockState(String json) throws IOException {
+        // block state conditions do not implement equals, compare their serialized form
+        BlockState expected = BlockStateSerializer.INSTANCE.deserializeFromJson(GsonUtil.parseReader(new StringReader(json)), KEY);
+        BlockState actual;
+        try (JsonReader reader = new JsonReader(new StringReader(json))) {
+            actual = BlockStateSerializer.INSTANCE.deserializeFromJson(reader, KEY);
+        }
+        assertEquals(toJson(expected), toJson(actual));
+    }
+
+    private static String toJson(BlockState state) throws IOException {
+        StringWriter writer = new StringWriter();
+        try (JsonWriter jsonWriter = new JsonWriter(writer)) {
+            BlockStateSerializer.INSTANCE.serializeToJson(state, jsonWriter, -1);
+        }
+        return writer.toString();
+    }
+
+}
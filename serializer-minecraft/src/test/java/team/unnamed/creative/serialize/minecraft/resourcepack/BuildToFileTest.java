@@ -0,0 +1,71 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.FileWritable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class BuildToFileTest {
+
+    private @TempDir Path tempDir;
+
+    @Test
+    void test_build_to_file_is_the_same_as_build() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Built to a file");
+        resourcePack.texture(Texture.texture(Key.key("test", "item/texture.png"), Writable.stringUtf8("not really a texture")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Path path = tempDir.resolve("pack.zip");
+        BuiltResourcePack inMemory = MinecraftResourcePackWriter.minecraft().build(resourcePack);
+        BuiltResourcePack inFile = MinecraftResourcePackWriter.minecraft().buildToFile(path, resourcePack);
+
+        assertEquals(inMemory.hash(), inFile.hash());
+        assertEquals(path, assertInstanceOf(FileWritable.class, inFile.data()).path());
+
+        byte[] expected = inMemory.data().toByteArray();
+        assertArrayEquals(expected, Files.readAllBytes(path));
+        assertArrayEquals(expected, inFile.data().toByteArray());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        inFile.data().write(output);
+        assertArrayEquals(expected, output.toByteArray());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.ReadFilter;
+import team.unnamed.creative.texture.Texture;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FilteredResourcePackReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_filtered_read() {
+        Path zip = writeResourcePack();
+        ReadFilter filter = ReadFilter.namespaces("mycompany").and(ReadFilter.categories("lang"));
+
+        for (MinecraftResourcePackReader.Builder builder : new MinecraftResourcePackReader.Builder[] {
+                MinecraftResourcePackReader.builder(),
+                MinecraftResourcePackReader.builder().executor(ForkJoinPool.commonPool())
+        }) {
+            ResourcePack resourcePack = builder.filter(filter).build().readFromZipFile(zip);
+
+            // files outside namespaces are always read
+            assertNotNull(resourcePack.packMeta());
+            assertNotNull(resourcePack.unknownFile("credits.txt"));
+
+            assertNotNull(resourcePack.language(Key.key("mycompany", "en_us")));
+            assertNull(resourcePack.language(Key.key("other", "en_us")));
+            assertTrue(resourcePack.models().isEmpty());
+            assertTrue(resourcePack.textures().isEmpty());
+
+            Overlay overlay = resourcePack.overlay("old");
+            assertNotNull(overlay);
+            assertNotNull(overlay.language(Key.key("mycompany", "en_us")));
+            assertTrue(overlay.models().isEmpty());
+        }
+    }
+
+    @Test
+    void test_no_overlays() {
+        ResourcePack resourcePack = MinecraftResourcePackReader.builder()
+                .filter(ReadFilter.noOverlays())
+                .build()
+                .readFromZipFile(writeResourcePack());
+
+        assertEquals(2, resourcePack.models().size());
+        assertEquals(2, resourcePack.languages().size());
+        assertEquals(1, resourcePack.textures().size());
+        assertNull(resourcePack.overlay("old"));
+    }
+
+    private Path writeResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Filtered reading test");
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "old")));
+        for (String namespace : new String[] { "mycompany", "other" }) {
+            resourcePack.model(Model.model()
+                    .key(Key.key(namespace, "item/model"))
+                    .parent(Key.key("item/generated"))
+                    .build());
+            resourcePack.language(Language.language(Key.key(namespace, "en_us"), Collections.singletonMap("test.key", "Test")));
+        }
+        resourcePack.texture(Texture.texture(Key.key("mycompany", "item/texture.png"), Writable.stringUtf8("not a texture")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("old");
+        overlay.model(Model.model().key(Key.key("mycompany", "item/model")).parent(Key.key("item/handheld")).build());
+        overlay.language(Language.language(Key.key("mycompany", "en_us"), Collections.singletonMap("test.key", "Old")));
+        resourcePack.overlay(overlay);
+
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, resourcePack);
+        return zip;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Readable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.fs.ContentStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LazyResourcePackReaderTest {
+    private static final MinecraftResourcePackReader LAZY_READER = MinecraftResourcePackReader.builder()
+            .lazy(true)
+            .build();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_lazy_read() {
+        Path zip = writeResourcePack();
+        ResourcePack eager = MinecraftResourcePackReader.minecraft().readFromZipFile(zip);
+        ResourcePack lazy = LAZY_READER.readFromZipFile(zip);
+
+        // single resources
+        Key key = Key.key("test", "item/model_5");
+        assertEquals(eager.model(key), lazy.model(key));
+        assertEquals(eager.language(Key.key("test", "en_us")), lazy.language(Key.key("test", "en_us")));
+        assertNull(lazy.model(Key.key("test", "item/unknown")));
+
+        // overlays are lazy too
+        Overlay overlay = lazy.overlay("old");
+        assertNotNull(overlay);
+        assertEquals(Key.key("item/handheld"), overlay.model(Key.key("test", "item/model_0")).parent());
+
+        // whole categories
+        assertEquals(eager.models().size(), lazy.models().size());
+
+        // writing both must give exactly the same output
+        assertEquals(
+                MinecraftResourcePackWriter.minecraft().build(eager).hash(),
+                MinecraftResourcePackWriter.minecraft().build(LAZY_READER.readFromZipFile(zip)).hash()
+        );
+    }
+
+    @Test
+    void test_lazy_modification() {
+        ResourcePack lazy = LAZY_READER.readFromZipFile(writeResourcePack());
+
+        // replacing a resource that wasn't loaded yet
+        Key key = Key.key("test", "item/model_1");
+        Model replacement = Model.model().key(key).parent(Key.key("item/handheld")).build();
+        lazy.model(replacement);
+        assertEquals(replacement, lazy.model(key));
+
+        // removing a resource that wasn't loaded yet
+        Key removed = Key.key("test", "item/model_2");
+        assertTrue(lazy.removeModel(removed));
+        assertFalse(lazy.removeModel(removed));
+        assertNull(lazy.model(removed));
+        assertEquals(9, lazy.models().size());
+    }
+
+    @Test
+    void test_pending_resources_are_not_copied() throws IOException {
+        Path zip = writeResourcePack();
+        AtomicInteger stored = new AtomicInteger();
+        ContentStore memory = ContentStore.memory();
+        ContentStore counting = new ContentStore() {
+            @Override
+            public @NotNull Readable store(final @NotNull InputStream input) throws IOException {
+                stored.incrementAndGet();
+                return memory.store(input);
+            }
+
+            @Override
+            public void close() throws IOException {
+                memory.close();
+            }
+        };
+        MinecraftResourcePackReader reader = MinecraftResourcePackReader.builder()
+                .lazy(true)
+                .contentStore(counting)
+                .build();
+
+        ResourcePack lazy = reader.readFromZipFile(zip);
+
+        // at most pack.mcmeta and credits.txt, the 12 models
+        // and the language are not copied to the store
+        int storedOnRead = stored.get();
+        assertTrue(storedOnRead <= 2);
+
+        // read from the zip file on access
+        assertEquals(Key.key("item/generated"), lazy.model(Key.key("test", "item/model_3")).parent());
+        assertEquals(Key.key("item/handheld"), lazy.overlay("old").model(Key.key("test", "item/model_0")).parent());
+        assertEquals(10, lazy.models().size());
+        assertEquals(storedOnRead, stored.get());
+        assertEquals("Unnamed Team", lazy.unknownFile("credits.txt").toUTF8String());
+    }
+
+    private Path writeResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Lazy reading test");
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "old")));
+        for (int i = 0; i < 10; i++) {
+            resourcePack.model(Model.model()
+                    .key(Key.key("test", "item/model_" + i))
+                    .parent(Key.key("item/generated"))
+                    .build());
+        }
+        resourcePack.language(Language.language(Key.key("test", "en_us"), Collections.singletonMap("test.key", "Test")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("old");
+        overlay.model(Model.model().key(Key.key("test", "item/model_0")).parent(Key.key("item/handheld")).build());
+        resourcePack.overlay(overlay);
+
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, resourcePack);
+        return zip;
+    }
+}
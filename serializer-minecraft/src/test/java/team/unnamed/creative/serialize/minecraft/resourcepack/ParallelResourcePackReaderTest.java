@@ -0,0 +1,110 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.texture.Texture;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class ParallelResourcePackReaderTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_parallel_read_is_the_same() {
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, createResourcePack());
+
+        ResourcePack sequential = MinecraftResourcePackReader.minecraft().readFromZipFile(zip);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            ResourcePack parallel = MinecraftResourcePackReader.builder()
+                    .executor(executor)
+                    .build()
+                    .readFromZipFile(zip);
+
+            assertEquals(sequential.models().size(), parallel.models().size());
+            assertEquals(sequential.textures().size(), parallel.textures().size());
+            Overlay overlay = parallel.overlay("old");
+            assertNotNull(overlay);
+            assertEquals(Key.key("item/handheld"), overlay.model(Key.key("test", "item/model_0")).parent());
+
+            // writing both must give exactly the same output
+            assertEquals(
+                    MinecraftResourcePackWriter.minecraft().build(sequential).hash(),
+                    MinecraftResourcePackWriter.minecraft().build(parallel).hash()
+            );
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static ResourcePack createResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Parallel reading test");
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "old")));
+
+        for (int i = 0; i < 500; i++) {
+            Key key = Key.key("test", "item/model_" + i);
+            resourcePack.model(Model.model()
+                    .key(key)
+                    .parent(Key.key("item/generated"))
+                    .textures(ModelTextures.builder()
+                            .layers(ModelTexture.ofKey(Key.key("test", "item/texture_" + i)))
+                            .build())
+                    .build());
+            resourcePack.texture(Texture.texture(Key.key("test", "item/texture_" + i + ".png"), Writable.stringUtf8("texture " + i)));
+        }
+
+        resourcePack.language(Language.language(Key.key("test", "en_us"), Collections.singletonMap("test.key", "Test")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("old");
+        overlay.model(Model.model().key(Key.key("test", "item/model_0")).parent(Key.key("item/handheld")).build());
+        resourcePack.overlay(overlay);
+        return resourcePack;
+    }
+}
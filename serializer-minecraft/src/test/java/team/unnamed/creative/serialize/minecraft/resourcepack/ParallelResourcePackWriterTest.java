@@ -0,0 +1,151 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.model.ModelTexture;
+import team.unnamed.creative.model.ModelTextures;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParallelResourcePackWriterTest {
+    @Test
+    void test_parallel_output_is_the_same() throws IOException {
+        ResourcePack resourcePack = createResourcePack();
+        BuiltResourcePack sequential = MinecraftResourcePackWriter.minecraft().build(resourcePack);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            BuiltResourcePack parallel = MinecraftResourcePackWriter.builder()
+                    .executor(executor)
+                    .build()
+                    .build(resourcePack);
+
+            assertEquals(sequential.hash(), parallel.hash());
+            assertArrayEquals(sequential.data().toByteArray(), parallel.data().toByteArray());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void test_pending_entries_are_bounded() throws Exception {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Bounded parallel writing test");
+        int count = 3000;
+        for (int i = 0; i < count; i++) {
+            resourcePack.model(Model.model()
+                    .key(Key.key("test", "item/model_" + i))
+                    .parent(Key.key("item/generated"))
+                    .build());
+        }
+
+        // the first task (pack.mcmeta) is delayed until the writer stops
+        // submitting tasks, i.e. until it waits for it, the other tasks
+        // are run immediately
+        AtomicInteger submitted = new AtomicInteger();
+        AtomicInteger submittedWhenReleased = new AtomicInteger();
+        AtomicReference<Thread> delayed = new AtomicReference<>();
+        Executor executor = task -> {
+            if (submitted.getAndIncrement() == 0) {
+                Thread thread = new Thread(() -> {
+                    int last = -1;
+                    while (submitted.get() != last) {
+                        last = submitted.get();
+                        try {
+                            Thread.sleep(200);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                    submittedWhenReleased.set(last);
+                    task.run();
+                });
+                delayed.set(thread);
+                thread.start();
+            } else {
+                task.run();
+            }
+        };
+
+        BuiltResourcePack parallel = MinecraftResourcePackWriter.builder()
+                .executor(executor)
+                .build()
+                .build(resourcePack);
+        delayed.get().join();
+
+        // the writer waited for the first entry before submitting everything
+        assertTrue(submittedWhenReleased.get() < count);
+        assertEquals(MinecraftResourcePackWriter.minecraft().build(resourcePack).hash(), parallel.hash());
+    }
+
+    private static ResourcePack createResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Parallel writing test");
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "old")));
+
+        for (int i = 0; i < 500; i++) {
+            Key key = Key.key("test", "item/model_" + i);
+            resourcePack.model(Model.model()
+                    .key(key)
+                    .parent(Key.key("item/generated"))
+                    .textures(ModelTextures.builder()
+                            .layers(ModelTexture.ofKey(Key.key("test", "item/texture_" + i)))
+                            .build())
+                    .build());
+            resourcePack.texture(Texture.texture(Key.key("test", "item/texture_" + i + ".png"), Writable.stringUtf8("texture " + i)));
+        }
+
+        resourcePack.language(Language.language(Key.key("test", "en_us"), Collections.singletonMap("test.key", "Test")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("old");
+        overlay.model(Model.model().key(Key.key("test", "item/model_0")).parent(Key.key("item/handheld")).build());
+        resourcePack.overlay(overlay);
+        return resourcePack;
+    }
+}
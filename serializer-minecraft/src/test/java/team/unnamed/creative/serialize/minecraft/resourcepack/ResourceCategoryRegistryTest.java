@@ -0,0 +1,275 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import net.kyori.adventure.key.Keyed;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.overlay.ResourceContainer;
+import team.unnamed.creative.part.ResourcePackPart;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.ResourceCategory;
+import team.unnamed.creative.serialize.minecraft.ResourceCategoryRegistry;
+import team.unnamed.creative.serialize.minecraft.ResourcePackVisitor;
+import team.unnamed.creative.serialize.minecraft.equipment.EquipmentCategory;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+import team.unnamed.creative.serialize.minecraft.io.ResourceDeserializer;
+import team.unnamed.creative.serialize.minecraft.io.ResourceSerializer;
+import team.unnamed.creative.serialize.minecraft.model.ModelSerializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ResourceCategoryRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_default_categories_by_folder() {
+        ResourceCategoryRegistry registry = ResourceCategoryRegistry.defaults();
+        assertSame(ModelSerializer.CATEGORY, registry.categoryByFolder("models", -1));
+        assertSame(ModelSerializer.CATEGORY, registry.categoryByFolder("models", 42));
+
+        // equipment was moved from models/equipment to equipment in pack format 43
+        assertSame(EquipmentCategory.INSTANCE, registry.categoryByFolder("equipment", 43));
+        assertSame(EquipmentCategory.INSTANCE, registry.categoryByFolder("models/equipment", 42));
+        assertNull(registry.categoryByFolder("equipment", 42));
+        assertNull(registry.categoryByFolder("models/equipment", 43));
+
+        assertNull(registry.categoryByFolder("shaders", -1));
+        assertNull(registry.categoryByFolder("models/", -1));
+    }
+
+    @Test
+    void test_custom_category() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Custom category test");
+        resourcePack.model(Model.model()
+                .key(Key.key("mycompany", "item/model"))
+                .parent(Key.key("item/generated"))
+                .build());
+        resourcePack.unknownFile("assets/mycompany/shaders/core/glint.vsh", Writable.stringUtf8("void main() {}"));
+        resourcePack.unknownFile("assets/mycompany/shaders/post/blur.json", Writable.stringUtf8("{}"));
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, resourcePack);
+
+        ResourceCategoryRegistry registry = ResourceCategoryRegistry.defaults()
+                .toBuilder()
+                .register(ShaderCategory.INSTANCE)
+                .build();
+        assertEquals(ResourceCategoryRegistry.defaults().categories().size() + 1, registry.categories().size());
+        assertSame(ShaderCategory.INSTANCE, registry.categoryByFolder("shaders/core", -1));
+
+        List<Shader> shaders = new ArrayList<>();
+        List<String> unknownFiles = new ArrayList<>();
+        List<Model> models = new ArrayList<>();
+        MinecraftResourcePackReader reader = MinecraftResourcePackReader.builder()
+                .categories(registry)
+                .build();
+        try (ZipFile zipFile = new ZipFile(zip.toFile()); FileTreeReader tree = FileTreeReader.zip(zipFile)) {
+            reader.read(tree, new ResourcePackVisitor() {
+                @Override
+                public void visitModel(final @Nullable String overlay, final int packFormat, final @NotNull Model model) {
+                    models.add(model);
+                }
+
+                @Override
+                public void visitPart(final @Nullable String overlay, final int packFormat, final @NotNull ResourcePackPart part) {
+                    shaders.add((Shader) part);
+                }
+
+                @Override
+                public void visitUnknownFile(final @Nullable String overlay, final @NotNull String path, final @NotNull Writable data) {
+                    unknownFiles.add(path);
+                }
+            });
+        }
+
+        assertEquals(1, models.size());
+        assertEquals(1, shaders.size());
+        assertEquals(Key.key("mycompany", "glint"), shaders.get(0).key());
+        assertEquals("void main() {}", shaders.get(0).source);
+        assertEquals(Collections.singletonList("assets/mycompany/shaders/post/blur.json"), unknownFiles);
+
+        // the default registry does not know about shaders
+        ResourcePack read = MinecraftResourcePackReader.minecraft().readFromZipFile(zip);
+        assertNotNull(read.unknownFile("assets/mycompany/shaders/core/glint.vsh"));
+    }
+
+    @Test
+    void test_custom_category_round_trip() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Custom category round trip");
+        resourcePack.unknownFile("assets/mycompany/shaders/core/glint.vsh", Writable.stringUtf8("void main() {}"));
+        Overlay overlay = Overlay.overlay("modern");
+        overlay.unknownFile("assets/mycompany/shaders/core/glint.vsh", Writable.stringUtf8("void main() { discard; }"));
+        resourcePack.overlay(overlay);
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, resourcePack);
+
+        ResourceCategoryRegistry registry = ResourceCategoryRegistry.defaults()
+                .toBuilder()
+                .register(ShaderCategory.INSTANCE)
+                .build();
+        List<MinecraftResourcePackReader> readers = Arrays.asList(
+                MinecraftResourcePackReader.builder().categories(registry).build(),
+                MinecraftResourcePackReader.builder().categories(registry).lazy(true).build(),
+                MinecraftResourcePackReader.builder().categories(registry).executor(Runnable::run).build()
+        );
+        for (MinecraftResourcePackReader reader : readers) {
+            // shaders can't be kept by the resource pack, they are kept as unknown files
+            ResourcePack read = reader.readFromZipFile(zip);
+            assertEquals("void main() {}", read.unknownFile("assets/mycompany/shaders/core/glint.vsh").toUTF8String());
+            Overlay readOverlay = read.overlay("modern");
+            assertNotNull(readOverlay);
+            assertEquals("void main() { discard; }", readOverlay.unknownFile("assets/mycompany/shaders/core/glint.vsh").toUTF8String());
+
+            // and written back
+            Path written = tempDir.resolve("written.zip");
+            MinecraftResourcePackWriter.builder().categories(registry).build().writeToZipFile(written, read);
+            ResourcePack reread = MinecraftResourcePackReader.minecraft().readFromZipFile(written);
+            assertEquals("void main() {}", reread.unknownFile("assets/mycompany/shaders/core/glint.vsh").toUTF8String());
+            assertEquals("void main() { discard; }", reread.overlay("modern").unknownFile("assets/mycompany/shaders/core/glint.vsh").toUTF8String());
+        }
+    }
+
+    @Test
+    void test_custom_category_is_written() throws IOException {
+        ResourceCategory<Shader> category = new ShaderCategory() {
+            @Override
+            public @NotNull Function<ResourceContainer, Collection<Shader>> lister() {
+                return container -> container instanceof ResourcePack
+                        ? Collections.singletonList(new Shader(Key.key("mycompany", "generated"), "void main() {}"))
+                        : Collections.emptyList();
+            }
+        };
+        ResourceCategoryRegistry registry = ResourceCategoryRegistry.defaults()
+                .toBuilder()
+                .register(category)
+                .build();
+
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Custom category writing");
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.builder().categories(registry).build().writeToZipFile(zip, resourcePack);
+
+        ResourcePack read = MinecraftResourcePackReader.minecraft().readFromZipFile(zip);
+        assertEquals("void main() {}", read.unknownFile("assets/mycompany/shaders/core/generated.vsh").toUTF8String());
+
+        // the default writer does not know about shaders
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, resourcePack);
+        assertNull(MinecraftResourcePackReader.minecraft().readFromZipFile(zip).unknownFile("assets/mycompany/shaders/core/generated.vsh"));
+    }
+
+    private static final class Shader implements Keyed, ResourcePackPart {
+        private final Key key;
+        private final String source;
+
+        Shader(final Key key, final String source) {
+            this.key = key;
+            this.source = source;
+        }
+
+        @Override
+        public @NotNull Key key() {
+            return key;
+        }
+
+        @Override
+        public void addTo(final @NotNull ResourceContainer resourceContainer) {
+            // resource containers have no place for shaders
+            throw new UnsupportedOperationException("Shaders can't be added to a resource container");
+        }
+    }
+
+    private static class ShaderCategory implements ResourceCategory<Shader>, ResourceDeserializer<Shader>, ResourceSerializer<Shader> {
+        private static final ShaderCategory INSTANCE = new ShaderCategory();
+
+        @Override
+        public @NotNull String folder(final int packFormat) {
+            return "shaders/core";
+        }
+
+        @Override
+        public @NotNull String extension(final int packFormat) {
+            return ".vsh";
+        }
+
+        @Override
+        public @NotNull ResourceDeserializer<Shader> deserializer() {
+            return this;
+        }
+
+        @Override
+        public @NotNull Function<ResourceContainer, Collection<Shader>> lister() {
+            return container -> Collections.emptyList();
+        }
+
+        @Override
+        public @NotNull ResourceSerializer<Shader> serializer() {
+            return this;
+        }
+
+        @Override
+        public Shader deserialize(final InputStream input, final Key key) throws IOException {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return new Shader(key, new String(output.toByteArray(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void serialize(final Shader object, final OutputStream output, final int targetPackFormat) throws IOException {
+            output.write(object.source.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
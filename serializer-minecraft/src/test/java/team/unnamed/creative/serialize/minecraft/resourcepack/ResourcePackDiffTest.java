@@ -0,0 +1,129 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.ResourcePackDiff;
+import team.unnamed.creative.texture.Texture;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResourcePackDiffTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_equal_resource_packs() {
+        ResourcePackDiff diff = ResourcePackDiff.diff(createResourcePack(), createResourcePack());
+        assertTrue(diff.isEmpty(), "Expected no changes, got " + diff);
+    }
+
+    @Test
+    void test_resource_pack_diff() {
+        ResourcePack oldPack = createResourcePack();
+        ResourcePack newPack = createResourcePack();
+        modify(newPack);
+        assertChanges(ResourcePackDiff.diff(oldPack, newPack));
+    }
+
+    @Test
+    void test_zip_diff() {
+        ResourcePack oldPack = createResourcePack();
+        ResourcePack newPack = createResourcePack();
+        modify(newPack);
+
+        Path oldZip = tempDir.resolve("old.zip");
+        Path newZip = tempDir.resolve("new.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(oldZip, oldPack);
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(newZip, newPack);
+
+        assertChanges(ResourcePackDiff.diff(oldZip, newZip));
+        assertTrue(ResourcePackDiff.diff(oldZip, oldZip).isEmpty());
+    }
+
+    private static void assertChanges(ResourcePackDiff diff) {
+        List<ResourcePackDiff.Change> added = diff.changes(ResourcePackDiff.Change.Type.ADDED);
+        List<ResourcePackDiff.Change> removed = diff.changes(ResourcePackDiff.Change.Type.REMOVED);
+        List<ResourcePackDiff.Change> changed = diff.changes(ResourcePackDiff.Change.Type.CHANGED);
+        assertEquals(4, diff.changes().size(), "Unexpected changes: " + diff);
+
+        assertEquals(1, added.size());
+        assertEquals("assets/test/textures/item/new.png", added.get(0).path());
+        assertEquals("textures", added.get(0).category());
+        assertEquals(Key.key("test", "item/new.png"), added.get(0).key());
+
+        assertEquals(1, removed.size());
+        assertEquals("assets/test/lang/es_es.json", removed.get(0).path());
+        assertEquals(Key.key("test", "es_es"), removed.get(0).key());
+        assertNull(removed.get(0).overlay());
+
+        // sorted by path
+        assertEquals(2, changed.size());
+        assertEquals("assets/test/models/item/model.json", changed.get(0).path());
+        assertEquals(Key.key("test", "item/model"), changed.get(0).key());
+        assertEquals("models", changed.get(0).category());
+        assertNull(changed.get(0).overlay());
+        assertEquals("overlays/old/assets/test/models/item/model.json", changed.get(1).path());
+        assertEquals("old", changed.get(1).overlay());
+        assertEquals(Key.key("test", "item/model"), changed.get(1).key());
+    }
+
+    private static void modify(ResourcePack resourcePack) {
+        resourcePack.model(Model.model().key(Key.key("test", "item/model")).parent(Key.key("item/handheld")).build());
+        resourcePack.removeLanguage(Key.key("test", "es_es"));
+        resourcePack.texture(Texture.texture(Key.key("test", "item/new.png"), Writable.stringUtf8("new texture")));
+        Overlay overlay = resourcePack.overlay("old");
+        overlay.model(Model.model().key(Key.key("test", "item/model")).parent(Key.key("item/bow")).build());
+    }
+
+    private static ResourcePack createResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Diff test");
+        resourcePack.model(Model.model().key(Key.key("test", "item/model")).parent(Key.key("item/generated")).build());
+        resourcePack.language(Language.language(Key.key("test", "en_us"), Collections.singletonMap("a", "b")));
+        resourcePack.language(Language.language(Key.key("test", "es_es"), Collections.singletonMap("a", "c")));
+        resourcePack.texture(Texture.texture(Key.key("test", "item/texture.png"), Writable.stringUtf8("texture")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("old");
+        overlay.model(Model.model().key(Key.key("test", "item/model")).parent(Key.key("item/handheld")).build());
+        resourcePack.overlay(overlay);
+        return resourcePack;
+    }
+}
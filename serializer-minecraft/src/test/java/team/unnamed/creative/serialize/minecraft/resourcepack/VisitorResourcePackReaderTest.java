@@ -0,0 +1,138 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.serialize.minecraft.resourcepack;
+
+import net.kyori.adventure.key.Key;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.lang.Language;
+import team.unnamed.creative.metadata.Metadata;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.model.Model;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.serialize.minecraft.ResourcePackVisitor;
+import team.unnamed.creative.serialize.minecraft.fs.FileTreeReader;
+import team.unnamed.creative.texture.Texture;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipFile;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VisitorResourcePackReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_visit() throws IOException {
+        Path zip = writeResourcePack();
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        // executor and laziness are ignored when visiting
+        MinecraftResourcePackReader reader = MinecraftResourcePackReader.builder()
+                .executor(ForkJoinPool.commonPool())
+                .lazy(true)
+                .build();
+        try (ZipFile zipFile = new ZipFile(zip.toFile()); FileTreeReader tree = FileTreeReader.zip(zipFile)) {
+            reader.read(tree, visitor);
+        }
+
+        assertNotNull(visitor.metadata);
+        assertEquals(Collections.singletonList("credits.txt"), visitor.unknownFiles);
+        assertEquals(1, visitor.textures);
+        assertTrue(visitor.parts.contains("null:34:mycompany:item/model"), visitor.parts.toString());
+        assertTrue(visitor.parts.contains("null:34:mycompany:en_us"), visitor.parts.toString());
+        assertTrue(visitor.parts.contains("old:18:mycompany:item/model"), visitor.parts.toString());
+        assertEquals(3, visitor.parts.size(), visitor.parts.toString());
+    }
+
+    private Path writeResourcePack() {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Visitor test");
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(18), "old")));
+        resourcePack.model(Model.model()
+                .key(Key.key("mycompany", "item/model"))
+                .parent(Key.key("item/generated"))
+                .build());
+        resourcePack.language(Language.language(Key.key("mycompany", "en_us"), Collections.singletonMap("test.key", "Test")));
+        resourcePack.texture(Texture.texture(Key.key("mycompany", "item/texture.png"), Writable.stringUtf8("not a texture")));
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("old");
+        overlay.model(Model.model().key(Key.key("mycompany", "item/model")).parent(Key.key("item/handheld")).build());
+        resourcePack.overlay(overlay);
+
+        Path zip = tempDir.resolve("pack.zip");
+        MinecraftResourcePackWriter.minecraft().writeToZipFile(zip, resourcePack);
+        return zip;
+    }
+
+    private static final class RecordingVisitor implements ResourcePackVisitor {
+        private Metadata metadata;
+        private final List<String> unknownFiles = new ArrayList<>();
+        private final List<String> parts = new ArrayList<>();
+        private int textures;
+
+        @Override
+        public void visitMetadata(final @NotNull Metadata metadata) {
+            this.metadata = metadata;
+        }
+
+        @Override
+        public void visitUnknownFile(final @Nullable String overlay, final @NotNull String path, final @NotNull Writable data) {
+            unknownFiles.add(path);
+        }
+
+        @Override
+        public void visitTexture(final @Nullable String overlay, final int packFormat, final @NotNull Texture texture) {
+            textures++;
+        }
+
+        @Override
+        public void visitModel(final @Nullable String overlay, final int packFormat, final @NotNull Model model) {
+            parts.add(overlay + ":" + packFormat + ":" + model.key().asString());
+        }
+
+        @Override
+        public void visitLanguage(final @Nullable String overlay, final int packFormat, final @NotNull Language language) {
+            parts.add(overlay + ":" + packFormat + ":" + language.key().asString());
+        }
+    }
+}
@@ -37,6 +37,7 @@ import javax.net.ssl.SSLContext;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.concurrent.Executor;
 import java.util.function.Consumer;
 
@@ -101,7 +102,9 @@ public interface ResourcePackServer {
     void start();
 
     /**
-     * Stops the internal {@link HttpServer}
+     * Stops the internal {@link HttpServer}, and shuts down the
+     * executor if it was created by the builder, see
+     * {@link Builder#virtualThreads()} and {@link Builder#threads(int)}
      *
      * @param delay the maximum time in seconds to wait until requests have finished
      * @see HttpServer#stop(int)
@@ -172,7 +175,9 @@ public interface ResourcePackServer {
          * if the executor is not specified or if it's set to null, then
          * a default implementation is used, which uses the thread
          * which was created by the {@link ResourcePackServer#start()}
-         * method.</p>
+         * method, so a slow client delays all the other requests. See
+         * {@link #virtualThreads()} and {@link #threads(int)} for the
+         * built-in executors.</p>
          *
          * @param executor The server's executor
          * @return This builder
@@ -181,6 +186,92 @@ public interface ResourcePackServer {
         @Contract("_ -> this")
         @NotNull Builder executor(final @Nullable Executor executor);
 
+        /**
+         * Sets the server's executor to one that handles each request in
+         * a new virtual thread, so slow clients don't block other downloads.
+         *
+         * <p>If virtual threads are not available in the running JDK, a
+         * bounded pool of platform threads is used instead, with twice
+         * as many threads as available processors (at least 4).</p>
+         *
+         * <p>The executor is shut down when the server is stopped.</p>
+         *
+         * @return This builder
+         * @see #executor(Executor)
+         * @since 1.8.4
+         */
+        @Contract("-> this")
+        @NotNull Builder virtualThreads();
+
+        /**
+         * Sets the server's executor to a bounded pool with the given
+         * number of platform threads, requests are queued while all
+         * the threads are busy.
+         *
+         * <p>The executor is shut down when the server is stopped.</p>
+         *
+         * @param threads The number of threads, must be positive
+         * @return This builder
+         * @see #executor(Executor)
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder threads(final int threads);
+
+        /**
+         * Sets the maximum number of concurrent downloads, optional.
+         *
+         * <p>Requests beyond the limit wait up to the given time for a
+         * download to finish, and are then answered with a 503 (Service
+         * Unavailable) response with a {@code Retry-After} header, so
+         * clients try again later instead of all downloading at once.</p>
+         *
+         * <p>Note that waiting requests occupy an executor thread, so a
+         * positive {@code maxWait} requires an executor to be set, see
+         * {@link #executor(Executor)}, {@link #virtualThreads()} and
+         * {@link #threads(int)}. Otherwise, requests would wait in the
+         * single dispatcher thread, which then stops accepting (and
+         * rejecting) any other connection.</p>
+         *
+         * @param limit   The maximum number of concurrent downloads, must be positive
+         * @param maxWait The maximum time that a request waits for a download
+         *                slot, zero to answer with 503 immediately
+         * @return This builder
+         * @since 1.8.4
+         */
+        @Contract("_, _ -> this")
+        @NotNull Builder maxConcurrentDownloads(final int limit, final @NotNull Duration maxWait);
+
+        /**
+         * Sets the maximum number of concurrent downloads, optional.
+         *
+         * <p>Requests beyond the limit are immediately answered with a
+         * 503 (Service Unavailable) response with a {@code Retry-After}
+         * header.</p>
+         *
+         * @param limit The maximum number of concurrent downloads, must be positive
+         * @return This builder
+         * @see #maxConcurrentDownloads(int, Duration)
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        default @NotNull Builder maxConcurrentDownloads(final int limit) {
+            return maxConcurrentDownloads(limit, Duration.ZERO);
+        }
+
+        /**
+         * Sets the {@code Retry-After} header value, in seconds, sent
+         * to requests rejected because of the concurrent downloads limit,
+         * optional, defaults to 5 seconds.
+         *
+         * @param seconds The delay, in seconds, must not be negative
+         * @return This builder
+         * @see #maxConcurrentDownloads(int, Duration)
+         * @since 1.8.4
+         */
+        @Contract("_ -> this")
+        @NotNull Builder retryAfter(final int seconds);
+
         /**
          * Sets the server's HTTPS configurator, optional.
          * If not set, the server will default to a HTTP
@@ -327,6 +418,8 @@ public interface ResourcePackServer {
          *
          * @return The built {@link ResourcePackServer} instance
          * @throws IOException If bind fails
+         * @throws IllegalStateException If a positive max wait time was set
+         * for concurrent downloads, but no executor was set
          * @since 1.0.0
          */
         @Contract("-> new")
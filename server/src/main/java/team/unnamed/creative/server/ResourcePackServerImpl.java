@@ -36,7 +36,11 @@ import team.unnamed.creative.server.util.ResourcePackDownloadRequestParser;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.time.Duration;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
 import static java.util.Objects.requireNonNull;
 
@@ -45,13 +49,29 @@ final class ResourcePackServerImpl implements ResourcePackServer {
     private final HttpServer server;
     private final ResourcePackRequestHandler handler;
 
+    // the executor created by the builder, shut down on stop
+    private final @Nullable ExecutorService ownedExecutor;
+
+    // concurrent downloads limit, null if unlimited
+    private final @Nullable Semaphore downloads;
+    private final long maxWaitNanos;
+    private final String retryAfter;
+
     ResourcePackServerImpl(
             final @NotNull HttpServer server,
             final @NotNull String path,
-            final @NotNull ResourcePackRequestHandler handler
+            final @NotNull ResourcePackRequestHandler handler,
+            final @Nullable ExecutorService ownedExecutor,
+            final @Nullable Semaphore downloads,
+            final long maxWaitNanos,
+            final int retryAfter
     ) {
         this.server = requireNonNull(server, "server");
         this.handler = requireNonNull(handler, "handler");
+        this.ownedExecutor = ownedExecutor;
+        this.downloads = downloads;
+        this.maxWaitNanos = maxWaitNanos;
+        this.retryAfter = Integer.toString(retryAfter);
         this.server.createContext(requireNonNull(path, "path"), this::handleRequest);
     }
 
@@ -74,6 +94,9 @@ final class ResourcePackServerImpl implements ResourcePackServer {
     @Override
     public void stop(final int delay) {
         server.stop(delay);
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
     }
 
     private void handleRequest(final @NotNull HttpExchange exchange) throws IOException {
@@ -82,19 +105,50 @@ final class ResourcePackServerImpl implements ResourcePackServer {
             return;
         }
 
-        final Headers headers = exchange.getRequestHeaders();
-        final ResourcePackDownloadRequest request = ResourcePackDownloadRequestParser.parse(headers);
+        if (downloads != null && !acquireDownload()) {
+            // too many concurrent downloads, try again later
+            try {
+                exchange.getResponseHeaders().set("Retry-After", retryAfter);
+                exchange.sendResponseHeaders(503, -1);
+            } finally {
+                exchange.close();
+            }
+            return;
+        }
 
         try {
+            final Headers headers = exchange.getRequestHeaders();
+            final ResourcePackDownloadRequest request = ResourcePackDownloadRequestParser.parse(headers);
             handler.onRequest(request, exchange);
         } finally {
             exchange.close();
+            if (downloads != null) {
+                downloads.release();
+            }
+        }
+    }
+
+    private boolean acquireDownload() {
+        requireNonNull(downloads, "downloads");
+        if (maxWaitNanos <= 0L) {
+            return downloads.tryAcquire();
+        }
+        try {
+            return downloads.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
 
     static final class BuilderImpl implements Builder {
         private InetSocketAddress address;
         private Executor executor;
+        private boolean virtualThreads;
+        private int threads;
+        private int maxConcurrentDownloads;
+        private Duration maxWait = Duration.ZERO;
+        private int retryAfter = 5;
         private int backlog;
         private ResourcePackRequestHandler handler;
         private String path = "/";
@@ -109,6 +163,50 @@ final class ResourcePackServerImpl implements ResourcePackServer {
         @Override
         public @NotNull Builder executor(final @Nullable Executor executor) {
             this.executor = executor;
+            this.virtualThreads = false;
+            this.threads = 0;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder virtualThreads() {
+            this.executor = null;
+            this.virtualThreads = true;
+            this.threads = 0;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder threads(final int threads) {
+            if (threads <= 0) {
+                throw new IllegalArgumentException("Thread count must be positive, got " + threads);
+            }
+            this.executor = null;
+            this.virtualThreads = false;
+            this.threads = threads;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder maxConcurrentDownloads(final int limit, final @NotNull Duration maxWait) {
+            requireNonNull(maxWait, "maxWait");
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Concurrent downloads limit must be positive, got " + limit);
+            }
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("Max wait time must not be negative, got " + maxWait);
+            }
+            this.maxConcurrentDownloads = limit;
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        @Override
+        public @NotNull Builder retryAfter(final int seconds) {
+            if (seconds < 0) {
+                throw new IllegalArgumentException("Retry-After delay must not be negative, got " + seconds);
+            }
+            this.retryAfter = seconds;
             return this;
         }
 
@@ -143,9 +241,29 @@ final class ResourcePackServerImpl implements ResourcePackServer {
 
         @Override
         public @NotNull ResourcePackServer build() throws IOException {
+            if (maxConcurrentDownloads > 0 && !maxWait.isZero()
+                    && executor == null && !virtualThreads && threads <= 0) {
+                // waiting for a download slot would block the dispatcher thread
+                throw new IllegalStateException("Waiting for a download slot requires an executor,"
+                        + " set one using executor(Executor), virtualThreads() or threads(int)");
+            }
             final HttpServer server = serverFactory.create(address, backlog);
-            server.setExecutor(executor);
-            return new ResourcePackServerImpl(server, path, handler);
+            ExecutorService ownedExecutor = null;
+            if (virtualThreads) {
+                ownedExecutor = ServerExecutors.virtualThreads();
+            } else if (threads > 0) {
+                ownedExecutor = ServerExecutors.threads(threads);
+            }
+            server.setExecutor(ownedExecutor != null ? ownedExecutor : executor);
+            return new ResourcePackServerImpl(
+                    server,
+                    path,
+                    handler,
+                    ownedExecutor,
+                    maxConcurrentDownloads > 0 ? new Semaphore(maxConcurrentDownloads, true) : null,
+                    maxWait.toNanos(),
+                    retryAfter
+            );
         }
     }
 
@@ -0,0 +1,189 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A satisfiable byte range of a representation, as requested
+ * by the HTTP {@code Range} header (RFC 9110, section 14).
+ */
+final class ByteRange {
+    private static final String BYTES_UNIT = "bytes=";
+
+    // more ranges than this (after merging) are not worth it, the
+    // full representation is sent instead, as allowed by the RFC
+    static final int MAX_RANGES = 16;
+
+    private final long start;
+    private final long end;
+
+    ByteRange(final long start, final long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parses the given {@code Range} header value for a representation
+     * of the given length.
+     *
+     * <p>Ranges are sorted, and overlapping or adjacent ranges are
+     * merged.</p>
+     *
+     * @param header The header value
+     * @param length The representation length
+     * @return The satisfiable ranges, empty if none of them is satisfiable,
+     * or null if the header must be ignored (invalid syntax, unknown unit
+     * or too many ranges)
+     */
+    static @Nullable List<ByteRange> parse(final @NotNull String header, final long length) {
+        final String value = header.trim();
+        if (!value.toLowerCase(Locale.ROOT).startsWith(BYTES_UNIT)) {
+            return null;
+        }
+
+        final List<ByteRange> ranges = new ArrayList<>();
+        int specs = 0;
+        for (final String rawSpec : value.substring(BYTES_UNIT.length()).split(",")) {
+            final String spec = rawSpec.trim();
+            if (spec.isEmpty()) {
+                continue;
+            }
+            if (++specs > MAX_RANGES * 4) {
+                // don't even bother parsing
+                return null;
+            }
+            final int dash = spec.indexOf('-');
+            if (dash == -1) {
+                return null;
+            }
+            final String first = spec.substring(0, dash).trim();
+            final String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // suffix range, e.g. "-500" means the last 500 bytes
+                final long suffix = parseLong(last);
+                if (suffix < 0) {
+                    return null;
+                }
+                if (suffix > 0 && length > 0) {
+                    ranges.add(new ByteRange(Math.max(0, length - suffix), length - 1));
+                }
+            } else {
+                final long start = parseLong(first);
+                final long end = last.isEmpty() ? Long.MAX_VALUE : parseLong(last);
+                if (start < 0 || end < 0 || end < start) {
+                    return null;
+                }
+                if (start < length) {
+                    ranges.add(new ByteRange(start, Math.min(end, length - 1)));
+                }
+            }
+        }
+
+        if (specs == 0) {
+            return null;
+        }
+
+        // sort and merge
+        ranges.sort(Comparator.comparingLong(ByteRange::start));
+        final List<ByteRange> merged = new ArrayList<>(ranges.size());
+        for (final ByteRange range : ranges) {
+            final ByteRange previous = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+            if (previous != null && range.start <= previous.end + 1) {
+                merged.set(merged.size() - 1, new ByteRange(previous.start, Math.max(previous.end, range.end)));
+            } else {
+                merged.add(range);
+            }
+        }
+        if (merged.size() > MAX_RANGES) {
+            return null;
+        }
+        return Collections.unmodifiableList(merged);
+    }
+
+    private static long parseLong(final @NotNull String value) {
+        if (value.isEmpty()) {
+            return -1;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (final NumberFormatException e) {
+            // too big
+            return -1;
+        }
+    }
+
+    long start() {
+        return start;
+    }
+
+    long end() {
+        return end;
+    }
+
+    long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Returns the {@code Content-Range} header value for this range.
+     *
+     * @param total The representation length
+     * @return The header value
+     */
+    @NotNull String contentRange(final long total) {
+        return "bytes " + start + '-' + end + '/' + total;
+    }
+
+    @Override
+    public boolean equals(final @Nullable Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final ByteRange that = (ByteRange) o;
+        return start == that.start && end == that.end;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(start) * 31 + Long.hashCode(end);
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ByteRange{" + start + '-' + end + '}';
+    }
+}
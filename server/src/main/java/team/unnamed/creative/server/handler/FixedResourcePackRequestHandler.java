@@ -38,9 +38,13 @@ final class FixedResourcePackRequestHandler implements ResourcePackRequestHandle
     private final BuiltResourcePack pack;
     private final boolean validOnly;
 
+    // the pack response, shared by all the requests
+    private final ResourcePackResponse response;
+
     FixedResourcePackRequestHandler(final @NotNull BuiltResourcePack pack, final boolean validOnly) {
         this.pack = Objects.requireNonNull(pack, "pack");
         this.validOnly = validOnly;
+        this.response = ResourcePackResponse.of(pack);
     }
 
     @Override
@@ -55,12 +59,7 @@ final class FixedResourcePackRequestHandler implements ResourcePackRequestHandle
             return;
         }
 
-        final byte[] data = pack.data().toByteArray();
-        exchange.getResponseHeaders().set("Content-Type", "application/zip");
-        exchange.sendResponseHeaders(200, data.length);
-        try (final OutputStream responseStream = exchange.getResponseBody()) {
-            responseStream.write(data);
-        }
+        response.send(exchange);
     }
 
     @Override
@@ -0,0 +1,71 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+
+/**
+ * A {@link ResourcePackRequestHandler} that returns a resource-pack
+ * {@link ResourcePack#flatten(int) flattened} for the pack format of
+ * each client, so that clients only download the overlays that apply
+ * to them.
+ *
+ * <p>Every flattened resource-pack is a different build with its own
+ * hash. Minecraft clients check the hash sent along with the resource-pack
+ * (e.g. in the resource-pack push packet) against the downloaded file,
+ * so the hash sent to each client <b>must</b> be the one returned by
+ * {@link #pack(int)} for its pack format, otherwise the download is
+ * rejected.</p>
+ *
+ * @see ResourcePackRequestHandler#formatAware
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface FormatAwareResourcePackRequestHandler extends ResourcePackRequestHandler {
+    /**
+     * Returns the resource-pack served to clients with the given pack
+     * format, building it if it was not built yet.
+     *
+     * <p>Use its {@link BuiltResourcePack#hash() hash} when sending the
+     * resource-pack to clients with that pack format.</p>
+     *
+     * @param packFormat The client pack format
+     * @return The built resource-pack for the given pack format
+     * @since 1.8.4
+     */
+    @NotNull BuiltResourcePack pack(final int packFormat);
+
+    /**
+     * Returns the complete (non-flattened) resource-pack, served
+     * to requests that are not from a Minecraft client, building
+     * it if it was not built yet.
+     *
+     * @return The complete built resource-pack
+     * @since 1.8.4
+     */
+    @NotNull BuiltResourcePack pack();
+}
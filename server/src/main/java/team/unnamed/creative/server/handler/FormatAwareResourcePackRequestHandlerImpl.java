@@ -0,0 +1,130 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+final class FormatAwareResourcePackRequestHandlerImpl implements FormatAwareResourcePackRequestHandler {
+    private final ResourcePack pack;
+    private final Function<ResourcePack, BuiltResourcePack> builder;
+    private final List<OverlayEntry> overlays;
+
+    // builds by the directories of the applied overlays, different
+    // pack formats that apply the same overlays share the same build
+    private final Map<List<String>, Build> builds = new ConcurrentHashMap<>();
+
+    // the non-flattened pack, for requests that are not from a Minecraft client
+    private final Build full;
+
+    FormatAwareResourcePackRequestHandlerImpl(final @NotNull ResourcePack pack, final @NotNull Function<ResourcePack, BuiltResourcePack> builder) {
+        this.pack = requireNonNull(pack, "pack");
+        this.builder = requireNonNull(builder, "builder");
+        final OverlaysMeta overlaysMeta = pack.overlaysMeta();
+        this.overlays = overlaysMeta == null ? Collections.emptyList() : new ArrayList<>(overlaysMeta.entries());
+        this.full = new Build(() -> pack);
+    }
+
+    @Override
+    public @NotNull BuiltResourcePack pack(final int packFormat) {
+        return build(packFormat).response().pack();
+    }
+
+    @Override
+    public @NotNull BuiltResourcePack pack() {
+        return full.response().pack();
+    }
+
+    @Override
+    public void onRequest(final @Nullable ResourcePackDownloadRequest request, final @NotNull HttpExchange exchange) throws IOException {
+        final Build build = request == null ? full : build(request.packFormat());
+        build.response().send(exchange);
+    }
+
+    private @NotNull Build build(final int packFormat) {
+        final List<String> applied = new ArrayList<>();
+        for (final OverlayEntry entry : overlays) {
+            if (entry.formats().isInRange(packFormat)) {
+                applied.add(entry.directory());
+            }
+        }
+        // the holder is cheap to create, the pack is built outside
+        // the map lock, when the response is first requested
+        return builds.computeIfAbsent(applied, k -> new Build(() -> pack.flatten(packFormat)));
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "FormatAwareResourcePackRequestHandler{" +
+                "pack=" + pack +
+                ", builds=" + builds.size() +
+                '}';
+    }
+
+    /**
+     * Memoizing holder for a built resource-pack response, built
+     * on first access, only once.
+     */
+    private final class Build {
+        private @Nullable Supplier<ResourcePack> source;
+        private volatile @Nullable ResourcePackResponse response;
+
+        Build(final @NotNull Supplier<ResourcePack> source) {
+            this.source = source;
+        }
+
+        @NotNull ResourcePackResponse response() {
+            ResourcePackResponse response = this.response;
+            if (response == null) {
+                synchronized (this) {
+                    response = this.response;
+                    if (response == null) {
+                        response = ResourcePackResponse.of(builder.apply(requireNonNull(source, "source").get()));
+                        this.response = response;
+                        // not needed anymore
+                        source = null;
+                    }
+                }
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.base.FileWritable;
+import team.unnamed.creative.base.Writable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Immutable representation of a resource-pack ZIP archive, created
+ * once and written to every response without copying it again.
+ *
+ * <p>File-backed data is transferred from the file using
+ * {@link FileWritable#transferTo}, any other data is copied
+ * to a single byte array when the body is created.</p>
+ */
+abstract class PackBody {
+
+    static @NotNull PackBody of(final @NotNull Writable data) {
+        requireNonNull(data, "data");
+        if (data instanceof FileWritable) {
+            return new FileBody((FileWritable) data);
+        }
+        try {
+            return new ByteArrayBody(data.toByteArray());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to read resource-pack data", e);
+        }
+    }
+
+    /**
+     * Returns the length of the body, in bytes.
+     *
+     * @return The body length
+     * @throws IOException If the length can't be determined
+     */
+    abstract long length() throws IOException;
+
+    /**
+     * Returns the time the body was last modified, in
+     * milliseconds since the epoch.
+     *
+     * @return The last modification time
+     * @throws IOException If the time can't be determined
+     */
+    abstract long lastModified() throws IOException;
+
+    /**
+     * Writes the body bytes in the range {@code [position, position + count)}
+     * to the given output, without closing it.
+     *
+     * @param output The output
+     * @param position The start position
+     * @param count The amount of bytes to write
+     * @throws IOException If writing fails
+     */
+    abstract void writeTo(final @NotNull OutputStream output, final long position, final long count) throws IOException;
+
+    private static final class ByteArrayBody extends PackBody {
+        private final byte[] bytes;
+        // in-memory data is considered modified when it is read
+        private final long lastModified = System.currentTimeMillis();
+
+        ByteArrayBody(final byte @NotNull [] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        long length() {
+            return bytes.length;
+        }
+
+        @Override
+        long lastModified() {
+            return lastModified;
+        }
+
+        @Override
+        void writeTo(final @NotNull OutputStream output, final long position, final long count) throws IOException {
+            output.write(bytes, (int) position, (int) count);
+        }
+    }
+
+    private static final class FileBody extends PackBody {
+        private final FileWritable file;
+
+        FileBody(final @NotNull FileWritable file) {
+            this.file = file;
+        }
+
+        @Override
+        long length() throws IOException {
+            return file.size();
+        }
+
+        @Override
+        long lastModified() throws IOException {
+            return Files.getLastModifiedTime(file.path()).toMillis();
+        }
+
+        @Override
+        void writeTo(final @NotNull OutputStream output, final long position, final long count) throws IOException {
+            // do not close the created channel, it would close the given output stream
+            file.transferTo(position, count, Channels.newChannel(output));
+        }
+    }
+}
@@ -28,9 +28,11 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
 import team.unnamed.creative.server.request.ResourcePackDownloadRequest;
 
 import java.io.IOException;
+import java.util.function.Function;
 
 /**
  * Responsible for handling resource-pack download requests.
@@ -72,6 +74,35 @@ public interface ResourcePackRequestHandler {
         return fixed(pack, false);
     }
 
+    /**
+     * Creates a new {@link ResourcePackRequestHandler} instance that
+     * returns the given resource-pack, {@link ResourcePack#flatten(int) flattened}
+     * for the pack format of each client, so that clients only download
+     * the overlays that apply to them.
+     *
+     * <p>Flattened resource-packs are built once, using the given builder,
+     * and cached: pack formats that apply the same overlays share the same
+     * build. Requests that are not from a Minecraft client receive the
+     * complete resource-pack.</p>
+     *
+     * <p>Each flattened resource-pack has its own hash, and clients reject
+     * downloads that don't match the hash they were sent, so use
+     * {@link FormatAwareResourcePackRequestHandler#pack(int)} to get the
+     * hash to send to each client.</p>
+     *
+     * <p>The resource-pack must not be modified after creating the handler.</p>
+     *
+     * @param pack    The resource-pack to return
+     * @param builder The resource-pack builder, e.g.
+     *                {@code MinecraftResourcePackWriter.minecraft()::build}
+     * @return The new handler instance
+     * @since 1.8.4
+     */
+    @Contract("_, _ -> new")
+    static @NotNull FormatAwareResourcePackRequestHandler formatAware(final @NotNull ResourcePack pack, final @NotNull Function<ResourcePack, BuiltResourcePack> builder) {
+        return new FormatAwareResourcePackRequestHandlerImpl(pack, builder);
+    }
+
     /**
      * Handles a resource pack request, the resulting resource
      * pack is written to {@link HttpExchange#getResponseBody()}
@@ -79,6 +110,9 @@ public interface ResourcePackRequestHandler {
      * <p>An "application/zip" Content-Type header should be set
      * when returning a resource-pack, {@link HttpExchange#getResponseHeaders()}</p>
      *
+     * <p>Use {@link ResourcePackResponse} to send resource-packs
+     * with support for range requests.</p>
+     *
      * @param request  The resource pack request, null means that the
      *                 request couldn't be parsed and the requester is
      *                 not a Minecraft client
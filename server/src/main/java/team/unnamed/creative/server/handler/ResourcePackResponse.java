@@ -0,0 +1,141 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import team.unnamed.creative.BuiltResourcePack;
+
+import java.io.IOException;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A reusable HTTP response for a {@link BuiltResourcePack}, that can
+ * be sent by any {@link ResourcePackRequestHandler}.
+ *
+ * <p>The resource-pack data is prepared once, when the response is
+ * created, and written to every exchange without copying it again
+ * (file-backed data is transferred directly from the file). So
+ * handlers should create a response per resource-pack and reuse it
+ * for every request, e.g.:</p>
+ * <pre>{@code
+ *     ResourcePackResponse response = ResourcePackResponse.of(pack);
+ *     ResourcePackRequestHandler handler = (request, exchange) -> response.send(exchange);
+ * }</pre>
+ *
+ * <p>Responses support HTTP range requests ({@code Range} and
+ * {@code If-Range} headers), so interrupted downloads can be
+ * resumed: single ranges are answered with a 206 (Partial Content)
+ * response, multiple ranges with a {@code multipart/byteranges} one,
+ * and unsatisfiable ranges with a 416 (Range Not Satisfiable) one.</p>
+ *
+ * <p>Responses also support conditional requests: the resource-pack
+ * {@link BuiltResourcePack#hash() hash} is sent as its (strong)
+ * {@code ETag}, along with its {@code Last-Modified} time and a
+ * {@code Cache-Control} directive, and requests with a matching
+ * {@code If-None-Match} (or {@code If-Modified-Since}) header are
+ * answered with a bodiless 304 (Not Modified) response.</p>
+ *
+ * @since 1.8.4
+ */
+@ApiStatus.NonExtendable
+public interface ResourcePackResponse {
+    /**
+     * The default {@code Cache-Control} header value, it allows caching
+     * the resource-pack, but it must be revalidated before reusing it,
+     * since the resource-pack served at the same URL may change.
+     *
+     * @since 1.8.4
+     */
+    String DEFAULT_CACHE_CONTROL = "no-cache";
+
+    /**
+     * Creates a new {@link ResourcePackResponse} for the given
+     * resource-pack.
+     *
+     * <p>Unless the resource-pack data is file-backed, it is
+     * read to memory by this method.</p>
+     *
+     * @param pack The resource-pack
+     * @return The created response
+     * @since 1.8.4
+     */
+    @Contract("_ -> new")
+    static @NotNull ResourcePackResponse of(final @NotNull BuiltResourcePack pack) {
+        return of(pack, DEFAULT_CACHE_CONTROL);
+    }
+
+    /**
+     * Creates a new {@link ResourcePackResponse} for the given
+     * resource-pack, with the given {@code Cache-Control} header
+     * value, e.g. {@code "public, max-age=3600"}.
+     *
+     * <p>Unless the resource-pack data is file-backed, it is
+     * read to memory by this method.</p>
+     *
+     * @param pack The resource-pack
+     * @param cacheControl The Cache-Control header value
+     * @return The created response
+     * @since 1.8.4
+     */
+    @Contract("_, _ -> new")
+    static @NotNull ResourcePackResponse of(final @NotNull BuiltResourcePack pack, final @NotNull String cacheControl) {
+        requireNonNull(pack, "pack");
+        requireNonNull(cacheControl, "cacheControl");
+        return new ResourcePackResponseImpl(pack, cacheControl);
+    }
+
+    /**
+     * Returns the resource-pack sent by this response.
+     *
+     * @return The resource-pack
+     * @since 1.8.4
+     */
+    @NotNull BuiltResourcePack pack();
+
+    /**
+     * Returns the {@code ETag} header value sent by this response,
+     * derived from the resource-pack hash.
+     *
+     * @return The entity tag, including its quotes
+     * @since 1.8.4
+     */
+    @NotNull String entityTag();
+
+    /**
+     * Sends this response to the given exchange, honoring its
+     * conditional and range request headers, if any.
+     *
+     * <p>The response body is closed after writing it, but the
+     * exchange itself is not.</p>
+     *
+     * @param exchange The HTTP exchange
+     * @throws IOException If writing the response fails
+     * @since 1.8.4
+     */
+    void send(final @NotNull HttpExchange exchange) throws IOException;
+}
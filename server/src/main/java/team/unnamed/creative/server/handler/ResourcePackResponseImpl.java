@@ -0,0 +1,225 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import team.unnamed.creative.BuiltResourcePack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+final class ResourcePackResponseImpl implements ResourcePackResponse {
+    private static final String CONTENT_TYPE = "application/zip";
+
+    private final BuiltResourcePack pack;
+    private final String cacheControl;
+    private final PackBody body;
+
+    // strong entity tag, the hash is unique for the pack data
+    private final String entityTag;
+    private final String boundary;
+
+    // HTTP dates have a precision of seconds
+    private final long lastModifiedSeconds;
+    private final String lastModified;
+
+    ResourcePackResponseImpl(final @NotNull BuiltResourcePack pack, final @NotNull String cacheControl) {
+        this.pack = requireNonNull(pack, "pack");
+        this.cacheControl = requireNonNull(cacheControl, "cacheControl");
+        this.body = PackBody.of(pack.data());
+        this.entityTag = '"' + pack.hash() + '"';
+        this.boundary = "creative-" + pack.hash();
+        try {
+            this.lastModifiedSeconds = body.lastModified() / 1000L;
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to get the resource-pack last modification time", e);
+        }
+        this.lastModified = DateTimeFormatter.RFC_1123_DATE_TIME.format(
+                Instant.ofEpochSecond(lastModifiedSeconds).atOffset(ZoneOffset.UTC));
+    }
+
+    @Override
+    public @NotNull BuiltResourcePack pack() {
+        return pack;
+    }
+
+    @Override
+    public @NotNull String entityTag() {
+        return entityTag;
+    }
+
+    @Override
+    public void send(final @NotNull HttpExchange exchange) throws IOException {
+        requireNonNull(exchange, "exchange");
+        final Headers requestHeaders = exchange.getRequestHeaders();
+        final Headers responseHeaders = exchange.getResponseHeaders();
+        final long length = body.length();
+
+        responseHeaders.set("Accept-Ranges", "bytes");
+        responseHeaders.set("ETag", entityTag);
+        responseHeaders.set("Last-Modified", lastModified);
+        responseHeaders.set("Cache-Control", cacheControl);
+
+        if (notModified(requestHeaders)) {
+            // the client (or cache) already has this pack
+            exchange.sendResponseHeaders(304, -1);
+            exchange.getResponseBody().close();
+            return;
+        }
+
+        List<ByteRange> ranges = null;
+        final String range = requestHeaders.getFirst("Range");
+        if (range != null && ifRangeMatches(requestHeaders.getFirst("If-Range"))) {
+            ranges = ByteRange.parse(range, length);
+        }
+
+        if (ranges == null) {
+            // no (valid) range requested, send everything
+            responseHeaders.set("Content-Type", CONTENT_TYPE);
+            sendRange(exchange, 200, 0, length);
+        } else if (ranges.isEmpty()) {
+            responseHeaders.set("Content-Range", "bytes */" + length);
+            exchange.sendResponseHeaders(416, -1);
+            exchange.getResponseBody().close();
+        } else if (ranges.size() == 1) {
+            final ByteRange single = ranges.get(0);
+            responseHeaders.set("Content-Type", CONTENT_TYPE);
+            responseHeaders.set("Content-Range", single.contentRange(length));
+            sendRange(exchange, 206, single.start(), single.length());
+        } else {
+            sendMultipart(exchange, ranges, length);
+        }
+    }
+
+    /*
+     * Determines whether the client already has this pack, according to the
+     * If-None-Match header (weak comparison), or the If-Modified-Since header
+     * if there is no If-None-Match header
+     */
+    private boolean notModified(final @NotNull Headers requestHeaders) {
+        final List<String> ifNoneMatch = requestHeaders.get("If-None-Match");
+        if (ifNoneMatch != null && !ifNoneMatch.isEmpty()) {
+            for (final String value : ifNoneMatch) {
+                for (String tag : value.split(",")) {
+                    tag = tag.trim();
+                    if (tag.startsWith("W/")) {
+                        tag = tag.substring(2);
+                    }
+                    if (tag.equals("*") || tag.equals(entityTag)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        final String ifModifiedSince = requestHeaders.getFirst("If-Modified-Since");
+        if (ifModifiedSince != null) {
+            final long since = parseDate(ifModifiedSince);
+            return since != -1 && lastModifiedSeconds <= since;
+        }
+        return false;
+    }
+
+    /*
+     * Determines whether the ranges must be sent, according to the
+     * If-Range header, that must match our entity tag (strong comparison)
+     * or our last modification time
+     */
+    private boolean ifRangeMatches(final @Nullable String ifRange) {
+        if (ifRange == null) {
+            return true;
+        }
+        final String value = ifRange.trim();
+        if (value.startsWith("\"") || value.startsWith("W/")) {
+            return value.equals(entityTag);
+        }
+        return parseDate(value) == lastModifiedSeconds;
+    }
+
+    /*
+     * Parses the given HTTP date, returns the epoch seconds,
+     * or -1 if it's invalid
+     */
+    private static long parseDate(final @NotNull String value) {
+        try {
+            return DateTimeFormatter.RFC_1123_DATE_TIME.parse(value.trim(), Instant::from).getEpochSecond();
+        } catch (final DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private void sendRange(final @NotNull HttpExchange exchange, final int status, final long position, final long count) throws IOException {
+        // a zero length means chunked encoding, -1 means no body
+        exchange.sendResponseHeaders(status, count == 0 ? -1 : count);
+        try (final OutputStream responseStream = exchange.getResponseBody()) {
+            body.writeTo(responseStream, position, count);
+        }
+    }
+
+    private void sendMultipart(final @NotNull HttpExchange exchange, final @NotNull List<ByteRange> ranges, final long length) throws IOException {
+        // compute the part headers first, to know the full length
+        final byte[][] partHeaders = new byte[ranges.size()][];
+        final byte[] end = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        long contentLength = end.length;
+        for (int i = 0; i < partHeaders.length; i++) {
+            final ByteRange range = ranges.get(i);
+            partHeaders[i] = ((i == 0 ? "" : "\r\n") + "--" + boundary + "\r\n"
+                    + "Content-Type: " + CONTENT_TYPE + "\r\n"
+                    + "Content-Range: " + range.contentRange(length) + "\r\n"
+                    + "\r\n").getBytes(StandardCharsets.US_ASCII);
+            contentLength += partHeaders[i].length + range.length();
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "multipart/byteranges; boundary=" + boundary);
+        exchange.sendResponseHeaders(206, contentLength);
+        try (final OutputStream responseStream = exchange.getResponseBody()) {
+            for (int i = 0; i < partHeaders.length; i++) {
+                final ByteRange range = ranges.get(i);
+                responseStream.write(partHeaders[i]);
+                body.writeTo(responseStream, range.start(), range.length());
+            }
+            responseStream.write(end);
+        }
+    }
+
+    @Override
+    public @NotNull String toString() {
+        return "ResourcePackResponse{" +
+                "pack=" + pack +
+                '}';
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
+
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.creative.server.LocalHttpServer.readAll;
+
+class ConcurrentDownloadLimitTest {
+
+    @Test
+    void test_downloads_beyond_limit_are_rejected() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ResourcePackRequestHandler handler = (request, exchange) -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] data = "pack".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, data.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(data);
+            }
+        };
+
+        ExecutorService client = Executors.newSingleThreadExecutor();
+        try (LocalHttpServer server = LocalHttpServer.start(builder -> builder
+                .handler(handler)
+                .virtualThreads()
+                .maxConcurrentDownloads(1)
+                .retryAfter(7))) {
+            Future<Integer> first = client.submit(() -> {
+                HttpURLConnection connection = server.open();
+                int code = connection.getResponseCode();
+                // read the body to EOF, so the download is complete
+                readAll(connection.getInputStream());
+                return code;
+            });
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+
+            // the only download slot is taken
+            HttpURLConnection rejected = server.open();
+            assertEquals(503, rejected.getResponseCode());
+            assertEquals("7", rejected.getHeaderField("Retry-After"));
+
+            release.countDown();
+            assertEquals(200, (int) first.get(10, TimeUnit.SECONDS));
+
+            // the slot is released after the handler returns, which may
+            // happen a bit after the client finished reading the response
+            int code = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                HttpURLConnection connection = server.open();
+                code = connection.getResponseCode();
+                if (code == 200) {
+                    connection.getInputStream().close();
+                    break;
+                }
+                assertEquals(503, code);
+                Thread.sleep(10);
+            }
+            assertEquals(200, code);
+        } finally {
+            client.shutdownNow();
+        }
+    }
+
+    @Test
+    void test_invalid_options() {
+        assertThrows(IllegalArgumentException.class, () -> ResourcePackServer.server().threads(0));
+        assertThrows(IllegalArgumentException.class, () -> ResourcePackServer.server().maxConcurrentDownloads(0));
+        assertThrows(IllegalArgumentException.class, () -> ResourcePackServer.server().retryAfter(-1));
+    }
+
+    @Test
+    void test_waiting_requires_executor() throws Exception {
+        ResourcePackRequestHandler handler = (request, exchange) -> exchange.sendResponseHeaders(200, -1);
+
+        // waiting in the dispatcher thread would block every other connection
+        assertThrows(IllegalStateException.class, () -> ResourcePackServer.server()
+                .address(new InetSocketAddress("localhost", 0))
+                .handler(handler)
+                .maxConcurrentDownloads(1, Duration.ofSeconds(1))
+                .build());
+
+        // rejecting immediately does not need an executor
+        try (LocalHttpServer ignored = LocalHttpServer.start(builder -> builder
+                .handler(handler)
+                .maxConcurrentDownloads(1))) {
+            // built
+        }
+        try (LocalHttpServer ignored = LocalHttpServer.start(builder -> builder
+                .handler(handler)
+                .threads(2)
+                .maxConcurrentDownloads(1, Duration.ofSeconds(1)))) {
+            // built
+        }
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
+import team.unnamed.creative.server.handler.ResourcePackResponse;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static team.unnamed.creative.server.LocalHttpServer.readAll;
+
+class ConditionalRequestTest {
+
+    private static BuiltResourcePack pack;
+    private static LocalHttpServer server;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(8, "Conditional requests!");
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+        pack = MinecraftResourcePackWriter.minecraft().build(resourcePack);
+
+        ResourcePackResponse response = ResourcePackResponse.of(pack, "public, max-age=3600");
+        ResourcePackRequestHandler handler = (request, exchange) -> response.send(exchange);
+        server = LocalHttpServer.start(builder -> builder.handler(handler));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void test_validators_are_sent() throws IOException {
+        HttpURLConnection connection = server.open();
+        assertEquals(200, connection.getResponseCode());
+        assertEquals('"' + pack.hash() + '"', connection.getHeaderField("ETag"));
+        assertEquals("public, max-age=3600", connection.getHeaderField("Cache-Control"));
+        assertNotNull(connection.getHeaderField("Last-Modified"));
+        readAll(connection.getInputStream());
+    }
+
+    @Test
+    void test_if_none_match() throws IOException {
+        HttpURLConnection connection = server.open();
+        connection.setRequestProperty("If-None-Match", "\"outdated\", \"" + pack.hash() + '"');
+        assertEquals(304, connection.getResponseCode());
+        assertEquals('"' + pack.hash() + '"', connection.getHeaderField("ETag"));
+
+        // weak comparison
+        connection = server.open();
+        connection.setRequestProperty("If-None-Match", "W/\"" + pack.hash() + '"');
+        assertEquals(304, connection.getResponseCode());
+
+        // the pack changed, it must be sent again
+        connection = server.open();
+        connection.setRequestProperty("If-None-Match", "\"outdated\"");
+        assertEquals(200, connection.getResponseCode());
+        assertArrayEquals(pack.data().toByteArray(), readAll(connection.getInputStream()));
+    }
+
+    @Test
+    void test_if_modified_since() throws IOException {
+        HttpURLConnection connection = server.open();
+        assertEquals(200, connection.getResponseCode());
+        String lastModified = connection.getHeaderField("Last-Modified");
+        readAll(connection.getInputStream());
+
+        connection = server.open();
+        connection.setRequestProperty("If-Modified-Since", lastModified);
+        assertEquals(304, connection.getResponseCode());
+
+        connection = server.open();
+        connection.setRequestProperty("If-Modified-Since", "Thu, 01 Jan 1970 00:00:00 GMT");
+        assertEquals(200, connection.getResponseCode());
+        readAll(connection.getInputStream());
+
+        // If-None-Match takes precedence over If-Modified-Since
+        connection = server.open();
+        connection.setRequestProperty("If-None-Match", "\"outdated\"");
+        connection.setRequestProperty("If-Modified-Since", lastModified);
+        assertEquals(200, connection.getResponseCode());
+        readAll(connection.getInputStream());
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.FileWritable;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.creative.server.LocalHttpServer.readAll;
+
+class FileBackedDownloadTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void test_file_backed_download() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(8, "File-backed resource pack!");
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+        BuiltResourcePack pack = MinecraftResourcePackWriter.minecraft().buildToFile(tempDir.resolve("pack.zip"), resourcePack);
+        assertTrue(pack.data() instanceof FileWritable);
+
+        try (LocalHttpServer server = LocalHttpServer.start(builder -> builder.pack(pack))) {
+            for (int i = 0; i < 3; i++) {
+                HttpURLConnection connection = server.open();
+                assertEquals(200, connection.getResponseCode());
+                assertEquals("application/zip", connection.getHeaderField("Content-Type"));
+                assertEquals(Files.size(tempDir.resolve("pack.zip")), connection.getContentLengthLong());
+                assertArrayEquals(Files.readAllBytes(tempDir.resolve("pack.zip")), readAll(connection.getInputStream()));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.metadata.overlays.OverlayEntry;
+import team.unnamed.creative.metadata.overlays.OverlaysMeta;
+import team.unnamed.creative.metadata.pack.PackFormat;
+import team.unnamed.creative.overlay.Overlay;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackReader;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.server.handler.FormatAwareResourcePackRequestHandler;
+import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.creative.server.LocalHttpServer.readAll;
+
+class FormatAwareDownloadTest {
+
+    private static LocalHttpServer server;
+    private static FormatAwareResourcePackRequestHandler handler;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(34, "Format aware!");
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+
+        Overlay overlay = Overlay.overlay("modern");
+        overlay.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team (modern)"));
+        resourcePack.overlay(overlay);
+        resourcePack.overlaysMeta(OverlaysMeta.of(OverlayEntry.of(PackFormat.format(42, 42, 46), "modern")));
+
+        handler = ResourcePackRequestHandler.formatAware(
+                resourcePack,
+                MinecraftResourcePackWriter.minecraft()::build
+        );
+        server = LocalHttpServer.start(builder -> builder.handler(handler));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void test_flattened_per_format() throws IOException {
+        HttpURLConnection legacy = open(34);
+        assertEquals(200, legacy.getResponseCode());
+        ResourcePack legacyPack = read(legacy);
+        assertEquals("Unnamed Team", legacyPack.unknownFile("credits.txt").toUTF8String());
+        assertTrue(legacyPack.overlays().isEmpty());
+        assertNull(legacyPack.overlaysMeta());
+
+        HttpURLConnection modern = open(44);
+        assertEquals(200, modern.getResponseCode());
+        ResourcePack modernPack = read(modern);
+        assertEquals("Unnamed Team (modern)", modernPack.unknownFile("credits.txt").toUTF8String());
+        assertTrue(modernPack.overlays().isEmpty());
+        assertNotEquals(legacy.getHeaderField("ETag"), modern.getHeaderField("ETag"));
+
+        // same overlays applied, same build
+        HttpURLConnection other = open(46);
+        assertEquals(200, other.getResponseCode());
+        assertEquals(modern.getHeaderField("ETag"), other.getHeaderField("ETag"));
+        other.getInputStream().close();
+    }
+
+    @Test
+    void test_full_pack_for_unknown_clients() throws IOException {
+        HttpURLConnection connection = server.open();
+        assertEquals(200, connection.getResponseCode());
+        ResourcePack pack = read(connection);
+        assertEquals(1, pack.overlays().size());
+        assertEquals("Unnamed Team", pack.unknownFile("credits.txt").toUTF8String());
+    }
+
+    @Test
+    void test_served_bytes_match_exposed_hash() throws Exception {
+        assertEquals(handler.pack(34).hash(), sha1(open(34)));
+        assertEquals(handler.pack(44).hash(), sha1(open(44)));
+        assertEquals(handler.pack(46).hash(), handler.pack(44).hash());
+        assertNotEquals(handler.pack(34).hash(), handler.pack(44).hash());
+
+        assertEquals(handler.pack().hash(), sha1(server.open()));
+    }
+
+    private static String sha1(HttpURLConnection connection) throws IOException, NoSuchAlgorithmException {
+        assertEquals(200, connection.getResponseCode());
+        byte[] digest = MessageDigest.getInstance("SHA-1").digest(readAll(connection.getInputStream()));
+        StringBuilder hash = new StringBuilder();
+        for (byte b : digest) {
+            hash.append(String.format("%02x", b & 0xFF));
+        }
+        return hash.toString();
+    }
+
+    private static HttpURLConnection open(int packFormat) throws IOException {
+        return server.open(LocalHttpServer.minecraftHeaders(packFormat));
+    }
+
+    private static ResourcePack read(HttpURLConnection connection) throws IOException {
+        try (InputStream input = connection.getInputStream()) {
+            return MinecraftResourcePackReader.minecraft().readFromInputStream(input);
+        }
+    }
+
+}
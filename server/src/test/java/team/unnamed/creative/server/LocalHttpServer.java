@@ -0,0 +1,113 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * A {@link ResourcePackServer} bound to an ephemeral local port,
+ * for tests. Stopped when closed.
+ */
+final class LocalHttpServer implements AutoCloseable {
+
+    private final ResourcePackServer server;
+    private final int port;
+
+    private LocalHttpServer(ResourcePackServer server) {
+        this.server = server;
+        this.port = server.address().getPort();
+    }
+
+    /**
+     * Builds and starts a server on a free local port.
+     *
+     * @param configuration Configures the server, the address is already set
+     * @return The started server
+     */
+    static LocalHttpServer start(UnaryOperator<ResourcePackServer.Builder> configuration) throws IOException {
+        ResourcePackServer server = configuration.apply(ResourcePackServer.server()
+                .address(new InetSocketAddress("localhost", 0)))
+                .build();
+        server.start();
+        return new LocalHttpServer(server);
+    }
+
+    HttpURLConnection open(String path, Map<String, String> headers) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL("http://localhost:" + port + path).openConnection();
+        connection.setUseCaches(false);
+        headers.forEach(connection::setRequestProperty);
+        return connection;
+    }
+
+    HttpURLConnection open(Map<String, String> headers) throws IOException {
+        return open("/", headers);
+    }
+
+    HttpURLConnection open() throws IOException {
+        return open("/", Collections.emptyMap());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    /**
+     * Returns the headers sent by a Minecraft client with the given pack format.
+     */
+    static Map<String, String> minecraftHeaders(int packFormat) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-Minecraft-UUID", "30b9e3deb4b64d37943af5747f710ca6");
+        headers.put("X-Minecraft-Username", "Yusshu");
+        headers.put("X-Minecraft-Pack-Format", Integer.toString(packFormat));
+        headers.put("X-Minecraft-Version", "1.21");
+        headers.put("X-Minecraft-Version-ID", "1.21");
+        return headers;
+    }
+
+    /**
+     * Reads the given stream to EOF and closes it.
+     */
+    static byte[] readAll(InputStream input) throws IOException {
+        try (InputStream in = input) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buf = new byte[1024];
+            int len;
+            while ((len = in.read(buf)) != -1) {
+                output.write(buf, 0, len);
+            }
+            return output.toByteArray();
+        }
+    }
+
+}
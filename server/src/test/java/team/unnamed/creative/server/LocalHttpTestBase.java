@@ -33,35 +33,27 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.HttpURLConnection;
-import java.net.InetSocketAddress;
-import java.net.URL;
+import java.util.Collections;
 
 class LocalHttpTestBase {
 
-    private static final int PORT = 7270;
-
     protected static BuiltResourcePack resourcePack;
-    private static ResourcePackServer server;
+    private static LocalHttpServer server;
 
     @BeforeAll
     static void setup() throws Exception {
         resourcePack = MinecraftResourcePackWriter.minecraft().build(resourcePack ->
                 resourcePack.packMeta(8, "Resource pack!"));
-        server = ResourcePackServer.server()
-                .address(new InetSocketAddress(PORT))
-                .pack(resourcePack, true)
-                .build();
-        server.start();
+        server = LocalHttpServer.start(builder -> builder.pack(resourcePack, true));
     }
 
     @AfterAll
     static void stopServer() {
-        server.stop(0);
+        server.close();
     }
 
     HttpURLConnection open(String path) throws IOException {
-        return (HttpURLConnection) new URL("http://localhost:" + PORT + path)
-                .openConnection();
+        return server.open(path, Collections.emptyMap());
     }
 
     void stream(InputStream input, OutputStream output) throws IOException {
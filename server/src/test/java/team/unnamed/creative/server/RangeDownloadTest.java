@@ -0,0 +1,130 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import team.unnamed.creative.BuiltResourcePack;
+import team.unnamed.creative.ResourcePack;
+import team.unnamed.creative.base.Writable;
+import team.unnamed.creative.serialize.minecraft.MinecraftResourcePackWriter;
+import team.unnamed.creative.server.handler.ResourcePackRequestHandler;
+import team.unnamed.creative.server.handler.ResourcePackResponse;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static team.unnamed.creative.server.LocalHttpServer.readAll;
+
+class RangeDownloadTest {
+
+    private static BuiltResourcePack pack;
+    private static byte[] data;
+    private static LocalHttpServer server;
+
+    @BeforeAll
+    static void setup() throws IOException {
+        ResourcePack resourcePack = ResourcePack.resourcePack();
+        resourcePack.packMeta(8, "Range requests!");
+        resourcePack.unknownFile("credits.txt", Writable.stringUtf8("Unnamed Team"));
+        pack = MinecraftResourcePackWriter.minecraft().build(resourcePack);
+        data = pack.data().toByteArray();
+
+        // a custom handler, using the response helper
+        ResourcePackResponse response = ResourcePackResponse.of(pack);
+        ResourcePackRequestHandler handler = (request, exchange) -> response.send(exchange);
+        server = LocalHttpServer.start(builder -> builder.handler(handler));
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void test_full_download() throws IOException {
+        HttpURLConnection connection = server.open();
+        assertEquals(200, connection.getResponseCode());
+        assertEquals("bytes", connection.getHeaderField("Accept-Ranges"));
+        assertEquals('"' + pack.hash() + '"', connection.getHeaderField("ETag"));
+        assertArrayEquals(data, readAll(connection.getInputStream()));
+    }
+
+    @Test
+    void test_single_range() throws IOException {
+        HttpURLConnection connection = server.open();
+        connection.setRequestProperty("Range", "bytes=10-");
+        assertEquals(206, connection.getResponseCode());
+        assertEquals("bytes 10-" + (data.length - 1) + "/" + data.length, connection.getHeaderField("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(data, 10, data.length), readAll(connection.getInputStream()));
+    }
+
+    @Test
+    void test_if_range() throws IOException {
+        // matching entity tag, range is honored
+        HttpURLConnection connection = server.open();
+        connection.setRequestProperty("Range", "bytes=-5");
+        connection.setRequestProperty("If-Range", '"' + pack.hash() + '"');
+        assertEquals(206, connection.getResponseCode());
+        assertArrayEquals(Arrays.copyOfRange(data, data.length - 5, data.length), readAll(connection.getInputStream()));
+
+        // the pack changed, the full pack is sent
+        connection = server.open();
+        connection.setRequestProperty("Range", "bytes=-5");
+        connection.setRequestProperty("If-Range", "\"outdated\"");
+        assertEquals(200, connection.getResponseCode());
+        assertArrayEquals(data, readAll(connection.getInputStream()));
+    }
+
+    @Test
+    void test_multiple_ranges() throws IOException {
+        HttpURLConnection connection = server.open();
+        connection.setRequestProperty("Range", "bytes=0-3,20-29");
+        assertEquals(206, connection.getResponseCode());
+        assertTrue(connection.getHeaderField("Content-Type").startsWith("multipart/byteranges; boundary="));
+
+        byte[] body = readAll(connection.getInputStream());
+        assertEquals(connection.getContentLengthLong(), body.length);
+        String text = new String(body, StandardCharsets.ISO_8859_1);
+        assertTrue(text.contains("Content-Range: bytes 0-3/" + data.length + "\r\n\r\n"
+                + new String(data, 0, 4, StandardCharsets.ISO_8859_1)));
+        assertTrue(text.contains("Content-Range: bytes 20-29/" + data.length + "\r\n\r\n"
+                + new String(data, 20, 10, StandardCharsets.ISO_8859_1)));
+    }
+
+    @Test
+    void test_unsatisfiable_range() throws IOException {
+        HttpURLConnection connection = server.open();
+        connection.setRequestProperty("Range", "bytes=" + data.length + "-");
+        assertEquals(416, connection.getResponseCode());
+        assertEquals("bytes */" + data.length, connection.getHeaderField("Content-Range"));
+    }
+
+}
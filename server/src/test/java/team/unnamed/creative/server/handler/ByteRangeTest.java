@@ -0,0 +1,86 @@
+/*
+ * This file is part of creative, licensed under the MIT license
+ *
+ * Copyright (c) 2021-2025 Unnamed Team
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package team.unnamed.creative.server.handler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteRangeTest {
+
+    @Test
+    void test_single_ranges() {
+        assertEquals(Collections.singletonList(new ByteRange(0, 499)), ByteRange.parse("bytes=0-499", 1000));
+        assertEquals(Collections.singletonList(new ByteRange(500, 999)), ByteRange.parse("bytes=500-", 1000));
+        assertEquals(Collections.singletonList(new ByteRange(900, 999)), ByteRange.parse("bytes=-100", 1000));
+        // clamped to the representation length
+        assertEquals(Collections.singletonList(new ByteRange(500, 999)), ByteRange.parse("bytes=500-5000", 1000));
+        assertEquals(Collections.singletonList(new ByteRange(0, 999)), ByteRange.parse("bytes=-5000", 1000));
+        assertEquals(Collections.singletonList(new ByteRange(0, 9)), ByteRange.parse(" Bytes=0-9 ", 1000));
+    }
+
+    @Test
+    void test_multiple_ranges() {
+        assertEquals(
+                Arrays.asList(new ByteRange(0, 9), new ByteRange(100, 199)),
+                ByteRange.parse("bytes=100-199, 0-9", 1000)
+        );
+        // overlapping and adjacent ranges are merged
+        assertEquals(
+                Collections.singletonList(new ByteRange(0, 299)),
+                ByteRange.parse("bytes=0-99,100-199,150-299", 1000)
+        );
+    }
+
+    @Test
+    void test_unsatisfiable_ranges() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=1000-1999", 1000);
+        assertTrue(ranges != null && ranges.isEmpty());
+        ranges = ByteRange.parse("bytes=-0", 1000);
+        assertTrue(ranges != null && ranges.isEmpty());
+    }
+
+    @Test
+    void test_ignored_ranges() {
+        assertNull(ByteRange.parse("items=0-1", 1000));
+        assertNull(ByteRange.parse("bytes=", 1000));
+        assertNull(ByteRange.parse("bytes=5-1", 1000));
+        assertNull(ByteRange.parse("bytes=a-b", 1000));
+        assertNull(ByteRange.parse("bytes=1", 1000));
+        assertNull(ByteRange.parse("bytes=99999999999999999999-", 1000));
+
+        StringBuilder many = new StringBuilder("bytes=");
+        for (int i = 0; i < ByteRange.MAX_RANGES + 1; i++) {
+            many.append(i * 10).append('-').append(i * 10 + 1).append(',');
+        }
+        assertNull(ByteRange.parse(many.toString(), 1000));
+    }
+
+}